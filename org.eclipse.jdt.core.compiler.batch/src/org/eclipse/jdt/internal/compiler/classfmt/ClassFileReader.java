@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,7 +24,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.Predicate;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.codegen.AnnotationTargetTypeConstants;
@@ -1054,70 +1056,9 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 	try {
 		ClassFileReader newClassFile =
 			new ClassFileReader(newBytes, this.classFileName);
-		// type level comparison
-		// modifiers
-		if (getModifiers() != newClassFile.getModifiers())
+		if (hasStructuralTypeChanges(newClassFile))
 			return true;
 
-		// only consider a portion of the tagbits which indicate a structural change for dependents
-		// e.g. @Override change has no influence outside
-		long OnlyStructuralTagBits = TagBits.AnnotationTargetMASK // different @Target status ?
-			| TagBits.AnnotationDeprecated // different @Deprecated status ?
-			| TagBits.AnnotationRetentionMASK // different @Retention status ?
-			| TagBits.HierarchyHasProblems; // different hierarchy status ?
-
-		// meta-annotations
-		if ((getTagBits() & OnlyStructuralTagBits) != (newClassFile.getTagBits() & OnlyStructuralTagBits))
-			return true;
-		// annotations
-		if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
-			return true;
-		if (this.version >= ClassFileConstants.JDK1_8
-				&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
-			return true;
-
-		// generic signature
-		if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
-			return true;
-		// superclass
-		if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
-			return true;
-		// interfaces
-		char[][] newInterfacesNames = newClassFile.getInterfaceNames();
-		if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
-			int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
-			if (newInterfacesLength != this.interfacesCount)
-				return true;
-			for (int i = 0, max = this.interfacesCount; i < max; i++)
-				if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
-					return true;
-		}
-
-		// permitted subtypes
-		char[][] newPermittedSubtypesNames = newClassFile.getPermittedSubtypesNames();
-		if (this.permittedSubtypesNames != newPermittedSubtypesNames) {
-			int newPermittedSubtypesLength = newPermittedSubtypesNames == null ? 0 : newPermittedSubtypesNames.length;
-			if (newPermittedSubtypesLength != this.permittedSubtypesCount)
-				return true;
-			for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
-				if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypesNames[i]))
-					return true;
-		}
-
-		// member types
-		IBinaryNestedType[] currentMemberTypes = getMemberTypes();
-		IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
-		if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
-			int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
-			int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
-			if (currentMemberTypeLength != otherMemberTypeLength)
-				return true;
-			for (int i = 0; i < currentMemberTypeLength; i++)
-				if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
-					|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
-						return true;
-		}
-
 		// fields
 		FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
 		int otherFieldInfosLength = otherFieldInfos == null ? 0 : otherFieldInfos.length;
@@ -1178,29 +1119,218 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 			}
 		}
 
-		// missing types
-		char[][][] missingTypes = getMissingTypeNames();
-		char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
-		if (missingTypes != null) {
-			if (newMissingTypes == null) {
-				return true;
-			}
-			int length = missingTypes.length;
-			if (length != newMissingTypes.length) {
-				return true;
+		return false;
+	} catch (ClassFormatException e) {
+		return true;
+	}
+}
+
+/**
+ * Answers the names of the fields and methods whose structure changed between the receiver and the .class file in
+ * argument (see {@link #hasStructuralChanges(byte[])}), <code>&lt;init&gt;</code> standing for the constructors.
+ * The synthetic members and the private methods are ignored, since a private method is not inherited and is never
+ * selected outside of the compilation unit declaring it. The members are not required to be sorted.
+ * <p>
+ * An empty array is answered if there is no structural change. Null is answered if the change is not limited to
+ * members which are looked up by name: a change at the type level or a change to an abstract method, which
+ * affects the subtypes that must implement it.
+ * </p>
+ * @param newBytes the bytes of the .class file we want to compare the receiver to
+ * @return the names of the structurally changed members, or null if the change is not limited to members
+ */
+public char[][] getStructurallyChangedMembers(byte[] newBytes) {
+	try {
+		ClassFileReader newClassFile =
+			new ClassFileReader(newBytes, this.classFileName);
+		if (hasStructuralTypeChanges(newClassFile))
+			return null;
+		List<char[]> changedMembers = new ArrayList<>();
+		addStructurallyChangedFields(this.fieldsCount == 0 ? null : this.fields, (FieldInfo[]) newClassFile.getFields(), changedMembers);
+		if (!addStructurallyChangedMethods(this.methodsCount == 0 ? null : this.methods, (MethodInfo[]) newClassFile.getMethods(), changedMembers))
+			return null;
+		return changedMembers.toArray(new char[changedMembers.size()][]);
+	} catch (ClassFormatException e) {
+		return null;
+	}
+}
+
+private void addStructurallyChangedFields(FieldInfo[] currentFieldInfos, FieldInfo[] otherFieldInfos, List<char[]> changedMembers) {
+	int length1 = currentFieldInfos == null ? 0 : currentFieldInfos.length;
+	int length2 = otherFieldInfos == null ? 0 : otherFieldInfos.length;
+	if (length1 != 0)
+		Arrays.sort(currentFieldInfos);
+	if (length2 != 0)
+		Arrays.sort(otherFieldInfos);
+	int index1 = 0;
+	int index2 = 0;
+	while (index1 < length1 || index2 < length2) {
+		FieldInfo field1 = index1 < length1 ? currentFieldInfos[index1] : null;
+		FieldInfo field2 = index2 < length2 ? otherFieldInfos[index2] : null;
+		if (field1 != null && field1.isSynthetic()) {
+			index1++;
+		} else if (field2 != null && field2.isSynthetic()) {
+			index2++;
+		} else {
+			int compare = field1 == null ? 1 : field2 == null ? -1 : field1.compareTo(field2);
+			if (compare < 0) { // removed
+				addChangedMember(field1.getName(), changedMembers);
+				index1++;
+			} else if (compare > 0) { // added
+				addChangedMember(field2.getName(), changedMembers);
+				index2++;
+			} else {
+				if (hasStructuralFieldChanges(field1, field2))
+					addChangedMember(field1.getName(), changedMembers);
+				index1++;
+				index2++;
 			}
-			for (int i = 0; i < length; i++) {
-				if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
-					return true;
+		}
+	}
+}
+
+// answers false if an abstract method changed
+private boolean addStructurallyChangedMethods(MethodInfo[] currentMethodInfos, MethodInfo[] otherMethodInfos, List<char[]> changedMembers) {
+	int length1 = currentMethodInfos == null ? 0 : currentMethodInfos.length;
+	int length2 = otherMethodInfos == null ? 0 : otherMethodInfos.length;
+	if (length1 != 0)
+		Arrays.sort(currentMethodInfos);
+	if (length2 != 0)
+		Arrays.sort(otherMethodInfos);
+	int index1 = 0;
+	int index2 = 0;
+	while (index1 < length1 || index2 < length2) {
+		MethodInfo method1 = index1 < length1 ? currentMethodInfos[index1] : null;
+		MethodInfo method2 = index2 < length2 ? otherMethodInfos[index2] : null;
+		if (method1 != null && (method1.isSynthetic() || method1.isClinit())) {
+			index1++;
+		} else if (method2 != null && (method2.isSynthetic() || method2.isClinit())) {
+			index2++;
+		} else {
+			int compare = method1 == null ? 1 : method2 == null ? -1 : method1.compareTo(method2);
+			MethodInfo changed = null;
+			if (compare < 0) { // removed
+				if (!isPrivate(method1))
+					changed = method1;
+				index1++;
+			} else if (compare > 0) { // added
+				if (!isPrivate(method2))
+					changed = method2;
+				index2++;
+			} else {
+				if (hasStructuralMethodChanges(method1, method2) && !(isPrivate(method1) && isPrivate(method2))) {
+					if ((method1.getModifiers() & ClassFileConstants.AccAbstract) != 0)
+						return false;
+					changed = method2;
 				}
+				index1++;
+				index2++;
+			}
+			if (changed != null) {
+				if ((changed.getModifiers() & ClassFileConstants.AccAbstract) != 0)
+					return false;
+				addChangedMember(changed.getSelector(), changedMembers);
 			}
-		} else if (newMissingTypes != null) {
+		}
+	}
+	return true;
+}
+
+private static boolean isPrivate(MethodInfo method) {
+	return (method.getModifiers() & ClassFileConstants.AccPrivate) != 0;
+}
+
+private static void addChangedMember(char[] name, List<char[]> changedMembers) {
+	// the members are sorted by name, so a name with several changed members is only added once
+	int size = changedMembers.size();
+	if (size == 0 || !CharOperation.equals(changedMembers.get(size - 1), name))
+		changedMembers.add(name);
+}
+
+private boolean hasStructuralTypeChanges(ClassFileReader newClassFile) {
+	// type level comparison
+	// modifiers
+	if (getModifiers() != newClassFile.getModifiers())
+		return true;
+
+	// only consider a portion of the tagbits which indicate a structural change for dependents
+	// e.g. @Override change has no influence outside
+	long OnlyStructuralTagBits = TagBits.AnnotationTargetMASK // different @Target status ?
+		| TagBits.AnnotationDeprecated // different @Deprecated status ?
+		| TagBits.AnnotationRetentionMASK // different @Retention status ?
+		| TagBits.HierarchyHasProblems; // different hierarchy status ?
+
+	// meta-annotations
+	if ((getTagBits() & OnlyStructuralTagBits) != (newClassFile.getTagBits() & OnlyStructuralTagBits))
+		return true;
+	// annotations
+	if (hasStructuralAnnotationChanges(getAnnotations(), newClassFile.getAnnotations()))
+		return true;
+	if (this.version >= ClassFileConstants.JDK1_8
+			&& hasStructuralTypeAnnotationChanges(getTypeAnnotations(), newClassFile.getTypeAnnotations()))
+		return true;
+
+	// generic signature
+	if (!CharOperation.equals(getGenericSignature(), newClassFile.getGenericSignature()))
+		return true;
+	// superclass
+	if (!CharOperation.equals(getSuperclassName(), newClassFile.getSuperclassName()))
+		return true;
+	// interfaces
+	char[][] newInterfacesNames = newClassFile.getInterfaceNames();
+	if (this.interfaceNames != newInterfacesNames) { // TypeConstants.NoSuperInterfaces
+		int newInterfacesLength = newInterfacesNames == null ? 0 : newInterfacesNames.length;
+		if (newInterfacesLength != this.interfacesCount)
+			return true;
+		for (int i = 0, max = this.interfacesCount; i < max; i++)
+			if (!CharOperation.equals(this.interfaceNames[i], newInterfacesNames[i]))
+				return true;
+	}
+
+	// permitted subtypes
+	char[][] newPermittedSubtypesNames = newClassFile.getPermittedSubtypesNames();
+	if (this.permittedSubtypesNames != newPermittedSubtypesNames) {
+		int newPermittedSubtypesLength = newPermittedSubtypesNames == null ? 0 : newPermittedSubtypesNames.length;
+		if (newPermittedSubtypesLength != this.permittedSubtypesCount)
+			return true;
+		for (int i = 0, max = this.permittedSubtypesCount; i < max; i++)
+			if (!CharOperation.equals(this.permittedSubtypesNames[i], newPermittedSubtypesNames[i]))
+				return true;
+	}
+
+	// member types
+	IBinaryNestedType[] currentMemberTypes = getMemberTypes();
+	IBinaryNestedType[] otherMemberTypes = newClassFile.getMemberTypes();
+	if (currentMemberTypes != otherMemberTypes) { // TypeConstants.NoMemberTypes
+		int currentMemberTypeLength = currentMemberTypes == null ? 0 : currentMemberTypes.length;
+		int otherMemberTypeLength = otherMemberTypes == null ? 0 : otherMemberTypes.length;
+		if (currentMemberTypeLength != otherMemberTypeLength)
+			return true;
+		for (int i = 0; i < currentMemberTypeLength; i++)
+			if (!CharOperation.equals(currentMemberTypes[i].getName(), otherMemberTypes[i].getName())
+				|| currentMemberTypes[i].getModifiers() != otherMemberTypes[i].getModifiers())
+					return true;
+	}
+
+	// missing types
+	char[][][] missingTypes = getMissingTypeNames();
+	char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
+	if (missingTypes != null) {
+		if (newMissingTypes == null) {
 			return true;
 		}
-		return false;
-	} catch (ClassFormatException e) {
+		int length = missingTypes.length;
+		if (length != newMissingTypes.length) {
+			return true;
+		}
+		for (int i = 0; i < length; i++) {
+			if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
+				return true;
+			}
+		}
+	} else if (newMissingTypes != null) {
 		return true;
 	}
+	return false;
 }
 
 private boolean hasStructuralAnnotationChanges(IBinaryAnnotation[] currentAnnotations, IBinaryAnnotation[] otherAnnotations) {
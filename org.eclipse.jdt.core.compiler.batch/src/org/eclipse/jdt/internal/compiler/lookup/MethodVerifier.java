@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1010,11 +1010,31 @@ ReferenceBinding[] resolvedExceptionTypesFor(MethodBinding method) {
 void verify() {
 	computeMethods();
 	computeInheritedMethods();
+	recordMethodReferences();
 	checkMethods();
 	if (this.type.isClass())
 		checkForMissingHashCodeMethod();
 }
 
+// the type depends on every method it declares or inherits, so that it is recompiled when one of them changes
+// (the methods of Object are skipped, they cannot change)
+void recordMethodReferences() {
+	CompilationUnitScope unitScope = this.type.scope.compilationUnitScope();
+	for (char[] selector : this.currentMethods.keyTable)
+		if (selector != null)
+			unitScope.recordMemberReference(selector);
+	Object[] inherited = this.inheritedMethods.valueTable;
+	for (int i = inherited.length; --i >= 0;) {
+		if (inherited[i] == null) continue;
+		for (MethodBinding method : (MethodBinding[]) inherited[i]) {
+			if (method.declaringClass.id != TypeIds.T_JavaLangObject) {
+				unitScope.recordMemberReference(method.selector);
+				break;
+			}
+		}
+	}
+}
+
 void verify(SourceTypeBinding someType) {
 	if (this.type == null) {
 		try {
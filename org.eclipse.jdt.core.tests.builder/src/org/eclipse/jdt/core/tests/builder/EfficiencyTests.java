@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,10 +13,18 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.builder;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
 import junit.framework.Test;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.core.builder.BuildOutputCache;
 
 /**
  * Basic efficiency tests of the image builder.
@@ -152,6 +160,211 @@ public class EfficiencyTests extends BuilderTests {
 		expectingCompilingOrder(new String[] { "/Project/src/p1/X.java", "/Project/src/p2/Y.java" });
 	}
 
+	public void testPrivateMethodAddition() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	private int count;\n" + //$NON-NLS-1$
+			"	public void foo() {	\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"import p1.*;\n"+ //$NON-NLS-1$
+			"public class Y extends X{\n"+ //$NON-NLS-1$
+			"	void bar() { foo(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	private int count;\n" + //$NON-NLS-1$
+			"	private void bar(){}	\n" + //$NON-NLS-1$
+			"	public void foo() {	\n" + //$NON-NLS-1$
+			"		bar();	\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		// private methods cannot be selected from p2.Y
+		expectingCompiledClasses(new String[]{"p1.X"}); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	private int count;\n" + //$NON-NLS-1$
+			"	void bar(){}	\n" + //$NON-NLS-1$
+			"	public void foo() {	\n" + //$NON-NLS-1$
+			"		bar();	\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		// bar() is no longer private
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingNoProblems();
+	}
+
+	public void testPrivateFieldHidingInheritedField() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	protected int count;\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X extends Y {\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath zPath = env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z extends p1.X {\n"+ //$NON-NLS-1$
+			"	int f() { return count; }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X extends Y {\n"+ //$NON-NLS-1$
+			"	private int count;\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		// the private field hides Y.count from p2.Z
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingOnlyProblemsFor(zPath);
+	}
+
+	public void testMemberChanges() throws JavaModelException {
+
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		fullBuild(projectPath);
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"	public void bar(int i) {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Y {\n"+ //$NON-NLS-1$
+			"	void m() { new p1.X().foo(); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		env.addClass(root, "p2", "W", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class W {\n"+ //$NON-NLS-1$
+			"	void m() { new p1.X().bar(1); }\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		IPath zPath = env.addClass(root, "p2", "Z", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class Z extends p1.X {\n"+ //$NON-NLS-1$
+			"	void n() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"	public void bar(int i) {}\n" + //$NON-NLS-1$
+			"	public void baz() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		// baz() is not referenced by any unit
+		expectingCompiledClasses(new String[]{"p1.X"}); //$NON-NLS-1$
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"	public int bar(int i) { return i; }\n" + //$NON-NLS-1$
+			"	public void baz() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		// bar(int) is called by p2.W and inherited by p2.Z
+		expectingCompiledClasses(new String[]{"p1.X", "p2.W", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n" + //$NON-NLS-1$
+			"	public int bar(int i) { return i; }\n" + //$NON-NLS-1$
+			"	public void baz() {}\n" + //$NON-NLS-1$
+			"	public final void n() {}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		incrementalBuild(projectPath);
+
+		// p2.Z cannot override the final method n()
+		expectingCompiledClasses(new String[]{"p1.X", "p2.Z"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingOnlyProblemsFor(zPath);
+	}
+
 	public void testLocalTypeAddition() throws JavaModelException {
 
 		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
@@ -412,4 +625,170 @@ public class EfficiencyTests extends BuilderTests {
 		expectingCompilingOrder(
 				new String[] { "/Project/src/p2/Z.java", "/Project/src/p2/Y.java", "/Project/src/p1/X.java" });
 	}
+
+	public void testUnchangedMarkersAreKept() throws CoreException {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		IPath xPath = env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	void foo() {	\n" + //$NON-NLS-1$
+			"		int unused = 0;\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+
+		fullBuild(projectPath);
+		IResource x = env.getWorkspace().getRoot().getFile(xPath);
+		IMarker[] markers = x.findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+		assertEquals("Unexpected markers", 1, markers.length); //$NON-NLS-1$
+
+		// the warning is unchanged: the marker is kept
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	void foo() {	\n" + //$NON-NLS-1$
+			"		int unused = 0;\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"	void bar() {	\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		IMarker[] newMarkers = x.findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+		assertEquals("Unexpected markers", 1, newMarkers.length); //$NON-NLS-1$
+		assertEquals("Marker should have been kept", markers[0].getId(), newMarkers[0].getId()); //$NON-NLS-1$
+
+		// the warning moved: the marker is replaced
+		env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class X {\n"+ //$NON-NLS-1$
+			"	void bar() {	\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"	void foo() {	\n" + //$NON-NLS-1$
+			"		int unused = 0;\n" + //$NON-NLS-1$
+			"	}\n" + //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+			);
+		incrementalBuild(projectPath);
+		newMarkers = x.findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+		assertEquals("Unexpected markers", 1, newMarkers.length); //$NON-NLS-1$
+		assertFalse("Marker should have been replaced", markers[0].getId() == newMarkers[0].getId()); //$NON-NLS-1$
+		assertEquals("Unexpected line", 6, newMarkers[0].getAttribute(IMarker.LINE_NUMBER, -1)); //$NON-NLS-1$
+	}
+
+	public void testFullBuildFromOutputCache() throws Exception {
+		File cacheDirectory = Files.createTempDirectory("outputCache").toFile(); //$NON-NLS-1$
+		System.setProperty(BuildOutputCache.CACHE_DIRECTORY_PROPERTY, cacheDirectory.getPath());
+		try {
+			IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+			env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+			// remove old package fragment root so that names don't collide
+			env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+			IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+			env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+			env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p1;\n"+ //$NON-NLS-1$
+				"public class X {\n"+ //$NON-NLS-1$
+				"	class M {}\n" + //$NON-NLS-1$
+				"	void foo() {	\n" + //$NON-NLS-1$
+				"		int unused = 0;\n" + //$NON-NLS-1$
+				"	}\n" + //$NON-NLS-1$
+				"}\n" //$NON-NLS-1$
+				);
+
+			env.addClass(root, "p2", "Y", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p2;\n"+ //$NON-NLS-1$
+				"public class Y extends p1.X {\n"+ //$NON-NLS-1$
+				"}\n" //$NON-NLS-1$
+				);
+
+			fullBuild(projectPath);
+			expectingCompiledClasses(new String[]{"p1.X", "p1.X$M", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			Problem[] problems = env.getProblemsFor(projectPath);
+			assertEquals("Unexpected problems", 1, problems.length); //$NON-NLS-1$
+
+			// the outputs of an identical project are restored from the cache
+			cleanBuild();
+			expectingCompiledClasses(new String[0]);
+			expectingPresenceOf(new IPath[] {
+				projectPath.append("bin/p1/X.class"), //$NON-NLS-1$
+				projectPath.append("bin/p1/X$M.class"), //$NON-NLS-1$
+				projectPath.append("bin/p2/Y.class") //$NON-NLS-1$
+			});
+			assertEquals("Unexpected problems", arrayToString(problems), arrayToString(env.getProblemsFor(projectPath))); //$NON-NLS-1$
+
+			// the restored state still knows that p2.Y depends on p1.X
+			env.addClass(root, "p1", "X", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p1;\n"+ //$NON-NLS-1$
+				"public class X {\n"+ //$NON-NLS-1$
+				"	class M {}\n" + //$NON-NLS-1$
+				"	void foo() {	\n" + //$NON-NLS-1$
+				"	}\n" + //$NON-NLS-1$
+				"	public void bar() {	\n" + //$NON-NLS-1$
+				"	}\n" + //$NON-NLS-1$
+				"}\n" //$NON-NLS-1$
+				);
+			incrementalBuild(projectPath);
+			expectingCompiledClasses(new String[]{"p1.X", "p1.X$M", "p2.Y"}); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			expectingNoProblems();
+		} finally {
+			System.clearProperty(BuildOutputCache.CACHE_DIRECTORY_PROPERTY);
+			Util.delete(cacheDirectory);
+		}
+	}
+
+	public void testFullBuildFromOutputCacheWithCopiedJar() throws Exception {
+		File cacheDirectory = Files.createTempDirectory("outputCache").toFile(); //$NON-NLS-1$
+		File jarDirectory = Files.createTempDirectory("outputCacheJar").toFile(); //$NON-NLS-1$
+		System.setProperty(BuildOutputCache.CACHE_DIRECTORY_PROPERTY, cacheDirectory.getPath());
+		try {
+			String jar = new File(jarDirectory, "lib.jar").getPath(); //$NON-NLS-1$
+			Util.createJar(new String[] {
+				"q/Y.java", //$NON-NLS-1$
+				"package q;\n" + //$NON-NLS-1$
+				"public class Y {}\n" //$NON-NLS-1$
+			}, new HashMap<>(), jar);
+			byte[] jarContents = Files.readAllBytes(new File(jar).toPath());
+
+			// the second checkout of the project has a copy of the jar with another time stamp
+			for (int i = 0; i < 2; i++) {
+				IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+				env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+				// remove old package fragment root so that names don't collide
+				env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+				IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+				env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+				IPath jarPath = env.addInternalJar(projectPath, "lib.jar", jarContents); //$NON-NLS-1$
+				env.getWorkspace().getRoot().getFile(jarPath).setLocalTimeStamp(System.currentTimeMillis() - (i + 1) * 60_000L);
+
+				env.addClass(root, "p", "X", //$NON-NLS-1$ //$NON-NLS-2$
+					"package p;\n"+ //$NON-NLS-1$
+					"public class X extends q.Y {}\n" //$NON-NLS-1$
+					);
+
+				fullBuild(projectPath);
+				expectingNoProblems();
+				expectingCompiledClasses(i == 0 ? new String[] {"p.X"} : new String[0]); //$NON-NLS-1$
+				expectingPresenceOf(projectPath.append("bin/p/X.class")); //$NON-NLS-1$
+				env.removeProject(projectPath);
+			}
+		} finally {
+			System.clearProperty(BuildOutputCache.CACHE_DIRECTORY_PROPERTY);
+			Util.delete(cacheDirectory);
+			Util.delete(jarDirectory);
+		}
+	}
 }
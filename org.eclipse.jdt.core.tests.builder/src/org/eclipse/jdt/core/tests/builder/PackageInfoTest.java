@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import junit.framework.Test;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.IPath;
@@ -469,6 +470,54 @@ public void testBug372012b() throws JavaModelException {
 	expectingUniqueCompiledClasses(new String[] { "p1.Test1", "p1.Test1$Test1Inner"});
 }
 
+// https://bugs.eclipse.org/bugs/show_bug.cgi?id=372012
+// test missing default nullness annotation for a package without package-info
+// test when all the units of the package are recompiled and the problem stays, the marker of the package is kept
+public void testBug372012d() throws CoreException {
+
+	IPath projectPath = env.addProject("Project", CompilerOptions.getFirstSupportedJavaVersion());
+	env.addExternalJars(projectPath, Util.getJavaClassLibs());
+	fullBuild(projectPath);
+
+	// remove old package fragment root so that names don't collide
+	env.removePackageFragmentRoot(projectPath, "");
+
+	IPath srcRoot = env.addPackageFragmentRoot(projectPath, "src");
+	env.setOutputFolder(projectPath, "bin");
+	// prepare the project:
+	setupProjectForNullAnnotations(projectPath);
+	env.getJavaProject(projectPath).setOption(JavaCore.COMPILER_PB_MISSING_NONNULL_BY_DEFAULT_ANNOTATION, JavaCore.ERROR);
+	String test1Code = "package p1;\n"	+
+		"public class Test1 {\n" +
+		"    public void foo() {}\n" +
+		"}";
+	String test2Code = "package p1;\n" +
+		"public class Test2 {\n" +
+		"    public void bar(String str) {}\n" +
+		"}";
+
+	env.addClass(srcRoot, "p1", "Test1", test1Code);
+	env.addClass(srcRoot, "p1", "Test2", test2Code);
+
+	fullBuild(projectPath);
+	String expectedProblem =
+		"Problem : A default nullness annotation has not been specified for the package p1 [ resource : </Project/src/p1> range : <8,10> category : <90> severity : <2>]";
+	expectingProblemsFor(srcRoot, expectedProblem);
+	IMarker[] markers = env.getWorkspace().getRoot().getFolder(srcRoot.append("p1")).findMarkers(null, false, IResource.DEPTH_ZERO);
+	assertEquals("Unexpected package markers", 1, markers.length);
+
+	// change both units, none of them specifies a default
+	env.addClass(srcRoot, "p1", "Test1", test1Code.replace("foo()", "foo2()"));
+	env.addClass(srcRoot, "p1", "Test2", test2Code.replace("bar(", "bar2("));
+	incrementalBuild(projectPath);
+	expectingUniqueCompiledClasses(new String[] { "p1.Test1", "p1.Test2" });
+	// should still have only one marker, the one created by the full build
+	expectingProblemsFor(srcRoot, expectedProblem);
+	IMarker[] newMarkers = env.getWorkspace().getRoot().getFolder(srcRoot.append("p1")).findMarkers(null, false, IResource.DEPTH_ZERO);
+	assertEquals("Unexpected package markers", 1, newMarkers.length);
+	assertEquals("The marker of the package should be kept", markers[0].getId(), newMarkers[0].getId());
+}
+
 // https://bugs.eclipse.org/bugs/show_bug.cgi?id=372012
 // test missing default nullness annotation for a package with package-info
 // test when the the default annotation is removed from package-info, the problem comes back
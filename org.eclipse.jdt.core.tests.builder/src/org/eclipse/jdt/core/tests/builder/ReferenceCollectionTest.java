@@ -44,6 +44,11 @@ public class ReferenceCollectionTest extends BuilderTests {
 			super(qualifiedNameReferences, simpleNameReferences, rootReferences);
 		}
 
+		protected TestableReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences,
+				char[][] rootReferences, char[][] memberReferences) {
+			super(qualifiedNameReferences, simpleNameReferences, rootReferences, memberReferences);
+		}
+
 		char[][][] getQualifiedNameReferences() {
 			try {
 				Field fld = ReferenceCollection.class.getDeclaredField("qualifiedNameReferences");
@@ -215,6 +220,25 @@ public class ReferenceCollectionTest extends BuilderTests {
 		}
 	}
 
+	public void testIncludesMember() {
+		char[][] memberNames = ReferenceCollection.internSimpleNames(new char[][] {
+			"<init>".toCharArray(),
+			"foo".toCharArray()
+		}, false);
+		ReferenceCollection collection = new TestableReferenceCollection(null, null, null, new char[][] {
+			"foo".toCharArray(),
+			"count".toCharArray()
+		});
+		assertTrue(collection.includesMember(memberNames));
+		assertFalse(collection.includesMember(ReferenceCollection.internSimpleNames(new char[][] {
+			"bar".toCharArray()
+		}, false)));
+
+		// the members referenced by a unit recorded without them are unknown
+		ReferenceCollection unknown = new TestableReferenceCollection(null, null, null);
+		assertTrue(unknown.includesMember(memberNames));
+	}
+
 	public void testIncludes01() {
 		TestableReferenceCollection refColl = new TestableReferenceCollection(null, null, null);
 
@@ -285,6 +309,37 @@ public class ReferenceCollectionTest extends BuilderTests {
 		assertFalse(other.includes(refColl.getQualifiedNameReferences(), refColl.getSimpleNameReferences(), refColl.getRootReferences()));
 	}
 
+	public void testIncludesNameQuery() {
+		TestableReferenceCollection refColl = new TestableReferenceCollection(null, null, null);
+		refColl.addDependencies(new String[] {"a.b.c.D", "x.y.Z"});
+
+		String[][] includedQueries = {
+			{"a/b/c", "D", "a"},
+			{"x/y", "Z", "x"},
+			{"a/b/c", "Z", "a"}, // matches the names, same as includes(..)
+		};
+		for (String[] names : includedQueries) {
+			ReferenceCollection.NameQuery query = newQuery(names);
+			assertTrue("Should include " + Arrays.toString(names), refColl.includes(query));
+		}
+		String[][] excludedQueries = {
+			{"a/b/c", "E", "a"},
+			{"q/b/c", "D", "q"},
+			{"x/y", "E", "x"},
+		};
+		for (String[] names : excludedQueries) {
+			ReferenceCollection.NameQuery query = newQuery(names);
+			assertFalse("Should not include " + Arrays.toString(names), refColl.includes(query));
+		}
+	}
+
+	private static ReferenceCollection.NameQuery newQuery(String[] names) {
+		char[][][] qualifiedNames = ReferenceCollection.internQualifiedNames(Collections.singleton(names[0]));
+		char[][] simpleNames = ReferenceCollection.internSimpleNames(Collections.singleton(names[1]), true);
+		char[][] rootNames = ReferenceCollection.internSimpleNames(Collections.singleton(names[2]), false);
+		return new ReferenceCollection.NameQuery(qualifiedNames, simpleNames, rootNames);
+	}
+
 	public void testAddDependencies() {
 		TestableReferenceCollection refColl = new TestableReferenceCollection(null, null, null);
 
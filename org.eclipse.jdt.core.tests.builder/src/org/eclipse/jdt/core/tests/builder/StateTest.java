@@ -98,6 +98,39 @@ public class StateTest extends BuilderTests {
 	}
 
 
+	public void testWriteUndecodedReferences() throws JavaModelException, Exception {
+		IPath project = env.addProject("Undecoded"); //$NON-NLS-1$
+		env.addExternalJars(project, Util.getJavaClassLibs());
+
+		env.addClass(project, "a", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package a;\n" +
+			"public class A {\n" +
+			"	java.util.List<String> list;\n" +
+			"}" //$NON-NLS-1$
+		);
+		env.addClass(project, "b", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package b;\n" +
+			"class Other {\n" +
+			"}\n" +
+			"public class B extends a.A {\n" +
+			"}" //$NON-NLS-1$
+		);
+		fullBuild();
+
+		// a state read from disk and saved again without being built must not change
+		IProject p = env.getProject(project);
+		PerProjectInfo info = JavaModelManager.getJavaModelManager().getPerProjectInfoCheckExistence(p);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(info.savedState, new DataOutputStream(outputStream));
+		byte[] bytes = outputStream.toByteArray();
+		State readState = JavaBuilder.readState(p, new DataInputStream(new ByteArrayInputStream(bytes)));
+		outputStream = new ByteArrayOutputStream();
+		JavaBuilder.writeState(readState, new DataOutputStream(outputStream));
+		assertArrayEquals(bytes, outputStream.toByteArray());
+
+		assertEqualLookupTables(((State) info.savedState).getReferences(), readState.getReferences());
+	}
+
 	public void testBug563546() throws JavaModelException, Exception {
 		IPath project = env.addProject("Bug563546"); //$NON-NLS-1$
 		env.addExternalJars(project, Util.getJavaClassLibs());
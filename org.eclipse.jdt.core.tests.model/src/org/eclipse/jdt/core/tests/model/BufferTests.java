@@ -505,6 +505,51 @@ public void testInsertEnd() throws CoreException {
 		deleteBuffer(buffer);
 	}
 }
+/**
+ * Tests that the characters answered by a buffer are not changed by later edits.
+ */
+public void testGetCharactersSnapshot() throws CoreException {
+	IBuffer buffer = createBuffer(
+		"P/x/y/A.java",
+		"package x.y;\n" +
+		"public class A {\n" +
+		"}"
+	);
+	try {
+		char[] before = buffer.getCharacters();
+		buffer.replace(13, 0, "/* class comment */\n");
+		char[] after = buffer.getCharacters();
+		assertSame("should answer the same characters until the next edit", after, buffer.getCharacters());
+		buffer.replace(0, 12, "package z;");
+		buffer.replace(buffer.getLength() - 1, 1, "}\nclass B {}");
+		assertSourceEquals(
+			"unexpected characters before the edits",
+			"package x.y;\n" +
+			"public class A {\n" +
+			"}",
+			new String(before)
+		);
+		assertSourceEquals(
+			"unexpected characters after the first edit",
+			"package x.y;\n" +
+			"/* class comment */\n" +
+			"public class A {\n" +
+			"}",
+			new String(after)
+		);
+		assertSourceEquals(
+			"unexpected buffer contents",
+			"package z;\n" +
+			"/* class comment */\n" +
+			"public class A {\n" +
+			"}\n" +
+			"class B {}",
+			buffer.getContents()
+		);
+	} finally {
+		deleteBuffer(buffer);
+	}
+}
 
 /**
  * Tests replacing text within a buffer using a create import
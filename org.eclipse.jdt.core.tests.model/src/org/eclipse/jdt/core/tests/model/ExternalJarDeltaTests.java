@@ -233,6 +233,42 @@ public void testExternalJarChanged4() throws CoreException, IOException {
 		stopDeltas();
 	}
 }
+/**
+ * Ensure that the packages of an external jar which changed after shutdown are read from the new jar,
+ * and not from the structure persisted by the previous session.
+ */
+public void testExternalJarChanged4b() throws CoreException, IOException {
+	File f = null;
+	try {
+		IJavaProject project = this.createJavaProject("P", new String[] {""}, "");
+
+		String pPath = getExternalPath() + "p.jar";
+		createJar(new String[] {"p/X.java", "package p;\npublic class X {}"}, pPath);
+		setClasspath(project, new IClasspathEntry[]{JavaCore.newLibraryEntry(new Path(pPath), null, null)});
+		f = new File(pPath);
+		IPackageFragmentRoot root = project.getPackageFragmentRoot(pPath);
+		assertTrue("p should exist", root.getPackageFragment("p").exists());
+
+		// exit, change the jar, and restart
+		simulateExit();
+		try {
+			createJar(new String[] {"q/X.java", "package q;\npublic class X {}"}, pPath);
+			touch(f);
+		} finally {
+			simulateRestart();
+		}
+		getJavaModel().refreshExternalArchives(null,null);
+
+		root = project.getPackageFragmentRoot(pPath);
+		assertTrue("q should exist", root.getPackageFragment("q").exists());
+		assertFalse("p should not exist", root.getPackageFragment("p").exists());
+	} finally {
+		if(f != null) {
+			deleteResource(f);
+		}
+		this.deleteProject("P");
+	}
+}
 /**
  * Ensure that the external jars are refreshed by a call to JavaCore#initializeAfterLoad()
  * (regression test for bug 93668 Search indexes not rebuild)
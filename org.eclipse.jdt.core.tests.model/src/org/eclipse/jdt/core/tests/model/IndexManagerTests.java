@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2021 Gayan Perera and others.
+ * Copyright (c) 2021, 2026 Gayan Perera and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,9 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.model;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -21,12 +23,18 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.ZipFile;
 import junit.framework.Test;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
@@ -42,11 +50,14 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.tests.model.AbstractJavaSearchTests.JavaSearchResultCollector;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.index.DiskIndex;
 import org.eclipse.jdt.internal.core.index.EntryResult;
+import org.eclipse.jdt.internal.core.index.FileIndexLocation;
 import org.eclipse.jdt.internal.core.index.Index;
 import org.eclipse.jdt.internal.core.index.MetaIndex;
 import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
+import org.eclipse.jdt.internal.core.search.indexing.IndexRequest;
 import org.eclipse.jdt.internal.core.search.indexing.ReadWriteMonitor;
 
 public class IndexManagerTests extends ModifyingResourceTests {
@@ -172,6 +183,317 @@ public class IndexManagerTests extends ModifyingResourceTests {
 		assertEquals("Expected number of indexes are not found for binary.Deep", size - 1, indexNames.get().size());
 	}
 
+	public void testConcurrentLibraryIndexing() throws Exception {
+		int workers = IndexManager.INDEXING_WORKERS;
+		boolean wasIndexerEnabled = this.indexManager.isEnabled();
+		IndexManager.INDEXING_WORKERS = 4;
+		try {
+			// queue the library jobs while the indexer is idle so they are picked up together
+			disableIndexer();
+			for (int i = 1; i <= 4; i++) {
+				addLibrary(this.project, "lib" + i + ".jar", null, new String[] {
+					"p" + i + "/X" + i + ".java",
+					"package p" + i + ";\n" +
+					"public class X" + i + " {}\n"
+				}, "1.8");
+			}
+			enableIndexer();
+			waitUntilIndexesReady();
+
+			IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {this.project});
+			for (int i = 1; i <= 4; i++) {
+				JavaSearchResultCollector collector = new JavaSearchResultCollector();
+				search("p" + i + ".X" + i, IJavaSearchConstants.TYPE, IJavaSearchConstants.DECLARATIONS, scope, collector);
+				assertSearchResults(
+					"lib" + i + ".jar p" + i + ".X" + i + " [No source]",
+					collector);
+			}
+		} finally {
+			IndexManager.INDEXING_WORKERS = workers;
+			if (wasIndexerEnabled) {
+				enableIndexer();
+			}
+		}
+	}
+
+	public void testConcurrentIndexRequests() throws Exception {
+		int workers = IndexManager.INDEXING_WORKERS;
+		boolean wasIndexerEnabled = this.indexManager.isEnabled();
+		IndexManager.INDEXING_WORKERS = 2;
+		try {
+			addLibrary(this.project, "lib.jar", null, new String[] {
+				"p/X.java",
+				"package p;\n" +
+				"public class X {}\n"
+			}, "1.8");
+			waitUntilIndexesReady();
+			IPath jarPath = this.project.getPath().append("lib.jar");
+			CountDownLatch otherContainerStarted = new CountDownLatch(1);
+			AtomicBoolean overlapped = new AtomicBoolean();
+			AtomicBoolean zipFilesCached = new AtomicBoolean();
+			List<String> executed = Collections.synchronizedList(new ArrayList<>());
+
+			// queue the requests while the indexer is idle so they are picked up together
+			disableIndexer();
+			this.indexManager.request(new TestIndexRequest("/A", executed) {
+				@Override
+				public boolean execute(IProgressMonitor progressMonitor) {
+					super.execute(progressMonitor);
+					try {
+						// blocks the request for /A until the request for /B started
+						overlapped.set(otherContainerStarted.await(30, TimeUnit.SECONDS));
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return true;
+				}
+			});
+			this.indexManager.request(new TestIndexRequest("/A", executed));
+			this.indexManager.request(new TestIndexRequest("/B", executed) {
+				@Override
+				public boolean execute(IProgressMonitor progressMonitor) {
+					super.execute(progressMonitor);
+					try {
+						JavaModelManager manager = JavaModelManager.getJavaModelManager();
+						ZipFile first = manager.getZipFile(jarPath);
+						ZipFile second = manager.getZipFile(jarPath);
+						zipFilesCached.set(first == second);
+						manager.closeZipFile(first);
+						manager.closeZipFile(second);
+					} catch (CoreException e) {
+						// reported by the assertion
+					}
+					otherContainerStarted.countDown();
+					return true;
+				}
+			});
+			enableIndexer();
+			waitUntilIndexesReady();
+
+			assertTrue("The requests for different containers did not run concurrently", overlapped.get());
+			assertTrue("The zip files are not cached by the worker", zipFilesCached.get());
+			assertEquals("Unexpected order of the requests for /A", Arrays.asList("/A", "/A"),
+					executed.stream().filter("/A"::equals).collect(Collectors.toList()));
+			assertEquals("Unexpected number of executed requests", 3, executed.size());
+		} finally {
+			IndexManager.INDEXING_WORKERS = workers;
+			if (wasIndexerEnabled) {
+				enableIndexer();
+			}
+		}
+	}
+
+	private class TestIndexRequest extends IndexRequest {
+		private final List<String> executed;
+
+		TestIndexRequest(String containerPath, List<String> executed) {
+			super(new Path(containerPath), IndexManagerTests.this.indexManager);
+			this.executed = executed;
+		}
+		@Override
+		public void ensureReadyToRun() {
+			// there is no index for the container
+		}
+		@Override
+		public boolean execute(IProgressMonitor progressMonitor) {
+			this.executed.add(this.containerPath.toString());
+			return true;
+		}
+	}
+
+	public void testSharedIndexCache() throws Exception {
+		String cacheDir = getExternalResourcePath("sharedIndexCache");
+		String jar1 = getExternalResourcePath("lib1/shared.jar");
+		String jar2 = getExternalResourcePath("lib2/shared.jar");
+		System.setProperty("jdt.core.sharedIndexCache", cacheDir);
+		try {
+			new File(jar1).getParentFile().mkdirs();
+			new File(jar2).getParentFile().mkdirs();
+			createJar(new String[] {
+				"shared/Shared.java",
+				"package shared;\n" +
+				"public class Shared {}\n"
+			}, jar1);
+			Files.copy(Paths.get(jar1), Paths.get(jar2));
+			File versionDir = new File(cacheDir, DiskIndex.INDEX_VERSION);
+
+			addLibraryEntry(this.project, jar1, false);
+			waitUntilIndexesReady();
+			assertEquals("Unexpected shared index cache entries", 1, versionDir.list((dir, name) -> name.endsWith(".index")).length);
+
+			// an identical jar in another location reuses the shared entry
+			IJavaProject other = createJavaProject("OtherIndexProject", new String[] { "src" }, new String[0], "bin", CompilerOptions.getFirstSupportedJavaVersion());
+			try {
+				addLibraryEntry(other, jar2, false);
+				waitUntilIndexesReady();
+				assertEquals("Unexpected shared index cache entries", 1, versionDir.list((dir, name) -> name.endsWith(".index")).length);
+
+				JavaSearchResultCollector collector = new JavaSearchResultCollector();
+				IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {other});
+				search("Shared", IJavaSearchConstants.TYPE, IJavaSearchConstants.DECLARATIONS, scope, collector);
+				assertSearchResults(
+					jar2 + " shared.Shared",
+					collector);
+			} finally {
+				deleteProject(other);
+			}
+		} finally {
+			System.clearProperty("jdt.core.sharedIndexCache");
+			org.eclipse.jdt.core.tests.util.Util.delete(cacheDir);
+			org.eclipse.jdt.core.tests.util.Util.delete(new File(jar1).getParent());
+			org.eclipse.jdt.core.tests.util.Util.delete(new File(jar2).getParent());
+		}
+	}
+
+	public void testSaveAppendsToIndexJournal() throws Exception {
+		createFolder("/IndexProject/src/app");
+		createFile("/IndexProject/src/app/Q1.java", "package app;\n public class Q1 {\n" + "}");
+		waitUntilIndexesReady();
+		this.indexManager.saveIndexes();
+		Index index = this.indexManager.getIndex(this.project.getPath(), true, false);
+		File indexFile = index.getIndexFile();
+		File journalFile = new File(indexFile.getPath() + Index.JOURNAL_FILE_SUFFIX);
+		long length = indexFile.length();
+		long lastModified = indexFile.lastModified();
+
+		createFile("/IndexProject/src/app/Q2.java", "package app;\n public class Q2 {\n" + "}");
+		waitUntilIndexesReady();
+		this.indexManager.saveIndexes();
+		assertTrue("Should append to the journal", journalFile.exists());
+		assertEquals("Should not rewrite the index file", length, indexFile.length());
+		assertEquals("Should not rewrite the index file", lastModified, indexFile.lastModified());
+
+		// the journal is replayed when the index is read again
+		Index reloaded = new Index(new FileIndexLocation(indexFile), index.containerPath, true, true);
+		String[] documentNames = reloaded.queryDocumentNames(null);
+		Arrays.sort(documentNames);
+		assertEquals("Unexpected documents", "[src/app/Q1.java, src/app/Q2.java]", Arrays.toString(documentNames));
+	}
+
+	public void testNoIndexJournalForLibraries() throws Exception {
+		addLibrary(this.project, "journal.jar", null, new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {}\n"
+		}, "1.8");
+		waitUntilIndexesReady();
+		Index index = this.indexManager.getIndex(new Path("/IndexProject/journal.jar"), true, false);
+		assertNotNull("Should have an index for the library", index);
+		File indexFile = index.getIndexFile();
+		File journalFile = new File(indexFile.getPath() + Index.JOURNAL_FILE_SUFFIX);
+
+		// libraries are rebuilt as a whole, a save of a change rewrites the index file
+		index.monitor.enterWrite();
+		try {
+			index.addIndexEntry(IIndexConstants.TYPE_DECL, "Y/p/C".toCharArray(), "p/Y.class");
+			assertTrue("Should save the change", index.save());
+		} finally {
+			index.monitor.exitWrite();
+		}
+		assertFalse("Should not append to a journal", journalFile.exists());
+		Index reloaded = new Index(new FileIndexLocation(indexFile), index.containerPath, true);
+		String[] documentNames = reloaded.queryDocumentNames(null);
+		Arrays.sort(documentNames);
+		assertEquals("Unexpected documents", "[p/X.class, p/Y.class]", Arrays.toString(documentNames));
+	}
+
+	/*
+	 * Queries a saved and reloaded index with each match rule, reading it through a mapping of the file and through
+	 * streams. Some words share prefixes longer than the buffers the tables are read with, and the document numbers
+	 * and the offsets of the document arrays are large enough to be written as varints of several bytes.
+	 */
+	public void testIndexFormatQueries() throws Exception {
+		boolean mapIndexFiles = DiskIndex.MAP_INDEX_FILES;
+		File indexFile = File.createTempFile("indexFormat", ".index");
+		try {
+			String longPrefix = "org/eclipse/" + "x".repeat(5000) + "/";
+			int documentCount = 20000;
+			String[] documentNames = new String[documentCount];
+			Index index = new Index(new FileIndexLocation(indexFile), "", false);
+			List<String> sparseNames = new ArrayList<>();
+			for (int i = 0; i < documentCount; i++) {
+				// long and distinct names so that the category tables start after the first 2MB of the file
+				documentNames[i] = "d" + i + "/" + String.valueOf(i * 2654435761L).repeat(10) + ".class";
+				index.addIndexEntry(IIndexConstants.TYPE_DECL, "Common".toCharArray(), documentNames[i]);
+				if (i % 4096 == 0) {
+					index.addIndexEntry(IIndexConstants.TYPE_DECL, "Sparse".toCharArray(), documentNames[i]);
+					sparseNames.add(documentNames[i]);
+				}
+			}
+			Collections.sort(sparseNames);
+			String[] sortedNames = documentNames.clone();
+			Arrays.sort(sortedNames);
+			String lastName = sortedNames[documentCount - 1]; // the largest document number
+			index.addIndexEntry(IIndexConstants.TYPE_DECL, "LastOnly".toCharArray(), lastName);
+			String[] words = {"HashMap", "HashMapEntry", "HashTable", "LinkedHashMap", "hashCode",
+					longPrefix + "Alpha", longPrefix + "AlphaBeta", longPrefix + "Beta", longPrefix + "Gamma"};
+			for (int i = 0; i < words.length; i++)
+				index.addIndexEntry(IIndexConstants.TYPE_DECL, words[i].toCharArray(), "w" + i + ".class");
+			assertTrue("Should save the index", index.save());
+			assertTrue("Unexpected size of the index file " + indexFile.length(), indexFile.length() > 2 * 1024 * 1024);
+
+			for (boolean mapped : new boolean[] {true, false}) {
+				DiskIndex.MAP_INDEX_FILES = mapped;
+				Index reloaded = new Index(new FileIndexLocation(indexFile), "", true);
+				int exact = SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE;
+				int prefix = SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE;
+				int pattern = SearchPattern.R_PATTERN_MATCH | SearchPattern.R_CASE_SENSITIVE;
+				int camelCase = SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE;
+				assertEquals("Unexpected exact match", "Common 20000 documents", query(reloaded, "Common", exact, longPrefix));
+				assertEquals("Unexpected exact match", "LastOnly [" + lastName + "]", query(reloaded, "LastOnly", exact, longPrefix));
+				assertEquals("Unexpected exact match", "Sparse " + sparseNames, query(reloaded, "Sparse", exact, longPrefix));
+				assertEquals("Unexpected exact match", "", query(reloaded, "Missing", exact, longPrefix));
+				assertEquals("Unexpected exact match", "<prefix>Beta [w7.class]", query(reloaded, longPrefix + "Beta", exact, longPrefix));
+				assertEquals("Unexpected prefix match",
+						"HashMap [w0.class]\n" +
+						"HashMapEntry [w1.class]\n" +
+						"HashTable [w2.class]",
+						query(reloaded, "Hash", prefix, longPrefix));
+				assertEquals("Unexpected prefix match",
+						"HashMap [w0.class]\n" +
+						"HashMapEntry [w1.class]\n" +
+						"HashTable [w2.class]\n" +
+						"hashCode [w4.class]",
+						query(reloaded, "hash", SearchPattern.R_PREFIX_MATCH, longPrefix));
+				assertEquals("Unexpected prefix match",
+						"<prefix>Alpha [w5.class]\n" +
+						"<prefix>AlphaBeta [w6.class]",
+						query(reloaded, longPrefix + "Alpha", prefix, longPrefix));
+				assertEquals("Unexpected pattern match", "HashMapEntry [w1.class]", query(reloaded, "Hash*Entry", pattern, longPrefix));
+				assertEquals("Unexpected pattern match",
+						"HashMap [w0.class]\n" +
+						"LinkedHashMap [w3.class]",
+						query(reloaded, "*Map", pattern, longPrefix));
+				assertEquals("Unexpected pattern match", "<prefix>Beta [w7.class]", query(reloaded, longPrefix + "?eta", pattern, longPrefix));
+				assertEquals("Unexpected camel case match",
+						"HashMap [w0.class]\n" +
+						"HashMapEntry [w1.class]",
+						query(reloaded, "HM", camelCase, longPrefix));
+				assertEquals("Unexpected camel case match", "LinkedHashMap [w3.class]", query(reloaded, "LHM", camelCase, longPrefix));
+			}
+		} finally {
+			DiskIndex.MAP_INDEX_FILES = mapIndexFiles;
+			indexFile.delete();
+		}
+	}
+
+	/*
+	 * Answers the words of the type declarations matching the given key and their documents, one word per line.
+	 */
+	private static String query(Index index, String key, int matchRule, String longPrefix) throws IOException {
+		EntryResult[] results = index.query(new char[][] {IIndexConstants.TYPE_DECL}, key.toCharArray(), matchRule);
+		if (results == null) return "";
+		List<String> lines = new ArrayList<>();
+		for (EntryResult result : results) {
+			String word = new String(result.getWord()).replace(longPrefix, "<prefix>");
+			String[] names = result.getDocumentNames(index);
+			Arrays.sort(names);
+			lines.add(word + " " + (names.length > 5 ? names.length + " documents" : Arrays.toString(names)));
+		}
+		Collections.sort(lines);
+		return String.join("\n", lines);
+	}
+
 	public void testSearchMetaIndex_ForSourceTypeDeclarations() throws CoreException {
 		if (SKIP_TESTS)
 			return;
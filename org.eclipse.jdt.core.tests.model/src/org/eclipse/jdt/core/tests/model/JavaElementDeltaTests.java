@@ -40,6 +40,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.internal.core.ClasspathAttribute;
 import org.eclipse.jdt.internal.core.DeltaProcessingState;
+import org.eclipse.jdt.internal.core.DeltaProcessor;
 import org.eclipse.jdt.internal.core.JavaElementDelta;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.JavaProject;
@@ -714,6 +715,49 @@ public void testAddTwoJavaProjects() throws CoreException {
 	}
 }
 
+/*
+ * Add compilation units to 2 java projects in an IWorkspaceRunnable while the project deltas are translated
+ * concurrently, and ensure the delta is the same as with a sequential translation.
+ */
+public void testAddCusInTwoJavaProjectsConcurrently() throws CoreException {
+	int workers = DeltaProcessor.PROCESSING_WORKERS;
+	int threshold = DeltaProcessor.CONCURRENT_PROCESSING_THRESHOLD;
+	try {
+		createJavaProject("P1", new String[] {"src"}, "bin");
+		createJavaProject("P2", new String[] {"src"}, "bin");
+		DeltaProcessor.PROCESSING_WORKERS = 2;
+		DeltaProcessor.CONCURRENT_PROCESSING_THRESHOLD = 1;
+		DeltaProcessor.resetPhaseTimes();
+		startDeltas();
+		ResourcesPlugin.getWorkspace().run(
+			new IWorkspaceRunnable() {
+				public void run(IProgressMonitor monitor) throws CoreException {
+					createFile("P1/src/X.java", "public class X {\n}");
+					createFile("P2/src/Y.java", "public class Y {\n}");
+				}
+			},
+			null);
+		assertDeltas(
+			"Unexpected delta",
+			"P1[*]: {CHILDREN}\n" +
+			"	src[*]: {CHILDREN}\n" +
+			"		<default>[*]: {CHILDREN}\n" +
+			"			X.java[+]: {}\n" +
+			"P2[*]: {CHILDREN}\n" +
+			"	src[*]: {CHILDREN}\n" +
+			"		<default>[*]: {CHILDREN}\n" +
+			"			Y.java[+]: {}"
+		);
+		assertTrue("Translation should be timed", DeltaProcessor.getPhaseTime(DeltaProcessor.PHASE_TRANSLATION) > 0);
+	} finally {
+		DeltaProcessor.PROCESSING_WORKERS = workers;
+		DeltaProcessor.CONCURRENT_PROCESSING_THRESHOLD = threshold;
+		stopDeltas();
+		deleteProject("P1");
+		deleteProject("P2");
+	}
+}
+
 /*
  * Add 2 java projects in an IWorkspaceRunnable.
  */
@@ -41,6 +41,7 @@ import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.UserLibraryClasspathContainer;
 import org.eclipse.jdt.internal.core.index.DiskIndex;
 import org.eclipse.jdt.internal.core.index.Index;
+import org.eclipse.jdt.internal.core.index.WordFilter;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 import org.osgi.service.prefs.BackingStoreException;
 
@@ -932,4 +933,87 @@ public class JavaIndexTests extends AbstractJavaSearchTests  {
 			ClasspathEntry.setSharedIndexLocation(null, getClass());
 		}
 	}
+
+	// Test that a pre-built index gives the same results whether it is read through a mapping or through streams
+	public void testMappedIndexFile() throws IOException, CoreException {
+		String indexFilePath = getExternalResourcePath("Test.index");
+		String jarFilePath = "/P/Test.jar";
+		String fullJarPath = Paths.get(getWorkspacePath(), jarFilePath).toString();
+		boolean mapIndexFiles = DiskIndex.MAP_INDEX_FILES;
+		try {
+			IJavaProject p = createJavaProject("P");
+			createJar(new String[] {
+					"pkg/Test.java",
+					"package pkg;\n" +
+					"public class Test {\n" +
+					"  protected Test(int i) {}\n" +
+					"}",
+					"pkg/T\u00e9st.java",
+					"package pkg;\n" +
+					"public class T\u00e9st extends Test {\n" +
+					"  T\u00e9st() { super(0); }\n" +
+					"}"}, fullJarPath);
+			p.getProject().refreshLocal(1, null);
+			JavaIndexer.generateIndexForJar(fullJarPath, indexFilePath);
+			IPath libPath = new Path(jarFilePath);
+			IClasspathAttribute attribute = JavaCore.newClasspathAttribute(IClasspathAttribute.INDEX_LOCATION_ATTRIBUTE_NAME, "file:///"+indexFilePath);
+			IClasspathEntry entry = JavaCore.newLibraryEntry(libPath, null, null, null, new IClasspathAttribute[]{attribute}, false);
+
+			DiskIndex.MAP_INDEX_FILES = true;
+			setClasspath(p, new IClasspathEntry[] {entry});
+			waitUntilIndexesReady();
+			search("T*st", TYPE, DECLARATIONS, SearchEngine.createJavaSearchScope(new IJavaElement[]{p}));
+			assertSearchResults(
+				"Test.jar pkg.Test [No source]\n" +
+				"Test.jar pkg.T\u00e9st [No source]");
+
+			DiskIndex.MAP_INDEX_FILES = false;
+			simulateExitRestart();
+			waitUntilIndexesReady();
+			this.resultCollector = new JavaSearchResultCollector();
+			search("T*st", TYPE, DECLARATIONS, SearchEngine.createJavaSearchScope(new IJavaElement[]{p}));
+			assertSearchResults(
+				"Test.jar pkg.Test [No source]\n" +
+				"Test.jar pkg.T\u00e9st [No source]");
+		} finally {
+			DiskIndex.MAP_INDEX_FILES = mapIndexFiles;
+			deleteProject("P");
+			new File(indexFilePath).delete();
+		}
+	}
+
+	// Test that the word filters of an index skip the category tables which cannot contain the searched type
+	public void testIndexWordFilter() throws IOException, CoreException {
+		String indexFilePath = getExternalResourcePath("Test.index");
+		String jarFilePath = "/P/Test.jar";
+		String fullJarPath = Paths.get(getWorkspacePath(), jarFilePath).toString();
+		try {
+			IJavaProject p = createJavaProject("P");
+			createJar(new String[] {
+					"pkg/Test.java",
+					"package pkg;\n" +
+					"public class Test {\n" +
+					"  protected Test(int i) {}\n" +
+					"}"}, fullJarPath);
+			p.getProject().refreshLocal(1, null);
+			JavaIndexer.generateIndexForJar(fullJarPath, indexFilePath);
+			IPath libPath = new Path(jarFilePath);
+			IClasspathAttribute attribute = JavaCore.newClasspathAttribute(IClasspathAttribute.INDEX_LOCATION_ATTRIBUTE_NAME, "file:///"+indexFilePath);
+			IClasspathEntry entry = JavaCore.newLibraryEntry(libPath, null, null, null, new IClasspathAttribute[]{attribute}, false);
+			setClasspath(p, new IClasspathEntry[] {entry});
+			waitUntilIndexesReady();
+
+			long skips = WordFilter.getSkipCount();
+			search("pkg.Missing", TYPE, DECLARATIONS, SearchEngine.createJavaSearchScope(new IJavaElement[]{p}));
+			assertSearchResults("");
+			assertTrue("Should skip the type declarations of the index", WordFilter.getSkipCount() > skips);
+
+			this.resultCollector = new JavaSearchResultCollector();
+			search("pkg.Test", TYPE, DECLARATIONS, SearchEngine.createJavaSearchScope(new IJavaElement[]{p}));
+			assertSearchResults("Test.jar pkg.Test [No source]");
+		} finally {
+			deleteProject("P");
+			new File(indexFilePath).delete();
+		}
+	}
 }
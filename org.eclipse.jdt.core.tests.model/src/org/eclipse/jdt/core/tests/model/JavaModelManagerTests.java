@@ -1,8 +1,13 @@
 package org.eclipse.jdt.core.tests.model;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 import junit.framework.Test;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -13,15 +18,21 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IOrdinaryClassFile;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.internal.core.JavaElement;
 import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.JavaModelSnapshot;
+import org.eclipse.jdt.internal.core.JavaProject;
+import org.eclipse.jdt.internal.core.JavaProject.ClasspathResolutionBreakpointListener;
 
 public class JavaModelManagerTests extends AbstractJavaModelTests {
 
@@ -51,6 +62,157 @@ public class JavaModelManagerTests extends AbstractJavaModelTests {
 		}
 	}
 
+	/**
+	 * Ensures that the classpath and the table of packages of a project used before a save are rebuilt in the
+	 * background after a restart, before they are first asked for, and that closed or deleted projects are skipped.
+	 */
+	public void testJavaModelSnapshotWarmUp() throws Exception {
+		boolean enabled = JavaModelSnapshot.ENABLED;
+		JavaModelSnapshot.ENABLED = true;
+		try {
+			createJavaProject("P1", new String[] {"src"}, "bin");
+			createJavaProject("P2", new String[] {"src"}, "bin");
+			createJavaProject("P3", new String[] {"src"}, "bin");
+			createFolder("/P1/src/p");
+			createFile("/P1/src/p/X.java", "package p;\npublic class X {}");
+			for (String name : new String[] {"P1", "P2", "P3"}) {
+				getJavaProject(name).findType("p.X");
+			}
+			JavaModelManager manager = JavaModelManager.getJavaModelManager();
+			assertWarm("before the save", "P1", JavaModelSnapshot.collect(manager));
+
+			simulateExit();
+			try {
+				getProject("P2").close(null);
+				getProject("P3").delete(true, null);
+			} finally {
+				simulateRestart();
+			}
+
+			Map<String, Integer> warm = waitForWarmUp("P1");
+			assertWarm("after the restart", "P1", warm);
+			manager = JavaModelManager.getJavaModelManager();
+			assertFalse("Closed project should not be warmed up", warm.containsKey("P2"));
+			assertNull("Closed project should not be opened", manager.getPerProjectInfo(getProject("P2"), false));
+			assertFalse("Deleted project should not be warmed up", warm.containsKey("P3"));
+			assertNull("Deleted project should not be opened", manager.getPerProjectInfo(getProject("P3"), false));
+		} finally {
+			JavaModelSnapshot.ENABLED = enabled;
+			deleteProject("P1");
+			deleteProject("P2");
+			deleteProject("P3");
+		}
+	}
+
+	/**
+	 * Ensures that the resolved classpath and the packages of the libraries of a project which did not change since
+	 * the save are restored from the snapshot by the warm-up, without resolving its classpath again.
+	 */
+	public void testJavaModelSnapshotRestoresClasspath() throws Exception {
+		boolean enabled = JavaModelSnapshot.ENABLED;
+		JavaModelSnapshot.ENABLED = true;
+		AtomicInteger resolutions = new AtomicInteger();
+		ClasspathResolutionBreakpointListener listener = new ClasspathResolutionBreakpointListener() {
+			@Override
+			public void breakpoint(int bp) {
+				Job job = Job.getJobManager().currentJob();
+				if (bp == 1 && job != null && job.belongsTo(JavaModelSnapshot.class))
+					resolutions.incrementAndGet();
+			}
+		};
+		try {
+			IJavaProject project = createJavaProject("P1", new String[] {"src"}, new String[] {"JCL18_LIB"}, "bin", "1.8");
+			addLibrary(project, "lib.jar", null, new String[] {
+				"q/Y.java",
+				"package q;\n" +
+				"public class Y {}"
+			}, "1.8");
+			assertNotNull("Type of the library should be found before the save", project.findType("q.Y"));
+			IClasspathEntry[] classpath = project.getResolvedClasspath(true);
+
+			simulateExit();
+			JavaProject.addCPResolutionBPListener(listener);
+			simulateRestart();
+
+			assertWarm("after the restart", "P1", waitForWarmUp("P1"));
+			assertEquals("Classpath should be restored without resolving it", 0, resolutions.get());
+			project = getJavaProject("P1");
+			assertClasspathEquals(classpath, project.getResolvedClasspath(true));
+			assertNotNull("Type of the library should be found after the restart", project.findType("q.Y"));
+		} finally {
+			JavaProject.removeCPResolutionBPListener(listener);
+			JavaModelSnapshot.ENABLED = enabled;
+			deleteProject("P1");
+		}
+	}
+
+	/**
+	 * Ensures that a project whose <code>.classpath</code> file changed after the save is warmed up from its new
+	 * classpath instead of the one of the snapshot.
+	 */
+	public void testJavaModelSnapshotStaleClasspath() throws Exception {
+		boolean enabled = JavaModelSnapshot.ENABLED;
+		JavaModelSnapshot.ENABLED = true;
+		try {
+			createJavaProject("P1", new String[] {"src"}, "bin");
+			createFolder("/P1/src2/p");
+			createFile("/P1/src2/p/X.java", "package p;\npublic class X {}");
+			assertNull("Type of the other folder should not be found before the save", getJavaProject("P1").findType("p.X"));
+
+			simulateExit();
+			try {
+				IFile file = getProject("P1").getFile(JavaProject.CLASSPATH_FILENAME);
+				String contents = new String(org.eclipse.jdt.internal.core.util.Util.getResourceContentsAsCharArray(file));
+				contents = contents.replace("<classpathentry kind=\"src\" path=\"src\"/>",
+						"<classpathentry kind=\"src\" path=\"src\"/><classpathentry kind=\"src\" path=\"src2\"/>");
+				file.setContents(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), IResource.FORCE, null);
+			} finally {
+				simulateRestart();
+			}
+
+			assertWarm("after the restart", "P1", waitForWarmUp("P1"));
+			IJavaProject project = getJavaProject("P1");
+			assertNotNull("Type of the new source folder should be found after the restart", project.findType("p.X"));
+			assertClasspathEquals(
+					new IClasspathEntry[] {
+						JavaCore.newSourceEntry(new Path("/P1/src")),
+						JavaCore.newSourceEntry(new Path("/P1/src2"))
+					},
+					project.getResolvedClasspath(true));
+		} finally {
+			JavaModelSnapshot.ENABLED = enabled;
+			deleteProject("P1");
+		}
+	}
+
+	private static void assertClasspathEquals(IClasspathEntry[] expected, IClasspathEntry[] actual) {
+		assertEquals("Unexpected resolved classpath", Arrays.toString(expected), Arrays.toString(actual));
+	}
+
+	private static void assertWarm(String message, String projectName, Map<String, Integer> warm) {
+		Integer flags = warm.get(projectName);
+		assertNotNull("Classpath of " + projectName + " should be resolved " + message, flags);
+		int expected = JavaModelSnapshot.CLASSPATH | JavaModelSnapshot.ROOTS | JavaModelSnapshot.PACKAGES;
+		assertEquals("Unexpected parts of " + projectName + " computed " + message, expected, flags.intValue() & expected);
+	}
+
+	/*
+	 * The warm-up is only scheduled once the changes since the save were processed, so poll until it ran.
+	 */
+	private static Map<String, Integer> waitForWarmUp(String projectName) throws InterruptedException {
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		long deadline = System.currentTimeMillis() + 30_000;
+		Map<String, Integer> warm = JavaModelSnapshot.collect(manager);
+		while (!warm.containsKey(projectName) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+			Job.getJobManager().join(JavaModelSnapshot.class, null);
+			warm = JavaModelSnapshot.collect(manager);
+		}
+		// the classpath is resolved first, wait for the rest of the warm-up
+		Job.getJobManager().join(JavaModelSnapshot.class, null);
+		return JavaModelSnapshot.collect(manager);
+	}
+
 	private void doTestBug548456_concurrentCallBinaryTypeExists(int numberOfThreads) throws Exception {
 		final IJavaProject project = setUpJavaProject(PROJECT_NAME);
 		try {
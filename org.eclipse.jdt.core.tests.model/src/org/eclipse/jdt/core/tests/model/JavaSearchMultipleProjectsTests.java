@@ -29,6 +29,8 @@ import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.tests.model.AbstractJavaSearchTests.JavaSearchResultCollector;
 import org.eclipse.jdt.core.tests.model.AbstractJavaSearchTests.TypeNameMatchCollector;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.core.search.matching.ConstantPoolFilter;
+import org.eclipse.jdt.internal.core.search.matching.MatchLocator;
 import org.eclipse.jdt.internal.core.search.matching.PatternLocator;
 
 /**
@@ -409,6 +411,55 @@ public void testMethodOccurences() throws CoreException {
 		deleteProject("P2");
 	}
 }
+/**
+ * Type references in 3 projects located by concurrent matching workers are reported in the same order as
+ * a sequential search would report them.
+ */
+public void testMatchingWorkers() throws CoreException {
+	int workers = MatchLocator.MATCHING_WORKERS;
+	try {
+		IJavaProject p1 = createJavaProject("P1");
+		createFolder("/P1/p");
+		createFile(
+			"/P1/p/I.java",
+			"package p;\n" +
+			"public interface I {\n" +
+			"}"
+		);
+		createFile(
+			"/P1/p/C.java",
+			"package p;\n" +
+			"public class C implements I {\n" +
+			"}"
+		);
+		p1.getProject().copy(new Path("/P2"), false, null);
+		p1.getProject().copy(new Path("/P3"), false, null);
+		IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {getJavaProject("P3"), p1, getJavaProject("P2")});
+
+		JavaSearchResultCollector sequential = new JavaSearchResultCollector();
+		sequential.showProject();
+		MatchLocator.MATCHING_WORKERS = 1;
+		search("p.I", IJavaSearchConstants.TYPE, IJavaSearchConstants.REFERENCES, scope, sequential);
+
+		JavaSearchResultCollector concurrent = new JavaSearchResultCollector();
+		concurrent.showProject();
+		MatchLocator.MATCHING_WORKERS = 4;
+		search("p.I", IJavaSearchConstants.TYPE, IJavaSearchConstants.REFERENCES, scope, concurrent);
+
+		assertSearchResults(
+			"Unexpected references to p.I",
+			"p/C.java [in P1] p.C [I]\n" +
+			"p/C.java [in P2] p.C [I]\n" +
+			"p/C.java [in P3] p.C [I]",
+			sequential);
+		assertEquals("Unexpected order of concurrent matches", sequential.toString(), concurrent.toString());
+	} finally {
+		MatchLocator.MATCHING_WORKERS = workers;
+		deleteProject("P1");
+		deleteProject("P2");
+		deleteProject("P3");
+	}
+}
 /**
  * Package declaration with 2 unrelated projects that contain the same source.
  * (regression test for bug 46276 Search for package declarations incorrectly finds matches in clone project)
@@ -641,6 +692,32 @@ public void testReferenceInWorkingCopies() throws CoreException {
 		deleteProject("P2");
 	}
 }
+/**
+ * Class files without source whose constant pool does not contain the searched name are not decoded.
+ */
+public void testConstantPoolFilter() throws CoreException, IOException {
+	try {
+		IJavaProject p1 = createJavaProject("P1", new String[] {""}, new String[] {"JCL18_LIB"}, "");
+		addLibrary(p1, "lib.jar", null, new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"  public void foo() {}\n" +
+			"  public class Member {\n" +
+			"    public void bar() {}\n" +
+			"  }\n" +
+			"}"
+		}, "1.8");
+		IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {p1});
+		long checks = ConstantPoolFilter.getCheckCount();
+		JavaSearchResultCollector resultCollector = new JavaSearchResultCollector();
+		search("foo", IJavaSearchConstants.METHOD, IJavaSearchConstants.DECLARATIONS, scope, resultCollector);
+		assertEquals("Unexpected number of declarations of foo", 1, resultCollector.count);
+		assertTrue("Class files should have been filtered", ConstantPoolFilter.getCheckCount() > checks);
+	} finally {
+		deleteProject("P1");
+	}
+}
 /**
  * Type declaration in external jar file that is shared by 2 projects.
  * (regression test for bug 27485 SearchEngine returns wrong java element when searching in an archive that is included by two distinct java projects.)
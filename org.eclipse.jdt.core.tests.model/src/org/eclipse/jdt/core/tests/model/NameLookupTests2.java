@@ -16,6 +16,7 @@ package org.eclipse.jdt.core.tests.model;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Map;
 import junit.framework.Test;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.runtime.CoreException;
@@ -35,6 +36,7 @@ import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.core.ClasspathEntry;
 import org.eclipse.jdt.internal.core.DefaultWorkingCopyOwner;
+import org.eclipse.jdt.internal.core.JavaElementRequestor;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.JavaProject;
 import org.eclipse.jdt.internal.core.NameLookup;
@@ -425,6 +427,86 @@ public void testTransitionFromInvalidToValidJar() throws CoreException, IOExcept
 		deleteProject("P");
 	}
 }
+/*
+ * Ensures that the types whose name starts with a prefix are found in all the packages,
+ * including after compilation units are added and removed.
+ */
+public void testSeekTypesWithPrefix() throws Exception {
+	try {
+		JavaProject project = (JavaProject)createJavaProject("P", new String[] {"src"}, "bin");
+		addLibrary(
+				project, "lib.jar", null,
+				new String[] {
+					"r/Xylophone.java",
+					"""
+					package r;
+					public class Xylophone {
+						public class Inner {}
+					}
+					""",
+					"r/Other.java",
+					"""
+					package r;
+					public class Other {}
+					""",
+				},
+				CompilerOptions.getFirstSupportedJavaVersion());
+		createFolder("/P/src/p");
+		createFile("/P/src/p/Xyz.java", "package p;\npublic class Xyz {}");
+		createFolder("/P/src/q");
+		createFile("/P/src/q/Abc.java", "package q;\npublic class Abc {}");
+
+		JavaElementRequestor requestor = new JavaElementRequestor();
+		getNameLookup(project).seekTypes("xy", null, true, NameLookup.ACCEPT_ALL, requestor);
+		assertSortedElementsEqual(
+			"Unexpected types",
+			"Xylophone [in Xylophone.class [in r [in lib.jar [in P]]]]\n" +
+			"Xyz [in Xyz.java [in p [in src [in P]]]]",
+			requestor.getTypes());
+
+		createFile("/P/src/q/Xylem.java", "package q;\npublic class Xylem {}");
+		deleteFile("/P/src/p/Xyz.java");
+
+		requestor = new JavaElementRequestor();
+		getNameLookup(project).seekTypes("xy", null, true, NameLookup.ACCEPT_ALL, requestor);
+		assertSortedElementsEqual(
+			"Unexpected types after change",
+			"Xylem [in Xylem.java [in q [in src [in P]]]]\n" +
+			"Xylophone [in Xylophone.class [in r [in lib.jar [in P]]]]",
+			requestor.getTypes());
+	} finally {
+		deleteProject("P");
+	}
+}
+/*
+ * Ensures that the secondary types known before a restart are found after the restart,
+ * and that a compilation unit changed while the workspace was shut down is taken into account.
+ */
+public void testSecondaryTypesAfterRestart() throws Exception {
+	try {
+		IJavaProject project = createJavaProject("P", new String[] {"src"}, "bin");
+		createFolder("/P/src/p");
+		createFile("/P/src/p/X.java", "package p;\npublic class X {}\nclass Secondary {}");
+		createFile("/P/src/p/Y.java", "package p;\npublic class Y {}\nclass Other {}");
+		waitUntilIndexesReady();
+		assertNotNull("Secondary should be found", JavaModelManager.getJavaModelManager().secondaryTypes(project, true, null).get("p").get("Secondary"));
+
+		simulateExit();
+		try {
+			editFile("/P/src/p/Y.java", "package p;\npublic class Y {}\nclass Changed {}");
+		} finally {
+			simulateRestart();
+		}
+		waitUntilIndexesReady();
+
+		Map<String, IType> types = JavaModelManager.getJavaModelManager().secondaryTypes(project, true, null).get("p");
+		assertNotNull("Secondary should be found after restart", types.get("Secondary"));
+		assertNotNull("Changed should be found after restart", types.get("Changed"));
+		assertNull("Other should not be found after restart", types.get("Other"));
+	} finally {
+		deleteProject("P");
+	}
+}
 /**
  * Test for: {@link org.eclipse.jdt.internal.core.NameLookup.Answer#isNonAccessible()}
  */
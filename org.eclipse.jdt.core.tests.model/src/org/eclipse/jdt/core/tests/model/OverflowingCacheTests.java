@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,8 @@ import org.eclipse.jdt.internal.core.JavaModelCache;
 import org.eclipse.jdt.internal.core.Openable;
 import org.eclipse.jdt.internal.core.OpenableElementInfo;
 import org.eclipse.jdt.internal.core.PackageFragmentRoot;
+import org.eclipse.jdt.internal.core.util.FrequencySketch;
+import org.eclipse.jdt.internal.core.util.LRUCache;
 import org.eclipse.jdt.internal.core.util.LRUCache.LRUCacheEntry;
 import org.eclipse.jdt.internal.core.util.MementoTokenizer;
 
@@ -698,6 +700,129 @@ public class OverflowingCacheTests extends ModifyingResourceTests {
 		assertEquals("overflow space incorrect (after flush)", 0, actualOverflow);
 	}
 
+	/**
+	 * Creates an ElementCache of size 100 with 10 elements, one of them with 100 children,
+	 * then limits it to 2000 bytes. Ensures that the element with children, which weighs more
+	 * than all the others, is closed and that the other ones are measured by their weight.
+	 */
+	public void testElementCacheWeighted() {
+		int entryCount = 10;
+		ElementCache<OverflowingTestOpenable> cache = new ElementCache<>(100);
+		OverflowingTestOpenable[] openables = new OverflowingTestOpenable[entryCount];
+		for (int i = 0; i < entryCount; i++) {
+			openables[i] = new OverflowingTestOpenable(new OverflowingTestBuffer(false, null), cache);
+			OpenableElementInfo info = new OpenableElementInfo();
+			info.setChildren(new IJavaElement[i == 0 ? 100 : 0]);
+			cache.put(openables[i], info);
+		}
+		assertEquals("current space incorrect", entryCount, cache.getCurrentSpace());
+		assertNotNull("should be cached", cache.get(openables[1]));
+		assertNull("should not be cached", cache.get(new OverflowingTestOpenable(new OverflowingTestBuffer(false, null), cache)));
+		assertEquals("hit count incorrect", 1, cache.getHitCount());
+		assertEquals("miss count incorrect", 1, cache.getMissCount());
+
+		cache.setSpaceLimit(2000, true);
+		Hashtable<OverflowingTestOpenable, LRUCacheEntry<OverflowingTestOpenable, JavaElementInfo>> table = cache.getEntryTable();
+		assertFalse("element with children should be closed", openables[0].isOpen());
+		assertEquals("Hashtable wrong size", entryCount - 1, table.size());
+		assertEquals("eviction count incorrect", 1, cache.getEvictionCount());
+		int emptyWeight = table.get(openables[1]).space;
+		assertEquals("current space incorrect (weighted)", (entryCount - 1) * emptyWeight, cache.getCurrentSpace());
+
+		OpenableElementInfo info = new OpenableElementInfo();
+		info.setChildren(new IJavaElement[10]);
+		cache.put(openables[0], info);
+		assertTrue("element with children should weigh more", table.get(openables[0]).space > emptyWeight);
+
+		cache.setSpaceLimit(100, false);
+		assertEquals("current space incorrect (not weighted)", entryCount, cache.getCurrentSpace());
+	}
+
+	/**
+	 * Fills an LRUCache of size 100 with 50 entries used 5 times, then adds 2000 entries used once
+	 * while using the first 50 entries again after every 100 additions. Ensures that the first 50
+	 * entries are discarded by the LRU policy, but kept by a scan resistant cache.
+	 */
+	public void testLRUCacheScanResistant() {
+		for (boolean scanResistant : new boolean[] {false, true}) {
+			LRUCache<Integer, String> cache = new LRUCache<>(100);
+			cache.setScanResistant(scanResistant);
+			for (int i = 0; i < 50; i++) {
+				cache.put(i, "hot");
+			}
+			for (int j = 0; j < 4; j++) {
+				for (int i = 0; i < 50; i++) {
+					cache.get(i);
+				}
+			}
+			for (int i = 1000; i < 3000; i++) {
+				if (i % 100 == 0) {
+					for (int j = 0; j < 50; j++) {
+						cache.get(j);
+					}
+				}
+				if (cache.get(i) == null) {
+					cache.put(i, "scanned");
+				}
+			}
+			int kept = 0;
+			for (int i = 0; i < 50; i++) {
+				if (cache.peek(i) != null) {
+					kept++;
+				}
+			}
+			assertEquals("current space incorrect", 100, cache.getCurrentSpace());
+			assertEquals("wrong number of entries used repeatedly (scan resistant: " + scanResistant + ")", scanResistant ? 50 : 0, kept);
+		}
+	}
+
+	/**
+	 * Fills an LRUCache of size 100 with 100 entries used 3 times, then adds 1000 entries used once.
+	 * Ensures that the scan discards the first entries with the LRU policy, but that a scan resistant
+	 * cache rejects the entries of the scan, and adds a new entry once it is used more frequently than
+	 * the least recently used entry.
+	 */
+	public void testLRUCacheAdmission() {
+		for (boolean scanResistant : new boolean[] {false, true}) {
+			LRUCache<Integer, String> cache = new LRUCache<>(100);
+			cache.setScanResistant(scanResistant);
+			for (int j = 0; j < 3; j++) {
+				for (int i = 0; i < 100; i++) {
+					if (cache.get(i) == null) {
+						cache.put(i, "hot");
+					}
+				}
+			}
+			for (int i = 1000; i < 2000; i++) {
+				if (cache.get(i) == null) {
+					cache.put(i, "scanned");
+				}
+			}
+			int kept = 0;
+			for (int i = 0; i < 100; i++) {
+				if (cache.peek(i) != null) {
+					kept++;
+				}
+			}
+			assertEquals("current space incorrect", 100, cache.getCurrentSpace());
+			if (scanResistant) {
+				// the frequencies are approximate, so a few entries of the scan may be added
+				assertTrue("too many entries used repeatedly were discarded: " + (100 - kept), kept >= 95);
+			} else {
+				assertEquals("wrong number of entries used repeatedly", 0, kept);
+			}
+
+			int misses = 0;
+			while (cache.peek(5000) == null && misses < FrequencySketch.MAX_FREQUENCY) {
+				misses++;
+				if (cache.get(5000) == null) {
+					cache.put(5000, "new");
+				}
+			}
+			assertEquals("wrong number of misses before adding a new entry (scan resistant: " + scanResistant + ")", scanResistant ? 4 : 1, misses);
+		}
+	}
+
 	static class MockInfo extends JavaElementInfo {
 		private final int index;
 
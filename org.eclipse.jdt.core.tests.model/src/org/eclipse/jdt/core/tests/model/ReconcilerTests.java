@@ -2804,6 +2804,51 @@ public void testNoChanges3() throws JavaModelException {
 	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
 	assertProblems("Unexpected problems", "");
 }
+/*
+ * Ensures that changing the body of a method when no problem is requested reports a content change
+ * and that the source ranges of the following members are updated.
+ */
+public void testChangeMethodBody() throws JavaModelException {
+	this.problemRequestor.isActive = false;
+	setWorkingCopyContents(
+		"package p1;\n" +
+		"import p2.*;\n" +
+		"public class X {\n" +
+		"  public void foo() {\n" +
+		"  }\n" +
+		"  public void bar(int i) {\n" +
+		"  }\n" +
+		"}");
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+	clearDeltas();
+	String contents =
+		"package p1;\n" +
+		"import p2.*;\n" +
+		"public class X {\n" +
+		"  public void foo() {\n" +
+		"    System.out.println(\"foo\");\n" +
+		"  }\n" +
+		"  public void bar(int i) {\n" +
+		"  }\n" +
+		"}";
+	setWorkingCopyContents(contents);
+	this.workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	assertWorkingCopyDeltas(
+		"Unexpected delta",
+		"[Working copy] X.java[*]: {CONTENT | FINE GRAINED}"
+	);
+	IMethod bar = this.workingCopy.getType("X").getMethod("bar", new String[] {"I"});
+	assertSourceEquals(
+		"Unexpected source of bar",
+		"public void bar(int i) {\n" +
+		"  }",
+		bar.getSource());
+	assertEquals("Unexpected name range of bar", contents.indexOf("bar("), bar.getNameRange().getOffset());
+	assertEquals("Unexpected source range of i", contents.indexOf("int i"), bar.getParameters()[0].getSourceRange().getOffset());
+	assertEquals("Unexpected source range of bar", contents.indexOf("public void bar"), bar.getSourceRange().getOffset());
+	assertEquals("Unexpected source range of X", contents.length(), this.workingCopy.getSourceRange().getLength());
+}
 /*
  * Ensures that using a non-generic method with no parameter and with a raw receiver type doesn't create a type safety warning
  * (regression test for bug 105756 [1.5][model] Incorrect warning on using raw types)
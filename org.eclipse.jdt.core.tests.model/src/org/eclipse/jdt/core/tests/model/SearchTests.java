@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,15 +31,23 @@ import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.MethodNameRequestor;
 import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 import org.eclipse.jdt.core.search.TypeNameRequestor;
 import org.eclipse.jdt.core.tests.model.Semaphore.TimeOutException;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.core.JavaElement;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 import org.eclipse.jdt.internal.core.LocalVariable;
 import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
+import org.eclipse.jdt.internal.core.search.IndexQueryRequestor;
+import org.eclipse.jdt.internal.core.search.PatternSearchJob;
 import org.eclipse.jdt.internal.core.search.indexing.IndexManager;
 import org.eclipse.jdt.internal.core.search.processing.IJob;
 
@@ -1243,6 +1251,111 @@ public void testSearchPatternCreation37() {
 		searchPattern);
 }
 
+/*
+ * Ensures that a search with a maximum number of matches reports at most that many matches.
+ */
+public void testSearchMaxMatches() throws CoreException {
+	try {
+		IJavaProject project = createJavaProject("P1");
+		createFile("/P1/X.java", "public class X {\n  X x1; X x2; X x3;\n}");
+		createFile("/P1/Y.java", "public class Y {\n  X x;\n}");
+		SearchPattern pattern = SearchPattern.createPattern("X", TYPE, REFERENCES, SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {project});
+		SearchParticipant[] participants = new SearchParticipant[] {SearchEngine.getDefaultSearchParticipant()};
+		List<SearchMatch> matches = new ArrayList<>();
+		SearchRequestor requestor = new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) {
+				matches.add(match);
+			}
+		};
+		new SearchEngine().search(pattern, participants, scope, requestor, 2, null);
+		assertEquals("Unexpected number of matches with a limit", 2, matches.size());
+
+		matches.clear();
+		new SearchEngine().search(pattern, participants, scope, requestor, 0, null);
+		assertEquals("Unexpected number of matches without limit", 4, matches.size());
+	} finally {
+		deleteProject("P1");
+	}
+}
+/*
+ * Ensures that a pattern search job stopped by its requestor after an index queries the remaining indexes when it is
+ * executed again.
+ */
+public void testPatternSearchJobResumesAfterStop() throws CoreException {
+	try {
+		IJavaProject project1 = createJavaProject("P1");
+		IJavaProject project2 = createJavaProject("P2");
+		createFile("/P1/X.java", "public class X {\n  Y y;\n}");
+		createFile("/P2/Y.java", "public class Y {\n  Y y;\n}");
+		waitUntilIndexesReady();
+		SearchPattern pattern = SearchPattern.createPattern("Y", TYPE, REFERENCES, SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+		SearchParticipant participant = SearchEngine.getDefaultSearchParticipant();
+		IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {project1, project2});
+		List<String> paths = new ArrayList<>();
+		IndexQueryRequestor requestor = new IndexQueryRequestor() {
+			@Override
+			public boolean acceptIndexMatch(String documentPath, SearchPattern indexRecord, SearchParticipant p, AccessRuleSet access) {
+				paths.add(documentPath);
+				return true;
+			}
+			@Override
+			public boolean isDone() {
+				return !paths.isEmpty(); // stop after each index with a match
+			}
+		};
+		PatternSearchJob job = new PatternSearchJob(pattern, participant, scope, requestor);
+		IndexManager indexManager = JavaModelManager.getIndexManager();
+		indexManager.performConcurrentJob(job, WAIT_UNTIL_READY_TO_SEARCH, null);
+		assertEquals("Unexpected paths after the first execution", 1, paths.size());
+		String first = paths.get(0);
+		paths.clear();
+		indexManager.performConcurrentJob(job, WAIT_UNTIL_READY_TO_SEARCH, null);
+		assertEquals("Unexpected paths after the second execution", 1, paths.size());
+		assertFalse("The first index should not be queried again", first.equals(paths.get(0)));
+		paths.clear();
+		indexManager.performConcurrentJob(job, WAIT_UNTIL_READY_TO_SEARCH, null);
+		assertEquals("Unexpected paths after the last execution", 0, paths.size());
+	} finally {
+		deleteProject("P1");
+		deleteProject("P2");
+	}
+}
+/*
+ * Ensures that a type name search with a maximum number of matches reports at most that many types.
+ */
+public void testSearchAllTypeNamesMaxMatches() throws CoreException {
+	try {
+		IJavaProject project = createJavaProject("P1");
+		createFolder("/P1/p");
+		createFile("/P1/p/A1.java", "package p;\npublic class A1 {}");
+		createFile("/P1/p/A2.java", "package p;\npublic class A2 {}");
+		createFile("/P1/p/A3.java", "package p;\npublic class A3 {}");
+		IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[] {project});
+		List<TypeNameMatch> matches = new ArrayList<>();
+		TypeNameMatchRequestor requestor = new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				matches.add(match);
+			}
+		};
+		new SearchEngine().searchAllTypeNames(
+			"p".toCharArray(),
+			SearchPattern.R_EXACT_MATCH,
+			"A".toCharArray(),
+			SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE,
+			TYPE,
+			scope,
+			requestor,
+			WAIT_UNTIL_READY_TO_SEARCH,
+			1,
+			null);
+		assertEquals("Unexpected number of types", 1, matches.size());
+	} finally {
+		deleteProject("P1");
+	}
+}
 /**
  * Test pattern  validation
  */
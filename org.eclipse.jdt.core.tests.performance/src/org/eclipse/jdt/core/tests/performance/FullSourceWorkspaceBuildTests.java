@@ -25,6 +25,7 @@ import junit.framework.Test;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IWorkspaceRunnable;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -49,6 +50,7 @@ import org.eclipse.jdt.internal.compiler.parser.TerminalToken;
 import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.util.Util;
+import org.eclipse.jdt.internal.core.builder.JavaBuilder;
 
 /**
  * Class to test compiler performance.
@@ -761,4 +763,27 @@ public class FullSourceWorkspaceBuildTests extends FullSourceWorkspaceTests {
 		tagAsSummary("Build with Generic Types ", false); // do NOT put in fingerprint
 		compile("GenericsTest.java", 12_629_541, "", "1.8", false /*no log*/ );
 	}
+
+	/**
+	 * Full build of the entire workspace with JavaCore default options, building
+	 * projects which do not depend on each other concurrently.
+	 * Compare with {@link #testFullBuildDefault()} to see how the build scales.
+	 */
+	public void testFullBuildParallel() throws CoreException, IOException {
+		tagAsSummary("Build entire workspace (parallel)", false); // do NOT put in fingerprint
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description = workspace.getDescription();
+		int maxConcurrentBuilds = description.getMaxConcurrentBuilds();
+		boolean parallelBuild = JavaBuilder.PARALLEL_BUILD;
+		try {
+			description.setMaxConcurrentBuilds(Runtime.getRuntime().availableProcessors());
+			workspace.setDescription(description);
+			JavaBuilder.PARALLEL_BUILD = true;
+			build(null, warningOptions(0/*default warnings*/), false);
+		} finally {
+			JavaBuilder.PARALLEL_BUILD = parallelBuild;
+			description.setMaxConcurrentBuilds(maxConcurrentBuilds);
+			workspace.setDescription(description);
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,13 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.util.Util;
 
 /**
+ * A gap buffer: the characters are kept in one array with a gap at the last edit position,
+ * so that an edit only moves the characters between the previous and the new edit position
+ * and the array is only reallocated when the gap is too small for the inserted text.
+ * <p>
+ * The array returned by {@link #getCharacters()} is never modified by later edits, so that it can
+ * be used as a snapshot of the contents. It is kept until the next edit and returned again in between.
+ * </p>
  * @see IBuffer
  */
 @SuppressWarnings({ "unchecked", "rawtypes" })
@@ -50,6 +57,11 @@ public class Buffer implements IBuffer {
 	private int gapStart = -1;
 	/** synchronized by this.lock **/
 	private int gapEnd = -1;
+	/**
+	 * The contents without the gap last returned by {@link #getCharacters()}, or <code>null</code> if
+	 * the buffer was edited since. Synchronized by this.lock
+	 **/
+	private char[] snapshot;
 
 	private final Object lock = new Object();
 
@@ -57,6 +69,12 @@ public class Buffer implements IBuffer {
 	private static final int F_IS_READ_ONLY = 2;
 	private static final int F_IS_CLOSED = 4;
 
+	/**
+	 * The minimum number of free characters left in the gap when the array is reallocated,
+	 * the gap also grows with the length of the contents so that typing is amortized O(1).
+	 */
+	private static final int MIN_GAP_SIZE = 256;
+
 /**
  * Creates a new buffer on an underlying resource.
  */
@@ -120,6 +138,7 @@ public void close() {
 			return;
 		event = new BufferChangedEvent(this, 0, 0, null);
 		this.contents = null;
+		this.snapshot = null;
 		this.flags |= F_IS_CLOSED;
 	}
 	notifyChanged(event); // notify outside of synchronized block
@@ -151,11 +170,14 @@ public char[] getCharacters() {
 		if (this.gapStart < 0) {
 			return this.contents;
 		}
-		int length = this.contents.length;
-		char[] newContents = new char[length - this.gapEnd + this.gapStart];
-		System.arraycopy(this.contents, 0, newContents, 0, this.gapStart);
-		System.arraycopy(this.contents, this.gapEnd, newContents, this.gapStart, length - this.gapEnd);
-		return newContents;
+		if (this.snapshot == null) {
+			int length = this.contents.length;
+			char[] newContents = new char[length - this.gapEnd + this.gapStart];
+			System.arraycopy(this.contents, 0, newContents, 0, this.gapStart);
+			System.arraycopy(this.contents, this.gapEnd, newContents, this.gapStart, length - this.gapEnd);
+			this.snapshot = newContents;
+		}
+		return this.snapshot;
 	}
 }
 /**
@@ -238,47 +260,63 @@ public boolean isReadOnly() {
 		return (this.flags & F_IS_READ_ONLY) != 0;
 	}
 }
+/**
+ * Returns the estimated number of bytes kept by this buffer: its array including the gap
+ * and the snapshot of its contents if any.
+ */
+int getEstimatedWeight() {
+	synchronized (this.lock) {
+		if (this.contents == null) return 0;
+		int length = this.contents.length;
+		if (this.snapshot != null) {
+			length += this.snapshot.length;
+		}
+		return 2 * length;
+	}
+}
 /**
  * Moves the gap to location and adjust its size to the
  * anticipated change size. The size represents the expected
  * range of the gap that will be filled after the gap has been moved.
- * Thus the gap is resized to actual size + the specified size and
+ * Thus the gap is resized to at least the specified size and
  * moved to the given position.
+ * <p>
+ * The gap is moved inside of the current array, only the characters between
+ * its old and new location are copied. The array is reallocated with some
+ * room to spare if the gap is too small, or if the array may be shared
+ * with a caller of {@link #getCharacters()} or {@link #setContents(char[])}.
+ * </p>
  */
 protected void moveAndResizeGap(int position, int size) {
-	char[] content = null;
+	this.snapshot = null;
+	boolean shared = false;
+	if (this.gapStart < 0) {
+		// no gap yet: the array is the one that was given to or returned by this buffer
+		this.gapStart = this.gapEnd = this.contents.length;
+		shared = true;
+	}
 	int oldSize = this.gapEnd - this.gapStart;
-	if (size < 0) {
-		if (oldSize > 0) {
-			content = new char[this.contents.length - oldSize];
-			System.arraycopy(this.contents, 0, content, 0, this.gapStart);
-			System.arraycopy(this.contents, this.gapEnd, content, this.gapStart, content.length - this.gapStart);
-			this.contents = content;
-		}
-		this.gapStart = this.gapEnd = position;
-		return;
+	if (shared || size > oldSize) {
+		int length = this.contents.length - oldSize;
+		int newSize = Math.max(size, 0) + Math.max(MIN_GAP_SIZE, length >> 4);
+		char[] content = new char[length + newSize];
+		int tail = this.contents.length - this.gapEnd;
+		System.arraycopy(this.contents, 0, content, 0, this.gapStart);
+		System.arraycopy(this.contents, this.gapEnd, content, content.length - tail, tail);
+		this.contents = content;
+		this.gapEnd = content.length - tail;
+	}
+	if (position < this.gapStart) {
+		int delta = this.gapStart - position;
+		System.arraycopy(this.contents, position, this.contents, this.gapEnd - delta, delta);
+		this.gapStart = position;
+		this.gapEnd -= delta;
+	} else if (position > this.gapStart) {
+		int delta = position - this.gapStart;
+		System.arraycopy(this.contents, this.gapEnd, this.contents, this.gapStart, delta);
+		this.gapStart = position;
+		this.gapEnd += delta;
 	}
-	content = new char[this.contents.length + (size - oldSize)];
-	int newGapStart = position;
-	int newGapEnd = newGapStart + size;
-	if (oldSize == 0) {
-		System.arraycopy(this.contents, 0, content, 0, newGapStart);
-		System.arraycopy(this.contents, newGapStart, content, newGapEnd, content.length - newGapEnd);
-	} else
-		if (newGapStart < this.gapStart) {
-			int delta = this.gapStart - newGapStart;
-			System.arraycopy(this.contents, 0, content, 0, newGapStart);
-			System.arraycopy(this.contents, newGapStart, content, newGapEnd, delta);
-			System.arraycopy(this.contents, this.gapEnd, content, newGapEnd + delta, this.contents.length - this.gapEnd);
-		} else {
-			int delta = newGapStart - this.gapStart;
-			System.arraycopy(this.contents, 0, content, 0, this.gapStart);
-			System.arraycopy(this.contents, this.gapEnd, content, this.gapStart, delta);
-			System.arraycopy(this.contents, this.gapEnd + delta, content, newGapEnd, content.length - newGapEnd);
-		}
-	this.contents = content;
-	this.gapStart = newGapStart;
-	this.gapEnd = newGapEnd;
 }
 /**
  * Notify the listeners that this buffer has changed.
@@ -443,6 +481,8 @@ public void setContents(char[] newContents) {
 	synchronized (this.lock) {
 		if (this.contents == null) {
 				this.contents = newContents;
+				this.snapshot = null;
+				this.gapStart = this.gapEnd = -1;
 				this.flags &= ~ (F_HAS_UNSAVED_CHANGES);
 			return;
 		}
@@ -456,6 +496,7 @@ public void setContents(char[] newContents) {
 		synchronized (this.lock) {
 			if (this.contents == null) return; // ignore if buffer is closed (as per spec)
 			this.contents = newContents;
+			this.snapshot = null;
 			this.flags |= F_HAS_UNSAVED_CHANGES;
 			this.gapStart = -1;
 			this.gapEnd = -1;
@@ -503,7 +544,7 @@ public String toString() {
 					buffer.append("\\n\n"); //$NON-NLS-1$
 					break;
 				case '\r':
-					if (i < length-1 && this.contents[i+1] == '\n') {
+					if (i < length-1 && charContents[i+1] == '\n') {
 						buffer.append("\\r\\n\n"); //$NON-NLS-1$
 						i++;
 					} else {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,11 +20,18 @@ import org.eclipse.jdt.internal.core.util.LRUCache;
 
 /**
  * An LRU cache of <code>IBuffers</code>.
+ * <p>
+ * The cache is bounded by its number of buffers by default. If it is weighted, see
+ * {@link #setSpaceLimit(int, boolean)}, it is bounded by the estimated number of bytes
+ * of its buffers instead.
+ * </p>
  */
 public class BufferCache<K> extends OverflowingLRUCache<K, IBuffer> {
 
 	private final ThreadLocal<List<IBuffer>> buffersToClose = new ThreadLocal<>();
 
+	private boolean weighted;
+
 	/**
 	 * Constructs a new buffer cache of the given size.
 	 */
@@ -57,6 +64,55 @@ public class BufferCache<K> extends OverflowingLRUCache<K, IBuffer> {
 		}
 	}
 
+	/**
+	 * Returns whether the space of a buffer is the estimated number of bytes of its contents.
+	 */
+	public boolean isWeighted() {
+		return this.weighted;
+	}
+
+	/**
+	 * Sets the space limit of the cache and whether the space of a buffer is the estimated
+	 * number of bytes of its contents or one. The least recently used buffers are closed
+	 * if they don't fit into the new limit.
+	 */
+	public void setSpaceLimit(int limit, boolean isWeighted) {
+		this.weighted = isWeighted;
+		measure();
+		this.spaceLimit = limit;
+		this.overflow = 0;
+		makeSpace(0);
+	}
+
+	/*
+	 * Measures the buffers again as they grow and shrink while they are edited.
+	 */
+	private void measure() {
+		int space = 0;
+		for (LRUCacheEntry<K, IBuffer> entry : this.entryTable.values()) {
+			entry.space = spaceFor(entry.value);
+			space += entry.space;
+		}
+		this.currentSpace = space;
+	}
+
+	@Override
+	protected boolean makeSpace(int space) {
+		if (this.weighted) {
+			measure();
+		}
+		return super.makeSpace(space);
+	}
+
+	@Override
+	protected int spaceFor(IBuffer value) {
+		if (!this.weighted) return super.spaceFor(value);
+		if (value instanceof Buffer) {
+			return Math.max(1, ((Buffer) value).getEstimatedWeight());
+		}
+		return Math.max(1, 2 * value.getLength());
+	}
+
 	void closeBuffers() {
 		List<IBuffer> buffers = this.buffersToClose.get();
 		if (buffers == null)
@@ -69,6 +125,8 @@ public class BufferCache<K> extends OverflowingLRUCache<K, IBuffer> {
 
 	@Override
 	protected LRUCache<K, IBuffer> newInstance(int size, int newOverflow) {
-		return new BufferCache<>(size, newOverflow);
+		BufferCache<K> cache = new BufferCache<>(size, newOverflow);
+		cache.weighted = this.weighted;
+		return cache;
 	}
 }
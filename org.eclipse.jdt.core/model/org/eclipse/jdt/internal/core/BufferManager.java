@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * The buffer manager manages the set of open buffers.
@@ -29,12 +30,26 @@ public class BufferManager {
 	protected static BufferManager DEFAULT_BUFFER_MANAGER;
 	protected static boolean VERBOSE;
 
+	/**
+	 * The memory budget of the open buffers in megabytes, unset by default.
+	 * If set, the buffers are closed when the estimated number of bytes of their contents
+	 * exceeds the budget, instead of when more than 60 buffers are open.
+	 */
+	public static final String BUDGET_PROPERTY = "org.eclipse.jdt.core.buffercache.budget"; //$NON-NLS-1$
+
 	/**
 	 * LRU cache of buffers. The key and value for an entry
 	 * in the table is the identical buffer.
 	 */
 	private final BufferCache<IOpenable> openBuffers = new BufferCache<>(60);
 
+	public BufferManager() {
+		long budget = getBudgetProperty();
+		if (budget > 0) {
+			setMemoryBudget(budget);
+		}
+	}
+
 	/**
 	 * @deprecated
 	 */
@@ -83,6 +98,32 @@ public static IBuffer createNullBuffer(IOpenable owner) {
 			owner,
 			element.isReadOnly());
 }
+private static long getBudgetProperty() {
+	String property = System.getProperty(BUDGET_PROPERTY);
+	if (property != null) {
+		try {
+			return Long.parseLong(property.trim()) * 1024 * 1024;
+		} catch (NumberFormatException e) {
+			Util.log(e, "Could not parse value for " + BUDGET_PROPERTY + ": " + property); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	return 0;
+}
+/**
+ * Bounds the open buffers by the given number of bytes, or by their number if the budget is not positive.
+ * The least recently used buffers are closed if they don't fit into the new budget.
+ */
+public void setMemoryBudget(long budget) {
+	synchronized (this.openBuffers) {
+		if (budget > 0) {
+			this.openBuffers.setSpaceLimit((int) Math.min(budget, Integer.MAX_VALUE / 2), true);
+		} else {
+			this.openBuffers.setSpaceLimit(60, false);
+		}
+	}
+	// close buffers that were removed from the cache if space was needed
+	this.openBuffers.closeBuffers();
+}
 /**
  * Returns the open buffer associated with the given owner,
  * or <code>null</code> if the owner does not have an open
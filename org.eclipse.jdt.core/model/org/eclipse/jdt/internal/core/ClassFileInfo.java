@@ -395,6 +395,14 @@ protected void readBinaryChildren(ClassFile classFile, Map<IJavaElement, IElemen
 		typeParameterHandles.toArray(this.typeParameters);
 	}
 }
+/*
+ * The infos of the members of the class file are kept in the children cache until it is closed.
+ */
+@Override
+int getEstimatedWeight() {
+	JavaElement[] members = this.binaryChildren;
+	return super.getEstimatedWeight() + (members == null ? 0 : 4 * CHILD_WEIGHT * members.length);
+}
 /**
  * Removes the binary children handles and remove their infos from
  * the <code>JavaModelManager</code>'s cache.
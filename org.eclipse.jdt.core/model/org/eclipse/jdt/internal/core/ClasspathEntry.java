@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,11 +35,20 @@ import java.net.URL;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -66,6 +75,7 @@ import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
 import org.eclipse.jdt.internal.core.index.DiskIndex;
 import org.eclipse.jdt.internal.core.util.DeduplicationUtil;
+import org.eclipse.jdt.internal.core.util.LRUCache;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 import org.w3c.dom.DOMException;
@@ -164,6 +174,36 @@ public class ClasspathEntry implements IClasspathEntry {
 	private final static IPath[] NO_PATHS = new IPath[0];
 	private final static IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
 
+	/**
+	 * Number of threads reading the manifests of the jars of a classpath concurrently, see
+	 * resolvedChainedLibraries(Collection). The manifests are read by the calling thread if less than 2.
+	 */
+	public static int RESOLUTION_WORKERS = Integer.getInteger("jdt.core.classpathResolutionWorkers", //$NON-NLS-1$
+			Math.min(4, Runtime.getRuntime().availableProcessors())).intValue();
+	private static ThreadPoolExecutor resolutionWorkers; // created on demand, see getResolutionWorkers()
+
+	/**
+	 * Whether the status of the validation of a classpath is cached, see validateClasspath(IJavaProject, IClasspathEntry[], IPath)
+	 */
+	static boolean VALIDATION_CACHE_ENABLED = !"false".equals(System.getProperty("org.eclipse.jdt.core.classpathValidationCache")); //$NON-NLS-1$ //$NON-NLS-2$
+	private static final LRUCache<ValidationKey, IJavaModelStatus> validationCache = new LRUCache<>(256);
+
+	/**
+	 * What the validation of a resolved classpath depends on, besides the messages.
+	 *
+	 * @param project the name of the project
+	 * @param outputLocation the default output location of the project
+	 * @param classpath the resolved classpath, without the chained libraries
+	 * @param options the values of the options of the project which are read by the validation
+	 * @param libraryFolders the indexes in the classpath of the libraries which are folders
+	 * @param testOnlyProjects the indexes in the classpath of the required projects which only have test sources, if
+	 * 	read by the validation
+	 */
+	private record ValidationKey(String project, IPath outputLocation, List<IClasspathEntry> classpath,
+			List<String> options, BitSet libraryFolders, BitSet testOnlyProjects) {
+		// data only
+	}
+
 	private final boolean combineAccessRules;
 
 	private String rootID;
@@ -946,6 +986,63 @@ public class ClasspathEntry implements IClasspathEntry {
 		}
 	}
 
+	private static synchronized ExecutorService getResolutionWorkers() {
+		if (resolutionWorkers == null || resolutionWorkers.getMaximumPoolSize() != RESOLUTION_WORKERS) {
+			if (resolutionWorkers != null)
+				resolutionWorkers.shutdown();
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(RESOLUTION_WORKERS, RESOLUTION_WORKERS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+				Thread t = new Thread(r, "Java Classpath Resolver"); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			});
+			pool.allowCoreThreadTimeOut(true);
+			resolutionWorkers = pool;
+		}
+		return resolutionWorkers;
+	}
+
+	/*
+	 * Read the Class-Path clauses of the manifests of the jars pointed by the given paths, and return
+	 * the corresponding paths by jar path, in the order of the given paths.
+	 * The manifests are read by RESOLUTION_WORKERS threads if there is more than one jar which is not
+	 * known to be non chaining.
+	 */
+	public static Map<IPath, IPath[]> resolvedChainedLibraries(Collection<IPath> jarPaths) {
+		Map<IPath, IPath[]> result = new LinkedHashMap<>();
+		JavaModelManager manager = JavaModelManager.getJavaModelManager();
+		List<IPath> toRead = new ArrayList<>(jarPaths.size());
+		for (IPath jarPath : jarPaths) {
+			if (manager.isNonChainingJar(jarPath)) {
+				result.put(jarPath, NO_PATHS);
+			} else {
+				result.put(jarPath, null);
+				toRead.add(jarPath);
+			}
+		}
+		if (RESOLUTION_WORKERS > 1 && toRead.size() > 1) {
+			ExecutorService executor = getResolutionWorkers();
+			List<Future<IPath[]>> workers = new ArrayList<>(toRead.size());
+			for (IPath jarPath : toRead) {
+				workers.add(executor.submit(() -> resolvedChainedLibraries(jarPath)));
+			}
+			for (int i = 0; i < workers.size(); i++) {
+				try {
+					result.put(toRead.get(i), workers.get(i).get());
+				} catch (ExecutionException e) {
+					// read it again below so that the failure is reported on this thread
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		}
+		for (Map.Entry<IPath, IPath[]> entry : result.entrySet()) {
+			if (entry.getValue() == null)
+				entry.setValue(resolvedChainedLibraries(entry.getKey()));
+		}
+		return result;
+	}
+
 	/*
 	 * Read the Class-Path clause of the manifest of the jar pointed by this path, and return
 	 * the corresponding paths.
@@ -1688,7 +1785,14 @@ public class ClasspathEntry implements IClasspathEntry {
 	 * the corresponding library entries.
 	 */
 	public ClasspathEntry[] resolvedChainedLibraries() {
-		IPath[] paths = resolvedChainedLibraries(getPath());
+		return resolvedChainedLibraries(resolvedChainedLibraries(getPath()));
+	}
+
+	/*
+	 * Return the library entries chained to this entry for the given paths, which were read from
+	 * the Class-Path clause of the manifest of the jar pointed by this entry.
+	 */
+	public ClasspathEntry[] resolvedChainedLibraries(IPath[] paths) {
 		int length = paths.length;
 		if (length == 0)
 			return NO_ENTRIES;
@@ -1857,10 +1961,6 @@ public class ClasspathEntry implements IClasspathEntry {
 			return new JavaModelStatus(IJavaModelStatusConstants.RELATIVE_PATH, projectOutputLocation);
 		}
 
-		boolean hasSource = false;
-		boolean hasLibFolder = false;
-
-
 		// tolerate null path, it will be reset to default
 		if (rawClasspath == null)
 			return JavaModelStatus.VERIFIED_OK;
@@ -1885,6 +1985,91 @@ public class ClasspathEntry implements IClasspathEntry {
 			return e.getJavaModelStatus();
 		}
 
+		if (!VALIDATION_CACHE_ENABLED)
+			return validateResolvedClasspath(javaProject, classpath, projectOutputLocation);
+		// the classpath is often validated again after changes which don't affect it
+		ValidationKey key = validationKey(javaProject, classpath, projectOutputLocation);
+		IJavaModelStatus status;
+		synchronized (validationCache) {
+			status = validationCache.get(key);
+		}
+		if (status == null) {
+			status = validateResolvedClasspath(javaProject, classpath, projectOutputLocation);
+			synchronized (validationCache) {
+				validationCache.put(key, status);
+			}
+		}
+		return status;
+	}
+
+	private static ValidationKey validationKey(IJavaProject javaProject, IClasspathEntry[] classpath, IPath projectOutputLocation) {
+		boolean hasSource = false;
+		boolean hasTestSource = false;
+		BitSet libraryFolders = new BitSet();
+		for (int i = 0; i < classpath.length; i++) {
+			IClasspathEntry entry = classpath[i];
+			if (entry == null) continue;
+			switch (entry.getEntryKind()) {
+				case IClasspathEntry.CPE_SOURCE :
+					hasSource = true;
+					hasTestSource |= entry.isTest();
+					break;
+				case IClasspathEntry.CPE_LIBRARY :
+					if (JavaModel.getTarget(entry, false/*don't check existence*/) instanceof IContainer)
+						libraryFolders.set(i);
+					break;
+			}
+		}
+		String mainOnlyOption = javaProject.getOption(JavaCore.CORE_MAIN_ONLY_PROJECT_HAS_TEST_ONLY_DEPENDENCY, true);
+		BitSet testOnlyProjects = new BitSet();
+		if (hasSource && !hasTestSource && !JavaCore.IGNORE.equals(mainOnlyOption)) {
+			for (int i = 0; i < classpath.length; i++) {
+				IClasspathEntry entry = classpath[i];
+				if (entry != null && entry.getEntryKind() == IClasspathEntry.CPE_PROJECT
+						&& entry.getPath().isAbsolute() && entry.getPath().segmentCount() == 1
+						&& isTestOnlyProject(JavaCore.create(workspaceRoot.getProject(entry.getPath().segment(0))))) {
+					testOnlyProjects.set(i);
+				}
+			}
+		}
+		List<String> options = Arrays.asList(
+				javaProject.getOption(JavaCore.CORE_ENABLE_CLASSPATH_EXCLUSION_PATTERNS, true),
+				javaProject.getOption(JavaCore.CORE_ENABLE_CLASSPATH_MULTIPLE_OUTPUT_LOCATIONS, true),
+				javaProject.getOption(JavaCore.CORE_OUTPUT_LOCATION_OVERLAPPING_ANOTHER_SOURCE, true),
+				mainOnlyOption);
+		return new ValidationKey(javaProject.getElementName(), projectOutputLocation, Arrays.asList(classpath), options, libraryFolders, testOnlyProjects);
+	}
+
+	/*
+	 * Answers whether the given project has test source folders and no main source folder.
+	 */
+	private static boolean isTestOnlyProject(IJavaProject javaProject) {
+		boolean hasMain = false;
+		boolean hasTest = false;
+		try {
+			for (IClasspathEntry nested : javaProject.getRawClasspath()) {
+				if (nested.getEntryKind() == IClasspathEntry.CPE_SOURCE) {
+					if (nested.isTest()) {
+						hasTest = true;
+					} else {
+						hasMain = true;
+					}
+					if (hasTest && hasMain)
+						break;
+				}
+			}
+		} catch (JavaModelException e) {
+			// is reported elsewhere
+		}
+		return hasTest && !hasMain;
+	}
+
+	private static IJavaModelStatus validateResolvedClasspath(IJavaProject javaProject, IClasspathEntry[] classpath, IPath projectOutputLocation) {
+		IPath projectPath= javaProject.getProject().getFullPath();
+		final String projectName = javaProject.getElementName();
+		boolean hasSource = false;
+		boolean hasLibFolder = false;
+
 		int outputCount = 1;
 		IPath[] outputLocations	= new IPath[classpath.length+1];
 		boolean[] allowNestingInOutputLocations = new boolean[classpath.length+1];
@@ -2143,24 +2328,7 @@ public class ClasspathEntry implements IClasspathEntry {
 					if (entryPath.isAbsolute() && entryPath.segmentCount() == 1) {
 						IProject prereqProjectRsc = workspaceRoot.getProject(entryPath.segment(0));
 						IJavaProject prereqProject = JavaCore.create(prereqProjectRsc);
-						boolean hasMain = false;
-						boolean hasTest = false;
-						try {
-							for (IClasspathEntry nested : prereqProject.getRawClasspath()) {
-								if (nested.getEntryKind() == IClasspathEntry.CPE_SOURCE) {
-									if (nested.isTest()) {
-										hasTest = true;
-									} else {
-										hasMain = true;
-									}
-									if (hasTest && hasMain)
-										break;
-								}
-							}
-						} catch (JavaModelException e) {
-							// is reported elsewhere
-						}
-						if (hasTest && !hasMain) {
+						if (isTestOnlyProject(prereqProject)) {
 							return new JavaModelStatus(IJavaModelStatusConstants.MAIN_ONLY_PROJECT_DEPENDS_ON_TEST_ONLY_PROJECT,
 									Messages.bind(Messages.classpath_main_only_project_depends_on_test_only_project,
 											new String[] { projectName, prereqProject.getElementName() }));
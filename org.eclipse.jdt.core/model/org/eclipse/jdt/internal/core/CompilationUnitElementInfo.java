@@ -64,6 +64,15 @@ public void setSourceLength(int newSourceLength) {
 	this.sourceLength = newSourceLength;
 }
 
+/*
+ * The infos of the members of the unit are kept in the children cache until it is closed,
+ * their number and size grow with its source.
+ */
+@Override
+int getEstimatedWeight() {
+	return super.getEstimatedWeight() + 3 * this.sourceLength;
+}
+
 /**
  * Returns the custom options of this compilation unit element.
  */
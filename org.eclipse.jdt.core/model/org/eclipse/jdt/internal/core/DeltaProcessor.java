@@ -28,6 +28,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import org.eclipse.core.resources.*;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
@@ -219,6 +226,28 @@ public class DeltaProcessor {
 	public static boolean DEBUG = false;
 	public static boolean VERBOSE = false;
 	public static boolean PERF = false;
+	public static boolean PERF_PROCESSING = false;
+
+	/*
+	 * The phases of the processing of a POST_CHANGE resource event, see getPhaseTime(int).
+	 */
+	public static final int PHASE_CLASSPATH_CHANGES = 0;
+	public static final int PHASE_TRANSLATION = 1;
+	public static final int PHASE_CACHE_RESET = 2;
+	public static final int PHASE_NOTIFICATION = 3;
+	private static final String[] PHASE_NAMES = {"classpath changes", "translation", "cache reset", "notification"}; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	private static final LongAdder[] PHASE_NANOS = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+
+	/**
+	 * Number of threads translating the deltas of distinct Java projects at the same time, see
+	 * {@link #traverseConcurrently(IResourceDelta[])}. With 1, all deltas are translated on the notifying thread.
+	 */
+	public static int PROCESSING_WORKERS = Integer.getInteger("jdt.core.deltaProcessingWorkers", 1).intValue(); //$NON-NLS-1$
+	/**
+	 * Minimum number of changed resources for the deltas of a resource event to be translated concurrently.
+	 */
+	public static int CONCURRENT_PROCESSING_THRESHOLD = Integer.getInteger("jdt.core.deltaProcessingThreshold", 1000).intValue(); //$NON-NLS-1$
+	private static ThreadPoolExecutor processingWorkers; // created on demand, see getProcessingWorkers()
 
 	public static final int DEFAULT_CHANGE_EVENT = 0; // must not collide with ElementChangedEvent event masks
 
@@ -230,6 +259,35 @@ public class DeltaProcessor {
 		return file.lastModified() + Long.hashCode(file.length()) * 31;
 	}
 
+	/**
+	 * Answers the time in nanoseconds spent in the given phase (one of the <code>PHASE_*</code> constants) by all
+	 * the resource events processed since the last {@link #resetPhaseTimes()}.
+	 */
+	public static long getPhaseTime(int phase) {
+		return PHASE_NANOS[phase].sum();
+	}
+
+	public static void resetPhaseTimes() {
+		for (LongAdder nanos : PHASE_NANOS)
+			nanos.reset();
+	}
+
+	/*
+	 * Records the end of the given phase which started at the given time, answers the current time.
+	 */
+	private static long endPhase(int phase, long start) {
+		long end = System.nanoTime();
+		long nanos = end - start;
+		PHASE_NANOS[phase].add(nanos);
+		if (VERBOSE) {
+			trace("(" + Thread.currentThread() + ") [DeltaProcessor] " + PHASE_NAMES[phase] + ": " + (nanos / 1000000) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		}
+		if (PERF_PROCESSING) {
+			PerformanceStats.getStats(JavaModelManager.DELTA_PROCESSING_PERF, PHASE_NAMES[phase]).addRun(nanos / 1000000, null);
+		}
+		return end;
+	}
+
 	/*
 	 * The global state of delta processing.
 	 */
@@ -313,6 +371,7 @@ public class DeltaProcessor {
 	 * Adds the given child handle to its parent's cache of children.
 	 */
 	private void addToParentInfo(Openable child) {
+		TypeNameTable.elementChanged(child, true);
 		Openable parent = (Openable) child.getParent();
 		if (parent != null && parent.isOpen()) {
 			try {
@@ -1950,48 +2009,197 @@ public class DeltaProcessor {
 
 			// get the workspace delta, and start processing there.
 			IResourceDelta[] deltas = changes.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED | IResourceDelta.CHANGED, IContainer.INCLUDE_HIDDEN);
-			for (IResourceDelta delta : deltas) {
-				IResource res = delta.getResource();
-
-				// find out the element type
-				RootInfo rootInfo = null;
-				int elementType;
-				IProject proj = (IProject)res;
-				boolean wasJavaProject = this.state.findJavaProject(proj.getName()) != null;
-				boolean isJavaProject = JavaProject.hasJavaNature(proj);
-				if (!wasJavaProject && !isJavaProject) {
-					elementType = NON_JAVA_RESOURCE;
-				} else {
-					IPath rootPath = externalPath(res);
-					rootInfo = enclosingRootInfo(rootPath, delta.getKind());
-					if (rootInfo != null && rootInfo.isRootOfProject(rootPath)) {
-						elementType = IJavaElement.PACKAGE_FRAGMENT_ROOT;
-					} else {
-						elementType = IJavaElement.JAVA_PROJECT;
-					}
-				}
-
-				// traverse delta
-				traverseDelta(delta, elementType, rootInfo, null);
-
-				if (elementType == NON_JAVA_RESOURCE
-						|| (wasJavaProject != isJavaProject && (delta.getKind()) == IResourceDelta.CHANGED)) { // project has changed nature (description or open/closed)
-					try {
-						// add child as non java resource
-						nonJavaResourcesChanged((JavaModel)model, delta);
-					} catch (JavaModelException e) {
-						// java model could not be opened
-					}
+			long start = System.nanoTime();
+			if (!traverseConcurrently(deltas)) {
+				for (IResourceDelta delta : deltas) {
+					traverseProjectDelta(model, delta);
 				}
-
 			}
+			start = endPhase(PHASE_TRANSLATION, start);
 			resetProjectCaches();
+			endPhase(PHASE_CACHE_RESET, start);
 
 			return this.currentDelta;
 		} finally {
 			this.currentDelta = null;
 		}
 	}
+	private static synchronized ExecutorService getProcessingWorkers() {
+		if (processingWorkers == null || processingWorkers.getMaximumPoolSize() != PROCESSING_WORKERS) {
+			if (processingWorkers != null)
+				processingWorkers.shutdown();
+			ThreadPoolExecutor pool = new ThreadPoolExecutor(PROCESSING_WORKERS, PROCESSING_WORKERS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+				Thread t = new Thread(r, "Java Delta Processor"); //$NON-NLS-1$
+				t.setDaemon(true);
+				return t;
+			});
+			pool.allowCoreThreadTimeOut(true);
+			processingWorkers = pool;
+		}
+		return processingWorkers;
+	}
+	/*
+	 * Translates the given deltas of projects of the workspace like traverseProjectDelta(...), but using
+	 * PROCESSING_WORKERS threads. Answers false without translating anything if they must be translated
+	 * sequentially.
+	 *
+	 * Each project is translated by its own delta processor, so the deltas are translated concurrently only if they
+	 * don't interfere: they must all be content changes of Java projects which stay Java projects, and whose
+	 * folders don't contain roots of other projects. The resulting Java element deltas are merged into the current
+	 * delta on the calling thread, in the order of the given deltas.
+	 */
+	private boolean traverseConcurrently(IResourceDelta[] deltas) {
+		if (PROCESSING_WORKERS <= 1 || deltas.length < 2)
+			return false;
+		int[] changes = new int[1];
+		for (IResourceDelta delta : deltas) {
+			if (!isIndependentProjectDelta(delta))
+				return false;
+			try {
+				delta.accept(child -> ++changes[0] < CONCURRENT_PROCESSING_THRESHOLD);
+			} catch (CoreException e) {
+				return false;
+			}
+		}
+		if (changes[0] < CONCURRENT_PROCESSING_THRESHOLD)
+			return false;
+
+		IJavaModel model = this.manager.getJavaModel();
+		ExecutorService executor = getProcessingWorkers();
+		DeltaProcessor[] shards = new DeltaProcessor[deltas.length];
+		List<Future<?>> workers = new ArrayList<>(deltas.length);
+		for (int i = 0; i < deltas.length; i++) {
+			DeltaProcessor shard = shards[i] = new DeltaProcessor(this.state, this.manager);
+			IResourceDelta delta = deltas[i];
+			workers.add(executor.submit(() -> shard.traverseProjectDelta(model, delta)));
+		}
+		if (VERBOSE) {
+			trace("(" + Thread.currentThread() + ") [DeltaProcessor] translating " + deltas.length + " project deltas concurrently"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		// all the workers must be done before returning since they update the model, even if one of them failed
+		Throwable failure = null;
+		boolean interrupted = false;
+		for (int i = 0; i < deltas.length; i++) {
+			while (true) {
+				try {
+					workers.get(i).get();
+					mergeShard(shards[i]);
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					if (failure == null)
+						failure = e.getCause();
+					break;
+				}
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		if (failure instanceof RuntimeException runtimeException)
+			throw runtimeException;
+		if (failure instanceof Error error)
+			throw error;
+		if (failure != null)
+			throw new IllegalStateException(failure);
+		return true;
+	}
+	/*
+	 * Answers whether the given delta of a project of the workspace can be translated concurrently with the deltas
+	 * of other projects, see traverseConcurrently(...).
+	 */
+	private boolean isIndependentProjectDelta(IResourceDelta delta) {
+		if (delta.getKind() != IResourceDelta.CHANGED)
+			return false;
+		int projectChanges = IResourceDelta.OPEN | IResourceDelta.DESCRIPTION | IResourceDelta.TYPE | IResourceDelta.REPLACED
+				| IResourceDelta.MOVED_FROM | IResourceDelta.MOVED_TO | IResourceDelta.LOCAL_CHANGED;
+		if ((delta.getFlags() & projectChanges) != 0)
+			return false;
+		IProject project = (IProject) delta.getResource();
+		JavaProject javaProject = (JavaProject) this.state.findJavaProject(project.getName());
+		if (javaProject == null || !JavaProject.hasJavaNature(project))
+			return false;
+		IPath projectPath = project.getFullPath();
+		if (hasForeignRoots(project, projectPath, this.state.roots, this.state.otherRoots)
+				|| hasForeignRoots(project, projectPath, this.state.oldRoots, this.state.oldOtherRoots))
+			return false;
+		try {
+			// resolve the classpath on the notifying thread, a worker must not initialize a container
+			javaProject.getResolvedClasspath();
+		} catch (JavaModelException e) {
+			return false;
+		}
+		return true;
+	}
+	/*
+	 * Answers whether a folder of the given project is a root of another project.
+	 */
+	private static boolean hasForeignRoots(IProject project, IPath projectPath, Map<IPath, RootInfo> roots, Map<IPath, List<RootInfo>> otherRoots) {
+		for (Map.Entry<IPath, RootInfo> entry : roots.entrySet()) {
+			if (projectPath.isPrefixOf(entry.getKey()) && !project.equals(entry.getValue().project.getProject()))
+				return true;
+		}
+		for (IPath path : otherRoots.keySet()) {
+			if (projectPath.isPrefixOf(path))
+				return true;
+		}
+		return false;
+	}
+	/*
+	 * Merges the result of the given delta processor, which translated the delta of one project, into this one.
+	 */
+	private void mergeShard(DeltaProcessor shard) {
+		JavaElementDelta shardDelta = shard.currentDelta;
+		if (shardDelta != null) {
+			JavaElementDelta delta = currentDelta();
+			for (IJavaElementDelta child : shardDelta.getAffectedChildren()) {
+				delta.insertDeltaTree(child.getElement(), (JavaElementDelta) child);
+			}
+			IResourceDelta[] resourceDeltas = shardDelta.getResourceDeltas();
+			if (resourceDeltas != null) {
+				for (IResourceDelta resourceDelta : resourceDeltas)
+					delta.addResourceDelta(resourceDelta);
+			}
+		}
+		this.projectCachesToReset.addAll(shard.projectCachesToReset);
+	}
+	/*
+	 * Converts the given delta of a project of the workspace into Java element deltas.
+	 */
+	private void traverseProjectDelta(IJavaModel model, IResourceDelta delta) {
+		IResource res = delta.getResource();
+
+		// find out the element type
+		RootInfo rootInfo = null;
+		int elementType;
+		IProject proj = (IProject)res;
+		boolean wasJavaProject = this.state.findJavaProject(proj.getName()) != null;
+		boolean isJavaProject = JavaProject.hasJavaNature(proj);
+		if (!wasJavaProject && !isJavaProject) {
+			elementType = NON_JAVA_RESOURCE;
+		} else {
+			IPath rootPath = externalPath(res);
+			rootInfo = enclosingRootInfo(rootPath, delta.getKind());
+			if (rootInfo != null && rootInfo.isRootOfProject(rootPath)) {
+				elementType = IJavaElement.PACKAGE_FRAGMENT_ROOT;
+			} else {
+				elementType = IJavaElement.JAVA_PROJECT;
+			}
+		}
+
+		// traverse delta
+		traverseDelta(delta, elementType, rootInfo, null);
+
+		if (elementType == NON_JAVA_RESOURCE
+				|| (wasJavaProject != isJavaProject && (delta.getKind()) == IResourceDelta.CHANGED)) { // project has changed nature (description or open/closed)
+			try {
+				// add child as non java resource
+				nonJavaResourcesChanged((JavaModel)model, delta);
+			} catch (JavaModelException e) {
+				// java model could not be opened
+			}
+		}
+	}
 	/*
 	 * Traverse the set of projects which have changed namespace, and reset their
 	 * caches and their dependents
@@ -2037,6 +2245,7 @@ public class DeltaProcessor {
 	 */
 	private void removeFromParentInfo(Openable child) {
 
+		TypeNameTable.elementChanged(child, false);
 		Openable parent = (Openable) child.getParent();
 		if (parent != null && parent.isOpen()) {
 			try {
@@ -2102,6 +2311,7 @@ public class DeltaProcessor {
 					try {
 						try {
 							stopDeltas();
+							long start = System.nanoTime();
 							checkProjectsAndClasspathChanges(delta);
 
 							// generate external archive change deltas
@@ -2141,6 +2351,7 @@ public class DeltaProcessor {
 								if (!hasDelta)
 									this.currentDelta = null;
 							}
+							endPhase(PHASE_CLASSPATH_CHANGES, start);
 
 							// generate Java deltas from resource changes
 							IJavaElementDelta translatedDelta = processResourceDelta(delta);
@@ -2151,7 +2362,9 @@ public class DeltaProcessor {
 							this.sourceElementParserCache = null; // don't hold onto parser longer than necessary
 							startDeltas();
 						}
+						long start = System.nanoTime();
 						notifyAndFire(null);
+						endPhase(PHASE_NOTIFICATION, start);
 					} finally {
 						// workaround for bug 15168 circular errors not reported
 						this.state.resetOldJavaProjectNames();
@@ -13,17 +13,26 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
 
+import java.util.concurrent.atomic.LongAdder;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IOpenable;
 import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * An LRU cache of <code>JavaElements</code>.
+ * <p>
+ * By default each entry takes one unit of space. A weighted cache measures the space of an entry
+ * by the estimated number of bytes of its info instead, see {@link #setSpaceLimit(int, boolean)}.
  */
 public class ElementCache<K extends IJavaElement & IOpenable> extends OverflowingLRUCache<K, JavaElementInfo> {
 
 	IJavaElement spaceLimitParent = null;
-	private final int initialSpaceLimit;
+	private int initialSpaceLimit;
+	private boolean weighted;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
 
 /**
  * Constructs a new element cache of the given size.
@@ -57,6 +66,7 @@ protected boolean close(LRUCacheEntry<K, JavaElementInfo> entry) {
 			return false;
 		} else {
 			element.close();
+			this.evictions.increment();
 			return true;
 		}
 	} catch (JavaModelException npe) {
@@ -70,8 +80,10 @@ protected boolean close(LRUCacheEntry<K, JavaElementInfo> entry) {
  */
 protected void ensureSpaceLimit(JavaElementInfo info, IJavaElement parent) {
 	// ensure the children can be put without closing other elements
+	// (a weighted cache assumes the children are opened with no children of their own)
 	int childrenSize = info.getChildren().length;
-	int spaceNeeded = 1 + (int)((1 + this.loadFactor) * (childrenSize + this.overflow));
+	int childSpace = this.weighted ? JavaElementInfo.CHILD_WEIGHT : 1;
+	int spaceNeeded = 1 + (int) Math.min(Integer.MAX_VALUE / 2, (1 + this.loadFactor) * ((long) childrenSize * childSpace + this.overflow));
 	if (this.spaceLimit < spaceNeeded) {
 		// parent is being opened with more children than the space limit
 		shrink(); // remove overflow
@@ -80,12 +92,90 @@ protected void ensureSpaceLimit(JavaElementInfo info, IJavaElement parent) {
 	}
 }
 
+@Override
+public JavaElementInfo get(K key) {
+	JavaElementInfo info = super.get(key);
+	if (info == null) {
+		this.misses.increment();
+	} else {
+		this.hits.increment();
+	}
+	return info;
+}
+
+/**
+ * Returns the number of lookups which found the info of the element in the cache.
+ */
+public long getHitCount() {
+	return this.hits.sum();
+}
+
+/**
+ * Returns the number of lookups which did not find the info of the element in the cache.
+ */
+public long getMissCount() {
+	return this.misses.sum();
+}
+
+/**
+ * Returns the number of elements which were closed to make space in the cache.
+ */
+public long getEvictionCount() {
+	return this.evictions.sum();
+}
+
+public void resetStats() {
+	this.hits.reset();
+	this.misses.reset();
+	this.evictions.reset();
+}
+
+/**
+ * Returns whether the space of an entry is the estimated number of bytes of its info.
+ */
+public boolean isWeighted() {
+	return this.weighted;
+}
+
+/**
+ * Sets the default space limit of the cache and whether the space of an entry is
+ * the estimated number of bytes of its info or one. The entries in the cache are
+ * measured again if the unit changes, and the least recently used ones are closed
+ * if they don't fit into the new limit.
+ */
+public void setSpaceLimit(int limit, boolean isWeighted) {
+	if (this.weighted != isWeighted) {
+		this.weighted = isWeighted;
+		int space = 0;
+		for (LRUCacheEntry<K, JavaElementInfo> entry : this.entryTable.values()) {
+			entry.space = spaceFor(entry.value);
+			space += entry.space;
+		}
+		this.currentSpace = space;
+	}
+	this.initialSpaceLimit = limit;
+	this.spaceLimitParent = null;
+	this.spaceLimit = limit;
+	this.overflow = 0;
+	makeSpace(0);
+}
+
+@Override
+protected int spaceFor(JavaElementInfo value) {
+	if (this.weighted) {
+		return Math.max(1, value.getEstimatedWeight());
+	}
+	return super.spaceFor(value);
+}
+
 /*
  * Returns a new instance of the receiver.
  */
 @Override
 protected ElementCache<K> newInstance(int size, int newOverflow) {
-	return new ElementCache<>(size, newOverflow);
+	ElementCache<K> cache = new ElementCache<>(size, newOverflow);
+	cache.weighted = this.weighted;
+	return cache;
 }
 
 /*
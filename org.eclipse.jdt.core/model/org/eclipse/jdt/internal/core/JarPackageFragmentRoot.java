@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.core;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -120,54 +121,22 @@ public class JarPackageFragmentRoot extends PackageFragmentRoot {
 			// always create the default package
 			rawPackageInfo.put(new ArrayList<>(), new PackageContent());
 
-			Object file = JavaModel.getTarget(this, true);
-			long classLevel = Util.getJdkLevel(file);
 			String projectCompliance = this.getJavaProject().getOption(JavaCore.COMPILER_COMPLIANCE, true);
-			long projectLevel = CompilerOptions.versionToJdkLevel(projectCompliance);
-			ZipFile jar = null;
-			try {
-				jar = getJar();
-				String version = Util.METAINF_VERSIONS;
-				List<String> versions = new ArrayList<>();
-				if (projectLevel >= ClassFileConstants.JDK9 && jar.getEntry(version) != null) {
-					int earliestJavaVersion = ClassFileConstants.MAJOR_VERSION_9;
-					long latestJDK = CompilerOptions.versionToJdkLevel(projectCompliance);
-					int latestJavaVer = (int) (latestJDK >> 16);
-
-					for(int i = latestJavaVer; i >= earliestJavaVersion; i--) {
-						String s = "" + + (i - 44); //$NON-NLS-1$
-						String versionPath = version + s;
-						if (jar.getEntry(versionPath) != null) {
-							versions.add(s);
-						}
-					}
-				}
-
-				String[] supportedVersions = versions.toArray(new String[versions.size()]);
-				if (supportedVersions.length > 0) {
+			File localFile = getLocalJarFile();
+			JarStructureCache.Structure structure = localFile == null ? null : JarStructureCache.read(localFile, projectCompliance, getClassNameSubFolder());
+			if (structure != null) {
+				// the jar did not change since its structure was computed, it does not need to be opened
+				if (structure.multiVersion()) {
 					this.multiVersion = true;
 				}
-				int length = version.length();
-				for (Enumeration<? extends ZipEntry> e= jar.entries(); e.hasMoreElements();) {
-					ZipEntry member= e.nextElement();
-					String name = Util.getEntryName(jar.getName(), member);
-					if (name == null)  {
-						continue;
-					}
-					if (this.multiVersion && name.length() > (length + 2) && name.startsWith(version)) {
-						int end = name.indexOf('/', length);
-						if (end >= name.length()) continue;
-						String versionPath = name.substring(0, end);
-						String ver = name.substring(length, end);
-						if(versions.contains(ver) && org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(name)) {
-							name = name.substring(end + 1);
-							overridden.put(name, versionPath);
-						}
-					}
-					initRawPackageInfo(rawPackageInfo, getClassNameSubFolder(), name, member.isDirectory(), CompilerOptions.versionFromJdkLevel(classLevel));
+				rawPackageInfo = structure.packages();
+				overridden = structure.overridden();
+			} else {
+				boolean isMultiVersion = computePackageInfo(rawPackageInfo, overridden, projectCompliance);
+				if (localFile != null) {
+					JarStructureCache.write(localFile, projectCompliance, getClassNameSubFolder(),
+							new JarStructureCache.Structure(rawPackageInfo, overridden, isMultiVersion));
 				}
-			}  finally {
-				JavaModelManager.getJavaModelManager().closeZipFile(jar);
 			}
 			rawPackageInfo = unmodifiableCopy(rawPackageInfo);
 			children = createChildren(rawPackageInfo.keySet());
@@ -196,6 +165,77 @@ public class JarPackageFragmentRoot extends PackageFragmentRoot {
 		return true;
 	}
 
+	/*
+	 * Reads the packages, their class files and resources, and the versioned class files of the jar.
+	 * Answers whether the jar provides versioned class files for the given project compliance.
+	 */
+	private boolean computePackageInfo(Map<List<String>, PackageContent> rawPackageInfo, Map<String, String> overridden,
+			String projectCompliance) throws CoreException, ZipException {
+		Object file = JavaModel.getTarget(this, true);
+		long classLevel = Util.getJdkLevel(file);
+		long projectLevel = CompilerOptions.versionToJdkLevel(projectCompliance);
+		ZipFile jar = null;
+		try {
+			jar = getJar();
+			String version = Util.METAINF_VERSIONS;
+			List<String> versions = new ArrayList<>();
+			if (projectLevel >= ClassFileConstants.JDK9 && jar.getEntry(version) != null) {
+				int earliestJavaVersion = ClassFileConstants.MAJOR_VERSION_9;
+				long latestJDK = CompilerOptions.versionToJdkLevel(projectCompliance);
+				int latestJavaVer = (int) (latestJDK >> 16);
+
+				for(int i = latestJavaVer; i >= earliestJavaVersion; i--) {
+					String s = "" + + (i - 44); //$NON-NLS-1$
+					String versionPath = version + s;
+					if (jar.getEntry(versionPath) != null) {
+						versions.add(s);
+					}
+				}
+			}
+
+			String[] supportedVersions = versions.toArray(new String[versions.size()]);
+			if (supportedVersions.length > 0) {
+				this.multiVersion = true;
+			}
+			int length = version.length();
+			for (Enumeration<? extends ZipEntry> e= jar.entries(); e.hasMoreElements();) {
+				ZipEntry member= e.nextElement();
+				String name = Util.getEntryName(jar.getName(), member);
+				if (name == null)  {
+					continue;
+				}
+				if (this.multiVersion && name.length() > (length + 2) && name.startsWith(version)) {
+					int end = name.indexOf('/', length);
+					if (end >= name.length()) continue;
+					String versionPath = name.substring(0, end);
+					String ver = name.substring(length, end);
+					if(versions.contains(ver) && org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(name)) {
+						name = name.substring(end + 1);
+						overridden.put(name, versionPath);
+					}
+				}
+				initRawPackageInfo(rawPackageInfo, getClassNameSubFolder(), name, member.isDirectory(), CompilerOptions.versionFromJdkLevel(classLevel));
+			}
+			return supportedVersions.length > 0;
+		}  finally {
+			JavaModelManager.getJavaModelManager().closeZipFile(jar);
+		}
+	}
+
+	/*
+	 * Answers the file of the jar in the local file system, or null if it cannot be found.
+	 */
+	private File getLocalJarFile() {
+		if (!JarStructureCache.ENABLED) {
+			return null;
+		}
+		try {
+			return JavaModelManager.getLocalFile(getPath());
+		} catch (CoreException e) {
+			return null;
+		}
+	}
+
 	protected IJavaElement[] createChildren(Collection<List<String>> packagenames) {
 		// XXX sorting the children is unnecessary by contract - see org.eclipse.jdt.core.IParent#getChildren()
 		// but some tests like JavaProjectTests rely on a fixed child order
@@ -34,4 +34,18 @@ class JarPackageFragmentRootInfo extends PackageFragmentRootInfo {
 	 */
 	Map<List<String>, PackageContent> rawPackageInfo;
 	Map<String, String> overriddenClasses;
+
+	/*
+	 * The names of the entries of the jar are kept until the root is closed.
+	 */
+	@Override
+	int getEstimatedWeight() {
+		int weight = super.getEstimatedWeight();
+		Map<List<String>, PackageContent> packages = this.rawPackageInfo;
+		if (packages != null) {
+			for (PackageContent content : packages.values())
+				weight += CHILD_WEIGHT * (1 + content.javaClasses().size() + content.resources().size());
+		}
+		return weight;
+	}
 }
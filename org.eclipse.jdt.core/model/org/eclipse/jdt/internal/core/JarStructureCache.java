@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.eclipse.core.runtime.Plugin;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.core.JarPackageFragmentRootInfo.PackageContent;
+
+/**
+ * A cache of the package structure of jars which persists across sessions, so opening a jar package fragment root
+ * does not need to read the central directory of its jar again when the jar did not change.
+ * <p>
+ * The structure computed by {@link JarPackageFragmentRoot#computeChildren} for a jar is stored in its own file of the
+ * <code>jarStructures</code> folder of the state location. The file starts with a header made of the path of the jar,
+ * the project compliance and class name sub folder the structure was computed for, and the length, time stamp and
+ * checksum of the end of the jar file (which contains its central directory). A file whose header does not match the
+ * jar anymore is ignored and replaced by the next computation. The rest of the file is only memory mapped once the
+ * header was validated.
+ * </p>
+ * <p>
+ * Files which were not used for {@link #MAX_AGE} are deleted the first time the cache is used in a session. The cache
+ * can be disabled with the <code>org.eclipse.jdt.core.jarStructureCache</code> system property.
+ * </p>
+ */
+class JarStructureCache {
+
+	/**
+	 * The structure of a jar as computed by {@link JarPackageFragmentRoot#computeChildren}.
+	 */
+	record Structure(Map<List<String>, PackageContent> packages, Map<String, String> overridden, boolean multiVersion) {/** nothing */}
+
+	static boolean ENABLED = !"false".equals(System.getProperty("org.eclipse.jdt.core.jarStructureCache")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final int MAGIC = 0x4A534331; // JSC1
+	private static final int VERSION = 1;
+	private static final int TAIL_LENGTH = 4096;
+	private static final int MAX_HEADER_LENGTH = 64 * 1024;
+	private static final long MAX_AGE = 60L * 24 * 60 * 60 * 1000; // 60 days
+	private static final long TOUCH_INTERVAL = 24L * 60 * 60 * 1000;
+
+	private static volatile File folder;
+
+	private JarStructureCache() {
+		// static only
+	}
+
+	/*
+	 * Answers the folder of the cache files, or null if there is no state location.
+	 * Deletes the files which were not used recently when it is first called.
+	 */
+	private static File getFolder() {
+		File result = folder;
+		if (result != null) return result;
+		synchronized (JarStructureCache.class) {
+			if (folder != null) return folder;
+			Plugin plugin = JavaCore.getPlugin();
+			if (plugin == null) return null;
+			try {
+				result = plugin.getStateLocation().append("jarStructures").toFile(); //$NON-NLS-1$
+			} catch (IllegalStateException e) {
+				return null; // no instance location
+			}
+			File[] files = result.listFiles();
+			if (files != null) {
+				long oldest = System.currentTimeMillis() - MAX_AGE;
+				for (File file : files) {
+					if (file.lastModified() < oldest)
+						file.delete();
+				}
+			} else {
+				result.mkdirs();
+			}
+			return folder = result;
+		}
+	}
+
+	private static String key(File jar, String projectCompliance, String classNameSubFolder) {
+		return jar.getAbsolutePath() + '|' + projectCompliance + '|' + (classNameSubFolder == null ? "" : classNameSubFolder); //$NON-NLS-1$
+	}
+
+	private static File getFile(File cacheFolder, String key) {
+		byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+		CRC32 checksum = new CRC32();
+		checksum.update(bytes);
+		long hash = ((long) key.hashCode() << 32) | checksum.getValue();
+		return new File(cacheFolder, Long.toHexString(hash));
+	}
+
+	/*
+	 * Answers the checksum of the end of the given jar, which contains its central directory.
+	 */
+	private static long tailChecksum(File jar, long length) throws IOException {
+		byte[] tail = new byte[(int) Math.min(length, TAIL_LENGTH)];
+		try (RandomAccessFile file = new RandomAccessFile(jar, "r")) { //$NON-NLS-1$
+			file.seek(length - tail.length);
+			file.readFully(tail);
+		}
+		CRC32 checksum = new CRC32();
+		checksum.update(tail);
+		return checksum.getValue();
+	}
+
+	/**
+	 * Answers the structure of the given jar stored by a previous session or by another root,
+	 * or null if there is none or if the jar changed since it was stored.
+	 */
+	static Structure read(File jar, String projectCompliance, String classNameSubFolder) {
+		if (!ENABLED) return null;
+		File cacheFolder = getFolder();
+		if (cacheFolder == null) return null;
+		String key = key(jar, projectCompliance, classNameSubFolder);
+		File file = getFile(cacheFolder, key);
+		long cacheLength = file.length();
+		if (cacheLength == 0) return null;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate((int) Math.min(cacheLength, MAX_HEADER_LENGTH));
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+				// read the header
+			}
+			header.flip();
+			if (header.getInt() != MAGIC || header.getInt() != VERSION || !key.equals(readString(header)))
+				return null;
+			long length = jar.length();
+			if (header.getLong() != length || header.getLong() != jar.lastModified()
+					|| length == 0 || header.getLong() != tailChecksum(jar, length)) {
+				if (JavaModelManager.ZIP_ACCESS_VERBOSE)
+					JavaModelManager.trace("(" + Thread.currentThread() + ") [JarStructureCache.read] Stale structure of " + jar); //$NON-NLS-1$ //$NON-NLS-2$
+				return null;
+			}
+			int start = header.position();
+			MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, start, cacheLength - start);
+			Structure structure = readStructure(body);
+			if (file.lastModified() < System.currentTimeMillis() - TOUCH_INTERVAL)
+				file.setLastModified(System.currentTimeMillis());
+			if (JavaModelManager.ZIP_ACCESS_VERBOSE)
+				JavaModelManager.trace("(" + Thread.currentThread() + ") [JarStructureCache.read] Read structure of " + jar); //$NON-NLS-1$ //$NON-NLS-2$
+			return structure;
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			// corrupted or concurrently replaced, the structure is computed again
+			if (JavaModelManager.ZIP_ACCESS_VERBOSE)
+				JavaModelManager.trace("(" + Thread.currentThread() + ") [JarStructureCache.read] Failed to read structure of " + jar, e); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+	}
+
+	private static Structure readStructure(ByteBuffer buffer) {
+		boolean multiVersion = buffer.get() != 0;
+		int packageCount = buffer.getInt();
+		Map<List<String>, PackageContent> packages = new HashMap<>(capacity(packageCount, buffer));
+		for (int i = 0; i < packageCount; i++) {
+			List<String> name = readStrings(buffer);
+			packages.put(name, new PackageContent(readStrings(buffer), readStrings(buffer)));
+		}
+		int overriddenCount = buffer.getInt();
+		Map<String, String> overridden = new HashMap<>(capacity(overriddenCount, buffer));
+		for (int i = 0; i < overriddenCount; i++)
+			overridden.put(readString(buffer), readString(buffer));
+		return new Structure(packages, overridden, multiVersion);
+	}
+
+	private static List<String> readStrings(ByteBuffer buffer) {
+		int size = buffer.getInt();
+		List<String> strings = new ArrayList<>(capacity(size, buffer));
+		for (int i = 0; i < size; i++)
+			strings.add(readString(buffer));
+		return strings;
+	}
+
+	/*
+	 * Answers the initial capacity of a collection of the given size, which cannot be larger than the rest of
+	 * the buffer unless the file is corrupted.
+	 */
+	private static int capacity(int size, ByteBuffer buffer) {
+		if (size < 0)
+			throw new BufferUnderflowException();
+		return Math.min(size, buffer.remaining() / 4) + 1;
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining())
+			throw new BufferUnderflowException();
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Stores the structure of the given jar so the next sessions and the other roots on the same jar can read it
+	 * instead of reading the jar.
+	 */
+	static void write(File jar, String projectCompliance, String classNameSubFolder, Structure structure) {
+		if (!ENABLED) return;
+		File cacheFolder = getFolder();
+		if (cacheFolder == null) return;
+		String key = key(jar, projectCompliance, classNameSubFolder);
+		File file = getFile(cacheFolder, key);
+		File temp = null;
+		try {
+			long length = jar.length();
+			long lastModified = jar.lastModified();
+			if (length == 0) return;
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream stream = new DataOutputStream(bytes);
+			stream.writeInt(MAGIC);
+			stream.writeInt(VERSION);
+			writeString(stream, key);
+			stream.writeLong(length);
+			stream.writeLong(lastModified);
+			stream.writeLong(tailChecksum(jar, length));
+			stream.writeBoolean(structure.multiVersion());
+			stream.writeInt(structure.packages().size());
+			for (Map.Entry<List<String>, PackageContent> entry : structure.packages().entrySet()) {
+				writeStrings(stream, entry.getKey());
+				writeStrings(stream, entry.getValue().javaClasses());
+				writeStrings(stream, entry.getValue().resources());
+			}
+			stream.writeInt(structure.overridden().size());
+			for (Map.Entry<String, String> entry : structure.overridden().entrySet()) {
+				writeString(stream, entry.getKey());
+				writeString(stream, entry.getValue());
+			}
+			stream.flush();
+			if (jar.lastModified() != lastModified)
+				return; // the jar is being written
+			// write to a temporary file first so readers never see a partially written file
+			temp = File.createTempFile(file.getName(), ".tmp", cacheFolder); //$NON-NLS-1$
+			Files.write(temp.toPath(), bytes.toByteArray());
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			temp = null;
+			if (JavaModelManager.ZIP_ACCESS_VERBOSE)
+				JavaModelManager.trace("(" + Thread.currentThread() + ") [JarStructureCache.write] Wrote structure of " + jar); //$NON-NLS-1$ //$NON-NLS-2$
+		} catch (IOException e) {
+			// the structure is computed again next time
+			if (JavaModelManager.ZIP_ACCESS_VERBOSE)
+				JavaModelManager.trace("(" + Thread.currentThread() + ") [JarStructureCache.write] Failed to write structure of " + jar, e); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			if (temp != null)
+				temp.delete();
+		}
+	}
+
+	private static void writeStrings(DataOutputStream stream, List<String> strings) throws IOException {
+		stream.writeInt(strings.size());
+		for (String string : strings)
+			writeString(stream, string);
+	}
+
+	private static void writeString(DataOutputStream stream, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		stream.writeInt(bytes.length);
+		stream.write(bytes);
+	}
+}
@@ -27,6 +27,12 @@ public class JavaElementInfo implements Cloneable, IElementInfo {
 	 */
 	static Object[] NO_NON_JAVA_RESOURCES = new Object[] {};
 
+	/*
+	 * Estimated number of bytes of a child handle and of its slot in the children array.
+	 */
+	static final int CHILD_WEIGHT = 64;
+
+
 	@Override
 	public Object clone() {
 		try {
@@ -42,4 +48,12 @@ public class JavaElementInfo implements Cloneable, IElementInfo {
 	public IJavaElement[] getExtendedChildren() {
 		return JavaElement.NO_ELEMENTS;
 	}
+	/**
+	 * Returns an estimate of the number of bytes retained by this info while its element is open,
+	 * including the infos of its descendants that are closed together with it.
+	 * This is the space taken by the info in a Java model cache with a memory budget.
+	 */
+	int getEstimatedWeight() {
+		return 32;
+	}
 }
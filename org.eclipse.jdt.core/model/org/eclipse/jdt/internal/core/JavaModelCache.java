@@ -17,12 +17,16 @@
 package org.eclipse.jdt.internal.core;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.internal.compiler.env.IBinaryInfo;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.env.IBinaryType;
+import org.eclipse.jdt.internal.compiler.env.IBinaryField;
 import org.eclipse.jdt.internal.compiler.env.IElementInfo;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.core.util.LRUCache;
@@ -30,6 +34,11 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 /**
  * The cache of java elements to their respective info.
+ * <p>
+ * By default the caches of roots, packages, openables and jar types are bounded by a number of entries.
+ * If a memory budget is set, see {@link #BUDGET_PROPERTY}, they are bounded by the estimated number of bytes
+ * of their infos instead, each cache getting a fixed share of the budget.
+ * </p>
  */
 public class JavaModelCache {
 	public static boolean VERBOSE = false;
@@ -41,6 +50,24 @@ public class JavaModelCache {
 
 	public static final String RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.ratio"; //$NON-NLS-1$
 	public static final String JAR_TYPE_RATIO_PROPERTY = "org.eclipse.jdt.core.javamodelcache.jartyperatio"; //$NON-NLS-1$
+	/**
+	 * The memory budget of the cache in megabytes, the caches are bounded by a number of entries if it is not set.
+	 * The budget can be changed at runtime, see {@link JavaModelManager#setCacheMemoryBudget(long)}.
+	 */
+	public static final String BUDGET_PROPERTY = "org.eclipse.jdt.core.javamodelcache.budget"; //$NON-NLS-1$
+	/**
+	 * Whether the caches keep the frequently used elements when a scan opens many elements once, <code>true</code> by default.
+	 * @see LRUCache#setScanResistant(boolean)
+	 */
+	public static final String SCAN_RESISTANT_PROPERTY = "org.eclipse.jdt.core.javamodelcache.scanResistant"; //$NON-NLS-1$
+
+	/*
+	 * The shares of the memory budget of the caches.
+	 */
+	private static final double ROOT_SHARE = 0.02;
+	private static final double PKG_SHARE = 0.08;
+	private static final double OPENABLE_SHARE = 0.7;
+	private static final double JAR_TYPE_SHARE = 0.2;
 
 	public static final IBinaryInfo NON_EXISTING_JAR_TYPE_INFO = new IBinaryInfo() {/*empty marker instance only*/};
 
@@ -49,6 +76,11 @@ public class JavaModelCache {
 	 */
 	protected double memoryRatio = -1;
 
+	/*
+	 * The memory budget in bytes, or 0 if the caches are bounded by their number of entries.
+	 */
+	protected long memoryBudget;
+
 	/**
 	 * Active Java Model Info
 	 */
@@ -83,7 +115,54 @@ public class JavaModelCache {
 	 * Cache of open binary type (inside a jar) that have a non-open parent
 	 * Values are either instance of IBinaryType or Object (see {@link #NON_EXISTING_JAR_TYPE_INFO})
 	 */
-	protected LRUCache<IJavaElement, IElementInfo> jarTypeCache;
+	protected JarTypeCache jarTypeCache;
+
+	/**
+	 * The cache of binary types inside a jar, counting its hits, misses and evictions.
+	 */
+	protected static class JarTypeCache extends LRUCache<IJavaElement, IElementInfo> {
+		final boolean weighted;
+		final LongAdder hits, misses, evictions;
+
+		JarTypeCache(int size, boolean weighted, JarTypeCache previous) {
+			super(size);
+			this.weighted = weighted;
+			// the statistics survive the reset of the cache
+			this.hits = previous == null ? new LongAdder() : previous.hits;
+			this.misses = previous == null ? new LongAdder() : previous.misses;
+			this.evictions = previous == null ? new LongAdder() : previous.evictions;
+		}
+		@Override
+		public IElementInfo get(IJavaElement key) {
+			IElementInfo info = super.get(key);
+			if (info == null) {
+				this.misses.increment();
+			} else {
+				this.hits.increment();
+			}
+			return info;
+		}
+		@Override
+		protected boolean makeSpace(int space) {
+			int size = this.entryTable.size();
+			boolean result = super.makeSpace(space);
+			this.evictions.add(size - this.entryTable.size());
+			return result;
+		}
+		@Override
+		protected LRUCache<IJavaElement, IElementInfo> newInstance(int size) {
+			return new JarTypeCache(size, this.weighted, this);
+		}
+		@Override
+		protected int spaceFor(IElementInfo value) {
+			if (!this.weighted) return super.spaceFor(value);
+			if (!(value instanceof IBinaryType)) return 16;
+			IBinaryType type = (IBinaryType) value;
+			IBinaryField[] fields = type.getFields();
+			IBinaryMethod[] methods = type.getMethods();
+			return 256 + 128 * ((fields == null ? 0 : fields.length) + (methods == null ? 0 : methods.length));
+		}
+	}
 
 public JavaModelCache() {
 	double openableRatio = getOpenableRatio();
@@ -103,8 +182,13 @@ public JavaModelCache() {
 		this.pkgCache = new ElementCache<>(packageCacheeSize);
 		this.openableCache = new ElementCache<>(openableCacheSize);
 	}
+	boolean scanResistant = !"false".equalsIgnoreCase(System.getProperty(SCAN_RESISTANT_PROPERTY)); //$NON-NLS-1$
+	this.rootCache.setScanResistant(scanResistant);
+	this.pkgCache.setScanResistant(scanResistant);
+	this.openableCache.setScanResistant(scanResistant);
 	this.childrenCache = new HashMap<>(); // HashMap size adjusts automatically
 	resetJarTypeCache();
+	setMemoryBudget(getBudgetProperty());
 }
 
 private int sizeLimit(double d) {
@@ -119,6 +203,92 @@ private double getJarTypeRatio() {
 	return getRatioForProperty(JAR_TYPE_RATIO_PROPERTY);
 }
 
+private long getBudgetProperty() {
+	String property = System.getProperty(BUDGET_PROPERTY);
+	if (property != null) {
+		try {
+			return Long.parseLong(property.trim()) * 1024 * 1024;
+		} catch (NumberFormatException e) {
+			Util.log(e, "Could not parse value for " + BUDGET_PROPERTY + ": " + property); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+	return 0;
+}
+
+/*
+ * Returns the space limit of a cache: its share of the memory budget if there is one,
+ * its default number of entries scaled by the given ratio otherwise.
+ */
+private int spaceLimit(int defaultSize, double ratio, double budgetShare) {
+	if (this.memoryBudget > 0)
+		return sizeLimit(this.memoryBudget * budgetShare);
+	return sizeLimit(defaultSize * ratio);
+}
+
+/**
+ * Returns the memory budget of the cache in bytes, or 0 if the caches are bounded by their number of entries.
+ */
+public long getMemoryBudget() {
+	return this.memoryBudget;
+}
+
+/**
+ * Sets the memory budget of the cache in bytes, 0 to bound the caches by their number of entries.
+ * The least recently used elements are closed if they don't fit into the new budget.
+ */
+protected void setMemoryBudget(long budget) {
+	this.memoryBudget = Math.max(0, budget);
+	boolean weighted = this.memoryBudget > 0;
+	double openableRatio = getOpenableRatio();
+	// shrink the caches of the children first as closing a parent closes its children
+	this.openableCache.setSpaceLimit(spaceLimit(DEFAULT_OPENABLE_SIZE, openableRatio, OPENABLE_SHARE), weighted);
+	this.pkgCache.setSpaceLimit(spaceLimit(DEFAULT_PKG_SIZE, openableRatio, PKG_SHARE), weighted);
+	this.rootCache.setSpaceLimit(spaceLimit(DEFAULT_ROOT_SIZE, openableRatio, ROOT_SHARE), weighted);
+	if (this.jarTypeCache.weighted != weighted || this.jarTypeCache.getSpaceLimit() != jarTypeCacheSize())
+		resetJarTypeCache();
+}
+
+/**
+ * Returns the estimated number of bytes of the infos in the caches bounded by the memory budget.
+ */
+public long getEstimatedWeight() {
+	return weightOf(this.rootCache) + weightOf(this.pkgCache) + weightOf(this.openableCache)
+		+ (this.jarTypeCache.weighted ? this.jarTypeCache.getCurrentSpace() : 0);
+}
+
+private long weightOf(ElementCache<?> elementCache) {
+	if (elementCache.isWeighted())
+		return elementCache.getCurrentSpace();
+	long weight = 0;
+	for (LRUCache.LRUCacheEntry<?, JavaElementInfo> entry : elementCache.getEntryTable().values())
+		weight += entry.value.getEstimatedWeight();
+	return weight;
+}
+
+public long getHitCount() {
+	return this.rootCache.getHitCount() + this.pkgCache.getHitCount() + this.openableCache.getHitCount()
+		+ this.jarTypeCache.hits.sum();
+}
+
+public long getMissCount() {
+	return this.rootCache.getMissCount() + this.pkgCache.getMissCount() + this.openableCache.getMissCount()
+		+ this.jarTypeCache.misses.sum();
+}
+
+public long getEvictionCount() {
+	return this.rootCache.getEvictionCount() + this.pkgCache.getEvictionCount() + this.openableCache.getEvictionCount()
+		+ this.jarTypeCache.evictions.sum();
+}
+
+public void resetStats() {
+	this.rootCache.resetStats();
+	this.pkgCache.resetStats();
+	this.openableCache.resetStats();
+	this.jarTypeCache.hits.reset();
+	this.jarTypeCache.misses.reset();
+	this.jarTypeCache.evictions.reset();
+}
+
 private double getRatioForProperty(String propertyName) {
 	String property = System.getProperty(propertyName);
 	if (property != null) {
@@ -308,8 +478,11 @@ protected void removeInfo(JavaElement element) {
 	}
 }
 protected void resetJarTypeCache() {
-	int jarTypeCacheSize = sizeLimit(DEFAULT_OPENABLE_SIZE * getJarTypeRatio());
-	this.jarTypeCache = new LRUCache<>(jarTypeCacheSize);
+	this.jarTypeCache = new JarTypeCache(jarTypeCacheSize(), this.memoryBudget > 0, this.jarTypeCache);
+	this.jarTypeCache.setScanResistant(this.openableCache.isScanResistant());
+}
+private int jarTypeCacheSize() {
+	return spaceLimit(DEFAULT_OPENABLE_SIZE, getJarTypeRatio(), JAR_TYPE_SHARE);
 }
 protected void removeFromJarTypeCache(BinaryType type) {
 	this.jarTypeCache.flush(type);
@@ -336,6 +509,16 @@ public String toStringFillingRation(String prefix) {
 	buffer.append(prefix);
 	buffer.append(this.jarTypeCache.toStringFillingRation("Jar type cache")); //$NON-NLS-1$
 	buffer.append('\n');
+	buffer.append(prefix);
+	buffer.append("Memory budget: "); //$NON-NLS-1$
+	buffer.append(this.memoryBudget == 0 ? "none" : (this.memoryBudget / 1024) + "KB"); //$NON-NLS-1$ //$NON-NLS-2$
+	buffer.append(", hits: "); //$NON-NLS-1$
+	buffer.append(getHitCount());
+	buffer.append(", misses: "); //$NON-NLS-1$
+	buffer.append(getMissCount());
+	buffer.append(", evictions: "); //$NON-NLS-1$
+	buffer.append(getEvictionCount());
+	buffer.append('\n');
 	return buffer.toString();
 }
 }
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+/**
+ * The management interface of the Java model cache, registered with the platform MBean server
+ * as {@value JavaModelCacheMonitor#OBJECT_NAME}.
+ */
+public interface JavaModelCacheMXBean {
+
+	/**
+	 * Returns the memory budget of the cache in bytes, or 0 if the caches are bounded by their number of entries.
+	 */
+	long getMemoryBudget();
+
+	/**
+	 * Sets the memory budget of the cache in bytes, 0 to bound the caches by their number of entries.
+	 */
+	void setMemoryBudget(long budget);
+
+	/**
+	 * Returns the estimated number of bytes of the infos in the caches of roots, packages, openables and jar types.
+	 */
+	long getEstimatedWeight();
+
+	long getHitCount();
+
+	long getMissCount();
+
+	long getEvictionCount();
+
+	/**
+	 * Returns the ratio of the lookups which found the info in the cache.
+	 */
+	double getHitRatio();
+
+	/**
+	 * Returns the filling ratio of each cache.
+	 */
+	String getFillingRatios();
+
+	void resetStatistics();
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * Exposes the Java model cache of a Java model manager through JMX.
+ * The budget and the weight are accessed under the lock of the manager like the cache itself,
+ * the statistics are read from counters which don't need it.
+ */
+class JavaModelCacheMonitor implements JavaModelCacheMXBean {
+
+	static final String OBJECT_NAME = "org.eclipse.jdt.core:type=JavaModelCache"; //$NON-NLS-1$
+
+	private final JavaModelManager manager;
+
+	private JavaModelCacheMonitor(JavaModelManager manager) {
+		this.manager = manager;
+	}
+
+	static void register(JavaModelManager manager) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name))
+				server.unregisterMBean(name); // left over by a previous manager
+			server.registerMBean(new JavaModelCacheMonitor(manager), name);
+		} catch (JMException | SecurityException | LinkageError e) {
+			// the cache works without being monitored
+			Util.log(e, "Could not register the Java model cache MBean"); //$NON-NLS-1$
+		}
+	}
+
+	static void unregister() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (server.isRegistered(name))
+				server.unregisterMBean(name);
+		} catch (JMException | SecurityException | LinkageError e) {
+			// ignore
+		}
+	}
+
+	@Override
+	public long getMemoryBudget() {
+		return this.manager.getCacheMemoryBudget();
+	}
+
+	@Override
+	public void setMemoryBudget(long budget) {
+		this.manager.setCacheMemoryBudget(budget);
+	}
+
+	@Override
+	public long getEstimatedWeight() {
+		synchronized (this.manager) {
+			return this.manager.getCache().getEstimatedWeight();
+		}
+	}
+
+	@Override
+	public long getHitCount() {
+		return this.manager.getCache().getHitCount();
+	}
+
+	@Override
+	public long getMissCount() {
+		return this.manager.getCache().getMissCount();
+	}
+
+	@Override
+	public long getEvictionCount() {
+		return this.manager.getCache().getEvictionCount();
+	}
+
+	@Override
+	public double getHitRatio() {
+		long hits = getHitCount();
+		long lookups = hits + getMissCount();
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	@Override
+	public String getFillingRatios() {
+		return this.manager.cacheToString(""); //$NON-NLS-1$
+	}
+
+	@Override
+	public void resetStatistics() {
+		this.manager.getCache().resetStats();
+	}
+}
@@ -326,6 +326,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	public static final String COMPLETION_PERF = JavaCore.PLUGIN_ID + "/perf/completion" ; //$NON-NLS-1$
 	public static final String SELECTION_PERF = JavaCore.PLUGIN_ID + "/perf/selection" ; //$NON-NLS-1$
 	public static final String DELTA_LISTENER_PERF = JavaCore.PLUGIN_ID + "/perf/javadeltalistener" ; //$NON-NLS-1$
+	public static final String DELTA_PROCESSING_PERF = JavaCore.PLUGIN_ID + "/perf/javadeltaprocessing" ; //$NON-NLS-1$
 	public static final String VARIABLE_INITIALIZER_PERF = JavaCore.PLUGIN_ID + "/perf/variableinitializer" ; //$NON-NLS-1$
 	public static final String CONTAINER_INITIALIZER_PERF = JavaCore.PLUGIN_ID + "/perf/containerinitializer" ; //$NON-NLS-1$
 	public static final String RECONCILE_PERF = JavaCore.PLUGIN_ID + "/perf/reconcile" ; //$NON-NLS-1$
@@ -1210,6 +1211,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 */
 	public DeltaProcessingState deltaState = new DeltaProcessingState();
 
+	/**
+	 * The secondary types of the projects persisted by the last save.
+	 */
+	final PersistedSecondaryTypes persistedSecondaryTypes = new PersistedSecondaryTypes();
+
 	public IndexManager indexManager = null;
 
 	/**
@@ -1252,6 +1258,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 */
 	private static class SecondaryTypes {
 		private volatile SecondaryTypesCache cache;
+		/*
+		 * The full paths of the source folders the secondary types were searched in,
+		 * or null if the search may have missed types because the indexes were not ready
+		 */
+		private volatile String[] sourceFolders;
 
 		public SecondaryTypes() {
 			this.cache = new SecondaryTypesCache(null, null);
@@ -1286,13 +1297,15 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			this.cache = new SecondaryTypesCache(this.cache.secondaryTypes(), null);
 		}
 
-		private synchronized SecondaryTypesCache doneSearching(Hashtable<String, Map<String, IType>> newSecondaryTypes) {
+		private synchronized SecondaryTypesCache doneSearching(Hashtable<String, Map<String, IType>> newSecondaryTypes, String[] searchedFolders) {
 			this.cache = new SecondaryTypesCache(newSecondaryTypes, this.cache.indexingSecondaryCache());
+			this.sourceFolders = searchedFolders;
 			return this.cache;
 		}
 
 		private synchronized void clearAllCaches() {
 			this.cache = new SecondaryTypesCache(null, null);
+			this.sourceFolders = null;
 		}
 	}
 
@@ -1959,6 +1972,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 					CompletionEngine.PERF = PerformanceStats.isEnabled(COMPLETION_PERF);
 					SelectionEngine.PERF = PerformanceStats.isEnabled(SELECTION_PERF);
 					DeltaProcessor.PERF = PerformanceStats.isEnabled(DELTA_LISTENER_PERF);
+					DeltaProcessor.PERF_PROCESSING = PerformanceStats.isEnabled(DELTA_PROCESSING_PERF);
 					JavaModelManager.PERF_VARIABLE_INITIALIZER = PerformanceStats.isEnabled(VARIABLE_INITIALIZER_PERF);
 					JavaModelManager.PERF_CONTAINER_INITIALIZER = PerformanceStats.isEnabled(CONTAINER_INITIALIZER_PERF);
 					ReconcileWorkingCopyOperation.PERF = PerformanceStats.isEnabled(RECONCILE_PERF);
@@ -2317,13 +2331,19 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 		PerProjectInfo info = getPerProjectInfo(project, true/*create if missing*/);
 		if (!info.triedRead) {
-			info.triedRead = true;
-			try {
-				if (monitor != null)
-					monitor.subTask(Messages.bind(Messages.build_readStateProgress, project.getName()));
-				info.savedState = readState(project);
-			} catch (CoreException e) {
-				Util.log(e, "Exception while reading last build state for: " + project); //$NON-NLS-1$
+			// projects without dependencies between them may be built concurrently, but still share prereqs
+			synchronized (info) {
+				if (!info.triedRead) {
+					try {
+						if (monitor != null)
+							monitor.subTask(Messages.bind(Messages.build_readStateProgress, project.getName()));
+						info.savedState = readState(project);
+					} catch (CoreException e) {
+						Util.log(e, "Exception while reading last build state for: " + project); //$NON-NLS-1$
+					} finally {
+						info.triedRead = true;
+					}
+				}
 			}
 		}
 		return info.savedState;
@@ -4756,6 +4776,12 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 				saveClasspathListCache(EXTERNAL_FILES_CACHE);
 				saveClasspathListCache(ASSUMED_EXTERNAL_FILES_CACHE);
 
+				// remember which projects to warm up in the next session
+				JavaModelSnapshot.save(this);
+
+				// save the secondary types which are known on full save, the delta since then will tell which ones changed
+				this.persistedSecondaryTypes.save(getSecondaryTypeTables());
+
 				// will need delta since this save (see https://bugs.eclipse.org/bugs/show_bug.cgi?id=38658)
 				context.needDelta();
 
@@ -4941,6 +4967,10 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 		// Perform search request only if secondary types cache is not initialized yet (this will happen only once!)
 		if (secondaryTypes == null) {
+			if (secondaryTypesLoading(project, projectInfo)) {
+				// the cache is now initialized, merge the files which were indexed meanwhile if any
+				return secondaryTypes(project, waitForIndexes, monitor);
+			}
 			return secondaryTypesSearching(project, waitForIndexes, monitor, projectInfo);
 		}
 
@@ -5073,19 +5103,11 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		};
 
 		// Build scope using prereq projects but only source folders
-		IPackageFragmentRoot[] allRoots = project.getAllPackageFragmentRoots();
-		int length = allRoots.length, size = 0;
-		IPackageFragmentRoot[] allSourceFolders = new IPackageFragmentRoot[length];
-		for (int i=0; i<length; i++) {
-			if (allRoots[i].getKind() == IPackageFragmentRoot.K_SOURCE) {
-				allSourceFolders[size++] = allRoots[i];
-			}
-		}
-		if (size < length) {
-			System.arraycopy(allSourceFolders, 0, allSourceFolders = new IPackageFragmentRoot[size], 0, size);
-		}
+		IPackageFragmentRoot[] allSourceFolders = getSourceFolders(project);
 
 		// Search all secondary types on scope
+		// (the result is complete, and can be persisted, if the indexes are ready)
+		boolean complete = waitForIndexes || getIndexManager().awaitingJobsCount() == 0;
 		new BasicSearchEngine().searchAllSecondaryTypeNames(allSourceFolders, nameRequestor, waitForIndexes, monitor);
 
 		// Build types from paths
@@ -5111,7 +5133,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		synchronized(projectInfo.secondaryTypes) {
 			SecondaryTypesCache stCache = projectInfo.secondaryTypes.cache();
 			if (stCache.secondaryTypes() == null || stCache.indexingSecondaryCache() != null) {
-				stCache = projectInfo.secondaryTypes.doneSearching(secondaryTypes);
+				stCache = projectInfo.secondaryTypes.doneSearching(secondaryTypes, complete ? getSourceFolderPaths(allSourceFolders) : null);
 
 				if (VERBOSE || BasicSearchEngine.VERBOSE) {
 					trace("	-> secondary paths stored in cache: ");  //$NON-NLS-1$
@@ -5122,6 +5144,106 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		}
 	}
 
+	/*
+	 * Returns the source folders of the given project and of its prerequisite projects.
+	 */
+	private static IPackageFragmentRoot[] getSourceFolders(IJavaProject project) throws JavaModelException {
+		IPackageFragmentRoot[] allRoots = project.getAllPackageFragmentRoots();
+		int length = allRoots.length, size = 0;
+		IPackageFragmentRoot[] allSourceFolders = new IPackageFragmentRoot[length];
+		for (int i=0; i<length; i++) {
+			if (allRoots[i].getKind() == IPackageFragmentRoot.K_SOURCE) {
+				allSourceFolders[size++] = allRoots[i];
+			}
+		}
+		if (size < length) {
+			System.arraycopy(allSourceFolders, 0, allSourceFolders = new IPackageFragmentRoot[size], 0, size);
+		}
+		return allSourceFolders;
+	}
+
+	private static String[] getSourceFolderPaths(IJavaProject project) throws JavaModelException {
+		return getSourceFolderPaths(getSourceFolders(project));
+	}
+
+	private static String[] getSourceFolderPaths(IPackageFragmentRoot[] sourceFolders) {
+		String[] paths = new String[sourceFolders.length];
+		for (int i = 0; i < sourceFolders.length; i++) {
+			paths[i] = sourceFolders[i].getPath().toString();
+		}
+		return paths;
+	}
+
+	/*
+	 * Initializes the secondary types cache of a project from the secondary types persisted by the last save
+	 * if they are still valid. Returns whether the cache is initialized.
+	 */
+	private boolean secondaryTypesLoading(IJavaProject project, PerProjectInfo projectInfo) throws JavaModelException {
+		if (!this.persistedSecondaryTypes.isAvailable()) {
+			return false;
+		}
+		String[] sourceFolders = getSourceFolderPaths(project);
+		PersistedSecondaryTypes.Table table = this.persistedSecondaryTypes.take(projectInfo.project.getName(), sourceFolders);
+		if (table == null) {
+			return false;
+		}
+		IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
+		Hashtable<String, Map<String, IType>> secondaryTypes = new Hashtable<>(table.types().size());
+		for (Entry<String, Map<String, String>> packageEntry : table.types().entrySet()) {
+			Map<String, String> types = packageEntry.getValue();
+			Map<String, IType> tempTypes = new HashMap<>(types.size());
+			for (Entry<String, String> entry : types.entrySet()) {
+				ICompilationUnit unit = JavaModelManager.createCompilationUnitFrom(workspaceRoot.getFile(new Path(entry.getValue())), null);
+				if (unit != null) {
+					tempTypes.put(entry.getKey(), unit.getType(entry.getKey()));
+				}
+			}
+			secondaryTypes.put(packageEntry.getKey(), tempTypes);
+		}
+		synchronized(projectInfo.secondaryTypes) {
+			if (projectInfo.secondaryTypes.cache().secondaryTypes() == null) {
+				projectInfo.secondaryTypes.doneSearching(secondaryTypes, sourceFolders);
+				if (VERBOSE) {
+					trace("JavaModelManager.secondaryTypesLoading(" + projectInfo.project.getName() + ')'); //$NON-NLS-1$
+					dumpSecondaryTypes(secondaryTypes);
+				}
+			}
+			return true;
+		}
+	}
+
+	/*
+	 * Returns the complete secondary types caches of the projects, as persisted tables by project name.
+	 */
+	private Map<String, PersistedSecondaryTypes.Table> getSecondaryTypeTables() {
+		List<PerProjectInfo> infos;
+		synchronized (this.perProjectInfos) {
+			infos = new ArrayList<>(this.perProjectInfos.values());
+		}
+		Map<String, PersistedSecondaryTypes.Table> tables = new HashMap<>();
+		for (PerProjectInfo info : infos) {
+			synchronized (info.secondaryTypes) {
+				SecondaryTypesCache stCache = info.secondaryTypes.cache();
+				String[] sourceFolders = info.secondaryTypes.sourceFolders;
+				if (sourceFolders == null || !stCache.isIndexingDone()) {
+					continue;
+				}
+				Map<String, Map<String, String>> types = new HashMap<>();
+				synchronized (stCache.secondaryTypes()) {
+					for (Entry<String, Map<String, IType>> packageEntry : stCache.secondaryTypes().entrySet()) {
+						Map<String, String> paths = new HashMap<>();
+						for (Entry<String, IType> entry : packageEntry.getValue().entrySet()) {
+							paths.put(entry.getKey(), entry.getValue().getPath().toString());
+						}
+						types.put(packageEntry.getKey(), paths);
+					}
+				}
+				tables.put(info.project.getName(), new PersistedSecondaryTypes.Table(sourceFolders, types));
+			}
+		}
+		return tables;
+	}
+
 	/**
 	 * Remove from secondary types cache all types belonging to a given file.
 	 * Clean secondary types cache built while indexing if requested.
@@ -5138,6 +5260,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 			trace(buffer.toString());
 		}
 		if (file != null) {
+			this.persistedSecondaryTypes.fileChanged(file.getProject().getName());
 			PerProjectInfo projectInfo = getPerProjectInfo(file.getProject(), false);
 			if (projectInfo == null) {
 				return;
@@ -5398,6 +5521,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		try {
 			// initialize Java model cache
 			this.cache = new JavaModelCache();
+			JavaModelCacheMonitor.register(this);
 
 			// request state folder creation (workaround 19885)
 			JavaCore.getPlugin().getStateLocation();
@@ -5482,6 +5606,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 										// force it to be POST_CHANGE so that the delta processor can handle it
 										JavaModelManager.this.deltaState.getDeltaProcessor().overridenEventType = IResourceChangeEvent.POST_CHANGE;
 										savedState.processResourceChangeEvents(JavaModelManager.this.deltaState);
+										// the files which changed since the persisted secondary types were saved are now known
+										JavaModelManager.this.persistedSecondaryTypes.changesProcessed();
 									}
 								}
 							},
@@ -5489,6 +5615,9 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 					} catch (CoreException e) {
 						return e.getStatus();
 					}
+					// rebuild the parts of the model which were in use in the previous session
+					// once the changes since then are known
+					JavaModelSnapshot.scheduleWarmUp();
 					return Status.OK_STATUS;
 				}
 			};
@@ -5526,6 +5655,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 
 		ExternalAnnotationTracker.shutdown(workspace);
 
+		JavaModelSnapshot.cancelWarmUp();
+
 		// Stop listening to content-type changes
 		IContentTypeManager contentTypeManager = Platform.getContentTypeManager();
 		if (contentTypeManager != null) {
@@ -5535,6 +5666,8 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		// Stop listening to search participant extension changes
 		DerivedSourceSearchParticipantRegistry.disposeInstance();
 
+		JavaModelCacheMonitor.unregister();
+
 		// Stop indexing
 		if (this.indexManager != null) {
 			this.indexManager.shutdown();
@@ -5655,6 +5788,7 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	@Override
 	public void contentTypeChanged(ContentTypeChangeEvent event) {
 		Util.resetJavaLikeExtensions();
+		this.persistedSecondaryTypes.clear();
 
 		// Walk through projects to reset their secondary types cache
 		IJavaProject[] projects;
@@ -5683,6 +5817,25 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 		return this.cache.openableCache.getSpaceLimit();
 	}
 
+	/**
+	 * Returns the memory budget of the Java model cache in bytes, or 0 if its caches are bounded by their number of entries.
+	 */
+	public synchronized long getCacheMemoryBudget() {
+		return this.cache.getMemoryBudget();
+	}
+
+	/**
+	 * Sets the memory budget of the Java model cache in bytes, 0 to bound its caches by their number of entries.
+	 * The least recently used elements are closed if they don't fit into the new budget.
+	 */
+	public synchronized void setCacheMemoryBudget(long budget) {
+		this.cache.setMemoryBudget(budget);
+	}
+
+	JavaModelCache getCache() {
+		return this.cache;
+	}
+
 	/**
 	 * Get a cached access rule, or when the cache did not contain the rule, creates a new one.
 	 *
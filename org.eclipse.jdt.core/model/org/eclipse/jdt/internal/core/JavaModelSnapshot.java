@@ -0,0 +1,609 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.internal.core.JavaModelManager.PerProjectInfo;
+import org.eclipse.jdt.internal.core.JavaProject.ResolvedClasspath;
+import org.eclipse.jdt.internal.core.util.HashSetOfArray;
+import org.eclipse.jdt.internal.core.util.Messages;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * A snapshot of the parts of the Java model which were in use when the workspace was last saved, so that they can
+ * be rebuilt in the background after a restart instead of on the first open type, code assist or search.
+ * <p>
+ * The snapshot is written to the <code>javaModelSnapshot.dat</code> file of the state location on a full save. It
+ * records for each Java project whose classpath was resolved whether its package fragment roots and its table of
+ * packages were also computed, its resolved classpath and the packages of its archive roots. On startup, the
+ * projects which still exist, are open and have the Java nature are warmed up in that order by a low priority system
+ * job, through the same code paths as on first use.
+ * </p>
+ * <p>
+ * The resolved classpath of a project is restored without running the classpath container and variable initializers
+ * or reading the manifests of its libraries if none of its inputs changed since the save: the time stamp of its
+ * <code>.classpath</code> file and of its libraries must be the same, and its containers and variables must still
+ * resolve to the same entries from the values of the previous session. The packages of an archive root are then
+ * restored instead of being read from the archive if the time stamp of the archive is the same. Otherwise the project
+ * is stale and is warmed up from its new classpath.
+ * </p>
+ * <p>
+ * The snapshot is disabled by default and can be enabled with the <code>org.eclipse.jdt.core.javaModelSnapshot</code>
+ * system property. The warm-up job belongs to the <code>JavaModelSnapshot.class</code> family.
+ * </p>
+ */
+public class JavaModelSnapshot {
+
+	public static boolean ENABLED = "true".equals(System.getProperty("org.eclipse.jdt.core.javaModelSnapshot")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	public static final int CLASSPATH = 0x01;
+	public static final int ROOTS = 0x02;
+	public static final int MAIN_ROOTS = 0x04;
+	public static final int PACKAGES = 0x08;
+	public static final int MAIN_PACKAGES = 0x10;
+
+	private static final int VERSION = 2;
+
+	/**
+	 * The resolved classpath of a project as it was saved.
+	 *
+	 * @param classpathStamp the time stamp of the <code>.classpath</code> file
+	 * @param resolvedClasspath the encoding of the resolved classpath
+	 * @param unchainedClasspath the encoding of the resolved classpath without the libraries chained by manifests,
+	 * 	which is what the previous session values of the containers and variables must resolve to
+	 * @param rawIndexes for each resolved entry, the index of the raw entry it was resolved from
+	 * @param referencingIndexes for each resolved entry, the index of the entry whose manifest chained it, or -1
+	 * @param stamps for each resolved entry, the time stamp of its library
+	 */
+	record Classpath(long classpathStamp, String resolvedClasspath, String unchainedClasspath, int[] rawIndexes,
+			int[] referencingIndexes, long[] stamps) {
+		// data only
+	}
+
+	/**
+	 * The packages of an archive root as they were saved.
+	 *
+	 * @param stamp the time stamp of the archive
+	 * @param packages the names of the packages
+	 */
+	record Listing(long stamp, String[][] packages) {
+		// data only
+	}
+
+	/**
+	 * A project of the snapshot.
+	 *
+	 * @param flags what was computed for the project
+	 * @param classpath the resolved classpath, or null if it could not be recorded
+	 * @param compliance the compliance of the project the packages of its archive roots were computed for
+	 * @param listings the packages of the archive roots of the project, by root key
+	 */
+	record ProjectSnapshot(int flags, Classpath classpath, String compliance, Map<String, Listing> listings) {
+		// data only
+	}
+
+	/** The packages of the archive roots restored by the warm-up which is running, by root key */
+	private static final Map<String, Listing> LISTINGS = new ConcurrentHashMap<>();
+
+	private static Job warmUpJob;
+
+	private JavaModelSnapshot() {
+		// static only
+	}
+
+	private static File getFile() {
+		return JavaCore.getPlugin().getStateLocation().append("javaModelSnapshot.dat").toFile(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Answers the name of the Java projects whose classpath is resolved, in the order of the per project infos,
+	 * with what was computed for them.
+	 */
+	public static Map<String, Integer> collect(JavaModelManager manager) {
+		List<PerProjectInfo> infos;
+		synchronized (manager.perProjectInfos) {
+			infos = new ArrayList<>(manager.perProjectInfos.values());
+		}
+		Map<String, Integer> projects = new LinkedHashMap<>();
+		for (PerProjectInfo info : infos) {
+			if (info.getResolvedClasspath() == null || !JavaProject.hasJavaNature(info.project))
+				continue;
+			int flags = CLASSPATH;
+			JavaProjectElementInfo projectInfo = (JavaProjectElementInfo) manager.peekAtInfo(JavaCore.create(info.project));
+			if (projectInfo != null) {
+				flags |= flags(projectInfo.projectCache, ROOTS, PACKAGES);
+				flags |= flags(projectInfo.mainProjectCache, MAIN_ROOTS, MAIN_PACKAGES);
+			}
+			projects.put(info.project.getName(), flags);
+		}
+		return projects;
+	}
+
+	private static int flags(JavaProjectElementInfo.ProjectCache cache, int roots, int packages) {
+		if (cache == null)
+			return 0;
+		return cache.allPkgFragmentsCache == null ? roots : roots | packages;
+	}
+
+	/**
+	 * Answers the time stamp of the library at the given path, <code>0</code> for a folder and
+	 * {@link IResource#NULL_STAMP} if it does not exist.
+	 */
+	private static long stamp(IPath path) {
+		Object target = JavaModel.getTarget(path, true/*check existence*/);
+		if (target instanceof IFile file)
+			return file.getLocalTimeStamp();
+		if (target instanceof File file)
+			return JavaModel.isFile(file) ? DeltaProcessor.getTimeStamp(file) : 0;
+		return target == null ? IResource.NULL_STAMP : 0;
+	}
+
+	private static long classpathStamp(IProject project) {
+		return project.getFile(JavaProject.CLASSPATH_FILENAME).getLocalTimeStamp();
+	}
+
+	private static String key(IPackageFragmentRoot root) {
+		return root.getJavaProject().getElementName() + '|' + root.getPath().toPortableString() + '|' + root.getElementName();
+	}
+
+	private static int indexOf(Object[] array, Object element) {
+		for (int i = 0; i < array.length; i++) {
+			if (array[i] == element)
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Answers the resolved classpath of the given project to be saved, or null if it was reset or cannot be restored.
+	 */
+	private static Classpath classpath(JavaProject javaProject, PerProjectInfo info) throws JavaModelException {
+		IClasspathEntry[] rawClasspath;
+		IClasspathEntry[] resolvedClasspath;
+		Map<IPath, IClasspathEntry> rootPathToRawEntries;
+		synchronized (info) {
+			rawClasspath = info.rawClasspath;
+			resolvedClasspath = info.getResolvedClasspath();
+			rootPathToRawEntries = info.rootPathToRawEntries;
+		}
+		if (rawClasspath == null || resolvedClasspath == null || rootPathToRawEntries == null
+				|| rawClasspath == JavaProject.INVALID_CLASSPATH
+				|| info.unresolvedEntryStatus == null || !info.unresolvedEntryStatus.isOK())
+			return null;
+		int length = resolvedClasspath.length;
+		int[] rawIndexes = new int[length];
+		int[] referencingIndexes = new int[length];
+		long[] stamps = new long[length];
+		List<IClasspathEntry> unchainedClasspath = new ArrayList<>(length);
+		for (int i = 0; i < length; i++) {
+			IClasspathEntry entry = resolvedClasspath[i];
+			rawIndexes[i] = indexOf(rawClasspath, rootPathToRawEntries.get(entry.getPath()));
+			if (rawIndexes[i] < 0)
+				return null;
+			IClasspathEntry referencingEntry = entry.getReferencingEntry();
+			if (referencingEntry == null) {
+				referencingIndexes[i] = -1;
+				unchainedClasspath.add(entry);
+			} else if ((referencingIndexes[i] = indexOf(resolvedClasspath, referencingEntry)) < 0) {
+				return null;
+			}
+			stamps[i] = entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY ? stamp(entry.getPath()) : 0;
+		}
+		return new Classpath(
+				classpathStamp(javaProject.getProject()),
+				javaProject.encodeClasspath(resolvedClasspath, null, null, false, null),
+				javaProject.encodeClasspath(unchainedClasspath.toArray(IClasspathEntry[]::new), null, null, false, null),
+				rawIndexes,
+				referencingIndexes,
+				stamps);
+	}
+
+	/**
+	 * Answers the packages of the archive roots of the given project caches, by root key.
+	 */
+	private static Map<String, Listing> listings(JavaProjectElementInfo.ProjectCache... caches) {
+		Map<String, Listing> listings = new LinkedHashMap<>();
+		for (JavaProjectElementInfo.ProjectCache cache : caches) {
+			if (cache == null)
+				continue;
+			for (Map.Entry<IPackageFragmentRoot, HashSetOfArray> entry : cache.pkgFragmentsCaches.entrySet()) {
+				IPackageFragmentRoot root = entry.getKey();
+				String key = key(root);
+				if (!root.isArchive() || listings.containsKey(key))
+					continue;
+				HashSetOfArray names = entry.getValue();
+				List<String[]> packages = new ArrayList<>(names.elementSize);
+				for (Object[] name : names.set) {
+					if (name != null)
+						packages.add((String[]) name);
+				}
+				listings.put(key, new Listing(stamp(root.getPath()), packages.toArray(String[][]::new)));
+			}
+		}
+		return listings;
+	}
+
+	/**
+	 * Writes the snapshot of the Java model.
+	 */
+	static void save(JavaModelManager manager) {
+		if (!ENABLED) return;
+		Map<String, Integer> projects = collect(manager);
+		File file = getFile();
+		File temp = null;
+		try {
+			// write to a temporary file first so that a crash while saving never leaves a truncated snapshot
+			temp = File.createTempFile(file.getName(), ".tmp", file.getParentFile()); //$NON-NLS-1$
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(VERSION);
+				out.writeInt(projects.size());
+				IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
+				for (Map.Entry<String, Integer> entry : projects.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeByte(entry.getValue());
+					JavaProject javaProject = (JavaProject) JavaCore.create(workspaceRoot.getProject(entry.getKey()));
+					PerProjectInfo info = manager.getPerProjectInfo(javaProject.getProject(), false);
+					Classpath classpath = null;
+					Map<String, Listing> listings = Map.of();
+					if (info != null) {
+						try {
+							classpath = classpath(javaProject, info);
+						} catch (JavaModelException e) {
+							// the project was closed while saving, it will be warmed up from its classpath
+						}
+						JavaProjectElementInfo projectInfo = (JavaProjectElementInfo) manager.peekAtInfo(javaProject);
+						if (classpath != null && projectInfo != null)
+							listings = listings(projectInfo.projectCache, projectInfo.mainProjectCache);
+					}
+					writeClasspath(out, classpath);
+					out.writeUTF(javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true));
+					writeListings(out, listings);
+				}
+			}
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			temp = null;
+		} catch (IOException e) {
+			Util.log(e, "Unable to save the Java model snapshot"); //$NON-NLS-1$
+		} finally {
+			if (temp != null)
+				temp.delete();
+		}
+	}
+
+	private static void writeClasspath(DataOutputStream out, Classpath classpath) throws IOException {
+		out.writeBoolean(classpath != null);
+		if (classpath == null)
+			return;
+		out.writeLong(classpath.classpathStamp());
+		writeString(out, classpath.resolvedClasspath());
+		writeString(out, classpath.unchainedClasspath());
+		int length = classpath.rawIndexes().length;
+		out.writeInt(length);
+		for (int i = 0; i < length; i++) {
+			out.writeInt(classpath.rawIndexes()[i]);
+			out.writeInt(classpath.referencingIndexes()[i]);
+			out.writeLong(classpath.stamps()[i]);
+		}
+	}
+
+	private static void writeListings(DataOutputStream out, Map<String, Listing> listings) throws IOException {
+		out.writeInt(listings.size());
+		for (Map.Entry<String, Listing> entry : listings.entrySet()) {
+			out.writeUTF(entry.getKey());
+			Listing listing = entry.getValue();
+			out.writeLong(listing.stamp());
+			out.writeInt(listing.packages().length);
+			for (String[] packageName : listing.packages()) {
+				out.writeInt(packageName.length);
+				for (String segment : packageName) {
+					out.writeUTF(segment);
+				}
+			}
+		}
+	}
+
+	/*
+	 * The encoding of a resolved classpath can be longer than what writeUTF(String) supports.
+	 */
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Reads the snapshot of the Java model, answers an empty map if there is none or if it cannot be read.
+	 */
+	static Map<String, ProjectSnapshot> read() {
+		Map<String, ProjectSnapshot> projects = new LinkedHashMap<>();
+		File file = getFile();
+		if (!file.exists())
+			return projects;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION)
+				return projects;
+			int size = in.readInt();
+			while (size-- > 0) {
+				String name = in.readUTF();
+				int flags = in.readByte();
+				Classpath classpath = readClasspath(in);
+				String compliance = in.readUTF();
+				projects.put(name, new ProjectSnapshot(flags, classpath, compliance, readListings(in)));
+			}
+		} catch (IOException e) {
+			Util.log(e, "Unable to read the Java model snapshot"); //$NON-NLS-1$
+			projects.clear();
+		}
+		return projects;
+	}
+
+	private static Classpath readClasspath(DataInputStream in) throws IOException {
+		if (!in.readBoolean())
+			return null;
+		long classpathStamp = in.readLong();
+		String resolvedClasspath = readString(in);
+		String unchainedClasspath = readString(in);
+		int length = in.readInt();
+		int[] rawIndexes = new int[length];
+		int[] referencingIndexes = new int[length];
+		long[] stamps = new long[length];
+		for (int i = 0; i < length; i++) {
+			rawIndexes[i] = in.readInt();
+			referencingIndexes[i] = in.readInt();
+			stamps[i] = in.readLong();
+		}
+		return new Classpath(classpathStamp, resolvedClasspath, unchainedClasspath, rawIndexes, referencingIndexes, stamps);
+	}
+
+	private static Map<String, Listing> readListings(DataInputStream in) throws IOException {
+		int size = in.readInt();
+		Map<String, Listing> listings = new HashMap<>(size);
+		while (size-- > 0) {
+			String key = in.readUTF();
+			long stamp = in.readLong();
+			String[][] packages = new String[in.readInt()][];
+			for (int i = 0; i < packages.length; i++) {
+				String[] packageName = new String[in.readInt()];
+				for (int j = 0; j < packageName.length; j++) {
+					packageName[j] = in.readUTF();
+				}
+				packages[i] = packageName;
+			}
+			listings.put(key, new Listing(stamp, packages));
+		}
+		return listings;
+	}
+
+	/**
+	 * Sets the resolved classpath of the given project from the snapshot if none of its inputs changed since it was
+	 * saved. Answers whether it was restored.
+	 */
+	static boolean restoreClasspath(JavaProject javaProject, Classpath classpath) throws JavaModelException {
+		PerProjectInfo info = javaProject.getPerProjectInfo();
+		IClasspathEntry[] rawClasspath;
+		IClasspathEntry[] referencedEntries;
+		int timeStamp;
+		synchronized (info) {
+			if (info.getResolvedClasspath() != null)
+				return false; // already resolved since the restart
+			rawClasspath = info.rawClasspath;
+			referencedEntries = info.referencedEntries;
+			if (rawClasspath == null) {
+				IClasspathEntry[][] entries = info.readAndCacheClasspath(javaProject);
+				rawClasspath = entries[0];
+				referencedEntries = entries[1];
+			}
+			timeStamp = info.rawTimeStamp;
+		}
+		if (rawClasspath == JavaProject.INVALID_CLASSPATH
+				|| classpath.classpathStamp() != classpathStamp(javaProject.getProject()))
+			return false;
+
+		IClasspathEntry[] resolvedClasspath;
+		try {
+			resolvedClasspath = javaProject.decodeClasspath(classpath.resolvedClasspath(), null)[0];
+		} catch (IOException | ClasspathEntry.AssertionFailedException e) {
+			return false;
+		}
+		int length = resolvedClasspath.length;
+		if (length != classpath.rawIndexes().length)
+			return false;
+		Map<IPath, IClasspathEntry> rootPathToRawEntries = new HashMap<>();
+		Map<IPath, IClasspathEntry> rootPathToResolvedEntries = new HashMap<>();
+		for (int i = 0; i < length; i++) {
+			IClasspathEntry entry = resolvedClasspath[i];
+			int rawIndex = classpath.rawIndexes()[i];
+			if (rawIndex >= rawClasspath.length
+					|| entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY && stamp(entry.getPath()) != classpath.stamps()[i])
+				return false;
+			int referencingIndex = classpath.referencingIndexes()[i];
+			if (referencingIndex >= 0)
+				((ClasspathEntry) entry).referencingEntry = resolvedClasspath[referencingIndex];
+			rootPathToRawEntries.put(entry.getPath(), rawClasspath[rawIndex]);
+			rootPathToResolvedEntries.put(entry.getPath(), entry);
+		}
+
+		// the initializers would answer the values of the previous session unless something changed meanwhile
+		ResolvedClasspath previousSession = javaProject.resolveClasspath(rawClasspath, referencedEntries, true/*use previous session values*/, false/*don't resolve chained libraries*/);
+		if (!previousSession.unresolvedEntryStatus.isOK()
+				|| !classpath.unchainedClasspath().equals(javaProject.encodeClasspath(previousSession.resolvedClasspath, null, null, false, null)))
+			return false;
+
+		info.setResolvedClasspath(resolvedClasspath, referencedEntries(javaProject, rawClasspath, referencedEntries), rootPathToRawEntries,
+				rootPathToResolvedEntries, JavaModelStatus.VERIFIED_OK, timeStamp, true/*add classpath change*/);
+		return info.getResolvedClasspath() == resolvedClasspath;
+	}
+
+	/*
+	 * The referenced entries kept by JavaProject#resolveClasspath(..): those which are not raw libraries, without duplicates.
+	 */
+	private static IClasspathEntry[] referencedEntries(JavaProject javaProject, IClasspathEntry[] rawClasspath, IClasspathEntry[] referencedEntries) {
+		if (referencedEntries == null)
+			return null;
+		Set<IPath> rawLibrariesPath = new LinkedHashSet<>();
+		for (IClasspathEntry rawEntry : rawClasspath) {
+			if (rawEntry.getEntryKind() == IClasspathEntry.CPE_LIBRARY)
+				rawLibrariesPath.add(ClasspathEntry.resolveDotDot(javaProject.getProject().getLocation(), rawEntry.getPath()));
+		}
+		Map<IPath, IClasspathEntry> result = new LinkedHashMap<>();
+		for (IClasspathEntry referencedEntry : referencedEntries) {
+			IPath path = referencedEntry.getPath();
+			if (!rawLibrariesPath.contains(path))
+				result.putIfAbsent(path, referencedEntry);
+		}
+		return result.isEmpty() ? null : result.values().toArray(IClasspathEntry[]::new);
+	}
+
+	/**
+	 * Adds the packages of the given archive root restored by the warm-up to the given set if the archive did not
+	 * change since the snapshot was saved. Answers whether they were added.
+	 */
+	static boolean restorePackageNames(IPackageFragmentRoot root, HashSetOfArray packageNames) {
+		if (LISTINGS.isEmpty() || !root.isArchive())
+			return false;
+		Listing listing = LISTINGS.get(key(root));
+		if (listing == null || listing.stamp() != stamp(root.getPath()))
+			return false;
+		for (String[] packageName : listing.packages()) {
+			packageNames.add(packageName);
+		}
+		return true;
+	}
+
+	/**
+	 * Rebuilds the parts of the Java model recorded in the given snapshot.
+	 * Projects which no longer exist, are closed or lost the Java nature are ignored.
+	 */
+	static void warmUp(Map<String, ProjectSnapshot> projects, IProgressMonitor monitor) {
+		IWorkspaceRoot workspaceRoot = ResourcesPlugin.getWorkspace().getRoot();
+		try {
+			for (Map.Entry<String, ProjectSnapshot> entry : projects.entrySet()) {
+				if (monitor != null && monitor.isCanceled())
+					return;
+				IProject project = workspaceRoot.getProject(entry.getKey());
+				if (!JavaProject.hasJavaNature(project))
+					continue;
+				JavaProject javaProject = (JavaProject) JavaCore.create(project);
+				ProjectSnapshot snapshot = entry.getValue();
+				int flags = snapshot.flags();
+				try {
+					if ((flags & CLASSPATH) != 0) {
+						if (snapshot.classpath() != null && restoreClasspath(javaProject, snapshot.classpath())) {
+							if (snapshot.compliance().equals(javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true))) {
+								for (Map.Entry<String, Listing> listing : snapshot.listings().entrySet()) {
+									LISTINGS.put(listing.getKey(), listing.getValue());
+								}
+							}
+						} else if (JavaModelManager.VERBOSE) {
+							JavaModelManager.trace("Resolving the stale classpath of " + project.getName()); //$NON-NLS-1$
+						}
+						javaProject.getResolvedClasspath();
+					}
+					if ((flags & PACKAGES) != 0)
+						javaProject.newNameLookup((WorkingCopyOwner) null, false);
+					else if ((flags & ROOTS) != 0)
+						javaProject.getProjectCache(false);
+					if ((flags & MAIN_PACKAGES) != 0)
+						javaProject.newNameLookup((WorkingCopyOwner) null, true);
+					else if ((flags & MAIN_ROOTS) != 0)
+						javaProject.getProjectCache(true);
+				} catch (JavaModelException e) {
+					// the project was removed or closed while warming up
+					if (JavaModelManager.VERBOSE) {
+						JavaModelManager.trace("Could not warm up " + project.getName(), e); //$NON-NLS-1$
+					}
+				}
+			}
+		} finally {
+			// the packages of the roots computed later are read from the archives
+			LISTINGS.clear();
+		}
+	}
+
+	/**
+	 * Schedules the warm-up of the Java model from the snapshot written by the previous session.
+	 */
+	static synchronized void scheduleWarmUp() {
+		if (!ENABLED || warmUpJob != null) return;
+		Job job = new Job(Messages.javaModelSnapshot_jobName) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				warmUp(read(), monitor);
+				return Status.OK_STATUS;
+			}
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == JavaModelSnapshot.class;
+			}
+		};
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule();
+		warmUpJob = job;
+	}
+
+	/**
+	 * Cancels the warm-up of the Java model if it is still running.
+	 */
+	static synchronized void cancelWarmUp() {
+		if (warmUpJob != null) {
+			warmUpJob.cancel();
+			warmUpJob = null;
+		}
+	}
+}
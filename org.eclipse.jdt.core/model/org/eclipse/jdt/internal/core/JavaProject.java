@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -3095,6 +3095,18 @@ public class JavaProject
 		IClasspathEntry[] referencedEntries = null;
 	}
 
+	/**
+	 * An entry of the resolved classpath, before the libraries chained to it are resolved.
+	 *
+	 * @param rawEntry the entry of the raw classpath it was resolved from
+	 * @param resolvedEntry the resolved entry
+	 * @param chained whether the libraries chained to the entry must be resolved
+	 * @param addAsChainedEntries whether the libraries chained to the entry are chained entries of the result
+	 */
+	private record PendingEntry(IClasspathEntry rawEntry, IClasspathEntry resolvedEntry, boolean chained, boolean addAsChainedEntries) {
+		// data only
+	}
+
 	public ResolvedClasspath resolveClasspath(IClasspathEntry[] rawClasspath, boolean usePreviousSession, boolean resolveChainedLibraries) throws JavaModelException {
 		return resolveClasspath(rawClasspath, null, usePreviousSession, resolveChainedLibraries);
 	}
@@ -3133,10 +3145,10 @@ public class JavaProject
 			}
 		}
 
-		int length = rawClasspath.length;
-		for (int i = 0; i < length; i++) {
+		// resolve the entries first, so that the manifests of the libraries can be read together
+		List<PendingEntry> pendingEntries = new ArrayList<>(rawClasspath.length);
+		for (IClasspathEntry rawEntry : rawClasspath) {
 
-			IClasspathEntry rawEntry = rawClasspath[i];
 			IClasspathEntry resolvedEntry = rawEntry;
 
 			switch (rawEntry.getEntryKind()){
@@ -3153,21 +3165,10 @@ public class JavaProject
 					if (resolvedEntry == null) {
 						result.unresolvedEntryStatus = new JavaModelStatus(IJavaModelStatusConstants.CP_VARIABLE_PATH_UNBOUND, this, rawEntry.getPath());
 					} else {
-						// If the entry is already present in the rawReversetMap, it means the entry and the chained libraries
-						// have already been processed. So, skip it.
-						if (resolveChainedLibraries && resolvedEntry.getEntryKind() == IClasspathEntry.CPE_LIBRARY
-													&& result.rawReverseMap.get(resolvedEntry.getPath()) == null) {
-							// resolve Class-Path: in manifest
-							ClasspathEntry[] extraEntries = ((ClasspathEntry) resolvedEntry).resolvedChainedLibraries();
-							for (ClasspathEntry extraEntry : extraEntries) {
-								if (!rawLibrariesPath.contains(extraEntry.getPath())) {
-									// https://bugs.eclipse.org/bugs/show_bug.cgi?id=305037
-									// referenced entries for variable entries could also be persisted with extra attributes, so addAsChainedEntry = true
-									addToResult(rawEntry, extraEntry, result, resolvedEntries, externalFoldersManager, referencedEntriesMap, true, knownDrives);
-								}
-							}
-						}
-						addToResult(rawEntry, resolvedEntry, result, resolvedEntries, externalFoldersManager, referencedEntriesMap, false, knownDrives);
+						// https://bugs.eclipse.org/bugs/show_bug.cgi?id=305037
+						// referenced entries for variable entries could also be persisted with extra attributes, so addAsChainedEntry = true
+						boolean chained = resolveChainedLibraries && resolvedEntry.getEntryKind() == IClasspathEntry.CPE_LIBRARY;
+						pendingEntries.add(new PendingEntry(rawEntry, resolvedEntry, chained, true));
 					}
 					break;
 
@@ -3198,48 +3199,56 @@ public class JavaProject
 						// if container is exported or restricted, then its nested entries must in turn be exported  (21749) and/or propagate restrictions
 						cEntry = cEntry.combineWith((ClasspathEntry) rawEntry);
 
+						boolean chained = false;
 						if (cEntry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
 							// resolve ".." in library path
 							cEntry = cEntry.resolvedDotDot(getProject().getLocation());
 							// https://bugs.eclipse.org/bugs/show_bug.cgi?id=313965
 							// Do not resolve if the system attribute is set to false
-							if (resolveChainedLibraries
-									&& JavaModelManager.getJavaModelManager().resolveReferencedLibrariesForContainers
-									&& result.rawReverseMap.get(cEntry.getPath()) == null) {
-								// resolve Class-Path: in manifest
-								ClasspathEntry[] extraEntries = cEntry.resolvedChainedLibraries();
-								for (ClasspathEntry extraEntry : extraEntries) {
-									if (!rawLibrariesPath.contains(extraEntry.getPath())) {
-										addToResult(rawEntry, extraEntry, result, resolvedEntries, externalFoldersManager, referencedEntriesMap, false, knownDrives);
-									}
-								}
-							}
+							chained = resolveChainedLibraries && JavaModelManager.getJavaModelManager().resolveReferencedLibrariesForContainers;
 						}
-						addToResult(rawEntry, cEntry, result, resolvedEntries, externalFoldersManager, referencedEntriesMap, false, knownDrives);
+						pendingEntries.add(new PendingEntry(rawEntry, cEntry, chained, false));
 					}
 					break;
 
 				case IClasspathEntry.CPE_LIBRARY:
 					// resolve ".." in library path
 					resolvedEntry = ((ClasspathEntry) rawEntry).resolvedDotDot(getProject().getLocation());
-
-					if (resolveChainedLibraries && result.rawReverseMap.get(resolvedEntry.getPath()) == null) {
-						// resolve Class-Path: in manifest
-						ClasspathEntry[] extraEntries = ((ClasspathEntry) resolvedEntry).resolvedChainedLibraries();
-						for (ClasspathEntry extraEntry : extraEntries) {
-							if (!rawLibrariesPath.contains(extraEntry.getPath())) {
-								addToResult(rawEntry, extraEntry, result, resolvedEntries, externalFoldersManager, referencedEntriesMap, true, knownDrives);
-							}
-						}
-					}
-
-					addToResult(rawEntry, resolvedEntry, result, resolvedEntries, externalFoldersManager, referencedEntriesMap, false, knownDrives);
+					pendingEntries.add(new PendingEntry(rawEntry, resolvedEntry, resolveChainedLibraries, true));
 					break;
 				default :
-					addToResult(rawEntry, resolvedEntry, result, resolvedEntries, externalFoldersManager, referencedEntriesMap, false, knownDrives);
+					pendingEntries.add(new PendingEntry(rawEntry, resolvedEntry, false, false));
 					break;
 			}
 		}
+
+		// resolve Class-Path: in manifests
+		Map<IPath, IPath[]> chainedLibraries = Collections.emptyMap();
+		if (resolveChainedLibraries) {
+			Set<IPath> jarPaths = new LinkedHashSet<>();
+			for (PendingEntry pendingEntry : pendingEntries) {
+				if (pendingEntry.chained())
+					jarPaths.add(pendingEntry.resolvedEntry().getPath());
+			}
+			if (!jarPaths.isEmpty())
+				chainedLibraries = ClasspathEntry.resolvedChainedLibraries(jarPaths);
+		}
+
+		for (PendingEntry pendingEntry : pendingEntries) {
+			IClasspathEntry rawEntry = pendingEntry.rawEntry();
+			IClasspathEntry resolvedEntry = pendingEntry.resolvedEntry();
+			// If the entry is already present in the rawReverseMap, it means the entry and the chained libraries
+			// have already been processed. So, skip it.
+			if (pendingEntry.chained() && result.rawReverseMap.get(resolvedEntry.getPath()) == null) {
+				ClasspathEntry[] extraEntries = ((ClasspathEntry) resolvedEntry).resolvedChainedLibraries(chainedLibraries.get(resolvedEntry.getPath()));
+				for (ClasspathEntry extraEntry : extraEntries) {
+					if (!rawLibrariesPath.contains(extraEntry.getPath())) {
+						addToResult(rawEntry, extraEntry, result, resolvedEntries, externalFoldersManager, referencedEntriesMap, pendingEntry.addAsChainedEntries(), knownDrives);
+					}
+				}
+			}
+			addToResult(rawEntry, resolvedEntry, result, resolvedEntries, externalFoldersManager, referencedEntriesMap, false, knownDrives);
+		}
 		result.resolvedClasspath = new IClasspathEntry[resolvedEntries.size()];
 		resolvedEntries.toArray(result.resolvedClasspath);
 		return result;
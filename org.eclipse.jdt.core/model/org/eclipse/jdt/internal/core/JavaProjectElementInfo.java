@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -268,6 +268,8 @@ class JavaProjectElementInfo extends OpenableElementInfo {
 	}
 
 	private void initializePackageNames(IPackageFragmentRoot root, HashSetOfArray fragmentsCache) {
+		if (JavaModelSnapshot.restorePackageNames(root, fragmentsCache))
+			return; // restored by the warm-up after a restart, the archive does not need to be opened
 		IJavaElement[] frags = null;
 		try {
 			if (!root.isOpen()) {
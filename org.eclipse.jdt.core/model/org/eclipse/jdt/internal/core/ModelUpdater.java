@@ -36,6 +36,7 @@ public class ModelUpdater {
 	 */
 	protected void addToParentInfo(Openable child) {
 
+		TypeNameTable.elementChanged(child, true);
 		Openable parent = (Openable) child.getParent();
 		if (parent != null && parent.isOpen()) {
 			try {
@@ -178,6 +179,7 @@ public class ModelUpdater {
 	 */
 	protected void removeFromParentInfo(Openable child) {
 
+		TypeNameTable.elementChanged(child, false);
 		Openable parent = (Openable) child.getParent();
 		if (parent != null && parent.isOpen()) {
 			try {
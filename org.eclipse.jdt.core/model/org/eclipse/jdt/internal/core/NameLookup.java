@@ -26,6 +26,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -412,8 +413,13 @@ public class NameLookup implements SuffixConstants {
 	 *
 	 * <p>The <code>partialMatch</code> argument indicates partial matches
 	 * should be considered.
+	 *
+	 * <p>Only the packages which contain a compilation unit or a class file
+	 * whose name starts with the prefix are searched, see {@link TypeNameTable}.
 	 */
 	private void findAllTypes(String prefix, boolean partialMatch, int acceptFlags, IJavaElementRequestor requestor) {
+		String prefixKey = TypeNameTable.prefixKey(prefix);
+		Set<IPackageFragment> candidates = new HashSet<>();
 		int count= this.packageFragmentRoots.length;
 		for (int i= 0; i < count; i++) {
 			if (requestor.isCanceled())
@@ -422,14 +428,21 @@ public class NameLookup implements SuffixConstants {
 			IJavaElement[] packages= null;
 			try {
 				packages= root.getChildren();
+				candidates.clear();
+				TypeNameTable.getTable(root).collectPackages(prefixKey, candidates);
 			} catch (JavaModelException npe) {
 				continue; // the root is not present, continue;
 			}
+			if (candidates.isEmpty() && this.typesInWorkingCopies == null)
+				continue; // no type of this root matches
 			if (packages != null) {
+				// keep the order of the packages in the root
 				for (IJavaElement package1 : packages) {
 					if (requestor.isCanceled())
 						return;
-					seekTypes(prefix, (IPackageFragment) package1, partialMatch, acceptFlags, requestor);
+					// working copies may define types which are not in the table
+					if (candidates.contains(package1) || (this.typesInWorkingCopies != null && this.typesInWorkingCopies.containsKey(package1)))
+						seekTypes(prefix, (IPackageFragment) package1, partialMatch, acceptFlags, requestor);
 				}
 			}
 		}
@@ -137,6 +137,11 @@ public class OpenableElementInfo extends JavaElementInfo {
 		this.module = module;
 	}
 	@Override
+	int getEstimatedWeight() {
+		Object[] resources = this.nonJavaResources;
+		return 48 + CHILD_WEIGHT * (this.children.length + (resources == null ? 0 : resources.length));
+	}
+	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(getClass().getSimpleName());
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -90,6 +90,7 @@ public OverflowingLRUCache(int size, int overflow) {
 	public OverflowingLRUCache<K, V> clone() {
 
 		OverflowingLRUCache<K, V> newCache = (OverflowingLRUCache<K, V>)newInstance(this.spaceLimit, this.overflow);
+		newCache.setScanResistant(isScanResistant());
 		LRUCacheEntry<K, V> qEntry;
 
 		/* Preserve order of entries by copying from oldest to newest */
@@ -185,8 +186,17 @@ public double getLoadFactor() {
 			this.timestampsOn = false;
 
 			while (this.currentSpace + spaceNeeded > limit && entry != null) {
-				this.privateRemoveEntry(entry, false, false);
-				entry = entry.previous;
+				if (shouldRescue(entry)) {
+					// the new entry cannot be rejected since the info of an open element must be cached,
+					// so keep the more frequently used entry by moving it to the front of the queue instead
+					LRUCacheEntry<K, V> previous = entry.previous;
+					this.privateRemoveEntry(entry, true, true);
+					privateAddEntry(entry, true);
+					entry = previous;
+				} else {
+					this.privateRemoveEntry(entry, false, false);
+					entry = entry.previous;
+				}
 			}
 		} finally {
 			this.timestampsOn = true;
@@ -316,6 +326,15 @@ protected void privateRemoveEntry(LRUCacheEntry<K, V> entry, boolean shuffle, bo
 
 	@Override
 	public V put(K key, V value) {
+		int previousFrequency = recordCandidate(key);
+		try {
+			return privatePut(key, value);
+		} finally {
+			this.candidateFrequency = previousFrequency;
+		}
+	}
+
+	private V privatePut(K key, V value) {
 		/* attempt to rid ourselves of the overflow, if there is any */
 		if (this.overflow > 0)
 			shrink();
@@ -47,6 +47,11 @@ class PackageFragmentRootInfo extends OpenableElementInfo {
 	private boolean ignoreOptionalProblems;
 	private boolean initialized;
 
+	/**
+	 * The names of the types of this root, built lazily by {@link TypeNameTable#getTable(IPackageFragmentRoot)}.
+	 */
+	volatile TypeNameTable typeNames;
+
 /**
  * Create and initialize a new instance of the receiver
  */
@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.core.runtime.Plugin;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * The secondary types of the projects as they were known when the workspace was last saved, so that the first
+ * lookup of a secondary type in a new session does not need to wait for the indexer to search the whole project.
+ * <p>
+ * The table of a project maps a package name to the names of its secondary types and the paths of their
+ * compilation units. It is written to the <code>secondaryTypes.dat</code> file of the state location on a full
+ * save, together with the paths of the source folders it was searched in and the Java-like extensions.
+ * </p>
+ * <p>
+ * A table is only used once the changes since the last save have been processed, and only if no file of the
+ * projects of its source folders changed before it is used, its source folders are the same and the Java-like
+ * extensions did not change. Once used, it is kept up-to-date like a searched table, from the results of the
+ * indexer. A table is not written again if it could be stale: if it was not used and one of its projects
+ * changed, or if it was used and a file of one of its other projects changed.
+ * </p>
+ * <p>
+ * The tables can be disabled with the <code>org.eclipse.jdt.core.persistedSecondaryTypes</code> system property.
+ * </p>
+ */
+class PersistedSecondaryTypes {
+
+	static boolean ENABLED = !"false".equals(System.getProperty("org.eclipse.jdt.core.persistedSecondaryTypes")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static final int VERSION = 1;
+
+	/**
+	 * The persisted table of a project.
+	 *
+	 * @param sourceFolders the full paths of the source folders the table was searched in
+	 * @param types a map from package name to a map from type name to the path of its compilation unit
+	 */
+	record Table(String[] sourceFolders, Map<String, Map<String, String>> types) {
+
+		boolean dependsOn(Set<String> projects, String excluded) {
+			for (String folder : this.sourceFolders) {
+				String project = projectName(folder);
+				if (!project.equals(excluded) && projects.contains(project))
+					return true;
+			}
+			return false;
+		}
+	}
+
+	/** The tables read from the file which were not used yet, by project name. Synchronized by this */
+	private Map<String, Table> tables;
+
+	/** The projects with a Java-like file which changed in this session. Synchronized by this */
+	private final Set<String> changedProjects = new HashSet<>();
+
+	/** Whether the changes since the last save were processed */
+	private volatile boolean changesProcessed;
+
+	static String projectName(String path) {
+		int start = path.startsWith("/") ? 1 : 0; //$NON-NLS-1$
+		int end = path.indexOf('/', start);
+		return end < 0 ? path.substring(start) : path.substring(start, end);
+	}
+
+	private static String javaLikeExtensions() {
+		return new String(CharOperation.concatWith(Util.getJavaLikeExtensions(), ','));
+	}
+
+	private static File getFile() {
+		Plugin plugin = JavaCore.getPlugin();
+		if (plugin == null) return null;
+		try {
+			return plugin.getStateLocation().append("secondaryTypes.dat").toFile(); //$NON-NLS-1$
+		} catch (IllegalStateException e) {
+			return null; // no instance location
+		}
+	}
+
+	/**
+	 * Records that the changes since the last save were processed, so that the tables can be used.
+	 */
+	void changesProcessed() {
+		this.changesProcessed = true;
+	}
+
+	/**
+	 * Returns whether the tables can be used.
+	 */
+	boolean isAvailable() {
+		return ENABLED && this.changesProcessed;
+	}
+
+	/**
+	 * Records that a Java-like file of the given project was added, changed or removed.
+	 */
+	synchronized void fileChanged(String projectName) {
+		this.changedProjects.add(projectName);
+	}
+
+	/**
+	 * Forgets the tables which were not used yet, e.g. because the Java-like extensions changed.
+	 */
+	synchronized void clear() {
+		this.tables = new HashMap<>();
+	}
+
+	/**
+	 * Answers the persisted table of the given project if it is still valid for the given source folders, or null.
+	 * A table is answered at most once.
+	 */
+	synchronized Table take(String projectName, String[] sourceFolders) {
+		if (!isAvailable()) return null;
+		Table table = getTables().remove(projectName);
+		if (table == null
+				|| !Arrays.equals(table.sourceFolders(), sourceFolders)
+				|| table.dependsOn(this.changedProjects, null)) {
+			return null;
+		}
+		return table;
+	}
+
+	private Map<String, Table> getTables() {
+		if (this.tables == null) {
+			this.tables = read();
+		}
+		return this.tables;
+	}
+
+	private static Map<String, Table> read() {
+		Map<String, Table> result = new HashMap<>();
+		File file = getFile();
+		if (file == null || !file.exists())
+			return result;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != VERSION || !javaLikeExtensions().equals(in.readUTF()))
+				return result;
+			int projects = in.readInt();
+			while (projects-- > 0) {
+				String projectName = in.readUTF();
+				String[] sourceFolders = new String[in.readInt()];
+				for (int i = 0; i < sourceFolders.length; i++) {
+					sourceFolders[i] = in.readUTF();
+				}
+				int packages = in.readInt();
+				Map<String, Map<String, String>> types = new HashMap<>(packages);
+				while (packages-- > 0) {
+					String packageName = in.readUTF();
+					int size = in.readInt();
+					Map<String, String> paths = new HashMap<>(size);
+					while (size-- > 0) {
+						String typeName = in.readUTF();
+						paths.put(typeName, in.readUTF());
+					}
+					types.put(packageName, paths);
+				}
+				result.put(projectName, new Table(sourceFolders, types));
+			}
+		} catch (IOException e) {
+			Util.log(e, "Unable to read the secondary types file"); //$NON-NLS-1$
+			result.clear();
+		}
+		return result;
+	}
+
+	/**
+	 * Writes the given tables of the projects which were used in this session, and the tables read from the file
+	 * which were not used and are still valid.
+	 */
+	synchronized void save(Map<String, Table> usedTables) {
+		if (!ENABLED) return;
+		File file = getFile();
+		if (file == null) return;
+		Map<String, Table> result = new LinkedHashMap<>();
+		if (this.changesProcessed) {
+			// the file is only known to be valid once the changes since the save which wrote it were processed
+			for (Map.Entry<String, Table> entry : getTables().entrySet()) {
+				if (!entry.getValue().dependsOn(this.changedProjects, null))
+					result.put(entry.getKey(), entry.getValue());
+			}
+		}
+		for (Map.Entry<String, Table> entry : usedTables.entrySet()) {
+			// the changes of the project itself were merged into its table by the indexer
+			if (!entry.getValue().dependsOn(this.changedProjects, entry.getKey()))
+				result.put(entry.getKey(), entry.getValue());
+		}
+		File temp = null;
+		try {
+			// write to a temporary file first so that a crash while saving never leaves a truncated file
+			temp = File.createTempFile(file.getName(), ".tmp", file.getParentFile()); //$NON-NLS-1$
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				write(out, result);
+			}
+			try {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			temp = null;
+		} catch (IOException e) {
+			// the previous file may not be valid anymore for the changes of this session
+			file.delete();
+			Util.log(e, "Unable to save the secondary types file"); //$NON-NLS-1$
+		} finally {
+			if (temp != null)
+				temp.delete();
+		}
+		// the tables written are valid for the changes of the next session
+		this.tables = result;
+		this.changedProjects.clear();
+	}
+
+	private static void write(DataOutputStream out, Map<String, Table> result) throws IOException {
+		out.writeInt(VERSION);
+		out.writeUTF(javaLikeExtensions());
+		out.writeInt(result.size());
+		for (Map.Entry<String, Table> entry : result.entrySet()) {
+			out.writeUTF(entry.getKey());
+			Table table = entry.getValue();
+			out.writeInt(table.sourceFolders().length);
+			for (String folder : table.sourceFolders()) {
+				out.writeUTF(folder);
+			}
+			out.writeInt(table.types().size());
+			for (Map.Entry<String, Map<String, String>> packageEntry : table.types().entrySet()) {
+				out.writeUTF(packageEntry.getKey());
+				out.writeInt(packageEntry.getValue().size());
+				for (Map.Entry<String, String> typeEntry : packageEntry.getValue().entrySet()) {
+					out.writeUTF(typeEntry.getKey());
+					out.writeUTF(typeEntry.getValue());
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.internal.core.JarPackageFragmentRootInfo.PackageContent;
+
+/**
+ * The names of the top level types of a package fragment root, i.e. the names of its compilation units and class
+ * files, sorted in lower case, with the package fragment containing each of them.
+ * <p>
+ * The table answers the packages which may contain a type whose simple name starts with a given prefix with a binary
+ * search, so {@link NameLookup} only seeks types in these packages instead of in all the packages of the classpath.
+ * A name is kept up to the first <code>$</code>, so the names of member types are covered by the name of their top
+ * level type.
+ * </p>
+ * <p>
+ * The table of a root is built lazily and kept in its info. The delta processor adds and removes the names of the
+ * compilation units and class files which are added or removed, and drops the table when a package is added or
+ * removed.
+ * </p>
+ */
+class TypeNameTable {
+
+	/*
+	 * Counts the changes, a table built while a change happened is not kept since it may miss that change.
+	 */
+	private static final AtomicInteger MODIFICATIONS = new AtomicInteger();
+
+	private String[] names;
+	private IPackageFragment[] packages;
+	private int size;
+
+	private TypeNameTable(String[] names, IPackageFragment[] packages, int size) {
+		this.names = names;
+		this.packages = packages;
+		this.size = size;
+	}
+
+	/**
+	 * Answers the table of the given root, building it if needed.
+	 */
+	static TypeNameTable getTable(IPackageFragmentRoot root) throws JavaModelException {
+		PackageFragmentRootInfo info = (PackageFragmentRootInfo) ((PackageFragmentRoot) root).getElementInfo();
+		TypeNameTable table = info.typeNames;
+		if (table == null) {
+			int modifications = MODIFICATIONS.get();
+			table = build(root, info);
+			if (modifications == MODIFICATIONS.get())
+				info.typeNames = table;
+		}
+		return table;
+	}
+
+	private static TypeNameTable build(IPackageFragmentRoot root, PackageFragmentRootInfo info) throws JavaModelException {
+		List<Object[]> entries = new ArrayList<>();
+		Map<List<String>, PackageContent> rawPackageInfo;
+		if (info instanceof JarPackageFragmentRootInfo && (rawPackageInfo = ((JarPackageFragmentRootInfo) info).rawPackageInfo) != null) {
+			// the class files are known without opening the packages
+			for (Map.Entry<List<String>, PackageContent> entry : rawPackageInfo.entrySet()) {
+				IPackageFragment pkg = ((PackageFragmentRoot) root).getPackageFragment(entry.getKey().toArray(String[]::new));
+				for (String className : entry.getValue().javaClasses())
+					entries.add(new Object[] {key(className, false), pkg});
+			}
+		} else {
+			for (IJavaElement child : root.getChildren()) {
+				IPackageFragment pkg = (IPackageFragment) child;
+				for (IJavaElement unit : pkg.getChildren())
+					entries.add(new Object[] {key(unit.getElementName(), true), pkg});
+			}
+		}
+		entries.sort(Comparator.comparing(entry -> (String) entry[0]));
+		String[] names = new String[entries.size()];
+		IPackageFragment[] packages = new IPackageFragment[entries.size()];
+		int size = 0;
+		next : for (Object[] entry : entries) {
+			String name = (String) entry[0];
+			IPackageFragment pkg = (IPackageFragment) entry[1];
+			// the member types of a class have the same name as the class
+			for (int i = size - 1; i >= 0 && names[i].equals(name); i--) {
+				if (packages[i].equals(pkg))
+					continue next;
+			}
+			names[size] = name;
+			packages[size++] = pkg;
+		}
+		return new TypeNameTable(names, packages, size);
+	}
+
+	/*
+	 * Answers the name under which the given compilation unit or class file name is stored.
+	 */
+	private static String key(String name, boolean hasExtension) {
+		int end = hasExtension ? name.lastIndexOf('.') : -1;
+		if (end == -1)
+			end = name.length();
+		int dollar = name.indexOf('$');
+		if (dollar > 0 && dollar < end)
+			end = dollar;
+		return name.substring(0, end).toLowerCase();
+	}
+
+	/**
+	 * Answers the name to look up for the types whose name starts with the given prefix, i.e. the prefix up to
+	 * its first <code>.</code> or <code>$</code>, in lower case.
+	 */
+	static String prefixKey(String prefix) {
+		int end = prefix.length();
+		for (int i = 0; i < end; i++) {
+			char c = prefix.charAt(i);
+			if (c == '.' || c == '$') {
+				end = i;
+				break;
+			}
+		}
+		return prefix.substring(0, end).toLowerCase();
+	}
+
+	/**
+	 * Adds to the given set the packages containing a type whose name starts with the given key.
+	 */
+	synchronized void collectPackages(String prefixKey, Set<IPackageFragment> result) {
+		for (int i = indexOf(prefixKey); i < this.size && this.names[i].startsWith(prefixKey); i++)
+			result.add(this.packages[i]);
+	}
+
+	/*
+	 * Answers the index of the first name which is not lower than the given name.
+	 */
+	private int indexOf(String name) {
+		int low = 0;
+		int high = this.size;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (this.names[middle].compareTo(name) < 0)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	private synchronized void add(String name, IPackageFragment pkg) {
+		int index = indexOf(name);
+		for (int i = index; i < this.size && this.names[i].equals(name); i++) {
+			if (this.packages[i].equals(pkg))
+				return;
+		}
+		if (this.size == this.names.length) {
+			int length = Math.max(16, this.size * 3 / 2);
+			this.names = Arrays.copyOf(this.names, length);
+			this.packages = Arrays.copyOf(this.packages, length);
+		}
+		System.arraycopy(this.names, index, this.names, index + 1, this.size - index);
+		System.arraycopy(this.packages, index, this.packages, index + 1, this.size - index);
+		this.names[index] = name;
+		this.packages[index] = pkg;
+		this.size++;
+	}
+
+	private synchronized void remove(String name, IPackageFragment pkg) {
+		for (int i = indexOf(name); i < this.size && this.names[i].equals(name); i++) {
+			if (this.packages[i].equals(pkg)) {
+				System.arraycopy(this.names, i + 1, this.names, i, this.size - i - 1);
+				System.arraycopy(this.packages, i + 1, this.packages, i, this.size - i - 1);
+				this.size--;
+				this.names[this.size] = null;
+				this.packages[this.size] = null;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Updates the table of the root of the given element which was added to or removed from the model.
+	 */
+	static void elementChanged(Openable element, boolean added) {
+		int elementType = element.getElementType();
+		switch (elementType) {
+			case IJavaElement.COMPILATION_UNIT :
+			case IJavaElement.CLASS_FILE :
+			case IJavaElement.PACKAGE_FRAGMENT :
+				break;
+			default :
+				return;
+		}
+		MODIFICATIONS.incrementAndGet();
+		IJavaElement root = element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+		Object info = root == null ? null : JavaModelManager.getJavaModelManager().peekAtInfo(root);
+		if (!(info instanceof PackageFragmentRootInfo))
+			return;
+		PackageFragmentRootInfo rootInfo = (PackageFragmentRootInfo) info;
+		TypeNameTable table = rootInfo.typeNames;
+		if (table == null)
+			return;
+		if (elementType == IJavaElement.PACKAGE_FRAGMENT) {
+			// the names of the package are not known anymore
+			rootInfo.typeNames = null;
+			return;
+		}
+		String name = key(element.getElementName(), true);
+		IPackageFragment pkg = (IPackageFragment) element.getParent();
+		if (added)
+			table.add(name, pkg);
+		else
+			table.remove(name, pkg);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "TypeNameTable(" + this.size + " names)"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2023 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,8 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceProxy;
 import org.eclipse.core.resources.IResourceProxyVisitor;
 import org.eclipse.core.resources.IResourceStatus;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IPath;
@@ -103,6 +105,14 @@ private boolean inCompiler;
 protected boolean keepStoringProblemMarkers;
 protected Map<SourceFile, AnnotationBinding[]> filesWithAnnotations = null;
 
+// problem & task markers are created in bulk at the end of each compile loop, see flushMarkers()
+private final List<PendingMarker> pendingMarkers = new ArrayList<>();
+private final Map<IResource, List<IMarker>> replacedMarkers = new HashMap<>();
+protected long markerTime; // nanoseconds spent creating & deleting markers
+protected int markersCreated;
+
+private record PendingMarker(IResource resource, String type, Map<String, Object> attributes) {}
+
 //2000 is best compromise between space used and speed
 public static int MAX_AT_ONCE = Integer.getInteger(JavaModelManager.MAX_COMPILED_UNITS_AT_ONCE, 2000).intValue();
 public final static String[] JAVA_PROBLEM_MARKER_ATTRIBUTE_NAMES = {
@@ -336,6 +346,13 @@ protected void addAllSourceFiles(final LinkedHashSet<SourceFile> sourceFiles) th
 }
 
 protected void cleanUp() {
+	if (!this.pendingMarkers.isEmpty() || !this.replacedMarkers.isEmpty()) {
+		try {
+			flushMarkers();
+		} catch (CoreException e) {
+			Util.log(e, "JavaBuilder handling CoreException while creating markers"); //$NON-NLS-1$
+		}
+	}
 	if (this.nameEnvironment != null) {
 		this.nameEnvironment.cleanup();
 	}
@@ -413,6 +430,11 @@ protected void compile(SourceFile[] units) {
 				recordParticipantResult(participantResults[i]);
 
 		processAnnotations(participantResults);
+		try {
+			flushMarkers(); // participant problems
+		} catch (CoreException e) {
+			throw internalException(e);
+		}
 	}
 }
 
@@ -498,6 +520,11 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 	} finally {
 		this.inCompiler = false;
 	}
+	try {
+		flushMarkers();
+	} catch (CoreException e) {
+		throw internalException(e);
+	}
 	// Check for cancel immediately after a compile, because the compiler may
 	// have been cancelled but without propagating the correct exception
 	this.notifier.checkCancel();
@@ -527,6 +554,94 @@ protected void copyResource(IResource source, IResource destination) throws Core
 	Util.setReadOnly(destination, false); // just in case the original was read only
 }
 
+/*
+ * Queue a marker to be created by the next flushMarkers().
+ */
+protected void createMarker(IResource resource, String markerType, Map<String, Object> attributes) {
+	this.pendingMarkers.add(new PendingMarker(resource, markerType, attributes));
+}
+
+/*
+ * Create all the queued markers in a single workspace operation.
+ * Markers passed to replaceMarkers() are deleted at the same time, except when an identical marker was queued
+ * for the same resource, in which case the existing marker is kept and the queued one is skipped.
+ */
+protected void flushMarkers() throws CoreException {
+	if (this.pendingMarkers.isEmpty() && this.replacedMarkers.isEmpty()) return;
+
+	long start = System.nanoTime();
+	int created = 0, kept = 0;
+	try {
+		List<IMarker> toDelete = new ArrayList<>();
+		Map<PendingMarker, ArrayDeque<IMarker>> identicalMarkers = indexReplacedMarkers(toDelete);
+		List<PendingMarker> toCreate = new ArrayList<>(this.pendingMarkers.size());
+		for (PendingMarker pending : this.pendingMarkers) {
+			ArrayDeque<IMarker> identical = identicalMarkers.get(pending);
+			if (identical != null && identical.poll() != null)
+				kept++;
+			else
+				toCreate.add(pending);
+		}
+		for (ArrayDeque<IMarker> replaced : identicalMarkers.values())
+			toDelete.addAll(replaced);
+		created = toCreate.size();
+
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		workspace.run(monitor -> {
+			if (!toDelete.isEmpty())
+				workspace.deleteMarkers(toDelete.toArray(new IMarker[toDelete.size()]));
+			for (PendingMarker pending : toCreate)
+				if (pending.resource().exists())
+					pending.resource().createMarker(pending.type(), pending.attributes());
+		}, null, IWorkspace.AVOID_UPDATE, null);
+	} finally {
+		this.pendingMarkers.clear();
+		this.replacedMarkers.clear();
+		long time = System.nanoTime() - start;
+		this.markerTime += time;
+		this.markersCreated += created;
+		if (JavaBuilder.DEBUG)
+			trace("Created " + created + " markers, kept " + kept + " unchanged markers in " + time / 1_000_000 + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+}
+
+/*
+ * Index the markers passed to replaceMarkers() by their resource, type and attributes, so that a queued marker
+ * finds an identical existing marker with a single lookup. The type and attributes of each marker are read once.
+ * The markers which can no longer be read are added to the given list.
+ */
+private Map<PendingMarker, ArrayDeque<IMarker>> indexReplacedMarkers(List<IMarker> unreadable) {
+	Map<PendingMarker, ArrayDeque<IMarker>> index = new HashMap<>();
+	for (List<IMarker> replaced : this.replacedMarkers.values()) {
+		for (IMarker marker : replaced) {
+			try {
+				PendingMarker key = new PendingMarker(marker.getResource(), marker.getType(), marker.getAttributes());
+				index.computeIfAbsent(key, k -> new ArrayDeque<>(1)).add(marker);
+			} catch (CoreException e) {
+				// marker no longer exists
+				unreadable.add(marker);
+			}
+		}
+	}
+	return index;
+}
+
+/*
+ * Delete the given markers during the next flushMarkers(), unless they are recreated unchanged.
+ */
+protected void replaceMarkers(IMarker[] markers) {
+	for (IMarker marker : markers)
+		this.replacedMarkers.computeIfAbsent(marker.getResource(), r -> new ArrayList<>()).add(marker);
+}
+
+/*
+ * Answers whether the given marker is deleted by the next flushMarkers(), unless it is recreated unchanged.
+ */
+private boolean isReplaced(IMarker marker) {
+	List<IMarker> replaced = this.replacedMarkers.get(marker.getResource());
+	return replaced != null && replaced.contains(marker);
+}
+
 protected void createProblemFor(IResource resource, IMember javaElement, String message, String problemSeverity) {
 	try {
 		IMarker marker = resource.createMarker(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER);
@@ -584,7 +699,7 @@ protected SourceFile findSourceFile(IFile file, boolean mustExist) {
 
 protected void finishedWith(String sourceLocator, CompilationResult result, char[] mainTypeName, ArrayList definedTypeNames, ArrayList duplicateTypeNames) {
 	if (duplicateTypeNames == null) {
-		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, mainTypeName, definedTypeNames);
+		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, result.memberReferences, mainTypeName, definedTypeNames);
 		return;
 	}
 
@@ -600,7 +715,7 @@ protected void finishedWith(String sourceLocator, CompilationResult result, char
 		System.arraycopy(simpleRefs, 0, simpleRefs = new char[sLength + 1][], 0, sLength);
 		simpleRefs[sLength] = typeName;
 	}
-	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, mainTypeName, definedTypeNames);
+	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, result.memberReferences, mainTypeName, definedTypeNames);
 }
 
 protected IContainer createFolder(IPath packagePath, IContainer outputFolder) throws CoreException {
@@ -939,7 +1054,7 @@ protected void recordParticipantResult(CompilationParticipantResult result) {
 
 	String[] dependencies = result.dependencies;
 	if (dependencies != null) {
-		ReferenceCollection refs = this.newState.references.get(result.sourceFile.typeLocator());
+		ReferenceCollection refs = this.newState.getReferences().get(result.sourceFile.typeLocator());
 		if (refs != null)
 			refs.addDependencies(dependencies);
 	}
@@ -989,6 +1104,8 @@ protected void storeProblemsFor(SourceFile sourceFile, CategorizedProblem[] prob
 			boolean isInvalidClasspathError = JavaCore.ERROR.equals(this.javaBuilder.javaProject.getOption(JavaCore.CORE_INCOMPLETE_CLASSPATH, true));
 			// insert extra classpath problem, and make it the only problem for this project (optional)
 			if (isInvalidClasspathError && JavaCore.ABORT.equals(this.javaBuilder.javaProject.getOption(JavaCore.CORE_JAVA_BUILD_INVALID_CLASSPATH, true))) {
+				this.pendingMarkers.clear();
+				this.replacedMarkers.clear();
 				JavaBuilder.removeProblemsAndTasksFor(this.javaBuilder.currentProject); // make this the only problem for this project
 				this.keepStoringProblemMarkers = false;
 			}
@@ -1024,10 +1141,17 @@ protected void storeProblemsFor(SourceFile sourceFile, CategorizedProblem[] prob
 						IMarker[] existingMarkers = pkg.resource().findMarkers(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
 						int len = existingMarkers.length;
 						for (int j=0; j < len; j++) {
-							if (((Integer)existingMarkers[j].getAttribute(IJavaModelMarker.ID)).intValue() == IProblem.MissingNonNullByDefaultAnnotationOnPackage) {
+							if (((Integer)existingMarkers[j].getAttribute(IJavaModelMarker.ID)).intValue() == IProblem.MissingNonNullByDefaultAnnotationOnPackage
+									&& !isReplaced(existingMarkers[j])) {
 								continue problems; // marker already present
 							}
 						}
+						for (PendingMarker pending : this.pendingMarkers) {
+							if (pending.resource().equals(pkg.resource())
+									&& Integer.valueOf(IProblem.MissingNonNullByDefaultAnnotationOnPackage).equals(pending.attributes().get(IJavaModelMarker.ID))) {
+								continue problems; // marker about to be created
+							}
+						}
 					} catch (CoreException e) {
 						// marker retrieval failed, cannot do much
 						if (JavaModelManager.VERBOSE) {
@@ -1075,7 +1199,7 @@ protected void storeProblemsFor(SourceFile sourceFile, CategorizedProblem[] prob
 					attributes.put(extraAttributeNames[j], extraAttributeValues[j]);
 				}
 			}
-			resource.createMarker(markerType, attributes);
+			createMarker(resource, markerType, attributes);
 
 			if (!this.keepStoringProblemMarkers) return; // only want the one error recorded on this source file
 		}
@@ -1117,7 +1241,7 @@ protected void storeTasksFor(SourceFile sourceFile, CategorizedProblem[] tasks)
 				}
 			}
 
-			resource.createMarker(IJavaModelMarker.TASK_MARKER, attributes);
+			createMarker(resource, IJavaModelMarker.TASK_MARKER, attributes);
 		}
 	}
 }
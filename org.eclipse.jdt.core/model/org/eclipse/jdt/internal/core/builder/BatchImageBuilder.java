@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,12 +36,15 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CompilationParticipant;
 import org.eclipse.jdt.core.compiler.IProblem;
 import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.core.CompilationGroup;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -71,6 +74,7 @@ public class BatchImageBuilder extends AbstractImageBuilder {
 	private final Map<IFile, byte[]> classContents = new HashMap<>();
 	private long classContentsBytesQueued;
 	private boolean batchMode;
+	private BuildOutputCache.Writer cacheWriter; // writes the outputs to the build output cache, null when not recording
 
 
 protected BatchImageBuilder(JavaBuilder javaBuilder, boolean buildStarting, CompilationGroup compilationGroup) {
@@ -114,14 +118,27 @@ public void build() {
 			sourceFiles.toArray(allSourceFiles);
 
 			this.notifier.setProgressPerCompilationUnit(0.75f / allSourceFiles.length);
-			this.workQueue.addAll(allSourceFiles);
-			compile(allSourceFiles);
-
-			if (this.typeLocatorsWithUndefinedTypes != null)
-				if (this.secondaryTypes != null && !this.secondaryTypes.isEmpty())
-					rebuildTypesAffectedBySecondaryTypes();
-			if (this.incrementalBuilder != null)
-				this.incrementalBuilder.buildAfterBatchBuild();
+			BuildOutputCache cache = this.javaBuilder.participants == null && !this.compiler.options.processAnnotations
+				? BuildOutputCache.getCache()
+				: null;
+			String cacheKey = cache == null ? null : computeCacheKey(allSourceFiles);
+			if (cacheKey == null || !restoreCachedOutput(cache.get(cacheKey), allSourceFiles)) {
+				if (cacheKey != null)
+					this.cacheWriter = cache.newWriter(cacheKey);
+				this.workQueue.addAll(allSourceFiles);
+				compile(allSourceFiles);
+
+				if (this.typeLocatorsWithUndefinedTypes != null)
+					if (this.secondaryTypes != null && !this.secondaryTypes.isEmpty())
+						rebuildTypesAffectedBySecondaryTypes();
+				if (this.incrementalBuilder != null) {
+					stopRecordingCachedOutput();
+					this.incrementalBuilder.buildAfterBatchBuild();
+				} else if (this.cacheWriter != null) {
+					this.cacheWriter.commit(allSourceFiles.length);
+					this.cacheWriter = null;
+				}
+			}
 		}
 
 		if (this.javaBuilder.javaProject.hasCycleMarker())
@@ -240,6 +257,7 @@ protected void cleanOutputFolders(boolean copyBack) throws CoreException {
 
 @Override
 protected void cleanUp() {
+	stopRecordingCachedOutput(); // the build failed or was canceled
 	this.incrementalBuilder = null;
 	this.secondaryTypes = null;
 	this.typeLocatorsWithUndefinedTypes = null;
@@ -253,6 +271,27 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 	super.compile(units, additionalUnits, compilingFirstGroup);
 }
 
+private void stopRecordingCachedOutput() {
+	if (this.cacheWriter != null) {
+		this.cacheWriter.abort();
+		this.cacheWriter = null;
+	}
+}
+
+private String computeCacheKey(SourceFile[] allSourceFiles) throws CoreException {
+	Set<IContainer> outputFolders = new HashSet<>();
+	for (ClasspathMultiDirectory sourceLocation : this.sourceLocations)
+		outputFolders.add(sourceLocation.binaryFolder);
+	return BuildOutputCache.computeKey(this.javaBuilder.javaProject, allSourceFiles, this.compiler.options.getMap(),
+		this.nameEnvironment.binaryLocations, outputFolders, this.compilationGroup.name());
+}
+
+@Override
+protected void createProblemFor(IResource resource, IMember javaElement, String message, String problemSeverity) {
+	stopRecordingCachedOutput(); // problems created by the builder itself are not recorded
+	super.createProblemFor(resource, javaElement, message, problemSeverity);
+}
+
 protected void copyExtraResourcesBack(ClasspathMultiDirectory sourceLocation, final boolean deletedAll) throws CoreException {
 	// When, if ever, does a builder need to copy resources files (not .java or .class) into the output folder?
 	// If we wipe the output folder at the beginning of the build then all 'extra' resources must be copied to the output folder.
@@ -335,6 +374,22 @@ private void printStats() {
 	System.out.print(", resolve: " + compilerStats.resolveTime + " ms (" + ((int) (compilerStats.resolveTime * 1000.0 / time)) / 10.0 + "%)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	System.out.print(", analyze: " + compilerStats.analyzeTime + " ms (" + ((int) (compilerStats.analyzeTime * 1000.0 / time)) / 10.0 + "%)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	System.out.println(", generate: " + compilerStats.generateTime + " ms (" + ((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0 + "%)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	System.out.println(">   created " + this.markersCreated + " markers in " + this.markerTime / 1_000_000 + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+}
+
+@Override
+protected void finishedWith(String sourceLocator, CompilationResult result, char[] mainTypeName, ArrayList definedTypeNames, ArrayList duplicateTypeNames) {
+	super.finishedWith(sourceLocator, result, mainTypeName, definedTypeNames, duplicateTypeNames);
+	if (this.cacheWriter == null)
+		return;
+	CategorizedProblem[] problems = result.getProblems();
+	CategorizedProblem[] tasks = result.getTasks();
+	if (duplicateTypeNames != null || !BuildOutputCache.isCacheable(problems) || !BuildOutputCache.isCacheable(tasks)) {
+		stopRecordingCachedOutput();
+		return;
+	}
+	this.cacheWriter.finished(sourceLocator, mainTypeName, result.qualifiedReferences, result.simpleNameReferences,
+		result.rootReferences, result.memberReferences, definedTypeNames, problems, tasks);
 }
 
 @Override
@@ -386,6 +441,46 @@ protected void storeProblemsFor(SourceFile sourceFile, CategorizedProblem[] prob
 	super.storeProblemsFor(sourceFile, problems);
 }
 
+/*
+ * Restore the outputs of a previous identical full build, as if the given source files had just been compiled.
+ * Answer false if the cached outputs do not cover all the source files, in which case nothing was restored.
+ */
+private boolean restoreCachedOutput(Map<String, BuildOutputCache.Unit> units, SourceFile[] allSourceFiles) throws CoreException {
+	if (units == null || units.size() != allSourceFiles.length)
+		return false;
+	for (SourceFile sourceFile : allSourceFiles)
+		if (!units.containsKey(sourceFile.typeLocator()))
+			return false;
+
+	if (JavaBuilder.DEBUG)
+		trace("Restoring build output of " + allSourceFiles.length + " source files from cache"); //$NON-NLS-1$ //$NON-NLS-2$
+	for (SourceFile sourceFile : allSourceFiles) {
+		BuildOutputCache.Unit unit = units.get(sourceFile.typeLocator());
+		if (unit.problems != null) {
+			this.notifier.updateProblemCounts(unit.problems);
+			storeProblemsFor(sourceFile, unit.problems);
+		}
+		storeTasksFor(sourceFile, unit.tasks);
+		IContainer outputFolder = sourceFile.sourceLocation.binaryFolder;
+		for (BuildOutputCache.ClassFileOutput classFile : unit.classFiles) {
+			IPath filePath = new Path(classFile.qualifiedFileName);
+			IContainer container = outputFolder;
+			if (filePath.segmentCount() > 1) {
+				container = createFolder(filePath.removeLastSegments(1), outputFolder);
+				filePath = new Path(filePath.lastSegment());
+			}
+			writeClassFileBytes(container.getFile(filePath.addFileExtension(SuffixConstants.EXTENSION_class)), classFile.contents);
+			if (classFile.isTopLevelType)
+				this.newState.recordLocatorForType(classFile.qualifiedFileName, unit.typeLocator, sourceFile.sourceLocation.release);
+		}
+		this.newState.record(unit.typeLocator, unit.qualifiedReferences, unit.simpleNameReferences, unit.rootReferences,
+			unit.memberReferences, unit.mainTypeName, unit.definedTypeNames);
+		this.notifier.compiled(sourceFile);
+	}
+	flushMarkers();
+	return true;
+}
+
 @Override
 public String toString() {
 	return "batch image builder for:\n\tnew state: " + this.newState; //$NON-NLS-1$
@@ -400,6 +495,12 @@ public void startBatch() {
 protected void writeClassFileContents(ClassFile classFile, IFile file, String qualifiedFileName, boolean isTopLevelType,
 		SourceFile compilationUnit) throws CoreException {
 	byte[] content = classFile.getBytes();
+	if (this.cacheWriter != null)
+		this.cacheWriter.addClassFile(compilationUnit.typeLocator(), qualifiedFileName, isTopLevelType, content);
+	writeClassFileBytes(file, content);
+}
+
+private void writeClassFileBytes(IFile file, byte[] content) throws CoreException {
 	if (this.batchMode) {
 		if (JavaBuilder.DEBUG) {
 			trace("Batching changed class file " + file.getName());//$NON-NLS-1$
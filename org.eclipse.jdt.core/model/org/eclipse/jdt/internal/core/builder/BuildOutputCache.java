@@ -0,0 +1,559 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.builder;
+
+import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblem;
+import org.eclipse.jdt.internal.core.JavaProject;
+import org.eclipse.jdt.internal.core.util.Util;
+
+/**
+ * A local, content-addressed cache of full build outputs.
+ * <p>
+ * An entry is keyed by a hash of all the source files of a project, the compiler options, the raw classpath and the
+ * binaries found on the resolved classpath. Jars are hashed by their contents, not by their location, so that the
+ * same jar in another workspace or checkout yields the same key. It holds the class files, problems, tasks and references produced for
+ * every source file, so that a full build of an identical project (for instance after switching branches back and
+ * forth, or in a second workspace) can restore its output instead of compiling.
+ * </p>
+ * <p>
+ * The cache is disabled unless the system property {@value #CACHE_DIRECTORY_PROPERTY} names a directory. Its size is
+ * bounded by {@value #CACHE_SIZE_PROPERTY} (in megabytes), least recently used entries are evicted first.
+ * </p>
+ * <p>
+ * The directory may be shared by several workspaces and processes. An entry is written to its own temporary file
+ * while the build produces it, and only becomes visible when the temporary file is atomically renamed to the entry.
+ * </p>
+ */
+public class BuildOutputCache {
+
+public static final String CACHE_DIRECTORY_PROPERTY = "org.eclipse.jdt.core.builder.outputCache"; //$NON-NLS-1$
+public static final String CACHE_SIZE_PROPERTY = "org.eclipse.jdt.core.builder.outputCache.size"; //$NON-NLS-1$
+
+private static final byte VERSION = 0x03;
+private static final String ENTRY_SUFFIX = ".cache"; //$NON-NLS-1$
+private static final String TEMP_SUFFIX = ".tmp"; //$NON-NLS-1$
+private static final long TEMP_FILE_EXPIRY = 24 * 60 * 60 * 1000L; // temporary files left by a crash are deleted after a day
+
+private static BuildOutputCache instance;
+
+// the digests of the contents of the jars on the classpath by file name
+private static final Map<String, FileDigest> FILE_DIGESTS = new ConcurrentHashMap<>();
+private record FileDigest(long size, long lastModified, byte[] digest) {}
+
+private final File directory;
+private final long maxSize;
+
+/**
+ * The outputs recorded for one source file.
+ */
+static class Unit {
+	final String typeLocator;
+	char[] mainTypeName;
+	char[][][] qualifiedReferences;
+	char[][] simpleNameReferences;
+	char[][] rootReferences;
+	char[][] memberReferences;
+	ArrayList<char[]> definedTypeNames = new ArrayList<>(1);
+	final ArrayList<ClassFileOutput> classFiles = new ArrayList<>(1);
+	CategorizedProblem[] problems;
+	CategorizedProblem[] tasks;
+
+	Unit(String typeLocator) {
+		this.typeLocator = typeLocator;
+	}
+}
+
+/**
+ * A class file written for a unit.
+ */
+static class ClassFileOutput {
+	final String qualifiedFileName; // the qualified type name "p1/p2/A"
+	final boolean isTopLevelType;
+	final byte[] contents;
+
+	ClassFileOutput(String qualifiedFileName, boolean isTopLevelType, byte[] contents) {
+		this.qualifiedFileName = qualifiedFileName;
+		this.isTopLevelType = isTopLevelType;
+		this.contents = contents;
+	}
+}
+
+/**
+ * Answer the cache to use or null if the cache is not enabled.
+ */
+static synchronized BuildOutputCache getCache() {
+	String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+	if (directory == null || directory.isEmpty())
+		return null;
+	long maxSize = Integer.getInteger(CACHE_SIZE_PROPERTY, 512).longValue() * 1024 * 1024;
+	if (instance == null || !instance.directory.getPath().equals(directory) || instance.maxSize != maxSize)
+		instance = new BuildOutputCache(new File(directory), maxSize);
+	return instance;
+}
+
+BuildOutputCache(File directory, long maxSize) {
+	this.directory = directory;
+	this.maxSize = maxSize;
+}
+
+/**
+ * Answer whether the given problems can be stored in the cache. Only problems that are fully described by their
+ * {@link DefaultProblem} fields are supported, other implementations may carry extra marker attributes.
+ */
+static boolean isCacheable(CategorizedProblem[] problems) {
+	if (problems != null)
+		for (CategorizedProblem problem : problems)
+			if (problem.getClass() != DefaultProblem.class)
+				return false;
+	return true;
+}
+
+/**
+ * Compute the key of the outputs for the given source files. The key covers everything the compiler reads: the
+ * source files, the compiler options and the contents of the classpath.
+ */
+static String computeKey(JavaProject javaProject, SourceFile[] sourceFiles, Map<String, String> options,
+		ClasspathLocation[] binaryLocations, Set<IContainer> outputFolders, String compilationGroup) throws CoreException {
+	MessageDigest digest;
+	try {
+		digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+	} catch (NoSuchAlgorithmException e) {
+		return null;
+	}
+	update(digest, String.valueOf(VERSION));
+	update(digest, compilationGroup);
+	for (Map.Entry<String, String> option : new TreeMap<>(options).entrySet()) {
+		update(digest, option.getKey());
+		update(digest, option.getValue());
+	}
+	for (IClasspathEntry entry : javaProject.getRawClasspath())
+		update(digest, entry.toString());
+	for (ClasspathLocation location : binaryLocations) {
+		update(digest, location.getClass().getName());
+		if (location instanceof ClasspathJar jar) {
+			// keyed by contents rather than by location, so that a copy of the jar in another checkout matches
+			update(digest, String.valueOf(jar.accessRuleSet));
+			updateWithFileContents(digest, jar.zipFilename);
+		} else if (location instanceof ClasspathJrt jrt) {
+			updateWithFileContents(digest, jrt.zipFilename);
+		} else if (location instanceof ClasspathDirectory classFolder) {
+			update(digest, location.toString());
+			// the output folders of this project are about to be rebuilt, other class folders are read by the compiler
+			if (!outputFolders.contains(classFolder.binaryFolder) && classFolder.binaryFolder.exists()) {
+				classFolder.binaryFolder.accept(resource -> {
+					if (resource.getType() == IResource.FILE
+							&& org.eclipse.jdt.internal.compiler.util.Util.isClassFileName(resource.getName())) {
+						update(digest, resource.getFullPath().toString());
+						digest.update(Util.getResourceContentsAsByteArray((IFile) resource));
+					}
+					return true;
+				});
+			}
+		} else {
+			update(digest, location.toString());
+		}
+	}
+	for (SourceFile sourceFile : sourceFiles) {
+		update(digest, sourceFile.typeLocator());
+		update(digest, String.valueOf(sourceFile.sourceLocation.release));
+		update(digest, String.valueOf(sourceFile.sourceLocation.ignoreOptionalProblems));
+		update(digest, new String(sourceFile.getContents()));
+	}
+	StringBuilder key = new StringBuilder(64);
+	for (byte b : digest.digest())
+		key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+	return key.toString();
+}
+
+private static void update(MessageDigest digest, String value) {
+	byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+	digest.update((byte) (bytes.length >>> 24));
+	digest.update((byte) (bytes.length >>> 16));
+	digest.update((byte) (bytes.length >>> 8));
+	digest.update((byte) bytes.length);
+	digest.update(bytes);
+}
+
+/*
+ * Update the digest with the digest of the contents of the given file. The digest of a file is computed once for
+ * a given size and time stamp of the file.
+ */
+private static void updateWithFileContents(MessageDigest digest, String fileName) {
+	try {
+		BasicFileAttributes attributes = Files.readAttributes(new File(fileName).toPath(), BasicFileAttributes.class);
+		long size = attributes.size();
+		long lastModified = attributes.lastModifiedTime().toMillis();
+		FileDigest fileDigest = FILE_DIGESTS.get(fileName);
+		if (fileDigest == null || fileDigest.size() != size || fileDigest.lastModified() != lastModified) {
+			MessageDigest contentsDigest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			try (InputStream in = new FileInputStream(fileName)) {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = in.read(buffer)) != -1)
+					contentsDigest.update(buffer, 0, read);
+			}
+			fileDigest = new FileDigest(size, lastModified, contentsDigest.digest());
+			FILE_DIGESTS.put(fileName, fileDigest);
+		}
+		digest.update(fileDigest.digest());
+	} catch (IOException | NoSuchAlgorithmException e) {
+		update(digest, "-"); //$NON-NLS-1$
+	}
+}
+
+/**
+ * Answer the units stored for the given key, or null if there is no such entry.
+ */
+synchronized Map<String, Unit> get(String key) {
+	File file = new File(this.directory, key + ENTRY_SUFFIX);
+	if (!file.isFile())
+		return null;
+	try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+		Map<String, Unit> units = read(new CompressedReader(in));
+		file.setLastModified(System.currentTimeMillis()); // most recently used
+		return units;
+	} catch (IOException | RuntimeException e) {
+		if (JavaBuilder.DEBUG)
+			trace("Discarding unreadable build output cache entry " + file, e); //$NON-NLS-1$
+		file.delete();
+		return null;
+	}
+}
+
+/**
+ * Answer a writer for the entry of the given key, or null if the entry cannot be written. The units are written as
+ * they are produced, the entry is only stored once the writer is committed.
+ */
+Writer newWriter(String key) {
+	try {
+		Files.createDirectories(this.directory.toPath());
+		// unique, so that concurrent writers of the same entry do not overwrite each other's file
+		Path tempFile = Files.createTempFile(this.directory.toPath(), key, TEMP_SUFFIX);
+		return new Writer(key, tempFile);
+	} catch (IOException e) {
+		if (JavaBuilder.DEBUG)
+			trace("Unable to create build output cache entry " + key, e); //$NON-NLS-1$
+		return null;
+	}
+}
+
+/**
+ * Writes the units of an entry to a temporary file as they are produced. Only the class files of the units which
+ * are being compiled are kept in memory. Once a write failed, the writer ignores the next units and is not
+ * committed.
+ */
+class Writer {
+	private final String key;
+	private final Path tempFile;
+	private CompressedWriter out; // null once the writer is closed
+	private DataOutputStream stream;
+	private final Map<String, Unit> pendingUnits = new HashMap<>();
+	private final Set<String> writtenUnits = new HashSet<>();
+
+	Writer(String key, Path tempFile) throws IOException {
+		this.key = key;
+		this.tempFile = tempFile;
+		try {
+			this.stream = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tempFile))));
+			this.out = new CompressedWriter(this.stream);
+			this.out.writeByte(VERSION);
+		} catch (IOException e) {
+			abort();
+			throw e;
+		}
+	}
+
+	/**
+	 * Record a class file produced for the unit of the given type locator. The unit is written when it is finished.
+	 */
+	void addClassFile(String typeLocator, String qualifiedFileName, boolean isTopLevelType, byte[] contents) {
+		if (this.out != null)
+			this.pendingUnits.computeIfAbsent(typeLocator, Unit::new).classFiles
+				.add(new ClassFileOutput(qualifiedFileName, isTopLevelType, contents));
+	}
+
+	/**
+	 * Write the unit of the given type locator with the class files recorded for it.
+	 */
+	void finished(String typeLocator, char[] mainTypeName, char[][][] qualifiedReferences, char[][] simpleNameReferences,
+			char[][] rootReferences, char[][] memberReferences, ArrayList<char[]> definedTypeNames, CategorizedProblem[] problems,
+			CategorizedProblem[] tasks) {
+		if (this.out == null)
+			return;
+		Unit unit = this.pendingUnits.remove(typeLocator);
+		if (unit == null)
+			unit = new Unit(typeLocator);
+		unit.mainTypeName = mainTypeName;
+		unit.qualifiedReferences = qualifiedReferences;
+		unit.simpleNameReferences = simpleNameReferences;
+		unit.rootReferences = rootReferences;
+		unit.memberReferences = memberReferences;
+		unit.definedTypeNames = definedTypeNames;
+		unit.problems = problems;
+		unit.tasks = tasks;
+		if (!this.writtenUnits.add(typeLocator)) {
+			abort(); // compiled twice, the entry would not match a single compilation
+			return;
+		}
+		try {
+			write(this.out, unit);
+		} catch (IOException e) {
+			if (JavaBuilder.DEBUG)
+				trace("Unable to write build output cache entry " + this.key, e); //$NON-NLS-1$
+			abort();
+		}
+	}
+
+	/**
+	 * Store the entry if it holds exactly the given number of units, otherwise discard it.
+	 */
+	void commit(int unitCount) {
+		if (this.out == null)
+			return;
+		if (!this.pendingUnits.isEmpty() || this.writtenUnits.size() != unitCount) {
+			abort();
+			return;
+		}
+		File file = new File(BuildOutputCache.this.directory, this.key + ENTRY_SUFFIX);
+		try {
+			this.out.writeBoolean(false);
+			this.out = null;
+			this.stream.close();
+			try {
+				Files.move(this.tempFile, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(this.tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			if (JavaBuilder.DEBUG)
+				trace("Unable to write build output cache entry " + file, e); //$NON-NLS-1$
+			abort();
+			return;
+		}
+		evict();
+	}
+
+	/**
+	 * Discard the entry.
+	 */
+	void abort() {
+		this.out = null;
+		this.pendingUnits.clear();
+		try {
+			if (this.stream != null)
+				this.stream.close();
+		} catch (IOException e) {
+			// the file is deleted anyway
+		}
+		try {
+			Files.deleteIfExists(this.tempFile);
+		} catch (IOException e) {
+			// deleted with the other expired temporary files
+		}
+	}
+}
+
+private synchronized void evict() {
+	long now = System.currentTimeMillis();
+	File[] tempFiles = this.directory.listFiles((dir, name) -> name.endsWith(TEMP_SUFFIX));
+	if (tempFiles != null)
+		for (File tempFile : tempFiles)
+			if (now - tempFile.lastModified() > TEMP_FILE_EXPIRY)
+				tempFile.delete();
+	File[] entries = this.directory.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+	if (entries == null)
+		return;
+	long size = 0;
+	for (File entry : entries)
+		size += entry.length();
+	if (size <= this.maxSize)
+		return;
+	Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+	for (int i = 0; i < entries.length && size > this.maxSize; i++) {
+		long length = entries[i].length();
+		if (entries[i].delete())
+			size -= length;
+	}
+}
+
+private static void write(CompressedWriter out, Unit unit) throws IOException {
+	out.writeBoolean(true);
+	writeString(out, unit.typeLocator);
+	out.writeBoolean(unit.mainTypeName != null);
+	if (unit.mainTypeName != null)
+		writeChars(out, unit.mainTypeName);
+	out.writeInt(unit.qualifiedReferences.length);
+	for (char[][] qualifiedName : unit.qualifiedReferences)
+		writeNames(out, qualifiedName);
+	writeNames(out, unit.simpleNameReferences);
+	writeNames(out, unit.rootReferences);
+	writeNames(out, unit.memberReferences);
+	out.writeInt(unit.definedTypeNames.size());
+	for (char[] typeName : unit.definedTypeNames)
+		writeChars(out, typeName);
+	out.writeInt(unit.classFiles.size());
+	for (ClassFileOutput classFile : unit.classFiles) {
+		writeString(out, classFile.qualifiedFileName);
+		out.writeBoolean(classFile.isTopLevelType);
+		out.writeBytes(classFile.contents);
+	}
+	writeProblems(out, unit.problems);
+	writeProblems(out, unit.tasks);
+}
+
+/*
+ * Write the given chars as their length followed by their UTF-16 encoding. Unlike CompressedWriter.writeChars(char[]),
+ * the length is not limited to 65535 bytes (e.g. for the message of a problem quoting a long string literal).
+ */
+private static void writeChars(CompressedWriter out, char[] chars) throws IOException {
+	byte[] bytes = new byte[chars.length * 2];
+	for (int i = 0, j = 0; i < chars.length; i++) {
+		bytes[j++] = (byte) (chars[i] >>> 8);
+		bytes[j++] = (byte) chars[i];
+	}
+	out.writeBytes(bytes);
+}
+
+private static void writeString(CompressedWriter out, String value) throws IOException {
+	writeChars(out, value.toCharArray());
+}
+
+private static char[] readChars(CompressedReader in) throws IOException {
+	byte[] bytes = in.readBytes();
+	char[] chars = new char[bytes.length / 2];
+	for (int i = 0, j = 0; i < chars.length; i++)
+		chars[i] = (char) (((bytes[j++] & 0xFF) << 8) | (bytes[j++] & 0xFF));
+	return chars;
+}
+
+private static String readString(CompressedReader in) throws IOException {
+	return new String(readChars(in));
+}
+
+private static void writeNames(CompressedWriter out, char[][] names) throws IOException {
+	out.writeInt(names.length);
+	for (char[] name : names)
+		writeChars(out, name);
+}
+
+private static void writeProblems(CompressedWriter out, CategorizedProblem[] problems) throws IOException {
+	int length = problems == null ? 0 : problems.length;
+	out.writeInt(length);
+	for (int i = 0; i < length; i++) {
+		DefaultProblem problem = (DefaultProblem) problems[i];
+		writeString(out, problem.getMessage());
+		out.writeInt(problem.getID());
+		String[] arguments = problem.getArguments();
+		out.writeInt(arguments == null ? -1 : arguments.length);
+		if (arguments != null)
+			for (String argument : arguments)
+				writeString(out, argument);
+		out.writeInt(problem.severity);
+		out.writeInt(problem.getSourceStart());
+		out.writeInt(problem.getSourceEnd());
+		out.writeInt(problem.getSourceLineNumber());
+		out.writeInt(problem.column);
+	}
+}
+
+private static Map<String, Unit> read(CompressedReader in) throws IOException {
+	if (in.readByte() != VERSION)
+		throw new IOException("Unsupported build output cache version"); //$NON-NLS-1$
+	Map<String, Unit> units = new LinkedHashMap<>();
+	while (in.readBoolean()) {
+		Unit unit = new Unit(readString(in));
+		unit.mainTypeName = in.readBoolean() ? readChars(in) : null;
+		unit.qualifiedReferences = new char[in.readInt()][][];
+		for (int i = 0; i < unit.qualifiedReferences.length; i++)
+			unit.qualifiedReferences[i] = readNames(in);
+		unit.simpleNameReferences = readNames(in);
+		unit.rootReferences = readNames(in);
+		unit.memberReferences = readNames(in);
+		for (int i = 0, l = in.readInt(); i < l; i++)
+			unit.definedTypeNames.add(readChars(in));
+		for (int i = 0, l = in.readInt(); i < l; i++)
+			unit.classFiles.add(new ClassFileOutput(readString(in), in.readBoolean(), in.readBytes()));
+		unit.problems = readProblems(in, unit.typeLocator);
+		unit.tasks = readProblems(in, unit.typeLocator);
+		units.put(unit.typeLocator, unit);
+	}
+	return units;
+}
+
+private static char[][] readNames(CompressedReader in) throws IOException {
+	char[][] names = new char[in.readInt()][];
+	for (int i = 0; i < names.length; i++)
+		names[i] = readChars(in);
+	return names;
+}
+
+private static CategorizedProblem[] readProblems(CompressedReader in, String typeLocator) throws IOException {
+	int length = in.readInt();
+	if (length == 0)
+		return null;
+	char[] fileName = typeLocator.toCharArray();
+	CategorizedProblem[] problems = new CategorizedProblem[length];
+	for (int i = 0; i < length; i++) {
+		String message = readString(in);
+		int id = in.readInt();
+		int argumentCount = in.readInt();
+		String[] arguments = argumentCount < 0 ? null : new String[argumentCount];
+		for (int j = 0; j < argumentCount; j++)
+			arguments[j] = readString(in);
+		int severity = in.readInt();
+		int start = in.readInt();
+		int end = in.readInt();
+		int line = in.readInt();
+		int column = in.readInt();
+		problems[i] = new DefaultProblem(fileName, message, id, arguments, severity, start, end, line, column);
+	}
+	return problems;
+}
+}
@@ -52,6 +52,16 @@ public class CompressedWriter {
 		this.out.writeInt(v);
 	}
 
+	/**
+	 * Writes the length of the given bytes followed by the bytes themselves.
+	 *
+	 * @see CompressedReader#readBytes()
+	 **/
+	public void writeBytes(byte[] bytes) throws IOException {
+		this.out.writeInt(bytes.length);
+		this.out.write(bytes);
+	}
+
 	// ---- compressed outputs: ---
 
 	/**
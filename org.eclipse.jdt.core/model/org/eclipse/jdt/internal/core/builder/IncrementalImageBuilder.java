@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,7 @@ import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.ClassFile;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
@@ -63,6 +64,8 @@ protected LinkedHashSet<SourceFile> previousSourceFiles;
 protected Set<String> qualifiedStrings;
 protected Set<String> simpleStrings;
 protected Set<String> rootStrings;
+// the names of the changed members of the types whose other changes do not affect their dependents, by type path
+protected Map<String, Set<String>> changedMembers;
 protected Map<IContainer, List<IPath>> secondaryTypesToRemove;
 protected boolean hasStructuralChanges;
 protected boolean makeOutputFolderConsistent;
@@ -240,14 +243,34 @@ protected void buildAfterBatchBuild() {
 }
 
 protected void addAffectedSourceFiles() {
-	if (this.qualifiedStrings.size() == 0 && this.simpleStrings.size() == 0) return;
-	if(this.testImageBuilder != null) {
-		this.testImageBuilder.addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	if (this.qualifiedStrings.size() != 0 || this.simpleStrings.size() != 0) {
+		if(this.testImageBuilder != null) {
+			this.testImageBuilder.addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+		}
+		addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	}
+	// the units referencing a type with changed members are only affected if they look up one of these members
+	for (Entry<String, Set<String>> entry : this.changedMembers.entrySet()) {
+		Set<String> qualifiedNames = new HashSet<>(3);
+		Set<String> simpleNames = new HashSet<>(3);
+		Set<String> rootNames = new HashSet<>(3);
+		addDependentsOf(new Path(entry.getKey()), false, qualifiedNames, simpleNames, rootNames);
+		char[][] memberNames = ReferenceCollection.internSimpleNames(entry.getValue(), false);
+		if(this.testImageBuilder != null) {
+			this.testImageBuilder.addAffectedSourceFiles(qualifiedNames, simpleNames, rootNames, null, memberNames);
+		}
+		addAffectedSourceFiles(qualifiedNames, simpleNames, rootNames, null, memberNames);
 	}
-	addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
 }
 
 protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simpleSet, Set<String> rootSet, Set<String> affectedTypes) {
+	addAffectedSourceFiles(qualifiedSet, simpleSet, rootSet, affectedTypes, null);
+}
+
+/**
+ * Adds the source files which reference one of the given names, and one of the given members unless they are null.
+ */
+protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simpleSet, Set<String> rootSet, Set<String> affectedTypes, char[][] memberNames) {
 	// the qualifiedStrings are of the form 'p1/p2' & the simpleStrings are just 'X'
 	char[][][] internedQualifiedNames = ReferenceCollection.internQualifiedNames(qualifiedSet);
 	// if a well known qualified name was found then we can skip over these
@@ -258,12 +281,13 @@ protected void addAffectedSourceFiles(Set<String> qualifiedSet, Set<String> simp
 	if (internedSimpleNames.length < simpleSet.size())
 		internedSimpleNames = null;
 	char[][] internedRootNames = ReferenceCollection.internSimpleNames(rootSet, false);
+	ReferenceCollection.NameQuery query = new ReferenceCollection.NameQuery(internedQualifiedNames, internedSimpleNames, internedRootNames);
 
-	next: for (Entry<String, ReferenceCollection> entry : this.newState.references.entrySet()) {
+	next: for (Entry<String, ReferenceCollection> entry : this.newState.getReferences().entrySet()) {
 		String typeLocator = entry.getKey();
 		if (affectedTypes != null && !affectedTypes.contains(typeLocator)) continue next;
 		ReferenceCollection refs = entry.getValue();
-		if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)) {
+		if (refs.includes(query) && (memberNames == null || refs.includesMember(memberNames))) {
 			IFile file = this.javaBuilder.currentProject.getFile(typeLocator);
 			SourceFile sourceFile = findSourceFile(file, true);
 			if (sourceFile == null) continue next;
@@ -317,6 +341,23 @@ protected void addDependentsOf(IPath path, boolean isStructuralChange, Set<Strin
 			+ typeName + " in " + packageName); //$NON-NLS-1$
 }
 
+/**
+ * Same as {@link #addDependentsOf(IPath, boolean)} for a structural change, but only adds the dependents which look
+ * up one of the given fields or methods of the type.
+ */
+protected void addDependentsOf(IPath path, char[][] memberNames) {
+	if (!this.hasStructuralChanges) {
+		this.newState.tagAsStructurallyChanged();
+		this.hasStructuralChanges = true;
+	}
+	Set<String> names = this.changedMembers.computeIfAbsent(path.setDevice(null).toString(), p -> new HashSet<>(3));
+	for (char[] memberName : memberNames)
+		names.add(new String(memberName));
+	if (JavaBuilder.DEBUG)
+		System.out.println("  will look for dependents of " //$NON-NLS-1$
+			+ CharOperation.toString(memberNames) + " in " + path); //$NON-NLS-1$
+}
+
 protected boolean checkForClassFileChanges(IResourceDelta binaryDelta, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
 	IResource resource = binaryDelta.getResource();
 	// remember that if inclusion & exclusion patterns change then a full build is done
@@ -356,6 +397,7 @@ protected void cleanUp() {
 	this.qualifiedStrings = null;
 	this.simpleStrings = null;
 	this.rootStrings = null;
+	this.changedMembers = null;
 	this.secondaryTypesToRemove = null;
 	this.hasStructuralChanges = false;
 }
@@ -842,6 +884,7 @@ protected void resetCollections() {
 		this.qualifiedStrings = new HashSet<>(3);
 		this.simpleStrings = new HashSet<>(3);
 		this.rootStrings = new HashSet<>(3);
+		this.changedMembers = new HashMap<>(3);
 		this.hasStructuralChanges = false;
 	} else {
 		this.previousSourceFiles = this.sourceFiles.isEmpty() ? null : new LinkedHashSet<>(this.sourceFiles);
@@ -849,6 +892,7 @@ protected void resetCollections() {
 		this.qualifiedStrings.clear();
 		this.simpleStrings.clear();
 		this.rootStrings.clear();
+		this.changedMembers.clear();
 		this.workQueue.clear();
 	}
 }
@@ -870,7 +914,7 @@ protected void updateProblemsFor(SourceFile sourceFile, CompilationResult result
 	if (problems == null && markers.length == 0) return;
 
 	this.notifier.updateProblemCounts(markers, problems);
-	JavaBuilder.removeProblemsFor(sourceFile.resource);
+	replaceMarkers(markers); // unchanged markers are kept
 	storeProblemsFor(sourceFile, problems);
 }
 
@@ -880,7 +924,7 @@ protected void updateTasksFor(SourceFile sourceFile, CompilationResult result) t
 	CategorizedProblem[] tasks = result.getTasks();
 	if (tasks == null && markers.length == 0) return;
 
-	JavaBuilder.removeTasksFor(sourceFile.resource);
+	replaceMarkers(markers); // unchanged markers are kept
 	storeTasksFor(sourceFile, tasks);
 }
 
@@ -960,11 +1004,21 @@ protected boolean classFileChanged(IFile file, String fileName, byte[] newBytes)
 		String filePath = location.getSchemeSpecificPart();
 		ClassFileReader reader = new ClassFileReader(oldBytes, filePath.toCharArray());
 		// ignore local types since they're only visible inside a single method
-		if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes)) {
-			if (JavaBuilder.DEBUG)
-				System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
-			addDependentsOf(new Path(fileName), true);
-			this.newState.wasStructurallyChanged(fileName);
+		if (!(reader.isLocal() || reader.isAnonymous())) {
+			char[][] changedMemberNames = tracksChangedMembers(reader) ? reader.getStructurallyChangedMembers(newBytes) : null;
+			if (changedMemberNames != null) {
+				if (changedMemberNames.length > 0) {
+					if (JavaBuilder.DEBUG)
+						System.out.println("Type has structural changes to its members " + fileName); //$NON-NLS-1$
+					addDependentsOf(new Path(fileName), changedMemberNames);
+					this.newState.wasStructurallyChanged(fileName);
+				}
+			} else if (reader.hasStructuralChanges(newBytes)) {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
+				addDependentsOf(new Path(fileName), true);
+				this.newState.wasStructurallyChanged(fileName);
+			}
 		}
 	} catch (JavaModelException jme) {
 		Throwable e = jme.getCause();
@@ -982,6 +1036,18 @@ protected boolean classFileChanged(IFile file, String fileName, byte[] newBytes)
 	return true;
 }
 
+/*
+ * Answers whether the changes to the members of the given type only affect the units which look them up.
+ * The members of interfaces, annotations, enums and records are also used by their implementations, switches and
+ * patterns, and annotation processors may look at any member.
+ */
+private boolean tracksChangedMembers(ClassFileReader reader) {
+	return (reader.getModifiers() & (ClassFileConstants.AccInterface | ClassFileConstants.AccEnum)) == 0
+		&& !reader.isRecord()
+		&& this.filesWithAnnotations == null
+		&& !this.compiler.options.processAnnotations;
+}
+
 @Override
 public String toString() {
 	return "incremental image builder for:\n\tnew state: " + this.newState; //$NON-NLS-1$
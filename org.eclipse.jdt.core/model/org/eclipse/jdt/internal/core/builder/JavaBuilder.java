@@ -34,6 +34,7 @@ import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspaceDescription;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
@@ -41,6 +42,8 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaModelMarker;
 import org.eclipse.jdt.core.IJavaModelStatusConstants;
@@ -83,6 +86,13 @@ public static boolean SHOW_STATS;
  * specify VM property: {@code -Dorg.eclipse.disableAutoBuildOnSettingsChange=true}
  */
 private static final boolean DISABLE_AUTO_BUILDING_ON_SETTINGS_CHANGE = Boolean.getBoolean("org.eclipse.disableAutoBuildOnSettingsChange"); //$NON-NLS-1$
+/**
+ * In case independent projects should be built concurrently, specify VM property:
+ * {@code -Dorg.eclipse.jdt.core.builder.parallel=true}. The builder then only locks the projects it writes to instead of
+ * the whole workspace, so that the workspace can schedule projects without dependencies between them at the same time
+ * (requires {@link IWorkspaceDescription#getMaxConcurrentBuilds()} to be greater than 1).
+ */
+public static boolean PARALLEL_BUILD = Boolean.getBoolean("org.eclipse.jdt.core.builder.parallel"); //$NON-NLS-1$
 private static final IPath JDT_CORE_SETTINGS_PATH = Path.fromPortableString(JavaProject.DEFAULT_PREFERENCES_DIRNAME + IPath.SEPARATOR + JavaProject.JAVA_CORE_PREFS_FILE);
 
 /**
@@ -303,6 +313,36 @@ protected IProject[] build(int kind, Map<String, String> ignoredArgs, IProgressM
 	return requiredProjects;
 }
 
+/**
+ * Returns the projects this builder writes to, i.e. the project itself plus the projects containing
+ * its output folders, when {@link #PARALLEL_BUILD} is set. Otherwise the whole workspace is locked.
+ */
+@Override
+public ISchedulingRule getRule(int kind, Map<String, String> args) {
+	IProject project = getProject();
+	if (!PARALLEL_BUILD || project == null || !project.isAccessible())
+		return super.getRule(kind, args);
+
+	ISchedulingRule rule = project;
+	try {
+		JavaProject jProject = (JavaProject) JavaCore.create(project);
+		IPath defaultOutput = jProject.getOutputLocation();
+		rule = MultiRule.combine(rule, getOutputProject(defaultOutput));
+		for (IClasspathEntry entry : jProject.getRawClasspath()) {
+			if (entry.getEntryKind() == IClasspathEntry.CPE_SOURCE && entry.getOutputLocation() != null)
+				rule = MultiRule.combine(rule, getOutputProject(entry.getOutputLocation()));
+		}
+	} catch (JavaModelException e) {
+		// cannot tell where the outputs go, so play it safe
+		return super.getRule(kind, args);
+	}
+	return rule;
+}
+
+private IProject getOutputProject(IPath outputLocation) {
+	return getProject().getWorkspace().getRoot().getProject(outputLocation.segment(0));
+}
+
 private void buildAll() {
 	this.notifier.checkCancel();
 	this.notifier.subTask(Messages.bind(Messages.build_preparingBuild, this.currentProject.getName()));
@@ -706,10 +746,12 @@ private int initializeBuilder(int kind, boolean forBuild) throws CoreException {
 
 		// Flush the existing external files cache if this is the beginning of a build cycle
 		String projectName = this.currentProject.getName();
-		if (builtProjects == null || builtProjects.contains(projectName)) {
-			builtProjects = new LinkedHashSet<>();
+		synchronized (JavaBuilder.class) {
+			if (builtProjects == null || builtProjects.contains(projectName)) {
+				builtProjects = new LinkedHashSet<>();
+			}
+			builtProjects.add(projectName);
 		}
-		builtProjects.add(projectName);
 
 		if (kind != CLEAN_BUILD && kind != FULL_BUILD) {
 			// check if we need to switch to full build due to missing output folder(s)
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -32,11 +32,65 @@ public class ReferenceCollection {
 char[][][] qualifiedNameReferences;
 char[][] simpleNameReferences;
 char[][] rootReferences;
+// the names of the fields and methods (<init> for the constructors) looked up by the unit, or null if unknown
+char[][] memberReferences;
+
+// Bloom filters using a single bit per name of rootReferences & simpleNameReferences, see includes(NameQuery)
+private long rootFilter;
+private final long[] simpleNameFilter = new long[FILTER_WORDS];
+static final int FILTER_WORDS = 4; // 256 bits, since units reference a lot more simple names than roots
+
+/**
+ * The names given to {@link ReferenceCollection#includes(char[][][], char[][], char[][])} together with their
+ * Bloom filter bits. Create it once and check all collections of a state with {@link ReferenceCollection#includes(NameQuery)},
+ * so that collections which cannot contain any of the names are rejected without searching their names.
+ */
+public static final class NameQuery {
+	final char[][][] qualifiedNames;
+	final char[][] simpleNames;
+	final char[][] rootNames;
+	final long rootBits;
+	final long[] simpleNameBits = new long[FILTER_WORDS];
+
+	public NameQuery(char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
+		this.qualifiedNames = qualifiedNames;
+		this.simpleNames = simpleNames;
+		this.rootNames = rootNames;
+		long bits = 0;
+		if (rootNames != null)
+			for (char[] rootName : rootNames)
+				bits |= 1L << filterBit(rootName);
+		this.rootBits = bits;
+		if (simpleNames != null)
+			for (char[] simpleName : simpleNames)
+				addToFilter(this.simpleNameBits, simpleName);
+	}
+}
 
 protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences) {
+	this(qualifiedNameReferences, simpleNameReferences, rootReferences, null);
+}
+
+protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences, char[][] memberReferences) {
 	this.qualifiedNameReferences = internQualifiedNames(qualifiedNameReferences, false);
 	this.simpleNameReferences = internSimpleNames(simpleNameReferences, true);
 	this.rootReferences = internSimpleNames(rootReferences, false);
+	for (char[] rootName : this.rootReferences)
+		this.rootFilter |= 1L << filterBit(rootName);
+	for (char[] simpleName : this.simpleNameReferences)
+		addToFilter(this.simpleNameFilter, simpleName);
+	if (memberReferences != null)
+		this.memberReferences = internSimpleNames(memberReferences, false);
+}
+
+private static int filterBit(char[] name) {
+	int hash = CharOperation.hashCode(name);
+	return (hash ^ (hash >>> 16)) & (FILTER_WORDS * 64 - 1);
+}
+
+private static void addToFilter(long[] filter, char[] name) {
+	int bit = filterBit(name);
+	filter[bit >>> 6] |= 1L << bit;
 }
 
 /**
@@ -61,6 +115,8 @@ public void addDependencies(String[] typeNameDependencies) {
 			while ((idx = Arrays.binarySearch(this.qualifiedNameReferences, qualifiedTypeName, SortedCharArrays.CHAR_CHAR_ARR_COMPARATOR)) < 0) {
 				this.simpleNameReferences = ensureContainedInSortedOrder(this.simpleNameReferences, qualifiedTypeName[qualifiedTypeName.length - 1]);
 				this.rootReferences = ensureContainedInSortedOrder(this.rootReferences, qualifiedTypeName[0]);
+				addToFilter(this.simpleNameFilter, qualifiedTypeName[qualifiedTypeName.length - 1]);
+				this.rootFilter |= 1L << filterBit(qualifiedTypeName[0]);
 
 				int length = this.qualifiedNameReferences.length;
 				idx = -(idx+1);
@@ -113,6 +169,29 @@ public boolean includes(char[][][] qualifiedNames, char[][] simpleNames, char[][
 	return result;
 }
 
+/**
+ * Same as {@link #includes(char[][][], char[][], char[][])} for the names of the given query, but first
+ * checks the Bloom filters: if none of the root names or none of the simple names can be contained,
+ * the names cannot be included so there is no need to search them.
+ */
+public boolean includes(NameQuery query) {
+	if (query.rootNames != null && (query.rootBits & this.rootFilter) == 0)
+		return false;
+	if (query.simpleNames != null) {
+		// whenever simple names are given, one of them must be included
+		boolean mayInclude = false;
+		for (int i = 0; i < FILTER_WORDS; i++) {
+			if ((query.simpleNameBits[i] & this.simpleNameFilter[i]) != 0) {
+				mayInclude = true;
+				break;
+			}
+		}
+		if (!mayInclude)
+			return false;
+	}
+	return includes(query.qualifiedNames, query.simpleNames, query.rootNames);
+}
+
 private boolean doIncludes(char[][][] qualifiedNames, char[][] simpleNames, char[][] rootNames) {
 	if (rootNames != null) {
 		if (!includesRootName(rootNames))
@@ -137,6 +216,16 @@ private boolean doIncludes(char[][][] qualifiedNames, char[][] simpleNames, char
 	}
 }
 
+/**
+ * Answers whether one of the given names of fields and methods is referenced by the unit, or whether its member
+ * references are unknown. The names must be interned and sorted, see {@link #internSimpleNames(char[][], boolean)}.
+ */
+public boolean includesMember(char[][] memberNames) {
+	if (this.memberReferences == null)
+		return true;
+	return intersects(memberNames, this.memberReferences, SortedCharArrays.CHAR_ARR_COMPARATOR);
+}
+
 public boolean insideRoot(char[] rootName) {
 	boolean result = sortedArrayContains(this.rootReferences, rootName, SortedCharArrays.CHAR_ARR_COMPARATOR);
 	if (REFERENCE_COLLECTION_DEBUG) {
@@ -627,7 +716,8 @@ public boolean equals(Object obj) {
 	ReferenceCollection other = (ReferenceCollection) obj;
 	return Arrays.deepEquals(this.qualifiedNameReferences, other.qualifiedNameReferences)
 			&& Arrays.deepEquals(this.rootReferences, other.rootReferences)
-			&& Arrays.deepEquals(this.simpleNameReferences, other.simpleNameReferences);
+			&& Arrays.deepEquals(this.simpleNameReferences, other.simpleNameReferences)
+			&& Arrays.deepEquals(this.memberReferences, other.memberReferences);
 }
 
 }
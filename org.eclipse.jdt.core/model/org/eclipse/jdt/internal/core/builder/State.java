@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,8 @@ package org.eclipse.jdt.internal.core.builder;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -68,7 +70,11 @@ public ClasspathMultiDirectory[] testSourceLocations;
 public ClasspathLocation[] binaryLocations;
 public ClasspathLocation[] testBinaryLocations;
 // keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection
-Map<String, ReferenceCollection> references;
+// lazily decoded from encodedReferences when read from disk, use getReferences()
+private volatile Map<String, ReferenceCollection> references;
+// as read from disk, until the references are needed (only when building the project itself)
+private byte[] encodedReferences;
+private String[] encodedTypeLocators;
 // Holds a mapping of types to a path to detect duplicate type definitions (possibly depending on the release for multi-release types)
 public TypeLocators typeLocators;
 
@@ -80,7 +86,7 @@ private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x0027;
+public static final byte VERSION = 0x0029;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
@@ -127,7 +133,7 @@ void copyFrom(State lastState) {
 	this.lastStructuralBuildTime = lastState.lastStructuralBuildTime;
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
 
-	this.references = new LinkedHashMap<>(lastState.references);
+	this.references = new LinkedHashMap<>(lastState.getReferences());
 	this.typeLocators = new TypeLocators(lastState.typeLocators);
 }
 
@@ -151,7 +157,7 @@ public boolean equals(Object obj) {
 			&& Arrays.equals(this.testSourceLocations, other.testSourceLocations)
 			&& Arrays.equals(this.testBinaryLocations, other.testBinaryLocations)
 			&& Objects.equals(this.typeLocators, other.typeLocators)
-			&& Objects.equals(this.references, other.references);
+			&& Objects.equals(getReferences(), other.getReferences());
 // Below fields aren't persisted
 //			&& this.previousStructuralBuildTime == other.previousStructuralBuildTime
 //			&& Arrays.equals(this.knownPackageNames, other.knownPackageNames)
@@ -165,13 +171,28 @@ public int hashCode() {
 }
 
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
-	Object c = this.references.get(typeLocator);
+	Object c = getReferences().get(typeLocator);
 	if (c instanceof AdditionalTypeCollection)
 		return ((AdditionalTypeCollection) c).definedTypeNames;
 	return null; // means only one type is defined with the same name as the file... saves space
 }
 
 public Map<String, ReferenceCollection> getReferences() {
+	if (this.references == null) {
+		synchronized (this) {
+			if (this.references == null) {
+				try {
+					CompressedReader in = new CompressedReader(new DataInputStream(new ByteArrayInputStream(this.encodedReferences)));
+					this.references = readReferences(in, this.encodedTypeLocators);
+				} catch (IOException e) {
+					// cannot happen, the bytes were completely read from the state file
+					throw new IllegalStateException(e);
+				}
+				this.encodedReferences = null;
+				this.encodedTypeLocators = null;
+			}
+		}
+	}
 	return this.references;
 }
 
@@ -201,13 +222,13 @@ boolean isSourceFolderEmpty(IContainer sourceFolder) {
 	return this.typeLocators.isSourceFolderEmpty(sourceFolder);
 }
 
-void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[] mainTypeName, ArrayList typeNames) {
+void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[][] memberRefs, char[] mainTypeName, ArrayList typeNames) {
 	if (typeNames.size() == 1 && CharOperation.equals(mainTypeName, (char[]) typeNames.get(0))) {
-		this.references.put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
+		getReferences().put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs, memberRefs));
 	} else {
 		char[][] definedTypeNames = new char[typeNames.size()][]; // can be empty when no types are defined
 		typeNames.toArray(definedTypeNames);
-		this.references.put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
+		getReferences().put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs, memberRefs));
 	}
 }
 
@@ -222,7 +243,7 @@ void recordStructuralDependency(IProject prereqProject, State prereqState) {
 }
 
 void removeLocator(String typeLocatorToRemove, int release) {
-	this.references.remove(typeLocatorToRemove);
+	getReferences().remove(typeLocatorToRemove);
 	this.typeLocators.removeLocator(typeLocatorToRemove, release);
 }
 
@@ -289,6 +310,17 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 		internedTypeLocators[i] = in.readStringUsingLast();
 	newState.typeLocators.read(in, internedTypeLocators);
 
+	// the references are only decoded once the project gets built, see getReferences()
+	newState.encodedReferences = in.readBytes();
+	newState.encodedTypeLocators = internedTypeLocators;
+	if (JavaBuilder.DEBUG) {
+		trace("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
+	}
+	return newState;
+}
+
+private static Map<String, ReferenceCollection> readReferences(CompressedReader in, String[] internedTypeLocators) throws IOException {
+	int length;
 	/*
 	 * Here we read global arrays of names for the entire project - do not mess up the ordering while interning
 	 */
@@ -305,7 +337,7 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, false /* drop well known */, false /* do not sort */);
 
 	length = in.readInt();
-	newState.references = new LinkedHashMap((int) (length / 0.75 + 1));
+	Map<String, ReferenceCollection> references = new LinkedHashMap((int) (length / 0.75 + 1));
 	for (int i = 0; i < length; i++) {
 		String typeLocator = internedTypeLocators[in.readInt()];
 		ReferenceCollection collection = null;
@@ -321,7 +353,8 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 				char[][] rootNames = new char[in.readInt()][];
 				for (int j = 0, m = rootNames.length; j < m; j++)
 					rootNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames);
+				char[][] memberNames = readMemberNames(in, internedSimpleNames);
+				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames, memberNames);
 				break;
 			case 2 :
 				char[][][] qNames = new char[in.readInt()][][];
@@ -333,14 +366,22 @@ static State read(IProject project, DataInputStream input) throws IOException, C
 				char[][] rNames = new char[in.readInt()][];
 				for (int j = 0, m = rNames.length; j < m; j++)
 					rNames[j] = internedRootNames[in.readIntInRange(internedRootNames.length)];
-				collection = new ReferenceCollection(qNames, sNames, rNames);
+				char[][] mNames = readMemberNames(in, internedSimpleNames);
+				collection = new ReferenceCollection(qNames, sNames, rNames, mNames);
 		}
-		newState.references.put(typeLocator, collection);
+		references.put(typeLocator, collection);
 	}
-	if (JavaBuilder.DEBUG) {
-		trace("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
-	}
-	return newState;
+	return references;
+}
+
+private static char[][] readMemberNames(CompressedReader in, char[][] internedSimpleNames) throws IOException {
+	int length = in.readInt();
+	if (length < 0)
+		return null; // unknown
+	char[][] memberNames = new char[length][];
+	for (int j = 0; j < length; j++)
+		memberNames[j] = internedSimpleNames[in.readIntInRange(internedSimpleNames.length)];
+	return memberNames;
 }
 
 private static ClasspathMultiDirectory[] readSourceLocations(IProject project, CompressedReader in, List<ClasspathLocation> allLocationsForEEA) throws IOException {
@@ -547,15 +588,36 @@ void write(DataOutputStream output) throws IOException {
 /*
  * String[]	Interned type locators
  */
-	out.writeInt(this.references.size());
-	Map<String, Integer> internedTypeLocators = new HashMap<>(this.references.size());
-	for (String key : this.references.keySet()) {
+	Map<String, ReferenceCollection> decodedReferences;
+	byte[] undecodedReferences;
+	String[] locators;
+	synchronized (this) {
+		decodedReferences = this.references;
+		undecodedReferences = this.encodedReferences;
+		locators = decodedReferences != null ? decodedReferences.keySet().toArray(new String[decodedReferences.size()]) : this.encodedTypeLocators;
+	}
+	out.writeInt(locators.length);
+	Map<String, Integer> internedTypeLocators = new HashMap<>(locators.length);
+	for (String key : locators) {
 		out.writeStringUsingLast(key);
 		internedTypeLocators.put(key, internedTypeLocators.size());
 	}
 
 	this.typeLocators.write(out, internedTypeLocators);
 
+/*
+ * byte[]	References, written as an independent block so that reading them can be deferred
+ */
+	if (decodedReferences == null) {
+		out.writeBytes(undecodedReferences); // never decoded, so unchanged since it was read
+	} else {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		writeReferences(new CompressedWriter(new DataOutputStream(bytes)), decodedReferences, internedTypeLocators);
+		out.writeBytes(bytes.toByteArray());
+	}
+}
+
+private void writeReferences(CompressedWriter out, Map<String, ReferenceCollection> referencesToWrite, Map<String, Integer> internedTypeLocators) throws IOException {
 /*
  * char[][]	Interned root names
  * char[][][]	Interned qualified names
@@ -564,7 +626,7 @@ void write(DataOutputStream output) throws IOException {
 	Map<CharArray, Integer> internedRootNames = new HashMap<>();
 	Map<CharCharArray, Integer> internedQualifiedNames = new HashMap<>();
 	Map<CharArray, Integer> internedSimpleNames = new HashMap<>();
-	for (ReferenceCollection collection : this.references.values()) {
+	for (ReferenceCollection collection : referencesToWrite.values()) {
 		for (char[] rName : collection.rootReferences) {
 			// remember the names have been interned
 			internedRootNames.putIfAbsent(new CharArray(rName), internedRootNames.size());
@@ -582,6 +644,12 @@ void write(DataOutputStream output) throws IOException {
 			// remember the names have been interned
 			internedSimpleNames.putIfAbsent(new CharArray(sName), internedSimpleNames.size());
 		}
+		if (collection.memberReferences != null) {
+			for (char[] mName : collection.memberReferences) {
+				// remember the names have been interned
+				internedSimpleNames.putIfAbsent(new CharArray(mName), internedSimpleNames.size());
+			}
+		}
 	}
 	char[][] internedArray = new char[internedRootNames.size()][];
 	for (Entry<CharArray, Integer> entry: internedRootNames.entrySet()) {
@@ -617,8 +685,8 @@ void write(DataOutputStream output) throws IOException {
  * int		interned locator id
  * ReferenceCollection
 */
-	out.writeInt(this.references.size());
-	for (Entry<String, ReferenceCollection> entry : this.references.entrySet()) {
+	out.writeInt(referencesToWrite.size());
+	for (Entry<String, ReferenceCollection> entry : referencesToWrite.entrySet()) {
 		String key = entry.getKey();
 		Integer index = internedTypeLocators.get(key);
 		out.writeInt(index.intValue());
@@ -651,6 +719,16 @@ void write(DataOutputStream output) throws IOException {
 			Integer i = internedRootNames.get(new CharArray(rName));
 			out.writeIntInRange(i.intValue(), internedRootNames.size());
 		}
+		char[][] mNames = collection.memberReferences;
+		if (mNames == null) {
+			out.writeInt(-1); // unknown
+		} else {
+			out.writeInt(mNames.length);
+			for (char[] mName: mNames) {
+				Integer i = internedSimpleNames.get(new CharArray(mName));
+				out.writeIntInRange(i.intValue(), internedSimpleNames.size());
+			}
+		}
 	}
 }
 
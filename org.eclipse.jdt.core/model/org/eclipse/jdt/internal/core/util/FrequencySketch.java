@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.util;
+
+/**
+ * An approximate count of the recent accesses to the keys of a cache, as used by the TinyLFU admission policy.
+ * <p>
+ * The counts are kept in a count-min sketch of 4 bit counters: each key increments one counter in each of 4 rows,
+ * and its frequency is the minimum of these counters, which may overestimate but never underestimate it. The
+ * sketch remembers keys which are not in the cache anymore. Once the number of increments reaches 10 times the
+ * capacity of the sketch, all the counters are halved, so the frequencies reflect the recent accesses.
+ * </p>
+ * <p>
+ * This implementation is NOT thread-safe, like the caches using it.
+ * </p>
+ *
+ * @see LRUCache#setScanResistant(boolean)
+ */
+public final class FrequencySketch {
+
+	/**
+	 * The maximum value of a counter.
+	 */
+	public static final int MAX_FREQUENCY = 15;
+
+	private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+	private static final long RESET_MASK = 0x7777777777777777L;
+	private static final int MAX_CAPACITY = 1 << 26;
+
+	private long[] table; // 16 counters per long
+	private int tableMask;
+	private int sampleSize;
+	private int additions;
+
+	public FrequencySketch(int capacity) {
+		ensureCapacity(capacity);
+	}
+
+	/**
+	 * Grows the sketch so it can count the accesses to the given number of keys with few collisions.
+	 */
+	public void ensureCapacity(int capacity) {
+		int maximum = Math.min(Math.max(capacity, 16), MAX_CAPACITY);
+		if (this.table != null && this.table.length >= maximum) return;
+		int length = Integer.highestOneBit(maximum - 1) << 1;
+		long[] newTable = new long[length];
+		if (this.table != null) {
+			// a counter moves to one of the copies of its long, so the counts are kept
+			for (int i = 0; i < length; i += this.table.length)
+				System.arraycopy(this.table, 0, newTable, i, this.table.length);
+		}
+		this.table = newTable;
+		this.tableMask = length - 1;
+		this.sampleSize = 10 * length;
+	}
+
+	private static int hash(Object key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
+	}
+
+	private static int indexOf(int hash, int row) {
+		long h = (hash + SEEDS[row]) * SEEDS[row];
+		h += h >>> 32;
+		return (int) h;
+	}
+
+	/**
+	 * Returns the approximate number of recent accesses to the given key, at most {@link #MAX_FREQUENCY}.
+	 */
+	public int frequency(Object key) {
+		int hash = hash(key);
+		int frequency = MAX_FREQUENCY;
+		for (int row = 0; row < SEEDS.length; row++) {
+			int h = indexOf(hash, row);
+			int offset = (h & 15) << 2;
+			int count = (int) ((this.table[(h >>> 4) & this.tableMask] >>> offset) & 0xF);
+			if (count < frequency)
+				frequency = count;
+		}
+		return frequency;
+	}
+
+	/**
+	 * Counts an access to the given key.
+	 */
+	public void increment(Object key) {
+		int hash = hash(key);
+		boolean added = false;
+		for (int row = 0; row < SEEDS.length; row++) {
+			int h = indexOf(hash, row);
+			int index = (h >>> 4) & this.tableMask;
+			int offset = (h & 15) << 2;
+			long mask = 0xFL << offset;
+			if ((this.table[index] & mask) != mask) {
+				this.table[index] += 1L << offset;
+				added = true;
+			}
+		}
+		if (added && ++this.additions == this.sampleSize)
+			reset();
+	}
+
+	/*
+	 * Halves all the counters.
+	 */
+	private void reset() {
+		for (int i = 0; i < this.table.length; i++)
+			this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+		this.additions >>>= 1;
+	}
+}
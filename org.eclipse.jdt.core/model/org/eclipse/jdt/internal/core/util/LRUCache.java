@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,13 @@ import org.eclipse.jdt.internal.core.util.ToStringSorter.Pair;
  * <p>Objects can take up a variable amount of cache space by implementing
  * the <code>ILRUCacheable</code> interface.
  *
+ * <p>A scan resistant cache (see {@link #setScanResistant(boolean)}) also counts the recent accesses
+ * to its keys in a {@link FrequencySketch}, and follows the TinyLFU admission policy: a new entry
+ * which needs the space of the least recently used entry is only added if it was accessed more
+ * frequently than that entry. So a scan over many entries used once does not discard the entries
+ * that are used over and over. Subclasses which must add every new entry keep the more frequently
+ * used entry instead, see {@link #shouldRescue(LRUCacheEntry)}.
+ *
  * <p>This implementation is NOT thread-safe.  Synchronization wrappers would
  * have to be added to ensure atomic insertions and deletions from the cache.
  *
@@ -67,6 +74,12 @@ public class LRUCache<K, V> implements Cloneable {
 		 */
 		public int space;
 
+		/**
+		 * Number of times a scan resistant cache kept this entry instead of discarding it
+		 * since it was last accessed
+		 */
+		public int rescues;
+
 		/**
 		 * Previous entry in queue
 		 */
@@ -281,6 +294,16 @@ public class LRUCache<K, V> implements Cloneable {
 	 */
 	protected LRUCacheEntry<K, V> entryQueueTail;
 
+	/**
+	 * Recent access frequencies of the keys, or null if the cache is not scan resistant
+	 */
+	protected FrequencySketch frequencySketch;
+
+	/**
+	 * Access frequency of the key being added, compared to the frequency of the entries it would discard
+	 */
+	protected int candidateFrequency = FrequencySketch.MAX_FREQUENCY;
+
 	/**
 	 * Default amount of space in the cache
 	 */
@@ -313,6 +336,7 @@ public class LRUCache<K, V> implements Cloneable {
 	@Override
 	public LRUCache<K, V> clone() {
 		LRUCache<K, V> newCache = newInstance(this.spaceLimit);
+		newCache.setScanResistant(isScanResistant());
 		LRUCacheEntry<K, V> qEntry;
 
 		/* Preserve order of entries by copying from oldest to newest */
@@ -377,11 +401,13 @@ public class LRUCache<K, V> implements Cloneable {
 	 * @return Retrieved object, or null if object does not exist
 	 */
 	public V get(K key) {
+		recordAccess(key);
 		LRUCacheEntry<K, V> entry = this.entryTable.get(key);
 		if (entry == null) {
 			return null;
 		}
 
+		entry.rescues = 0;
 		updateTimestamp (entry);
 		return entry.value;
 	}
@@ -489,6 +515,77 @@ public class LRUCache<K, V> implements Cloneable {
 		return true;
 	}
 
+	/**
+	 * Returns whether a new entry taking the given space should be added to the cache. In a scan
+	 * resistant cache, this is the TinyLFU admission decision: if the least recently used entry must
+	 * be discarded to make space, the new entry is only added if it was accessed more frequently.
+	 */
+	protected boolean admit(int space) {
+		if (this.frequencySketch == null
+				|| this.entryQueueTail == null
+				|| this.currentSpace + space <= getSpaceLimit()) {
+			return true;
+		}
+		return this.candidateFrequency > this.frequencySketch.frequency(this.entryQueueTail.key);
+	}
+
+	/**
+	 * Returns whether the given least recently used entry should be moved to the front of the queue
+	 * rather than discarded, and counts the rescue if so. This is the admission decision of the caches
+	 * which must add every new entry: in a scan resistant cache, the entry is kept if it was accessed
+	 * more frequently than the entry being added. The difference of the frequencies bounds the number
+	 * of rescues until the entry is accessed again, so making space costs no more than
+	 * {@link FrequencySketch#MAX_FREQUENCY} moves per access.
+	 */
+	protected boolean shouldRescue(LRUCacheEntry<K, V> entry) {
+		if (this.frequencySketch == null
+				|| entry.rescues >= this.frequencySketch.frequency(entry.key) - this.candidateFrequency) {
+			return false;
+		}
+		entry.rescues++;
+		return true;
+	}
+
+	/**
+	 * Returns whether the cache keeps the frequently used entries when making space.
+	 */
+	public boolean isScanResistant() {
+		return this.frequencySketch != null;
+	}
+
+	/**
+	 * Sets whether the cache keeps the least recently used entries which are accessed more
+	 * frequently than the entry being added, rather than discarding them for it.
+	 */
+	public void setScanResistant(boolean scanResistant) {
+		if (scanResistant != isScanResistant()) {
+			this.frequencySketch = scanResistant ? new FrequencySketch(this.entryTable.size()) : null;
+		}
+	}
+
+	/**
+	 * Counts an access to the given key if the cache is scan resistant.
+	 */
+	protected void recordAccess(K key) {
+		if (this.frequencySketch != null) {
+			this.frequencySketch.ensureCapacity(this.entryTable.size());
+			this.frequencySketch.increment(key);
+		}
+	}
+
+	/**
+	 * Remembers the frequency of the given key being added for the admission decision.
+	 * Returns the frequency to restore once it was added.
+	 * <p>Adding a key does not count as an access, as it usually follows a failed lookup.
+	 */
+	protected int recordCandidate(K key) {
+		int previousFrequency = this.candidateFrequency;
+		if (this.frequencySketch != null) {
+			this.candidateFrequency = this.frequencySketch.frequency(key);
+		}
+		return previousFrequency;
+	}
+
 	/**
 	 * Returns a new LRUCache instance
 	 */
@@ -583,6 +680,15 @@ public class LRUCache<K, V> implements Cloneable {
 	 * @return added value.
 	 */
 	public V put(K key, V value) {
+		int previousFrequency = recordCandidate(key);
+		try {
+			return privatePut(key, value);
+		} finally {
+			this.candidateFrequency = previousFrequency;
+		}
+	}
+
+	private V privatePut(K key, V value) {
 		int newSpace, oldSpace, newTotal;
 		LRUCacheEntry<K, V> entry;
 
@@ -609,6 +715,9 @@ public class LRUCache<K, V> implements Cloneable {
 				privateRemoveEntry (entry, false);
 			}
 		}
+		if (entry == null && !admit(newSpace)) {
+			return value;
+		}
 		if (makeSpace(newSpace)) {
 			privateAdd (key, value, newSpace);
 		}
@@ -24,6 +24,7 @@ import org.eclipse.jdt.internal.core.search.BasicSearchEngine;
 import org.eclipse.jdt.internal.core.search.IRestrictedAccessTypeRequestor;
 import org.eclipse.jdt.internal.core.search.MethodNameMatchRequestorWrapper;
 import org.eclipse.jdt.internal.core.search.MethodNameRequestorWrapper;
+import org.eclipse.jdt.internal.core.search.SearchLimit;
 import org.eclipse.jdt.internal.core.search.TypeNameMatchRequestorWrapper;
 import org.eclipse.jdt.internal.core.search.TypeNameRequestorWrapper;
 import org.eclipse.jdt.internal.core.search.matching.DeclarationOfAccessedFieldsPattern;
@@ -697,6 +698,32 @@ public class SearchEngine {
 		this.basicEngine.search(pattern, participants, scope, requestor, monitor);
 	}
 
+	/**
+	 * Searches for matches of a given search pattern like
+	 * {@link #search(SearchPattern, SearchParticipant[], IJavaSearchScope, SearchRequestor, IProgressMonitor)},
+	 * but reports at most the given number of matches. Once this number of matches is reported, the search stops:
+	 * the remaining indexes, documents and participants are not searched.
+	 * <p>
+	 * Clients only interested in whether there is any match may pass <code>1</code>.
+	 * </p>
+	 *
+	 * @param pattern the pattern to search
+	 * @param participants the participants in the search
+	 * @param scope the search scope
+	 * @param requestor the requestor to report the matches to
+	 * @param maxMatches the maximum number of matches to report, or a number lower than or equal to <code>0</code>
+	 *				to report all matches
+	 * @param monitor the progress monitor used to report progress
+	 * @exception CoreException if the search failed. Reasons include:
+	 *	<ul>
+	 *		<li>the classpath is incorrectly set</li>
+	 *	</ul>
+	 * @since 3.46
+	 */
+	public void search(SearchPattern pattern, SearchParticipant[] participants, IJavaSearchScope scope, SearchRequestor requestor, int maxMatches, IProgressMonitor monitor) throws CoreException {
+		this.basicEngine.search(pattern, participants, scope, requestor, maxMatches, monitor);
+	}
+
 	/**
 	 * Searches for all method declarations in the given scope. Accepted matches will be returned by
 	 * {@link MethodNameRequestor#acceptMethod}.
@@ -1237,6 +1264,76 @@ public class SearchEngine {
 			progressMonitor);
 	}
 
+	/**
+	 * Searches for all top-level types and member types in the given scope like
+	 * {@link #searchAllTypeNames(char[], int, char[], int, int, IJavaSearchScope, TypeNameMatchRequestor, int, IProgressMonitor)},
+	 * but reports at most the given number of matches. Once this number of matches is reported, the search stops:
+	 * the remaining indexes and working copies are not searched.
+	 * <p>
+	 * Clients only interested in whether there is any matching type may pass <code>1</code>.
+	 * </p>
+	 *
+	 * @param packageName the full name of the package of the searched types, or a prefix for this
+	 *						package, or a wild-carded string for this package.
+	 *						May be <code>null</code>, then any package name is accepted.
+	 * @param packageMatchRule the match rule for the package name, see
+	 * 	{@link #searchAllTypeNames(char[], int, char[], int, int, IJavaSearchScope, TypeNameMatchRequestor, int, IProgressMonitor)}
+	 * @param typeName the dot-separated qualified name of the searched type (the qualification include
+	 *					the enclosing types if the searched type is a member type), or a prefix
+	 *					for this type, or a wild-carded string for this type.
+	 *					May be <code>null</code>, then any type name is accepted.
+	 * @param typeMatchRule the match rule for the type name, see
+	 * 	{@link #searchAllTypeNames(char[], int, char[], int, int, IJavaSearchScope, TypeNameMatchRequestor, int, IProgressMonitor)}
+	 * @param searchFor determines the nature of the searched elements, see
+	 * 	{@link #searchAllTypeNames(char[], int, char[], int, int, IJavaSearchScope, TypeNameMatchRequestor, int, IProgressMonitor)}
+	 * @param scope the scope to search in
+	 * @param nameMatchRequestor the {@link TypeNameMatchRequestor requestor} that collects
+	 * 				{@link TypeNameMatch matches} of the search.
+	 * @param waitingPolicy one of
+	 * <ul>
+	 *		<li>{@link IJavaSearchConstants#FORCE_IMMEDIATE_SEARCH} if the search should start immediately</li>
+	 *		<li>{@link IJavaSearchConstants#CANCEL_IF_NOT_READY_TO_SEARCH} if the search should be cancelled if the
+	 *			underlying indexer has not finished indexing the workspace</li>
+	 *		<li>{@link IJavaSearchConstants#WAIT_UNTIL_READY_TO_SEARCH} if the search should wait for the
+	 *			underlying indexer to finish indexing the workspace</li>
+	 * </ul>
+	 * @param maxMatches the maximum number of matches to report, or a number lower than or equal to <code>0</code>
+	 *				to report all matches
+	 * @param progressMonitor the progress monitor to report progress to, or <code>null</code> if no progress
+	 *							monitor is provided
+	 * @exception JavaModelException if the search failed. Reasons include:
+	 *	<ul>
+	 *		<li>the classpath is incorrectly set</li>
+	 *	</ul>
+	 * @since 3.46
+	 */
+	public void searchAllTypeNames(
+		final char[] packageName,
+		final int packageMatchRule,
+		final char[] typeName,
+		final int typeMatchRule,
+		int searchFor,
+		IJavaSearchScope scope,
+		final TypeNameMatchRequestor nameMatchRequestor,
+		int waitingPolicy,
+		int maxMatches,
+		IProgressMonitor progressMonitor)  throws JavaModelException {
+
+		SearchLimit limit = new SearchLimit(maxMatches);
+		TypeNameMatchRequestorWrapper requestorWrapper = new TypeNameMatchRequestorWrapper(limit.limit(nameMatchRequestor), scope);
+		this.basicEngine.searchAllTypeNames(packageName,
+			packageMatchRule,
+			typeName,
+			typeMatchRule,
+			searchFor,
+			scope,
+			true,
+			requestorWrapper,
+			waitingPolicy,
+			limit,
+			progressMonitor);
+	}
+
 	/**
 	 * Searches for all top-level types and member types in the given scope matching any of the given qualifications
 	 * and type names in a case sensitive way.
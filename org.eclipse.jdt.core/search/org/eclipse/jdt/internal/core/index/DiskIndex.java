@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,8 +22,13 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.io.UTFDataFormatException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.regex.Pattern;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -46,14 +51,18 @@ private int headerInfoOffset;
 private int numberOfChunks;
 private int sizeOfLastChunk;
 private int[] chunkOffsets;
-private int documentReferenceSize; // 1, 2 or more bytes... depends on # of document names
 private int startOfCategoryTables;
 private HashtableOfIntValues categoryOffsets, categoryEnds;
+private HashtableOfObject categoryFilters; // category name -> WordFilter of the words of its table
 
 private int cacheUserCount;
 private String[][] cachedChunks; // decompressed chunks of document names
 private HashtableOfObject categoryTables; // category name -> HashtableOfObject(words -> int[] of document #'s) or offset if not read yet
+private HashtableOfObject sortedCategoryWords; // category name -> SortedWords of the table read from the file
 private char[] cachedCategoryName;
+private MemoryIndex changedDocumentsIndex; // the memory index changedDocumentNumbers was computed for
+private int changedDocumentsSize;
+private int[] changedDocumentNumbers; // sorted numbers of the documents added/changed/deleted in changedDocumentsIndex
 
 private static final int DEFAULT_BUFFER_SIZE = 2048;
 private static int BUFFER_READ_SIZE = DEFAULT_BUFFER_SIZE;
@@ -61,21 +70,35 @@ private static final int BUFFER_WRITE_SIZE = DEFAULT_BUFFER_SIZE;
 private byte[] streamBuffer;
 private int bufferIndex, bufferEnd; // used when reading from the file into the streamBuffer
 private int streamEnd; // used when writing data from the streamBuffer to the file
+private ByteBuffer mappedFile; // read-only mapping of the whole index file, null until first needed
 char separator = Index.DEFAULT_SEPARATOR;
 
-public static final String INDEX_VERSION = "1.134"; //$NON-NLS-1$
+public static final String INDEX_VERSION = "1.136"; //$NON-NLS-1$
 public static final String SIGNATURE = "INDEX VERSION " + INDEX_VERSION; //$NON-NLS-1$
 private static final char[] SIGNATURE_CHARS = SIGNATURE.toCharArray();
 public static boolean DEBUG = false;
+/**
+ * Whether queries decode index files straight from a memory mapping instead of reading them through streams.
+ * Off by default on Windows, where a mapped file cannot be deleted or replaced until the mapping is collected.
+ */
+public static boolean MAP_INDEX_FILES = Boolean.parseBoolean(System.getProperty("org.eclipse.jdt.core.index.mapFiles", //$NON-NLS-1$
+		String.valueOf(File.separatorChar == '/')));
 
 private static final int RE_INDEXED = -1;
 private static final int DELETED = -2;
 
 private static final int CHUNK_SIZE = 100;
+private static final int LARGE_ARRAY_SIZE = 256; // document arrays at least this big are written before their category table
 
 private static final SimpleSetOfCharArray INTERNED_CATEGORY_NAMES = new SimpleSetOfCharArray(20);
 private static final String TMP_EXT = ".tmp"; //$NON-NLS-1$
 
+/*
+ * The words of a category table in the order they are stored in the file, i.e. sorted.
+ * Only valid as long as the table is the one cached in categoryTables.
+ */
+private record SortedWords(HashtableOfObject table, char[][] words) {}
+
 static class IntList {
 
 int size;
@@ -106,13 +129,14 @@ DiskIndex() {
 	this.numberOfChunks = -1;
 	this.sizeOfLastChunk = -1;
 	this.chunkOffsets = null;
-	this.documentReferenceSize = -1;
 	this.cacheUserCount = -1;
 	this.cachedChunks = null;
 	this.categoryTables = null;
+	this.sortedCategoryWords = null;
 	this.cachedCategoryName = null;
 	this.categoryOffsets = null;
 	this.categoryEnds = null;
+	this.categoryFilters = null;
 }
 DiskIndex(IndexLocation location) throws IOException {
 	this();
@@ -121,6 +145,9 @@ DiskIndex(IndexLocation location) throws IOException {
 	}
 	this.indexLocation = location;
 }
+boolean hasDocuments() {
+	return this.headerInfoOffset > 0;
+}
 SimpleSet addDocumentNames(String substring, MemoryIndex memoryIndex) throws IOException {
 	// must skip over documents which have been added/changed/deleted in the memory index
 	String[] docNames = readAllDocumentNames();
@@ -162,9 +189,17 @@ private HashtableOfObject addQueryResult(HashtableOfObject results, char[] word,
 		else
 			result.addDocumentTable(docs);
 	} else {
+		int[] docNumbers = readDocumentNumbers(docs);
+		if (!containsAny(docNumbers, getChangedDocumentNumbers(memoryIndex))) {
+			// none of the documents was changed, their names can be read later if needed
+			if (result == null)
+				results.put(word, new EntryResult(word, docs));
+			else
+				result.addDocumentTable(docs);
+			return results;
+		}
 		SimpleLookupTable docsToRefs = memoryIndex.docsToReferences;
 		if (result == null) result = new EntryResult(word, null);
-		int[] docNumbers = readDocumentNumbers(docs);
 		for (int docNumber : docNumbers) {
 			String docName = readDocumentName(docNumber);
 			if (!docsToRefs.containsKey(docName))
@@ -175,6 +210,50 @@ private HashtableOfObject addQueryResult(HashtableOfObject results, char[] word,
 	}
 	return results;
 }
+private static boolean containsAny(int[] docNumbers, int[] sortedNumbers) {
+	if (sortedNumbers.length == 0) return false;
+	for (int docNumber : docNumbers)
+		if (Arrays.binarySearch(sortedNumbers, docNumber) >= 0)
+			return true;
+	return false;
+}
+/*
+ * Answers the sorted numbers of the documents of this index which were added, changed or deleted in the memory index.
+ * Since the document names are sorted, each one is found with a binary search.
+ */
+private synchronized int[] getChangedDocumentNumbers(MemoryIndex memoryIndex) throws IOException {
+	SimpleLookupTable docsToRefs = memoryIndex.docsToReferences;
+	// documents are never removed from the table, so its size tells whether it changed
+	if (memoryIndex == this.changedDocumentsIndex && docsToRefs.elementSize == this.changedDocumentsSize)
+		return this.changedDocumentNumbers;
+
+	int numberOfDocuments = this.numberOfChunks <= 0 ? 0 : (this.numberOfChunks - 1) * CHUNK_SIZE + this.sizeOfLastChunk;
+	int[] numbers = new int[docsToRefs.elementSize];
+	int count = 0;
+	for (Object docName : docsToRefs.keyTable) {
+		if (docName == null) continue;
+		int low = 0, high = numberOfDocuments - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int comparison = readDocumentName(mid).compareTo((String) docName);
+			if (comparison < 0) {
+				low = mid + 1;
+			} else if (comparison > 0) {
+				high = mid - 1;
+			} else {
+				numbers[count++] = mid;
+				break;
+			}
+		}
+	}
+	if (count < numbers.length)
+		System.arraycopy(numbers, 0, numbers = new int[count], 0, count);
+	Arrays.sort(numbers);
+	this.changedDocumentsIndex = memoryIndex;
+	this.changedDocumentsSize = docsToRefs.elementSize;
+	this.changedDocumentNumbers = numbers;
+	return numbers;
+}
 HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule, MemoryIndex memoryIndex) throws IOException {
 	// assumes sender has called startQuery() & will call stopQuery() when finished
 	if (this.categoryOffsets == null) return null; // file is empty
@@ -204,17 +283,37 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 		switch (matchRule) {
 			case SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE:
 				for (char[] category : categories) {
+					WordFilter filter = getFilter(category);
+					if (filter != null && !filter.check(key, key.length))
+						continue; // the table does not contain the key
 					HashtableOfObject wordsToDocNumbers = readCategoryTable(category, false);
 					Object value;
 					if (wordsToDocNumbers != null && (value = wordsToDocNumbers.get(key)) != null)
 						results = addQueryResult(results, key, value, memoryIndex, prevResults);
+					else if (filter != null)
+						WordFilter.recordFalsePositive();
 					prevResults = results != null;
 				}
 				break;
 			case SearchPattern.R_PREFIX_MATCH | SearchPattern.R_CASE_SENSITIVE:
+				int probeLength = WordFilter.probeLength(key, false);
 				for (char[] category : categories) {
+					WordFilter filter = probeLength < 0 ? null : getFilter(category);
+					if (filter != null && !filter.check(key, probeLength))
+						continue; // no word of the table starts with the first segment of the key
 					HashtableOfObject wordsToDocNumbers = readCategoryTable(category, false);
-					if (wordsToDocNumbers != null) {
+					char[][] sortedWords = getSortedWords(category, wordsToDocNumbers);
+					if (filter != null)
+						checkFalsePositive(sortedWords, key, probeLength);
+					if (sortedWords != null) {
+						// sorted words starting with the key are contiguous
+						for (int j = indexOfFirstWord(sortedWords, key), m = sortedWords.length; j < m; j++) {
+							char[] word = sortedWords[j];
+							if (!CharOperation.prefixEquals(key, word))
+								break;
+							results = addQueryResult(results, word, wordsToDocNumbers.get(word), memoryIndex, prevResults);
+						}
+					} else if (wordsToDocNumbers != null) {
 						char[][] words = wordsToDocNumbers.keyTable;
 						Object[] values = wordsToDocNumbers.valueTable;
 						for (int j = 0, m = words.length; j < m; j++) {
@@ -243,9 +342,26 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 				}
 				break;
 			default:
+				char[] requiredPrefix = getRequiredPrefix(key, matchRule);
+				int requiredProbeLength = WordFilter.probeLength(requiredPrefix, false);
 				for (char[] category : categories) {
+					WordFilter filter = requiredProbeLength < 0 ? null : getFilter(category);
+					if (filter != null && !filter.check(requiredPrefix, requiredProbeLength))
+						continue; // no word of the table starts with the first segment of the required prefix
 					HashtableOfObject wordsToDocNumbers = readCategoryTable(category, false);
-					if (wordsToDocNumbers != null) {
+					char[][] sortedWords = requiredPrefix == null ? null : getSortedWords(category, wordsToDocNumbers);
+					if (filter != null)
+						checkFalsePositive(sortedWords, requiredPrefix, requiredProbeLength);
+					if (sortedWords != null) {
+						// only the range of words starting with the required prefix can match
+						for (int j = indexOfFirstWord(sortedWords, requiredPrefix), m = sortedWords.length; j < m; j++) {
+							char[] word = sortedWords[j];
+							if (!CharOperation.prefixEquals(requiredPrefix, word))
+								break;
+							if (Index.isMatch(key, word, matchRule))
+								results = addQueryResult(results, word, wordsToDocNumbers.get(word), memoryIndex, prevResults);
+						}
+					} else if (wordsToDocNumbers != null) {
 						char[][] words = wordsToDocNumbers.keyTable;
 						Object[] values = wordsToDocNumbers.valueTable;
 						for (int j = 0, m = words.length; j < m; j++) {
@@ -261,9 +377,80 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 
 	return results;
 }
+/*
+ * Answers the case sensitive prefix every word matching key with the given rule must start with,
+ * or null if the rule does not imply one.
+ */
+private static char[] getRequiredPrefix(char[] key, int matchRule) {
+	switch (matchRule) {
+		case SearchPattern.R_PATTERN_MATCH | SearchPattern.R_CASE_SENSITIVE:
+			int length = 0;
+			while (length < key.length && key[length] != '*' && key[length] != '?')
+				length++;
+			return length == 0 ? null : CharOperation.subarray(key, 0, length);
+		case SearchPattern.R_CAMELCASE_MATCH | SearchPattern.R_CASE_SENSITIVE:
+		case SearchPattern.R_CAMELCASE_SAME_PART_COUNT_MATCH | SearchPattern.R_CASE_SENSITIVE:
+			// see Index.isMatch(), the first characters must be equal
+			return key.length == 0 ? null : new char[] {key[0]};
+	}
+	return null;
+}
+/*
+ * Answers the filter of the words of the given category, or null if there is none.
+ */
+private WordFilter getFilter(char[] categoryName) {
+	HashtableOfObject filters = this.categoryFilters;
+	return filters == null ? null : (WordFilter) filters.get(categoryName);
+}
+/*
+ * Records a false positive of a filter check if no word of the table starts with the checked segment of prefix.
+ */
+private static void checkFalsePositive(char[][] sortedWords, char[] prefix, int probeLength) {
+	if (sortedWords == null) return; // cannot tell cheaply
+	char[] segment = CharOperation.subarray(prefix, 0, probeLength);
+	int index = indexOfFirstWord(sortedWords, segment);
+	if (index == sortedWords.length || !CharOperation.prefixEquals(segment, sortedWords[index]))
+		WordFilter.recordFalsePositive();
+}
+private synchronized char[][] getSortedWords(char[] categoryName, HashtableOfObject wordsToDocNumbers) {
+	if (wordsToDocNumbers == null || this.sortedCategoryWords == null) return null;
+	SortedWords sortedWords = (SortedWords) this.sortedCategoryWords.get(categoryName);
+	return sortedWords != null && sortedWords.table() == wordsToDocNumbers ? sortedWords.words() : null;
+}
+/*
+ * Binary search for the index of the first word which is greater than or equal to key.
+ */
+private static int indexOfFirstWord(char[][] sortedWords, char[] key) {
+	int low = 0, high = sortedWords.length;
+	while (low < high) {
+		int mid = (low + high) >>> 1;
+		if (CharOperation.compareTo(sortedWords[mid], key) < 0)
+			low = mid + 1;
+		else
+			high = mid;
+	}
+	return low;
+}
 private synchronized void cacheDocumentNames() throws IOException {
 	// will need all document names so get them now
 	this.cachedChunks = new String[this.numberOfChunks][];
+	ByteBuffer mapped = getMappedFile();
+	if (mapped != null) {
+		try {
+			mapped.position(this.chunkOffsets[0]);
+			for (int i = 0; i < this.numberOfChunks; i++) {
+				int size = i == this.numberOfChunks - 1 ? this.sizeOfLastChunk : CHUNK_SIZE;
+				readMappedChunk(this.cachedChunks[i] = new String[size], mapped, 0, size);
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			this.cachedChunks = null;
+			throw corruptedMapping(e);
+		} catch (IOException e) {
+			this.cachedChunks = null;
+			throw e;
+		}
+		return;
+	}
 	try (InputStream stream = this.indexLocation.getInputStream()) {
 		if (this.numberOfChunks > 5) BUFFER_READ_SIZE <<= 1;
 		int offset = this.chunkOffsets[0];
@@ -315,16 +502,15 @@ private String[] computeDocumentNames(String[] onDiskNames, int[] positions, Sim
 	nextPath : for (int i = 0, l = docNames.length; i < l; i++) {
 		String docName = (String) docNames[i];
 		if (docName != null) {
-			for (int j = 0; j < onDiskLength; j++) {
-				if (docName.equals(onDiskNames[j])) {
-					if (referenceTables[i] == null) {
-						positions[j] = DELETED;
-						numDeletedDocNames++;
-					} else {
-						positions[j] = RE_INDEXED;
-					}
-					continue nextPath;
+			int j = Arrays.binarySearch(onDiskNames, docName); // the names are sorted, see writeAllDocumentNames()
+			if (j >= 0) {
+				if (referenceTables[i] == null) {
+					positions[j] = DELETED;
+					numDeletedDocNames++;
+				} else {
+					positions[j] = RE_INDEXED;
 				}
+				continue nextPath;
 			}
 			if (referenceTables[i] != null)
 				indexedDocuments.put(docName, null); // remember each new document, skip deleted documents which were never saved
@@ -464,6 +650,7 @@ private void initializeFrom(DiskIndex diskIndex, File newIndexFile) throws IOExc
 	int size = diskIndex.categoryOffsets == null ? 8 : diskIndex.categoryOffsets.elementSize;
 	this.categoryOffsets = new HashtableOfIntValues(size);
 	this.categoryEnds = new HashtableOfIntValues(size);
+	this.categoryFilters = new HashtableOfObject(size);
 	this.categoryTables = new HashtableOfObject(size);
 	this.separator = diskIndex.separator;
 }
@@ -630,6 +817,19 @@ private synchronized String[] readAllDocumentNames() throws IOException {
 		return CharOperation.NO_STRINGS;
 
 	try {
+		ByteBuffer mapped = getMappedFile();
+		if (mapped != null) {
+			try {
+				mapped.position(this.chunkOffsets[0]);
+				int lastIndex = this.numberOfChunks - 1;
+				String[] docNames = new String[lastIndex * CHUNK_SIZE + this.sizeOfLastChunk];
+				for (int i = 0; i < this.numberOfChunks; i++)
+					readMappedChunk(docNames, mapped, i * CHUNK_SIZE, i < lastIndex ? CHUNK_SIZE : this.sizeOfLastChunk);
+				return docNames;
+			} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+				throw corruptedMapping(e);
+			}
+		}
 		try (InputStream stream = this.indexLocation.getInputStream();) {
 			int offset = this.chunkOffsets[0];
 			stream.skip(offset);
@@ -675,7 +875,23 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 		}
 	}
 
+	if (this.sortedCategoryWords == null)
+		this.sortedCategoryWords = new HashtableOfObject(3);
 	HashtableOfObject categoryTable = null;
+	ByteBuffer mapped = getMappedFile();
+	if (mapped != null) {
+		try {
+			SortedWords sortedWords = readMappedCategoryTable(mapped, offset, readDocNumbers);
+			categoryTable = sortedWords.table();
+			this.categoryTables.put(INTERNED_CATEGORY_NAMES.get(categoryName), categoryTable);
+			this.sortedCategoryWords.put(INTERNED_CATEGORY_NAMES.get(categoryName), sortedWords);
+			this.cachedCategoryName = categoryTable.elementSize < 20000 ? categoryName : null;
+		} catch (UTFDataFormatException ue) {
+			ILog.get().warn("Java Index broken - will be automatically deleted to repair: " + this.indexLocation, ue); //$NON-NLS-1$
+			this.indexLocation.delete();
+		}
+		return categoryTable;
+	}
 	char[][] matchingWords = null;
 	int count = 0;
 	int firstOffset = -1;
@@ -695,20 +911,16 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 				ue.initCause(e);
 				throw ue;
 			}
-			int largeArraySize = 256;
+			char[][] sortedWords = new char[size][];
+			char[] word = CharOperation.NO_CHAR;
 			for (int i = 0; i < size; i++) {
-				char[] word = readStreamChars(stream);
-				int arrayOffset = readStreamInt(stream);
-				// if arrayOffset is:
-				//		<= 0 then the array size == 1 with the value -> -arrayOffset
-				//		> 1 & < 256 then the size of the array is > 1 & < 256, the document array follows immediately
-				//		256 if the array size >= 256 followed by another int which is the offset to the array (written prior to the table)
-				if (arrayOffset <= 0) {
-					categoryTable.putUnsafely(word, new int[] {-arrayOffset}); // store 1 element array by negating documentNumber
-				} else if (arrayOffset < largeArraySize) {
-					categoryTable.putUnsafely(word, readStreamDocumentArray(stream, arrayOffset)); // read in-lined array providing size
+				// see writeCategoryTable() for the format of the entries
+				sortedWords[i] = word = expandWord(word, readStreamVarInt(stream), readStreamChars(stream));
+				int arraySize = readStreamVarInt(stream);
+				if (arraySize < LARGE_ARRAY_SIZE) {
+					categoryTable.putUnsafely(word, readStreamDocumentArray(stream, arraySize)); // read in-lined array providing size
 				} else {
-					arrayOffset = readStreamInt(stream); // read actual offset
+					int arrayOffset = readStreamVarInt(stream); // offset to the array
 					if (readDocNumbers) {
 						if (matchingWords == null)
 							matchingWords = new char[size][];
@@ -720,6 +932,7 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 				}
 			}
 			this.categoryTables.put(INTERNED_CATEGORY_NAMES.get(categoryName), categoryTable);
+			this.sortedCategoryWords.put(INTERNED_CATEGORY_NAMES.get(categoryName), new SortedWords(categoryTable, sortedWords));
 			// cache the table as long as its not too big
 			// in practice, some tables can be greater than 500K when they contain more than 10K elements
 			this.cachedCategoryName = categoryTable.elementSize < 20000 ? categoryName : null;
@@ -742,7 +955,7 @@ private synchronized HashtableOfObject readCategoryTable(char[] categoryName, bo
 			this.bufferIndex = 0;
 			this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
 			for (int i = 0; i < count; i++) { // each array follows the previous one
-				categoryTable.put(matchingWords[i], readStreamDocumentArray(stream, readStreamInt(stream)));
+				categoryTable.put(matchingWords[i], readStreamDocumentArray(stream, readStreamVarInt(stream)));
 			}
 		} catch (IOException ioe) {
 			this.streamBuffer = null;
@@ -766,22 +979,51 @@ private void readChunk(String[] docNames, InputStream stream, int index, int siz
 		}
 		int start = this.streamBuffer[this.bufferIndex++] & 0xFF;
 		int end = this.streamBuffer[this.bufferIndex++] & 0xFF;
-		String next  = new String(readStreamChars(stream));
-		if (start > 0) {
-			if (end > 0) {
-				int length = current.length();
-				next = current.substring(0, start) + next + current.substring(length - end, length);
-			} else {
-				next = current.substring(0, start) + next;
-			}
-		} else if (end > 0) {
-			int length = current.length();
-			next = next + current.substring(length - end, length);
-		}
+		String next = expandDocumentName(current, start, end, new String(readStreamChars(stream)));
+		docNames[index++] = next;
+		current = next;
+	}
+}
+private void readMappedChunk(String[] docNames, ByteBuffer mapped, int index, int size) throws IOException {
+	String current = new String(readMappedChars(mapped));
+	docNames[index++] = current;
+	for (int i = 1; i < size; i++) {
+		int start = mapped.get() & 0xFF;
+		int end = mapped.get() & 0xFF;
+		String next = expandDocumentName(current, start, end, new String(readMappedChars(mapped)));
 		docNames[index++] = next;
 		current = next;
 	}
 }
+/*
+ * Category table words are written as the length of the prefix shared with the previous word followed by the remaining chars.
+ */
+private char[] expandWord(char[] previous, int shared, char[] suffix) throws UTFDataFormatException {
+	if (shared == 0) return suffix;
+	if (shared > previous.length)
+		throw new UTFDataFormatException("Failed to read index data from " + this.indexLocation); //$NON-NLS-1$
+	char[] word = new char[shared + suffix.length];
+	System.arraycopy(previous, 0, word, 0, shared);
+	System.arraycopy(suffix, 0, word, shared, suffix.length);
+	return word;
+}
+/*
+ * Document names are written as the part that differs from the previous name,
+ * see writeAllDocumentNames(): start and end are the lengths of the shared prefix and suffix.
+ */
+private static String expandDocumentName(String previous, int start, int end, String next) {
+	if (start > 0) {
+		if (end > 0) {
+			int length = previous.length();
+			return previous.substring(0, start) + next + previous.substring(length - end, length);
+		}
+		return previous.substring(0, start) + next;
+	} else if (end > 0) {
+		int length = previous.length();
+		return next + previous.substring(length - end, length);
+	}
+	return next;
+}
 synchronized String readDocumentName(int docNumber) throws IOException {
 	if (this.cachedChunks == null)
 		this.cachedChunks = new String[this.numberOfChunks][];
@@ -794,6 +1036,18 @@ synchronized String readDocumentName(int docNumber) throws IOException {
 		int numberOfBytes = (isLastChunk ? this.startOfCategoryTables : this.chunkOffsets[chunkNumber + 1]) - start;
 		if (numberOfBytes < 0)
 			throw new IllegalArgumentException();
+		int numberOfNames = isLastChunk ? this.sizeOfLastChunk : CHUNK_SIZE;
+		ByteBuffer mapped = getMappedFile();
+		if (mapped != null) {
+			chunk = new String[numberOfNames];
+			try {
+				readMappedChunk(chunk, mapped.position(start), 0, numberOfNames);
+			} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+				throw corruptedMapping(e);
+			}
+			this.cachedChunks[chunkNumber] = chunk;
+			return chunk[docNumber - (chunkNumber * CHUNK_SIZE)];
+		}
 		this.streamBuffer = new byte[numberOfBytes];
 		this.bufferIndex = 0;
 		InputStream file = this.indexLocation.getInputStream();
@@ -807,7 +1061,6 @@ synchronized String readDocumentName(int docNumber) throws IOException {
 		} finally {
 			this.indexLocation.close();
 		}
-		int numberOfNames = isLastChunk ? this.sizeOfLastChunk : CHUNK_SIZE;
 		chunk = new String[numberOfNames];
 		try {
 			readChunk(chunk, null, 0, numberOfNames);
@@ -825,6 +1078,15 @@ synchronized int[] readDocumentNumbers(Object arrayOffset) throws IOException {
 	if (arrayOffset instanceof int[])
 		return (int[]) arrayOffset;
 
+	ByteBuffer mapped = getMappedFile();
+	if (mapped != null) {
+		try {
+			mapped.position(((Integer) arrayOffset).intValue());
+			return readMappedDocumentArray(mapped, readMappedVarInt(mapped));
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+			throw corruptedMapping(e);
+		}
+	}
 	InputStream stream = this.indexLocation.getInputStream();
 	try (stream) {
 		int offset = ((Integer) arrayOffset).intValue();
@@ -832,18 +1094,135 @@ synchronized int[] readDocumentNumbers(Object arrayOffset) throws IOException {
 		this.streamBuffer = new byte[BUFFER_READ_SIZE];
 		this.bufferIndex = 0;
 		this.bufferEnd = stream.read(this.streamBuffer, 0, this.streamBuffer.length);
-		return readStreamDocumentArray(stream, readStreamInt(stream));
+		return readStreamDocumentArray(stream, readStreamVarInt(stream));
 	} finally {
 		this.indexLocation.close();
 		this.streamBuffer = null;
 	}
 }
+/*
+ * Answers a buffer over the whole index file positioned at 0, mapping the file on first use,
+ * or null if the index has to be read through streams.
+ * All callers are synchronized, and each gets its own view so the shared mapping keeps its position.
+ */
+private ByteBuffer getMappedFile() {
+	if (this.mappedFile == null) {
+		if (!MAP_INDEX_FILES || !(this.indexLocation instanceof FileIndexLocation)) return null;
+		try (FileChannel channel = FileChannel.open(this.indexLocation.getIndexFile().toPath(), StandardOpenOption.READ)) {
+			this.mappedFile = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException | IllegalArgumentException | UnsupportedOperationException e) {
+			// files larger than 2GB or file systems that cannot map: fall back to streams
+			if (DEBUG)
+				System.out.println("Failed to map index file " + this.indexLocation + ": " + e); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+	}
+	return this.mappedFile.duplicate();
+}
+private UTFDataFormatException corruptedMapping(RuntimeException e) {
+	UTFDataFormatException ue = new UTFDataFormatException("Failed to read index data from " + this.indexLocation); //$NON-NLS-1$
+	ue.initCause(e);
+	return ue;
+}
+/*
+ * Same as the stream based part of readCategoryTable(), decoding the table straight from the mapped file.
+ * Large document arrays are read in place since their offsets can be reached directly.
+ */
+private SortedWords readMappedCategoryTable(ByteBuffer mapped, int offset, boolean readDocNumbers) throws IOException {
+	try {
+		mapped.position(offset);
+		int size = mapped.getInt();
+		if (size < 0 || size > mapped.remaining()) {
+			throw new UTFDataFormatException("Failed to read index data from " + this.indexLocation + " at offset " + offset //$NON-NLS-1$ //$NON-NLS-2$
+					+ " and size " + size); //$NON-NLS-1$
+		}
+		HashtableOfObject categoryTable = new HashtableOfObject(size);
+		char[][] sortedWords = new char[size][];
+		char[] word = CharOperation.NO_CHAR;
+		for (int i = 0; i < size; i++) {
+			sortedWords[i] = word = expandWord(word, readMappedVarInt(mapped), readMappedChars(mapped));
+			int arraySize = readMappedVarInt(mapped);
+			if (arraySize < LARGE_ARRAY_SIZE) {
+				categoryTable.putUnsafely(word, readMappedDocumentArray(mapped, arraySize));
+			} else {
+				int arrayOffset = readMappedVarInt(mapped);
+				if (readDocNumbers) {
+					int position = mapped.position();
+					mapped.position(arrayOffset);
+					categoryTable.putUnsafely(word, readMappedDocumentArray(mapped, readMappedVarInt(mapped)));
+					mapped.position(position);
+				} else {
+					categoryTable.putUnsafely(word, Integer.valueOf(arrayOffset));
+				}
+			}
+		}
+		return new SortedWords(categoryTable, sortedWords);
+	} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+		throw corruptedMapping(e);
+	}
+}
+/*
+ * Same decoding as readStreamChars(InputStream).
+ */
+private static char[] readMappedChars(ByteBuffer mapped) throws UTFDataFormatException {
+	int length = mapped.getShort() & 0xFFFF;
+	char[] word = new char[length];
+	int i = 0;
+	while (i < length) {
+		byte b = mapped.get();
+		if (b >= 0) { // typical case of pure ASCII chars
+			word[i++] = (char) b;
+			continue;
+		}
+		switch (b & 0xF0) {
+			case 0xC0 :
+			case 0xD0 :
+				char next = (char) mapped.get();
+				if ((next & 0xC0) != 0x80) {
+					throw new UTFDataFormatException();
+				}
+				char ch = (char) ((b & 0x1F) << 6);
+				ch |= next & 0x3F;
+				word[i++] = ch;
+				break;
+			case 0xE0 :
+				char first = (char) mapped.get();
+				char second = (char) mapped.get();
+				if ((first & second & 0xC0) != 0x80) {
+					throw new UTFDataFormatException();
+				}
+				ch = (char) ((b & 0x0F) << 12);
+				ch |= ((first& 0x3F) << 6);
+				ch |= second & 0x3F;
+				word[i++] = ch;
+				break;
+			default:
+				throw new UTFDataFormatException();
+		}
+	}
+	return word;
+}
+private static int[] readMappedDocumentArray(ByteBuffer mapped, int arraySize) {
+	int[] indexes = new int[arraySize];
+	int documentNumber = 0;
+	for (int i = 0; i < arraySize; i++)
+		indexes[i] = documentNumber += readMappedVarInt(mapped); // delta to the previous document number
+	return indexes;
+}
+private static int readMappedVarInt(ByteBuffer mapped) {
+	int b = mapped.get();
+	int value = b & 0x7F;
+	for (int shift = 7; b < 0; shift += 7) {
+		b = mapped.get();
+		value |= (b & 0x7F) << shift;
+	}
+	return value;
+}
 private void readHeaderInfo(InputStream stream) throws IOException {
 
 	// must be same order as writeHeaderInfo()
 	this.numberOfChunks = readStreamInt(stream);
 	this.sizeOfLastChunk = this.streamBuffer[this.bufferIndex++] & 0xFF;
-	this.documentReferenceSize = this.streamBuffer[this.bufferIndex++] & 0xFF;
 	this.separator = (char) (this.streamBuffer[this.bufferIndex++] & 0xFF);
 	long length = this.indexLocation.length();
 	if (length != -1 && this.numberOfChunks > length) {
@@ -861,6 +1240,7 @@ private void readHeaderInfo(InputStream stream) throws IOException {
 	int size = readStreamInt(stream);
 	this.categoryOffsets = new HashtableOfIntValues(size);
 	this.categoryEnds = new HashtableOfIntValues(size);
+	HashtableOfObject filters = new HashtableOfObject(size);
 	if (length != -1 && size > length) {
 		//  not an accurate check, but good enough  https://bugs.eclipse.org/bugs/show_bug.cgi?id=350612
 		if (DEBUG)
@@ -873,6 +1253,18 @@ private void readHeaderInfo(InputStream stream) throws IOException {
 		char[] categoryName = INTERNED_CATEGORY_NAMES.get(readStreamChars(stream));
 		offset = readStreamInt(stream);
 		this.categoryOffsets.put(categoryName, offset); // cache offset to category table
+		int filterLength = readStreamInt(stream);
+		if (filterLength < -1 || (length != -1 && filterLength * 8L > length)) {
+			if (DEBUG)
+				System.out.println("Index file is corrupted " + this.indexLocation); //$NON-NLS-1$
+			throw new IOException("Index file is corrupted " + this.indexLocation); //$NON-NLS-1$
+		}
+		if (filterLength >= 0) { // -1 if the category has no filter
+			long[] bits = new long[filterLength];
+			for (int j = 0; j < filterLength; j++)
+				bits[j] = ((long) readStreamInt(stream) << 32) | (readStreamInt(stream) & 0xFFFFFFFFL);
+			filters.put(categoryName, filterLength == 0 ? WordFilter.EMPTY : new WordFilter(bits));
+		}
 		if (previousCategory != null) {
 			this.categoryEnds.put(previousCategory, offset); // cache end of the category table
 		}
@@ -881,7 +1273,9 @@ private void readHeaderInfo(InputStream stream) throws IOException {
 	if (previousCategory != null) {
 		this.categoryEnds.put(previousCategory, this.headerInfoOffset); // cache end of the category table
 	}
+	this.categoryFilters = filters;
 	this.categoryTables = new HashtableOfObject(3);
+	this.sortedCategoryWords = new HashtableOfObject(3);
 }
 synchronized void startQuery() {
 	this.cacheUserCount++;
@@ -894,10 +1288,16 @@ synchronized void stopQuery() {
 		if (this.categoryTables != null) {
 			if (this.cachedCategoryName == null) {
 				this.categoryTables = null;
+				this.sortedCategoryWords = null;
 			} else if (this.categoryTables.elementSize > 1) {
 				HashtableOfObject newTables = new HashtableOfObject(3);
 				newTables.put(this.cachedCategoryName, this.categoryTables.get(this.cachedCategoryName));
 				this.categoryTables = newTables;
+				if (this.sortedCategoryWords != null) {
+					HashtableOfObject newWords = new HashtableOfObject(3);
+					newWords.put(this.cachedCategoryName, this.sortedCategoryWords.get(this.cachedCategoryName));
+					this.sortedCategoryWords = newWords;
+				}
 			}
 		}
 	}
@@ -1004,45 +1404,26 @@ private char[] readStreamChars(InputStream stream) throws IOException {
 }
 private int[] readStreamDocumentArray(InputStream stream, int arraySize) throws IOException {
 	int[] indexes = new int[arraySize];
-	if (arraySize == 0) return indexes;
-
-	int i = 0;
-	switch (this.documentReferenceSize) {
-		case 1 :
-			while (i < arraySize) {
-				// how many bytes without refilling the buffer?
-				int bytesInBuffer = i + this.bufferEnd - this.bufferIndex;
-				if (bytesInBuffer > arraySize)
-					bytesInBuffer = arraySize;
-				while (i < bytesInBuffer) {
-					indexes[i++] = this.streamBuffer[this.bufferIndex++] & 0xFF;
-				}
-				if (i < arraySize && stream != null)
-					readStreamBuffer(stream);
-			}
-			break;
-		case 2 :
-			while (i < arraySize) {
-				// how many shorts without refilling the buffer?
-				int shortsInBuffer = i + ((this.bufferEnd - this.bufferIndex) / 2);
-				if (shortsInBuffer > arraySize)
-					shortsInBuffer = arraySize;
-				while (i < shortsInBuffer) {
-					int val = (this.streamBuffer[this.bufferIndex++] & 0xFF) << 8;
-					indexes[i++] = val + (this.streamBuffer[this.bufferIndex++] & 0xFF);
-				}
-				if (i < arraySize && stream != null)
-					readStreamBuffer(stream);
-			}
-			break;
-		default :
-			while (i < arraySize) {
-				indexes[i++] = readStreamInt(stream);
-			}
-			break;
-	}
+	int documentNumber = 0;
+	for (int i = 0; i < arraySize; i++)
+		indexes[i] = documentNumber += readStreamVarInt(stream); // delta to the previous document number
 	return indexes;
 }
+/*
+ * Reads an unsigned int written by writeStreamVarInt(), 7 bits per byte, low bits first.
+ */
+private int readStreamVarInt(InputStream stream) throws IOException {
+	if (this.bufferIndex + 5 >= this.bufferEnd) {
+		readStreamBuffer(stream);
+	}
+	int b = this.streamBuffer[this.bufferIndex++];
+	int value = b & 0x7F;
+	for (int shift = 7; b < 0; shift += 7) {
+		b = this.streamBuffer[this.bufferIndex++];
+		value |= (b & 0x7F) << shift;
+	}
+	return value;
+}
 private int readStreamInt(InputStream stream) throws IOException {
 	if (this.bufferIndex + 4 >= this.bufferEnd) {
 		readStreamBuffer(stream);
@@ -1073,7 +1454,6 @@ private void writeAllDocumentNames(String[] sortedDocNames, OutputStream stream)
 		this.numberOfChunks--;
 		this.sizeOfLastChunk = CHUNK_SIZE;
 	}
-	this.documentReferenceSize = size <= 0x7F ? 1 : (size <= 0x7FFF ? 2 : 4); // number of bytes used to encode a reference
 
 	this.chunkOffsets = new int[this.numberOfChunks];
 	int lastIndex = this.numberOfChunks - 1;
@@ -1130,103 +1510,79 @@ private void writeCategoryTable(char[] categoryName, HashtableOfObject wordsToDo
 	// the format of a category table is as follows:
 	// any document number arrays with >= 256 elements are written before the table (the offset to each array is remembered)
 	// then the number of word->int[] pairs in the table is written
-	// for each word -> int[] pair, the word is written followed by:
-	//		an int <= 0 if the array size == 1
-	//		an int > 1 & < 256 for the size of the array if its > 1 & < 256, the document array follows immediately
-	//		256 if the array size >= 256 followed by another int which is the offset to the array (written prior to the table)
+	// the pairs follow sorted by word so prefix queries can be answered by a range of the words,
+	// each word is front coded as the varint length of the prefix shared with the previous word & the remaining chars,
+	// followed by the varint size of its document array and:
+	//		the document array itself if the size is < 256
+	//		the varint offset to the array (written prior to the table) otherwise
+	// document arrays are written as sorted document numbers, each one as a varint delta to the previous one
 
-	int largeArraySize = 256;
+	char[][] words = new char[wordsToDocs.elementSize][];
+	int count = 0;
+	char[][] keys = wordsToDocs.keyTable;
 	Object[] values = wordsToDocs.valueTable;
 	for (int i = 0, l = values.length; i < l; i++) {
 		Object o = values[i];
 		if (o != null) {
 			if (o instanceof IntList)
-				o = values[i] = ((IntList) values[i]).asArray();
-			int[] documentNumbers = (int[]) o;
-			if (documentNumbers.length >= largeArraySize) {
-				values[i] = Integer.valueOf(this.streamEnd);
-				writeDocumentNumbers(documentNumbers, stream);
-			}
+				values[i] = ((IntList) values[i]).asArray();
+			words[count++] = keys[i];
+		}
+	}
+	if (count < words.length)
+		System.arraycopy(words, 0, words = new char[count][], 0, count);
+	Arrays.sort(words, CharOperation::compareTo);
+
+	int[] largeArrayOffsets = new int[count];
+	for (int i = 0; i < count; i++) { // in the same order as the table, see readCategoryTable()
+		int[] documentNumbers = (int[]) wordsToDocs.get(words[i]);
+		if (documentNumbers.length >= LARGE_ARRAY_SIZE) {
+			largeArrayOffsets[i] = this.streamEnd;
+			writeStreamVarInt(stream, documentNumbers.length);
+			writeDocumentNumbers(documentNumbers, stream);
 		}
 	}
 
 	this.categoryOffsets.put(categoryName, this.streamEnd); // remember the offset to the start of the table
+	this.categoryFilters.put(categoryName, WordFilter.create(words, count)); // written with the offset, see writeHeaderInfo()
 	this.categoryTables.put(categoryName, null); // flush cached table
-	writeStreamInt(stream, wordsToDocs.elementSize);
-	char[][] words = wordsToDocs.keyTable;
-	for (int i = 0, l = words.length; i < l; i++) {
-		Object o = values[i];
-		if (o != null) {
-			writeStreamChars(stream, words[i]);
-			if (o instanceof int[]) {
-				int[] documentNumbers = (int[]) o;
-				if (documentNumbers.length == 1)
-					writeStreamInt(stream, -documentNumbers[0]); // store an array of 1 element by negating the documentNumber (can be zero)
-				else
-					writeDocumentNumbers(documentNumbers, stream);
-			} else {
-				writeStreamInt(stream, largeArraySize); // mark to identify that an offset follows
-				writeStreamInt(stream, ((Integer) o).intValue()); // offset in the file of the array of document numbers
-			}
-		}
+	writeStreamInt(stream, count);
+	char[] previous = CharOperation.NO_CHAR;
+	for (int i = 0; i < count; i++) {
+		char[] word = words[i];
+		int shared = 0;
+		int max = Math.min(previous.length, word.length);
+		while (shared < max && previous[shared] == word[shared])
+			shared++;
+		writeStreamVarInt(stream, shared);
+		writeStreamChars(stream, shared == 0 ? word : CharOperation.subarray(word, shared, word.length));
+		previous = word;
+
+		int[] documentNumbers = (int[]) wordsToDocs.get(word);
+		writeStreamVarInt(stream, documentNumbers.length);
+		if (documentNumbers.length < LARGE_ARRAY_SIZE)
+			writeDocumentNumbers(documentNumbers, stream);
+		else
+			writeStreamVarInt(stream, largeArrayOffsets[i]); // offset in the file of the array of document numbers
 	}
 }
 private void writeDocumentNumbers(int[] documentNumbers, OutputStream stream) throws IOException {
-	// must store length as a positive int to detect in-lined array of 1 element
-	int length = documentNumbers.length;
-	writeStreamInt(stream, length);
 	Util.sort(documentNumbers);
-	int start = 0;
-	switch (this.documentReferenceSize) {
-		case 1 :
-			while ((this.bufferIndex + length - start) >= BUFFER_WRITE_SIZE) {
-				// when documentNumbers is large, write BUFFER_WRITE_SIZE parts & fall thru to write the last part
-				int bytesLeft = BUFFER_WRITE_SIZE - this.bufferIndex;
-				for (int i=0; i < bytesLeft; i++) {
-					this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-				}
-				stream.write(this.streamBuffer, 0, this.bufferIndex);
-				this.bufferIndex = 0;
-			}
-			while (start < length) {
-				this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-			}
-			this.streamEnd += length;
-			break;
-		case 2 :
-			while ((this.bufferIndex + ((length - start) * 2)) >= BUFFER_WRITE_SIZE) {
-				// when documentNumbers is large, write BUFFER_WRITE_SIZE parts & fall thru to write the last part
-				int shortsLeft = (BUFFER_WRITE_SIZE - this.bufferIndex) / 2;
-				for (int i=0; i < shortsLeft; i++) {
-					this.streamBuffer[this.bufferIndex++] = (byte) (documentNumbers[start] >> 8);
-					this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-				}
-				stream.write(this.streamBuffer, 0, this.bufferIndex);
-				this.bufferIndex = 0;
-			}
-			while (start < length) {
-				this.streamBuffer[this.bufferIndex++] = (byte) (documentNumbers[start] >> 8);
-				this.streamBuffer[this.bufferIndex++] = (byte) documentNumbers[start++];
-			}
-			this.streamEnd += length * 2;
-			break;
-		default :
-			while (start < length) {
-				writeStreamInt(stream, documentNumbers[start++]);
-			}
-			break;
+	int previous = 0;
+	for (int documentNumber : documentNumbers) {
+		writeStreamVarInt(stream, documentNumber - previous);
+		previous = documentNumber;
 	}
 }
 private void writeHeaderInfo(OutputStream stream) throws IOException {
 	writeStreamInt(stream, this.numberOfChunks);
-	if ((this.bufferIndex + 3) >= BUFFER_WRITE_SIZE)  {
+	if ((this.bufferIndex + 2) >= BUFFER_WRITE_SIZE)  {
 		stream.write(this.streamBuffer, 0, this.bufferIndex);
 		this.bufferIndex = 0;
 	}
 	this.streamBuffer[this.bufferIndex++] = (byte) this.sizeOfLastChunk;
-	this.streamBuffer[this.bufferIndex++] = (byte) this.documentReferenceSize;
 	this.streamBuffer[this.bufferIndex++] = (byte) this.separator;
-	this.streamEnd += 3;
+	this.streamEnd += 2;
 
 	// apend the file with chunk offsets
 	for (int i = 0; i < this.numberOfChunks; i++) {
@@ -1236,6 +1592,7 @@ private void writeHeaderInfo(OutputStream stream) throws IOException {
 	writeStreamInt(stream, this.startOfCategoryTables);
 
 	// append the file with the category offsets... # of name -> offset pairs, followed by each name & an offset to its word->doc# table
+	// & the filter of its words: the number of longs of the bit set followed by each long as 2 ints, or -1 if there is none
 	writeStreamInt(stream, this.categoryOffsets.elementSize);
 	char[][] categoryNames = this.categoryOffsets.keyTable;
 	int[] offsets = this.categoryOffsets.valueTable;
@@ -1243,6 +1600,17 @@ private void writeHeaderInfo(OutputStream stream) throws IOException {
 		if (categoryNames[i] != null) {
 			writeStreamChars(stream, categoryNames[i]);
 			writeStreamInt(stream, offsets[i]);
+			WordFilter filter = (WordFilter) this.categoryFilters.get(categoryNames[i]);
+			if (filter == null) {
+				writeStreamInt(stream, -1); // no filter, the table must always be read
+				continue;
+			}
+			long[] bits = filter.getBits();
+			writeStreamInt(stream, bits.length);
+			for (long bit : bits) {
+				writeStreamInt(stream, (int) (bit >>> 32));
+				writeStreamInt(stream, (int) bit);
+			}
 		}
 	}
 	// ensure buffer is written to the stream
@@ -1361,6 +1729,23 @@ private void writeStreamInt(OutputStream stream, int val) throws IOException {
 	this.streamEnd += 4;
 }
 
+/*
+ * Writes an unsigned int using 7 bits per byte, low bits first, the high bit tells whether another byte follows.
+ */
+private void writeStreamVarInt(OutputStream stream, int val) throws IOException {
+	if ((this.bufferIndex + 5) >= BUFFER_WRITE_SIZE)  {
+		stream.write(this.streamBuffer, 0, this.bufferIndex);
+		this.bufferIndex = 0;
+	}
+	while ((val & ~0x7F) != 0) {
+		this.streamBuffer[this.bufferIndex++] = (byte) ((val & 0x7F) | 0x80);
+		val >>>= 7;
+		this.streamEnd++;
+	}
+	this.streamBuffer[this.bufferIndex++] = (byte) val;
+	this.streamEnd++;
+}
+
 synchronized int getCacheUserCount() {
 	return this.cacheUserCount;
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,6 +46,12 @@ static final char JAR_SEPARATOR = IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR.char
 
 protected DiskIndex diskIndex;
 protected MemoryIndex memoryIndex;
+private IndexJournal journal; // documents saved since the disk index was written, null if the index is rebuilt as a whole
+
+/**
+ * Suffix appended to the name of an index file to get the name of its journal.
+ */
+public static final String JOURNAL_FILE_SUFFIX = ".delta"; //$NON-NLS-1$
 
 /**
  * Mask used on match rule for indexing.
@@ -113,6 +119,13 @@ public static boolean isMatch(char[] pattern, char[] word, int matchRule) {
 
 
 public Index(IndexLocation location, String containerPath, boolean reuseExistingFile) throws IOException {
+	this(location, containerPath, reuseExistingFile, false);
+}
+/**
+ * Creates an index whose saves are appended to a journal if <code>journaled</code> is true and the index is a
+ * file. Only indexes which are updated document by document, as the indexes of source projects, benefit from it.
+ */
+public Index(IndexLocation location, String containerPath, boolean reuseExistingFile, boolean journaled) throws IOException {
 	this.containerPath = containerPath;
 	this.monitor = new ReadWriteMonitor();
 
@@ -120,6 +133,13 @@ public Index(IndexLocation location, String containerPath, boolean reuseExisting
 	this.diskIndex = new DiskIndex(location);
 	this.diskIndex.initialize(reuseExistingFile);
 	if (reuseExistingFile) this.separator = this.diskIndex.separator;
+	if (journaled && location instanceof FileIndexLocation) {
+		this.journal = new IndexJournal(location.getIndexFile());
+		if (reuseExistingFile)
+			this.journal.read(this.memoryIndex);
+		else
+			this.journal.delete();
+	}
 }
 public void addIndexEntry(char[] category, char[] key, String containerRelativePath) {
 	this.memoryIndex.addIndexEntry(category, key, containerRelativePath);
@@ -140,10 +160,12 @@ public IndexLocation getIndexLocation() {
 	return this.diskIndex == null ? null : this.diskIndex.indexLocation;
 }
 public long getIndexLastModified() {
-	return this.diskIndex == null? -1 : this.diskIndex.indexLocation.lastModified();
+	if (this.diskIndex == null) return -1;
+	long lastModified = this.diskIndex.indexLocation.lastModified();
+	return this.journal == null ? lastModified : Math.max(lastModified, this.journal.lastModified());
 }
 public boolean hasChanged() {
-	return this.memoryIndex.hasChanged();
+	return this.memoryIndex.hasUnsavedChanges();
 }
 /**
  * Returns the entries containing the given key in a group of categories, or null if no matches are found.
@@ -215,6 +237,8 @@ public void reset() throws IOException {
 	this.memoryIndex = new MemoryIndex();
 	this.diskIndex = new DiskIndex(this.diskIndex.indexLocation);
 	this.diskIndex.initialize(false/*do not reuse the index file*/);
+	if (this.journal != null)
+		this.journal.delete();
 }
 public boolean save() throws IOException {
 	ReadWriteMonitor readWriteMonitor = this.monitor;
@@ -226,8 +250,24 @@ public boolean save() throws IOException {
 	if (!hasChanged()) return false;
 
 	this.diskIndex.separator = this.separator;
+	if (this.journal != null && this.diskIndex.hasDocuments() && !this.journal.shouldCompact()) {
+		// only append the changed documents, the index file is rewritten once the journal is compacted
+		try {
+			this.journal.append(this.memoryIndex);
+			this.memoryIndex.markSaved();
+			return true;
+		} catch (IOException e) {
+			if (DiskIndex.DEBUG)
+				System.out.println("Failed to append to the journal of " + this + ", compacting it"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
 	this.diskIndex = this.diskIndex.mergeWith(this.memoryIndex);
 	this.memoryIndex = new MemoryIndex();
+	if (this.journal != null) {
+		this.journal.delete(); // its documents are part of the new index file
+		if (!this.journal.indexFile.equals(getIndexFile()))
+			this.journal = null; // the new index file could not replace the previous one
+	}
 	return true;
 }
 public void startQuery() {
@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.zip.CRC32;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+import org.eclipse.jdt.internal.core.util.SimpleWordSet;
+
+/**
+ * An append-only log of the documents saved to an index since its file was last rewritten.
+ * <p>
+ * Saving an index whose file already contains documents only appends the documents changed since the previous save
+ * as a new record of the journal, so the cost of a save depends on the size of the change rather than on the size of
+ * the index. When the index is read again, the records are replayed into its memory index which queries consult on
+ * top of the index file. Once the journal has too many records or grows too large compared to the index file, the
+ * next save compacts it: the memory index is merged into a new index file and the journal is deleted.
+ * </p>
+ * <p>
+ * The journal starts with the signature of the index format, the length and the time stamp of the index file it
+ * belongs to. A journal whose index file was rewritten or replaced meanwhile is discarded. Each record is made of its
+ * length, its documents and a checksum, so a record which was not completely written is ignored.
+ * </p>
+ */
+class IndexJournal {
+
+/**
+ * Maximum number of records of a journal before the index is compacted.
+ */
+static int MAX_RECORDS = Integer.getInteger("org.eclipse.jdt.core.index.maxJournalRecords", 64).intValue(); //$NON-NLS-1$
+private static final long MIN_COMPACTION_SIZE = 64 * 1024;
+private static final long MAX_COMPACTION_SIZE = 4 * 1024 * 1024; // bounds the size of the replayed memory index
+
+final File indexFile;
+private final File file;
+private int numberOfRecords;
+
+IndexJournal(File indexFile) {
+	this.indexFile = indexFile;
+	this.file = new File(indexFile.getPath() + Index.JOURNAL_FILE_SUFFIX);
+}
+/*
+ * Appends the documents which have not been saved yet to the journal.
+ */
+void append(MemoryIndex memoryIndex) throws IOException {
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+	DataOutputStream record = new DataOutputStream(bytes);
+	Object[] paths = memoryIndex.unsavedDocuments.values;
+	record.writeInt(memoryIndex.unsavedDocuments.elementSize);
+	for (Object path : paths) {
+		if (path == null) continue;
+		writeChars(record, ((String) path).toCharArray());
+		HashtableOfObject categoryToWords = (HashtableOfObject) memoryIndex.docsToReferences.get(path);
+		if (categoryToWords == null) {
+			record.writeInt(-1); // the document was deleted
+			continue;
+		}
+		record.writeInt(categoryToWords.elementSize);
+		char[][] categories = categoryToWords.keyTable;
+		Object[] wordSets = categoryToWords.valueTable;
+		for (int i = 0, l = categories.length; i < l; i++) {
+			if (categories[i] == null) continue;
+			SimpleWordSet wordSet = (SimpleWordSet) wordSets[i];
+			writeChars(record, categories[i]);
+			record.writeInt(wordSet.elementSize);
+			for (char[] word : wordSet.words)
+				if (word != null)
+					writeChars(record, word);
+		}
+	}
+	record.flush();
+
+	boolean isNew = this.file.length() == 0;
+	try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.file, !isNew)))) {
+		if (isNew) {
+			stream.writeUTF(DiskIndex.SIGNATURE);
+			stream.writeLong(this.indexFile.length());
+			stream.writeLong(this.indexFile.lastModified());
+		}
+		CRC32 checksum = new CRC32();
+		checksum.update(bytes.toByteArray());
+		stream.writeInt(bytes.size());
+		bytes.writeTo(stream);
+		stream.writeLong(checksum.getValue());
+	}
+	this.numberOfRecords = isNew ? 1 : this.numberOfRecords + 1;
+}
+void delete() {
+	this.file.delete();
+	this.numberOfRecords = 0;
+}
+long lastModified() {
+	return this.file.lastModified(); // 0 if there is no journal
+}
+/*
+ * Replays the records of the journal into the memory index.
+ * A journal which does not belong to the current index file is deleted.
+ */
+void read(MemoryIndex memoryIndex) throws IOException {
+	this.numberOfRecords = 0;
+	if (!this.file.exists()) return;
+	long validLength = DiskIndex.SIGNATURE.length() + 2 + 16; // the signature is ASCII
+	try (DataInputStream stream = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+		boolean isStale;
+		try {
+			isStale = !DiskIndex.SIGNATURE.equals(stream.readUTF())
+				|| stream.readLong() != this.indexFile.length()
+				|| stream.readLong() != this.indexFile.lastModified();
+		} catch (EOFException e) {
+			isStale = true; // the header was not completely written
+		}
+		if (isStale) {
+			if (DiskIndex.DEBUG)
+				System.out.println("Discarding stale index journal " + this.file); //$NON-NLS-1$
+			stream.close();
+			delete();
+			return;
+		}
+		while (true) {
+			byte[] bytes;
+			try {
+				bytes = new byte[stream.readInt()];
+				stream.readFully(bytes);
+				CRC32 checksum = new CRC32();
+				checksum.update(bytes);
+				if (stream.readLong() != checksum.getValue())
+					break;
+			} catch (EOFException | NegativeArraySizeException | OutOfMemoryError e) {
+				break; // the last record was not completely written
+			}
+			replay(new DataInputStream(new ByteArrayInputStream(bytes)), memoryIndex);
+			validLength += 4 + bytes.length + 8;
+			this.numberOfRecords++;
+		}
+	}
+	if (validLength < this.file.length()) {
+		// drop the incomplete record so the next ones are appended after the valid ones
+		try (RandomAccessFile raf = new RandomAccessFile(this.file, "rw")) { //$NON-NLS-1$
+			raf.setLength(validLength);
+		}
+	}
+	memoryIndex.markSaved();
+}
+private static void replay(DataInputStream record, MemoryIndex memoryIndex) throws IOException {
+	for (int i = 0, numberOfDocuments = record.readInt(); i < numberOfDocuments; i++) {
+		String path = new String(readChars(record));
+		memoryIndex.remove(path); // forget the previous entries of the document
+		for (int j = 0, numberOfCategories = record.readInt(); j < numberOfCategories; j++) {
+			char[] category = readChars(record);
+			for (int k = 0, numberOfWords = record.readInt(); k < numberOfWords; k++)
+				memoryIndex.addIndexEntry(category, readChars(record), path);
+		}
+	}
+}
+/*
+ * Answers whether the journal should be merged into the index file instead of growing further.
+ */
+boolean shouldCompact() {
+	if (this.numberOfRecords >= MAX_RECORDS) return true;
+	long limit = Math.min(Math.max(this.indexFile.length() / 4, MIN_COMPACTION_SIZE), MAX_COMPACTION_SIZE);
+	return this.file.length() >= limit;
+}
+private static char[] readChars(DataInputStream stream) throws IOException {
+	char[] chars = new char[stream.readInt()];
+	for (int i = 0, l = chars.length; i < l; i++)
+		chars[i] = stream.readChar();
+	return chars;
+}
+private static void writeChars(DataOutputStream stream, char[] chars) throws IOException {
+	stream.writeInt(chars.length);
+	for (char c : chars)
+		stream.writeChar(c);
+}
+}
@@ -24,6 +24,7 @@ public class MemoryIndex {
 public int NUM_CHANGES = 100; // number of separate document changes... used to decide when to merge
 
 SimpleLookupTable docsToReferences; // document paths -> HashtableOfObject(category names -> set of words)
+SimpleSet unsavedDocuments; // paths of the documents added/changed/deleted since the last save to the journal
 SimpleWordSet allWords; // save space by locally interning the referenced words, since an indexer can generate numerous duplicates
 String lastDocumentName;
 HashtableOfObject lastReferenceTable;
@@ -31,6 +32,7 @@ HashtableOfObject lastReferenceTable;
 MemoryIndex() {
 	this.docsToReferences = new SimpleLookupTable(7);
 	this.allWords = new SimpleWordSet(7);
+	this.unsavedDocuments = new SimpleSet(7);
 }
 void addDocumentNames(String substring, SimpleSet results) {
 	// assumed the disk index already skipped over documents which have been added/changed/deleted
@@ -55,6 +57,7 @@ void addIndexEntry(char[] category, char[] key, String documentName) {
 		referenceTable = (HashtableOfObject) this.docsToReferences.get(documentName);
 		if (referenceTable == null)
 			this.docsToReferences.put(documentName, referenceTable = new HashtableOfObject(3));
+		this.unsavedDocuments.add(documentName);
 		this.lastDocumentName = documentName;
 		this.lastReferenceTable = referenceTable;
 	}
@@ -116,14 +119,26 @@ HashtableOfObject addQueryResults(char[][] categories, char[] key, int matchRule
 boolean hasChanged() {
 	return this.docsToReferences.elementSize > 0;
 }
+boolean hasUnsavedChanges() {
+	return this.unsavedDocuments.elementSize > 0;
+}
+/*
+ * Forgets which documents were changed, once they were saved to the journal of the index.
+ */
+void markSaved() {
+	this.unsavedDocuments = new SimpleSet(7);
+	this.lastDocumentName = null; // so the next entries of the last document mark it as unsaved again
+	this.lastReferenceTable = null;
+}
 void remove(String documentName) {
 	if (documentName.equals(this.lastDocumentName)) {
 		this.lastDocumentName = null;
 		this.lastReferenceTable = null;
 	}
 	this.docsToReferences.put(documentName, null);
+	this.unsavedDocuments.add(documentName);
 }
 boolean shouldMerge() {
-	return this.docsToReferences.elementSize >= this.NUM_CHANGES;
+	return this.unsavedDocuments.elementSize >= this.NUM_CHANGES;
 }
 }
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.index;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.internal.core.search.indexing.IIndexConstants;
+
+/**
+ * A Bloom filter of the words of one category table of a disk index.
+ * <p>
+ * Besides each word, the filter contains the first segment of each word up to and including the first
+ * {@link IIndexConstants#SEPARATOR}, so prefix and pattern queries whose literal prefix spans a separator, like the
+ * queries for type declarations, can be rejected as well. A query answered with "absent" does not need to read the
+ * category table from the index file at all.
+ * </p>
+ * <p>
+ * The filters of all the categories of an index are saved in its header, see DiskIndex.writeHeaderInfo().
+ * </p>
+ */
+public final class WordFilter {
+
+private static final int BITS_PER_ENTRY = 8; // rounded up to a power of 2, i.e. between 8 and 16 bits per entry
+private static final int MAX_BITS = 1 << 23;
+private static final int HASH_COUNT = 4;
+
+static final WordFilter EMPTY = new WordFilter(new long[0]);
+
+private static final LongAdder CHECKS = new LongAdder();
+private static final LongAdder SKIPS = new LongAdder();
+private static final LongAdder FALSE_POSITIVES = new LongAdder();
+
+private final long[] bits;
+private final int mask;
+
+WordFilter(long[] bits) {
+	this.bits = bits;
+	this.mask = bits.length * 64 - 1;
+}
+
+/*
+ * Answers a filter of the given words, which must not contain duplicates.
+ */
+static WordFilter create(char[][] words, int count) {
+	if (count == 0) return EMPTY;
+	int entries = count;
+	for (int i = 0; i < count; i++)
+		if (indexOfSeparator(words[i]) >= 0)
+			entries++; // upper bound, segments are shared by many words
+	long size = Math.min((long) entries * BITS_PER_ENTRY, MAX_BITS);
+	int numberOfBits = Math.max(64, Integer.highestOneBit((int) size - 1) << 1);
+	WordFilter filter = new WordFilter(new long[numberOfBits / 64]);
+	for (int i = 0; i < count; i++) {
+		char[] word = words[i];
+		filter.add(word, word.length);
+		int separator = indexOfSeparator(word);
+		if (separator >= 0 && separator < word.length - 1)
+			filter.add(word, separator + 1);
+	}
+	return filter;
+}
+
+private static int indexOfSeparator(char[] word) {
+	for (int i = 0, l = word.length; i < l; i++)
+		if (word[i] == IIndexConstants.SEPARATOR)
+			return i;
+	return -1;
+}
+
+private static long hash(char[] word, int length) {
+	long h = length;
+	for (int i = 0; i < length; i++)
+		h = 31 * h + word[i];
+	// finalizer of MurmurHash3, spreads the bits of similar words
+	h ^= h >>> 33;
+	h *= 0xff51afd7ed558ccdL;
+	h ^= h >>> 33;
+	h *= 0xc4ceb9fe1a85ec53L;
+	h ^= h >>> 33;
+	return h;
+}
+
+private void add(char[] word, int length) {
+	long h = hash(word, length);
+	int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+	for (int i = 0; i < HASH_COUNT; i++) {
+		int bit = (h1 + i * h2) & this.mask;
+		this.bits[bit >>> 6] |= 1L << bit;
+	}
+}
+
+private boolean mightContain(char[] word, int length) {
+	if (this.bits.length == 0) return false;
+	long h = hash(word, length);
+	int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+	for (int i = 0; i < HASH_COUNT; i++) {
+		int bit = (h1 + i * h2) & this.mask;
+		if ((this.bits[bit >>> 6] & (1L << bit)) == 0)
+			return false;
+	}
+	return true;
+}
+
+/*
+ * Answers the number of chars of the given case sensitive prefix of the query key to check, or -1 if the filter
+ * cannot exclude any word starting with it. If the prefix is the whole word the query is looking for, all of it
+ * is checked.
+ */
+static int probeLength(char[] prefix, boolean isWord) {
+	if (prefix == null) return -1;
+	if (isWord) return prefix.length;
+	int separator = indexOfSeparator(prefix);
+	return separator >= 0 ? separator + 1 : -1; // the first segment of the matching words is known
+}
+
+/*
+ * Answers false if no word of the category is equal to the first probeLength chars of key, or starts with them
+ * when they end with a separator, true if there may be such a word.
+ */
+boolean check(char[] key, int probeLength) {
+	CHECKS.increment();
+	if (mightContain(key, probeLength))
+		return true;
+	SKIPS.increment();
+	return false;
+}
+
+/*
+ * Records that a category table for which the filter answered true contained no matching word.
+ */
+static void recordFalsePositive() {
+	FALSE_POSITIVES.increment();
+}
+
+/**
+ * Answers the number of category tables checked against a filter.
+ */
+public static long getCheckCount() {
+	return CHECKS.sum();
+}
+
+/**
+ * Answers the number of category tables which were not read since their filter excluded the query.
+ */
+public static long getSkipCount() {
+	return SKIPS.sum();
+}
+
+/**
+ * Answers the number of category tables which were read since their filter did not exclude the query, but which
+ * did not contain any matching word.
+ */
+public static long getFalsePositiveCount() {
+	return FALSE_POSITIVES.sum();
+}
+
+/**
+ * Answers the ratio of the category tables without any matching word that the filters failed to exclude.
+ */
+public static double getFalsePositiveRate() {
+	long falsePositives = getFalsePositiveCount();
+	long negatives = falsePositives + getSkipCount();
+	return negatives == 0 ? 0 : (double) falsePositives / negatives;
+}
+
+public static void resetStats() {
+	CHECKS.reset();
+	SKIPS.reset();
+	FALSE_POSITIVES.reset();
+}
+
+public static String printStats() {
+	return "Word filter checks: " + getCheckCount() //$NON-NLS-1$
+		+ ", skipped tables: " + getSkipCount() //$NON-NLS-1$
+		+ ", false positives: " + getFalsePositiveCount() //$NON-NLS-1$
+		+ " (" + Math.round(getFalsePositiveRate() * 1000) / 10.0 + "%)"; //$NON-NLS-1$ //$NON-NLS-2$
+}
+
+long[] getBits() {
+	return this.bits;
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -252,6 +252,12 @@ public class BasicSearchEngine {
 			IndexManager indexManager = JavaModelManager.getIndexManager();
 			requestor.beginReporting();
 			for (int i = 0; i < length; i++) {
+				if (SearchLimit.isReached(requestor)) {
+					if (VERBOSE) {
+						trace("Maximum number of matches reached => skip remaining participants"); //$NON-NLS-1$
+					}
+					break;
+				}
 				SubMonitor iterationMonitor = loopMonitor.split(1).setWorkRemaining(100);
 
 				SearchParticipant participant = participants[i];
@@ -259,6 +265,11 @@ public class BasicSearchEngine {
 					iterationMonitor.subTask(Messages.bind(Messages.engine_searching_indexing, new String[] {participant.getDescription()}));
 					participant.beginSearching();
 					requestor.enterParticipant(participant);
+					SearchLimit limit = SearchLimit.of(requestor);
+					if (limit != null) {
+						findLimitedMatches(pattern, participant, scope, requestor, limit, iterationMonitor);
+						continue;
+					}
 					PathCollector pathCollector = new PathCollector();
 					indexManager.performConcurrentJob(
 						new PatternSearchJob(pattern, participant, scope, pathCollector),
@@ -268,7 +279,7 @@ public class BasicSearchEngine {
 					// locate index matches if any (note that all search matches could have been issued during index querying)
 					iterationMonitor.subTask(Messages.bind(Messages.engine_searching_matching, new String[] {participant.getDescription()}));
 					String[] indexMatchPaths = pathCollector.getPaths();
-					if (indexMatchPaths != null) {
+					if (indexMatchPaths != null && !SearchLimit.isReached(requestor)) {
 						pathCollector = null; // release
 						int indexMatchLength = indexMatchPaths.length;
 						SearchDocument[] indexMatches = new SearchDocument[indexMatchLength];
@@ -290,6 +301,76 @@ public class BasicSearchEngine {
 			}
 		}
 	}
+	/*
+	 * Locates the matches of the given participant like findMatches(...), but locates the documents of the indexes
+	 * in batches of increasing size, so that the remaining indexes are not queried once the limit is reached.
+	 * The working copies are located first since they take precedence over the documents of the indexes.
+	 */
+	private void findLimitedMatches(SearchPattern pattern, SearchParticipant participant, IJavaSearchScope scope, SearchRequestor requestor, SearchLimit limit, SubMonitor monitor) throws CoreException {
+		IndexManager indexManager = JavaModelManager.getIndexManager();
+		Set<String> locatedPaths = new HashSet<>();
+		SearchDocument[] workingCopyDocuments = MatchLocator.addWorkingCopies(pattern, new SearchDocument[0], getWorkingCopies(), participant);
+		if (workingCopyDocuments.length > 0) {
+			for (SearchDocument workingCopy : workingCopyDocuments) {
+				locatedPaths.add(workingCopy.getPath());
+			}
+			participant.locateMatches(workingCopyDocuments, pattern, scope, requestor, monitor.setWorkRemaining(100).split(10));
+		}
+		BatchPathCollector pathCollector = new BatchPathCollector(locatedPaths);
+		PatternSearchJob job = new PatternSearchJob(pattern, participant, scope, pathCollector);
+		while (!limit.isReached()) {
+			indexManager.performConcurrentJob(
+				job,
+				IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH,
+				monitor.setWorkRemaining(100).split(10));
+			boolean remainingIndexes = pathCollector.isDone();
+			String[] indexMatchPaths = pathCollector.nextBatch();
+			if (indexMatchPaths.length > 0 && !limit.isReached()) {
+				if (VERBOSE) {
+					trace("Locating a batch of " + indexMatchPaths.length + " documents"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				SearchDocument[] indexMatches = new SearchDocument[indexMatchPaths.length];
+				for (int j = 0; j < indexMatchPaths.length; j++) {
+					indexMatches[j] = participant.getDocument(indexMatchPaths[j]);
+				}
+				participant.locateMatches(indexMatches, pattern, scope, requestor, monitor.setWorkRemaining(100).split(10));
+			}
+			if (!remainingIndexes)
+				break;
+		}
+	}
+
+	/*
+	 * Collects the paths of the documents which were not located yet, and stops the index query once a batch of
+	 * paths is collected so that they are located before the remaining indexes are queried. An index is always
+	 * queried entirely.
+	 */
+	private static class BatchPathCollector extends PathCollector {
+		private final Set<String> locatedPaths;
+		private int batchSize = 32;
+
+		BatchPathCollector(Set<String> locatedPaths) {
+			this.locatedPaths = locatedPaths;
+		}
+		@Override
+		public boolean acceptIndexMatch(String documentPath, SearchPattern indexRecord, SearchParticipant participant, AccessRuleSet access) {
+			if (!this.locatedPaths.contains(documentPath))
+				this.paths.add(documentPath);
+			return true;
+		}
+		@Override
+		public boolean isDone() {
+			return this.paths.size() >= this.batchSize;
+		}
+		String[] nextBatch() {
+			String[] batch = getPaths();
+			this.locatedPaths.addAll(this.paths);
+			this.paths.clear();
+			this.batchSize *= 2;
+			return batch;
+		}
+	}
+
 	/**
 	 * Returns a new default Java search participant.
 	 *
@@ -638,6 +719,20 @@ public class BasicSearchEngine {
 		findMatches(pattern, participants, scope, requestor, monitor);
 	}
 
+	/**
+	 * Searches for matches of a given search pattern, reporting at most the given number of matches.
+	 *
+	 * @see SearchEngine#search(SearchPattern, SearchParticipant[], IJavaSearchScope, SearchRequestor, int, IProgressMonitor)
+	 * 	for detailed comment
+	 */
+	public void search(SearchPattern pattern, SearchParticipant[] participants, IJavaSearchScope scope, SearchRequestor requestor, int maxMatches, IProgressMonitor monitor) throws CoreException {
+		if (VERBOSE) {
+			trace("BasicSearchEngine.search(SearchPattern, SearchParticipant[], IJavaSearchScope, SearchRequestor, int, IProgressMonitor)"); //$NON-NLS-1$
+			trace("	- max matches: " + maxMatches); //$NON-NLS-1$
+		}
+		findMatches(pattern, participants, scope, new SearchLimit(maxMatches).limit(requestor), monitor);
+	}
+
 	public void searchAllConstructorDeclarations(
 			final char[] packageName,
 			final char[] typeName,
@@ -1844,6 +1939,45 @@ public class BasicSearchEngine {
 		final IRestrictedAccessTypeRequestor nameRequestor,
 		int waitingPolicy,
 		IProgressMonitor progressMonitor)  throws JavaModelException {
+		searchAllTypeNames(
+				packageName,
+				packageMatchRule,
+				typeName,
+				typeMatchRule,
+				searchFor,
+				scope,
+				resolveDocumentName,
+				nameRequestor,
+				waitingPolicy,
+				null,
+				progressMonitor);
+	}
+
+	/**
+	 * Searches for all top-level types and member types in the given scope.
+	 * The search can be selecting specific types (given a package or a type name
+	 * prefix and match modes).
+	 *
+	 * @param resolveDocumentName used to tell SearchEngine whether to resolve
+	 *                            the document name for each result entry.
+	 * @param limit the limit of the requestor accepting the matches, once it is reached the remaining
+	 *              indexes and working copies are not searched. May be <code>null</code>.
+	 *
+	 * @see SearchEngine#searchAllTypeNames(char[], int, char[], int, int, IJavaSearchScope, TypeNameMatchRequestor, int, int, IProgressMonitor)
+	 * 	for detailed comment
+	 */
+	public void searchAllTypeNames(
+		final char[] packageName,
+		final int packageMatchRule,
+		final char[] typeName,
+		final int typeMatchRule,
+		int searchFor,
+		IJavaSearchScope scope,
+		final boolean resolveDocumentName,
+		final IRestrictedAccessTypeRequestor nameRequestor,
+		int waitingPolicy,
+		final SearchLimit limit,
+		IProgressMonitor progressMonitor)  throws JavaModelException {
 
 		try {
 			// Validate match rule first
@@ -1974,7 +2108,11 @@ public class BasicSearchEngine {
 					if (match(record.typeSuffix, record.modifiers)) {
 						nameRequestor.acceptType(record.modifiers, record.pkg, record.simpleName, record.enclosingTypeNames, documentPath, accessRestriction);
 					}
-					return true;
+					return !isDone();
+				}
+				@Override
+				public boolean isDone() {
+					return limit != null && limit.isReached();
 				}
 			};
 
@@ -1995,6 +2133,7 @@ public class BasicSearchEngine {
 			// add type names from working copies
 			if (copies != null) {
 				for (int i = 0; i < copiesLength; i++) {
+					if (searchRequestor.isDone()) break;
 					SubMonitor iterationMonitor = subMonitor.split(i);
 					final ICompilationUnit workingCopy = copies[i];
 					if (scope instanceof HierarchyScope) {
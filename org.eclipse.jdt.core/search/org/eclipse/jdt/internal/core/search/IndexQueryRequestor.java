@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,4 +25,10 @@ public abstract class IndexQueryRequestor {
 	// answer false if requesting cancel
 	public abstract boolean acceptIndexMatch(String documentPath, SearchPattern indexRecord, SearchParticipant participant, AccessRuleSet access);
 
+	// answer true if the remaining indexes must not be queried, e.g. the maximum number of matches of the search was
+	// reached, or the documents collected so far must be located first
+	public boolean isDone() {
+		return false;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,7 +18,9 @@ import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
@@ -59,6 +61,8 @@ protected final boolean resolveDocumentForJar;
 protected final boolean resolveDocumentForSourceFiles;
 protected volatile boolean areIndexesReady;
 protected final AtomicLong executionTime;
+/* the indexes queried by the previous executions if the requestor stopped the query, null otherwise */
+private Set<Index> searchedIndexes;
 
 public static final String ENABLE_PARALLEL_SEARCH = "enableParallelJavaIndexSearch";//$NON-NLS-1$
 public static final boolean ENABLE_PARALLEL_SEARCH_DEFAULT = true;
@@ -106,7 +110,7 @@ public boolean execute(IProgressMonitor progressMonitor) {
 	this.executionTime.set(0);
 	long startTime = System.currentTimeMillis();
 
-	Index[] indexes = getIndexes(subMonitor.split(1));
+	Index[] indexes = remainingIndexes(getIndexes(subMonitor.split(1)));
 	try {
 		int max = indexes.length;
 		SubMonitor loopMonitor = subMonitor.split(2).setWorkRemaining(max);
@@ -116,6 +120,10 @@ public boolean execute(IProgressMonitor progressMonitor) {
 		} else {
 			for (int i = 0; i < max; i++) {
 				isComplete &= search(indexes[i], this.requestor, loopMonitor.split(1), parallel);
+				if (this.requestor.isDone()) {
+					stopped(indexes, i);
+					break;
+				}
 			}
 		}
 
@@ -148,17 +156,22 @@ private boolean performParallelSearch(Index[] indexes, SubMonitor loopMonitor) {
 			futures.add(commonPool.submit(() -> search(index, monitor, true)));
 		}
 
-		for (Future<IndexResult> future : futures) {
+		for (int i = 0, max = futures.size(); i < max; i++) {
 			loopMonitor.split(1);
 			try {
-				IndexResult result = future.get();
+				IndexResult result = futures.get(i).get();
 				isComplete &= result.complete;
-				result.matches.forEach(m -> {
+				for (IndexMatch m : result.matches) {
 					boolean continueSearch = this.requestor.acceptIndexMatch(m.documentPath, m.indexRecord, this.participant, m.access);
-					if(!continueSearch) {
+					if(!continueSearch && !this.requestor.isDone()) {
 						throw new OperationCanceledException();
 					}
-				});
+				}
+				if (this.requestor.isDone()) {
+					monitor.setCanceled(true); // no need to query the remaining indexes
+					stopped(indexes, i);
+					return isComplete;
+				}
 			} catch (InterruptedException e) {
 				Thread.currentThread().interrupt();
 				throw new OperationCanceledException();
@@ -178,6 +191,30 @@ private boolean performParallelSearch(Index[] indexes, SubMonitor loopMonitor) {
 	}
 	return isComplete;
 }
+/*
+ * Answers the given indexes without those queried by the previous executions of this job, so that a job stopped by
+ * its requestor, e.g. to locate the matches of the documents collected so far, can be executed again to query the
+ * remaining indexes.
+ */
+private Index[] remainingIndexes(Index[] indexes) {
+	if (this.searchedIndexes == null) return indexes;
+	List<Index> remaining = new ArrayList<>(indexes.length);
+	for (Index index : indexes) {
+		if (!this.searchedIndexes.contains(index))
+			remaining.add(index);
+	}
+	return remaining.toArray(new Index[remaining.size()]);
+}
+/*
+ * Records that the indexes up to the given one were queried when the requestor stopped the query.
+ */
+private void stopped(Index[] indexes, int last) {
+	if (this.searchedIndexes == null)
+		this.searchedIndexes = new HashSet<>();
+	for (int i = 0; i <= last; i++) {
+		this.searchedIndexes.add(indexes[i]);
+	}
+}
 public Index[] getIndexes(IProgressMonitor progressMonitor) {
 	// acquire the in-memory indexes on the fly
 	IndexLocation[] indexLocations;
@@ -240,6 +277,10 @@ public boolean search(Index index, IndexQueryRequestor queryRequestor, IProgress
 		}
 		this.executionTime.addAndGet(System.currentTimeMillis() - start);
 		return COMPLETE;
+	} catch (OperationCanceledException e) {
+		if (!queryRequestor.isDone())
+			throw e;
+		return COMPLETE; // the requestor does not need further matches
 	} catch (IOException e) {
 		if (e instanceof java.io.EOFException) {
 			if(JavaModelManager.VERBOSE) {
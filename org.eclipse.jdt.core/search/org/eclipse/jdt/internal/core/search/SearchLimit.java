@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+/**
+ * The maximum number of matches a search reports to its requestor.
+ * <p>
+ * The requestors answered by {@link #limit(SearchRequestor)} and {@link #limit(TypeNameMatchRequestor)} drop the
+ * matches beyond the limit. Once it is reached, the search engine skips the remaining participants, the index query
+ * skips the remaining indexes and the match locator skips the remaining possible matches. To this end, the search
+ * engine locates the documents of the indexes in batches instead of querying all indexes first.
+ * </p>
+ */
+public class SearchLimit {
+
+	/**
+	 * A search requestor reporting at most the maximum number of matches of its limit.
+	 */
+	public static class LimitedSearchRequestor extends SearchRequestor {
+		final SearchRequestor requestor;
+		final SearchLimit limit;
+
+		LimitedSearchRequestor(SearchRequestor requestor, SearchLimit limit) {
+			this.requestor = requestor;
+			this.limit = limit;
+		}
+		@Override
+		public void acceptSearchMatch(SearchMatch match) throws CoreException {
+			if (this.limit.acquire())
+				this.requestor.acceptSearchMatch(match);
+		}
+		@Override
+		public void beginReporting() {
+			this.requestor.beginReporting();
+		}
+		@Override
+		public void endReporting() {
+			this.requestor.endReporting();
+		}
+		@Override
+		public void enterParticipant(SearchParticipant participant) {
+			this.requestor.enterParticipant(participant);
+		}
+		@Override
+		public void exitParticipant(SearchParticipant participant) {
+			this.requestor.exitParticipant(participant);
+		}
+	}
+
+	private final int maxMatches;
+	private final AtomicInteger count = new AtomicInteger();
+
+	/**
+	 * Creates a limit of the given number of matches, a number lower than or equal to 0 means no limit.
+	 */
+	public SearchLimit(int maxMatches) {
+		this.maxMatches = maxMatches <= 0 ? Integer.MAX_VALUE : maxMatches;
+	}
+
+	/**
+	 * Answers the limit of the given requestor, or null if it reports all matches.
+	 */
+	public static SearchLimit of(SearchRequestor requestor) {
+		return requestor instanceof LimitedSearchRequestor ? ((LimitedSearchRequestor) requestor).limit : null;
+	}
+
+	/**
+	 * Answers whether the given requestor does not accept any further match.
+	 */
+	public static boolean isReached(SearchRequestor requestor) {
+		SearchLimit limit = of(requestor);
+		return limit != null && limit.isReached();
+	}
+
+	/**
+	 * Counts a match, answers false if it must not be reported since the limit was already reached.
+	 */
+	public boolean acquire() {
+		if (this.count.get() >= this.maxMatches) return false;
+		return this.count.incrementAndGet() <= this.maxMatches;
+	}
+
+	public boolean isReached() {
+		return this.count.get() >= this.maxMatches;
+	}
+
+	public SearchRequestor limit(SearchRequestor requestor) {
+		return new LimitedSearchRequestor(requestor, this);
+	}
+
+	public TypeNameMatchRequestor limit(TypeNameMatchRequestor requestor) {
+		return new TypeNameMatchRequestor() {
+			@Override
+			public void acceptTypeNameMatch(TypeNameMatch match) {
+				if (acquire())
+					requestor.acceptTypeNameMatch(match);
+			}
+		};
+	}
+
+	@Override
+	public String toString() {
+		return "SearchLimit(" + this.count.get() + '/' + this.maxMatches + ')'; //$NON-NLS-1$
+	}
+}
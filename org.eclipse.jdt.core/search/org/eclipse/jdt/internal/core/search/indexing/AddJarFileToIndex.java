@@ -107,6 +107,24 @@ class AddJarFileToIndex extends BinaryContainer {
 				return true;
 			}
 
+			// an identical jar may have been indexed by another workspace already
+			SharedIndexCache sharedCache = this.forceIndexUpdate ? null : SharedIndexCache.getCache();
+			String sharedCacheKey = null;
+			boolean restoredFromSharedCache = false;
+			if (sharedCache != null) {
+				File jarFile = getLocalJarFile();
+				File indexFile = this.manager.computeIndexLocation(this.containerPath).getIndexFile();
+				if (jarFile != null && indexFile != null && !indexFile.exists()) {
+					try {
+						sharedCacheKey = SharedIndexCache.computeKey(jarFile);
+						restoredFromSharedCache = sharedCache.restore(sharedCacheKey, indexFile);
+					} catch (IOException e) {
+						if (JobManager.VERBOSE)
+							trace("-> unable to compute the shared index cache key of " + jarFile, e); //$NON-NLS-1$
+					}
+				}
+			}
+
 			index = this.manager.getIndexForUpdate(this.containerPath, true, /*reuse index file*/ true /*create if none*/);
 			if (index == null) {
 				if (JobManager.VERBOSE)
@@ -204,6 +222,8 @@ class AddJarFileToIndex extends BinaryContainer {
 								trace("-> no indexing required (index is consistent with library) for " //$NON-NLS-1$
 								+ zip.getName() + " (" //$NON-NLS-1$
 								+ (System.currentTimeMillis() - initialTime) + "ms)"); //$NON-NLS-1$
+							if (restoredFromSharedCache)
+								this.manager.updateMetaIndex(index); // not saved, so the meta index does not know it yet
 							this.manager.saveIndex(index); // to ensure its placed into the saved state
 							return true;
 						}
@@ -266,6 +286,8 @@ class AddJarFileToIndex extends BinaryContainer {
 				}
 				else {
 					this.manager.saveIndex(index);
+					if (sharedCacheKey != null && index.getIndexFile() != null)
+						sharedCache.store(sharedCacheKey, index.getIndexFile());
 				}
 				if (JobManager.VERBOSE)
 					trace("-> done indexing of " //$NON-NLS-1$
@@ -316,6 +338,13 @@ class AddJarFileToIndex extends BinaryContainer {
 		return "indexing " + this.containerPath.toString(); //$NON-NLS-1$
 	}
 
+	private File getLocalJarFile() {
+		if (this.resource == null)
+			return this.containerPath.toFile(); // external jar
+		IPath location = this.resource.getLocation();
+		return location == null ? null : location.toFile();
+	}
+
 	protected boolean hasPreBuiltIndex() {
 		return !this.forceIndexUpdate && (this.indexFileURL != null && this.indexFileURL.exists());
 	}
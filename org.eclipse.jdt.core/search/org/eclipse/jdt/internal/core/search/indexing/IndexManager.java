@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -143,6 +143,10 @@ public class IndexManager extends JobManager implements IIndexConstants {
 	public static final String INDEX_MANAGER_NOTIFY_IDLE_WAIT_PROPERTY = "jdt.core.indexManager.notifyIdleWait"; //$NON-NLS-1$
 	private static final long INDEX_MANAGER_NOTIFY_IDLE_WAIT = getNotifyIdleWait();
 
+	// number of containers indexed at the same time by the background indexer
+	public static final String INDEX_MANAGER_WORKERS_PROPERTY = "jdt.core.indexManager.workers"; //$NON-NLS-1$
+	public static int INDEXING_WORKERS = Integer.getInteger(INDEX_MANAGER_WORKERS_PROPERTY, 1).intValue();
+
 	// Debug
 	public static boolean DEBUG = false;
 
@@ -374,6 +378,15 @@ private void deleteIndexFiles(SimpleSet pathsToKeep, IProgressMonitor monitor) {
 	for (File indexesFile : indexesFiles) {
 		subMonitor.split(1);
 		String fileName = indexesFile.getAbsolutePath();
+		if (fileName.endsWith(Index.JOURNAL_FILE_SUFFIX)) {
+			// journals go with their index file
+			File indexFile = new File(fileName.substring(0, fileName.length() - Index.JOURNAL_FILE_SUFFIX.length()));
+			if (pathsToKeep != null && pathsToKeep.includes(new FileIndexLocation(indexFile))) continue;
+			if (VERBOSE || DEBUG)
+				trace("Deleting index journal " + indexesFile); //$NON-NLS-1$
+			indexesFile.delete();
+			continue;
+		}
 		if (pathsToKeep != null && pathsToKeep.includes(new FileIndexLocation(indexesFile))) continue;
 		String suffix = ".index"; //$NON-NLS-1$
 		if (fileName.regionMatches(true, fileName.length() - suffix.length(), suffix, 0, suffix.length())) {
@@ -462,7 +475,7 @@ public synchronized Index getIndex(IPath containerPath, IndexLocation indexLocat
 		if (reuseExistingFile) {
 			if (indexLocation.exists()) { // check before creating index so as to avoid creating a new empty index if file is missing
 				try {
-					index = new Index(indexLocation, containerPathString, true /*reuse index file*/);
+					index = new Index(indexLocation, containerPathString, true /*reuse index file*/, isJournaled(containerPath));
 					this.indexes.put(indexLocation, index);
 					return index;
 				} catch (IOException e) {
@@ -500,7 +513,7 @@ public synchronized Index getIndex(IPath containerPath, IndexLocation indexLocat
 			try {
 				if (VERBOSE)
 					trace("-> create empty index: "+indexLocation+" path: "+containerPathString); //$NON-NLS-1$ //$NON-NLS-2$
-				index = new Index(indexLocation, containerPathString, false /*do not reuse index file*/);
+				index = new Index(indexLocation, containerPathString, false /*do not reuse index file*/, isJournaled(containerPath));
 				this.indexes.put(indexLocation, index);
 				return index;
 			} catch (IOException e) {
@@ -513,6 +526,13 @@ public synchronized Index getIndex(IPath containerPath, IndexLocation indexLocat
 	}
 	return index;
 }
+/*
+ * Answers whether the index of the given container is journaled: only the indexes of source projects are updated
+ * document by document, the indexes of libraries are rebuilt as a whole.
+ */
+private static boolean isJournaled(IPath containerPath) {
+	return JavaModel.getTarget(containerPath, true) instanceof IProject;
+}
 /**
  * Returns all the existing indexes for a list of index locations.
  * Note that this may trigger some indexes recreation work
@@ -828,6 +848,22 @@ protected synchronized void moveToNextJob() {
 	this.needToSave = true;
 	super.moveToNextJob();
 }
+/**
+ * An index request only reads and writes the index of its container, so the requests for different containers,
+ * e.g. to index different libraries or the sources of different projects, are independent.
+ */
+@Override
+protected boolean canRunConcurrently(IJob job) {
+	return job instanceof IndexRequest;
+}
+@Override
+protected Object getConcurrencyKey(IJob job) {
+	return ((IndexRequest) job).containerPath;
+}
+@Override
+protected int getMaxConcurrentJobs() {
+	return Math.max(1, INDEXING_WORKERS);
+}
 /**
  * No more job awaiting.
  */
@@ -904,7 +940,7 @@ public synchronized Index recreateIndex(IPath containerPath) {
 
 		if (VERBOSE)
 			trace("-> recreating index: "+indexLocation+" for path: "+containerPathString); //$NON-NLS-1$ //$NON-NLS-2$
-		index = new Index(indexLocation, containerPathString, false /*do not reuse index file*/);
+		index = new Index(indexLocation, containerPathString, false /*do not reuse index file*/, isJournaled(containerPath));
 		this.indexes.put(indexLocation, index);
 		index.monitor = monitor;
 		return index;
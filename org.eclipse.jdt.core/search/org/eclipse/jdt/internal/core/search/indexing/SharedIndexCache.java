@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.indexing;
+
+import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import org.eclipse.jdt.internal.core.index.DiskIndex;
+import org.eclipse.jdt.internal.core.search.processing.JobManager;
+
+/**
+ * A machine-wide cache of jar indexes, keyed by the contents of the jar.
+ * <p>
+ * When a jar has no index yet, its index is copied from the cache if an identical jar was indexed before, by this
+ * or by any other workspace. Indexes built from scratch are published to the cache. Entries are only ever written
+ * to a temporary file first and then moved into place, so concurrent processes never see a partially written index.
+ * A restored index still goes through the usual consistency check against the entries of the jar.
+ * </p>
+ * <p>
+ * The cache is disabled unless the system property {@value #CACHE_DIRECTORY_PROPERTY} names a directory. Its size is
+ * bounded by {@value #CACHE_SIZE_PROPERTY} (in megabytes), least recently used entries are evicted first.
+ * </p>
+ */
+class SharedIndexCache {
+
+static final String CACHE_DIRECTORY_PROPERTY = "jdt.core.sharedIndexCache"; //$NON-NLS-1$
+static final String CACHE_SIZE_PROPERTY = "jdt.core.sharedIndexCache.size"; //$NON-NLS-1$
+
+private static final String ENTRY_SUFFIX = ".index"; //$NON-NLS-1$
+
+private static SharedIndexCache instance;
+
+private final File directory;
+private final long maxSize;
+
+/**
+ * Answer the cache to use or null if the cache is not enabled.
+ */
+static synchronized SharedIndexCache getCache() {
+	String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+	if (directory == null || directory.isEmpty())
+		return null;
+	long maxSize = Integer.getInteger(CACHE_SIZE_PROPERTY, 1024).longValue() * 1024 * 1024;
+	// entries of different index formats never mix
+	File versionDirectory = new File(directory, DiskIndex.INDEX_VERSION);
+	if (instance == null || !instance.directory.equals(versionDirectory) || instance.maxSize != maxSize)
+		instance = new SharedIndexCache(versionDirectory, maxSize);
+	return instance;
+}
+
+SharedIndexCache(File directory, long maxSize) {
+	this.directory = directory;
+	this.maxSize = maxSize;
+}
+
+/**
+ * Answer the key of the given jar: a hash of its name and contents. The name is part of the key since the automatic
+ * module name stored in the index of a jar without module-info can be derived from it.
+ */
+static String computeKey(File jarFile) throws IOException {
+	MessageDigest digest;
+	try {
+		digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+	} catch (NoSuchAlgorithmException e) {
+		throw new IOException(e);
+	}
+	digest.update(jarFile.getName().getBytes(StandardCharsets.UTF_8));
+	digest.update((byte) 0);
+	byte[] buffer = new byte[64 * 1024];
+	try (InputStream in = Files.newInputStream(jarFile.toPath())) {
+		int read;
+		while ((read = in.read(buffer)) != -1)
+			digest.update(buffer, 0, read);
+	}
+	StringBuilder key = new StringBuilder(64);
+	for (byte b : digest.digest())
+		key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+	return key.toString();
+}
+
+/**
+ * Copy the index stored for the given key to the given index file.
+ * Answer false if there is no such entry or if it could not be copied.
+ */
+boolean restore(String key, File indexFile) {
+	File entry = new File(this.directory, key + ENTRY_SUFFIX);
+	if (!entry.isFile())
+		return false;
+	File tempFile = null;
+	try {
+		File indexDirectory = indexFile.getParentFile();
+		indexDirectory.mkdirs();
+		tempFile = Files.createTempFile(indexDirectory.toPath(), indexFile.getName(), ".tmp").toFile(); //$NON-NLS-1$
+		Files.copy(entry.toPath(), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		move(tempFile, indexFile);
+		Files.setLastModifiedTime(entry.toPath(), FileTime.fromMillis(System.currentTimeMillis())); // most recently used
+		if (JobManager.VERBOSE)
+			trace("-> restored index " + indexFile + " from shared index cache entry " + entry); //$NON-NLS-1$ //$NON-NLS-2$
+		return true;
+	} catch (IOException e) {
+		// the entry may have been evicted by another process meanwhile
+		if (JobManager.VERBOSE)
+			trace("-> unable to restore shared index cache entry " + entry, e); //$NON-NLS-1$
+		if (tempFile != null)
+			tempFile.delete();
+		return false;
+	}
+}
+
+/**
+ * Store a copy of the given index file under the given key, then evict the least recently used entries if the cache
+ * grew too large.
+ */
+void store(String key, File indexFile) {
+	File entry = new File(this.directory, key + ENTRY_SUFFIX);
+	File tempFile = null;
+	try {
+		this.directory.mkdirs();
+		tempFile = Files.createTempFile(this.directory.toPath(), key, ".tmp").toFile(); //$NON-NLS-1$
+		Files.copy(indexFile.toPath(), tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		move(tempFile, entry);
+		if (JobManager.VERBOSE)
+			trace("-> stored index " + indexFile + " as shared index cache entry " + entry); //$NON-NLS-1$ //$NON-NLS-2$
+	} catch (IOException e) {
+		if (JobManager.VERBOSE)
+			trace("-> unable to write shared index cache entry " + entry, e); //$NON-NLS-1$
+		if (tempFile != null)
+			tempFile.delete();
+		return;
+	}
+	evict();
+}
+
+private static void move(File source, File target) throws IOException {
+	try {
+		Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	} catch (AtomicMoveNotSupportedException e) {
+		Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+}
+
+private synchronized void evict() {
+	File[] entries = this.directory.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+	if (entries == null)
+		return;
+	long size = 0;
+	for (File entry : entries)
+		size += entry.length();
+	if (size <= this.maxSize)
+		return;
+	Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+	for (int i = 0; i < entries.length && size > this.maxSize; i++) {
+		long length = entries[i].length();
+		if (entries[i].delete()) // another process may be evicting as well
+			size -= length;
+	}
+}
+}
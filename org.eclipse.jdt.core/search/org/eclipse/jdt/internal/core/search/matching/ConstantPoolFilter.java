@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.search.matching;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+
+/**
+ * Rejects class files which cannot contain a match of a search pattern by scanning the UTF8 entries of their
+ * constant pool for the name the pattern is looking for, before the class file is decoded and bindings are created.
+ * <p>
+ * Every name a class file without source can match, i.e. the name of the type, of its fields and methods, and the
+ * names used in its annotations, is stored in a UTF8 entry of its constant pool, either on its own or as part of a
+ * binary type name or descriptor. A class file without any entry containing the name of the pattern cannot match.
+ * </p>
+ * <p>
+ * This does not hold for class files with attached source: the source is searched instead, and it may reference
+ * names that the compiler did not keep in the class file, like inlined constants.
+ * </p>
+ */
+public class ConstantPoolFilter {
+
+	private static final LongAdder CHECKS = new LongAdder();
+	private static final LongAdder REJECTS = new LongAdder();
+
+	private final byte[][] names; // the class file is accepted if any of these is found
+
+	private ConstantPoolFilter(byte[][] names) {
+		this.names = names;
+	}
+
+	/**
+	 * Answers the filter of the given pattern, or null if class files cannot be filtered for this pattern.
+	 */
+	public static ConstantPoolFilter create(SearchPattern pattern) {
+		char[][] literals = literals(pattern);
+		if (literals == null) return null;
+		byte[][] names = new byte[literals.length][];
+		for (int i = 0; i < literals.length; i++)
+			names[i] = encode(literals[i]);
+		return new ConstantPoolFilter(names);
+	}
+
+	/*
+	 * Answers the literals of which at least one must be part of the constant pool of a matching class file,
+	 * or null if there is no such literal.
+	 */
+	private static char[][] literals(SearchPattern pattern) {
+		if (pattern instanceof OrPattern) {
+			SearchPattern[] patterns = ((OrPattern) pattern).patterns;
+			char[][][] literals = new char[patterns.length][][];
+			int length = 0;
+			for (int i = 0; i < patterns.length; i++) {
+				literals[i] = literals(patterns[i]);
+				if (literals[i] == null) return null;
+				length += literals[i].length;
+			}
+			char[][] result = new char[length][];
+			int index = 0;
+			for (char[][] patternLiterals : literals) {
+				System.arraycopy(patternLiterals, 0, result, index, patternLiterals.length);
+				index += patternLiterals.length;
+			}
+			return result;
+		}
+		char[] name;
+		Class<?> patternClass = pattern.getClass();
+		if (patternClass == MethodPattern.class) {
+			name = ((MethodPattern) pattern).selector;
+		} else if (patternClass == FieldPattern.class) {
+			name = ((FieldPattern) pattern).name;
+		} else if (patternClass == ConstructorPattern.class) {
+			name = ((ConstructorPattern) pattern).declaringSimpleName;
+		} else if (patternClass == TypeDeclarationPattern.class || patternClass == QualifiedTypeDeclarationPattern.class) {
+			name = ((TypeDeclarationPattern) pattern).simpleName;
+		} else if (patternClass == TypeReferencePattern.class) {
+			name = ((TypeReferencePattern) pattern).simpleName;
+		} else {
+			return null; // other patterns either never match in class files or match differently
+		}
+		char[] literal = literal(name, (JavaSearchPattern) pattern);
+		return literal == null ? null : new char[][] {literal};
+	}
+
+	/*
+	 * Answers the part of the name which is part of any matching name, or null if there is none.
+	 */
+	private static char[] literal(char[] name, JavaSearchPattern pattern) {
+		if (name == null || name.length == 0 || !pattern.isCaseSensitive() || pattern.isCamelCase())
+			return null;
+		switch (pattern.getMatchMode()) {
+			case SearchPattern.R_EXACT_MATCH :
+			case SearchPattern.R_PREFIX_MATCH :
+				return name;
+			case SearchPattern.R_PATTERN_MATCH :
+				// the longest segment without wild cards
+				int start = 0, bestStart = 0, bestEnd = 0;
+				for (int i = 0; i <= name.length; i++) {
+					if (i == name.length || name[i] == '*' || name[i] == '?') {
+						if (i - start > bestEnd - bestStart) {
+							bestStart = start;
+							bestEnd = i;
+						}
+						start = i + 1;
+					}
+				}
+				if (bestEnd == bestStart) return null;
+				char[] literal = new char[bestEnd - bestStart];
+				System.arraycopy(name, bestStart, literal, 0, literal.length);
+				return literal;
+			default :
+				return null;
+		}
+	}
+
+	/*
+	 * Encodes the given chars in the modified UTF8 of class files.
+	 */
+	private static byte[] encode(char[] chars) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(chars.length);
+		for (char c : chars) {
+			if (c >= 0x0001 && c <= 0x007F) {
+				bytes.write(c);
+			} else if (c <= 0x07FF) {
+				bytes.write(0xC0 | ((c >> 6) & 0x1F));
+				bytes.write(0x80 | (c & 0x3F));
+			} else {
+				bytes.write(0xE0 | ((c >> 12) & 0x0F));
+				bytes.write(0x80 | ((c >> 6) & 0x3F));
+				bytes.write(0x80 | (c & 0x3F));
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Answers false if the given class file cannot contain a match, true if it may contain one or if its
+	 * constant pool could not be scanned.
+	 */
+	public boolean mayMatch(byte[] classFileBytes) {
+		CHECKS.increment();
+		if (classFileBytes == null || classFileBytes.length < 10) return true;
+		int count = u2(classFileBytes, 8);
+		int offset = 10;
+		try {
+			for (int i = 1; i < count; i++) {
+				int tag = classFileBytes[offset] & 0xFF;
+				switch (tag) {
+					case ClassFileConstants.Utf8Tag :
+						int length = u2(classFileBytes, offset + 1);
+						if (contains(classFileBytes, offset + 3, length))
+							return true;
+						offset += 3 + length;
+						break;
+					case ClassFileConstants.IntegerTag :
+					case ClassFileConstants.FloatTag :
+					case ClassFileConstants.FieldRefTag :
+					case ClassFileConstants.MethodRefTag :
+					case ClassFileConstants.InterfaceMethodRefTag :
+					case ClassFileConstants.NameAndTypeTag :
+					case ClassFileConstants.DynamicTag :
+					case ClassFileConstants.InvokeDynamicTag :
+						offset += 5;
+						break;
+					case ClassFileConstants.LongTag :
+					case ClassFileConstants.DoubleTag :
+						offset += 9;
+						i++; // takes two entries
+						break;
+					case ClassFileConstants.ClassTag :
+					case ClassFileConstants.StringTag :
+					case ClassFileConstants.MethodTypeTag :
+					case ClassFileConstants.ModuleTag :
+					case ClassFileConstants.PackageTag :
+						offset += 3;
+						break;
+					case ClassFileConstants.MethodHandleTag :
+						offset += 4;
+						break;
+					default :
+						return true; // unknown constant, cannot be scanned
+				}
+			}
+		} catch (ArrayIndexOutOfBoundsException e) {
+			return true; // truncated class file, let the class file reader report it
+		}
+		REJECTS.increment();
+		return false;
+	}
+
+	private boolean contains(byte[] bytes, int start, int length) {
+		int end = start + length;
+		for (byte[] name : this.names) {
+			next : for (int i = start, max = end - name.length; i <= max; i++) {
+				for (int j = 0; j < name.length; j++)
+					if (bytes[i + j] != name[j]) continue next;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static int u2(byte[] bytes, int offset) {
+		return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+	}
+
+	/**
+	 * Answers the number of class files scanned by filters.
+	 */
+	public static long getCheckCount() {
+		return CHECKS.sum();
+	}
+
+	/**
+	 * Answers the number of class files rejected by filters.
+	 */
+	public static long getRejectCount() {
+		return REJECTS.sum();
+	}
+
+	public static void resetStats() {
+		CHECKS.reset();
+		REJECTS.reset();
+	}
+}
@@ -28,13 +28,25 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.jdt.core.*;
 import org.eclipse.jdt.core.compiler.CharOperation;
@@ -81,6 +93,7 @@ import org.eclipse.jdt.internal.core.search.HierarchyScope;
 import org.eclipse.jdt.internal.core.search.IndexQueryRequestor;
 import org.eclipse.jdt.internal.core.search.IndexSelector;
 import org.eclipse.jdt.internal.core.search.JavaSearchDocument;
+import org.eclipse.jdt.internal.core.search.SearchLimit;
 import org.eclipse.jdt.internal.core.search.indexing.QualifierQuery;
 import org.eclipse.jdt.internal.core.search.processing.JobManager;
 import org.eclipse.jdt.internal.core.util.ASTNodeFinder;
@@ -90,6 +103,14 @@ import org.eclipse.jdt.internal.core.util.Util;
 
 public class MatchLocator implements ITypeRequestor {
 
+/**
+ * Number of threads locating matches in the documents of distinct projects at the same time, see
+ * {@link #locateMatchesConcurrently(SearchDocument[])}. With 1, all matches are located on the calling thread.
+ */
+public static int MATCHING_WORKERS = Integer.getInteger("jdt.core.search.matchingWorkers", 1).intValue(); //$NON-NLS-1$
+private static ThreadPoolExecutor matchingWorkers; // created on demand, see getMatchingWorkers()
+private static final ThreadLocal<Boolean> IS_MATCHING_WORKER = new ThreadLocal<>();
+
 public static final int MAX_AT_ONCE;
 static {
 	long maxMemory = Runtime.getRuntime().maxMemory();
@@ -114,6 +135,7 @@ static {
 // permanent state
 public SearchPattern pattern;
 public PatternLocator patternLocator;
+ConstantPoolFilter constantPoolFilter; // null if class files without source cannot be filtered for the pattern
 public int matchContainer;
 public SearchRequestor requestor;
 public IJavaSearchScope scope;
@@ -320,6 +342,7 @@ public MatchLocator(
 
 	this.pattern = pattern;
 	this.patternLocator = PatternLocator.patternLocator(this.pattern);
+	this.constantPoolFilter = ConstantPoolFilter.create(this.pattern);
 	this.matchContainer = this.patternLocator == null ? 0 : this.patternLocator.matchContainer();
 	this.requestor = requestor;
 	this.scope = scope;
@@ -881,6 +904,13 @@ private long findLastTypeArgumentInfo(TypeReference typeRef) {
 	return (((long) depth) << 32) + lastTypeArgument.sourceEnd;
 }
 protected IBinaryType getBinaryInfo(ClassFile classFile, IResource resource) throws CoreException {
+	return getBinaryInfo(classFile, resource, null);
+}
+/*
+ * Same as getBinaryInfo(ClassFile, IResource), but answers null without decoding the class file
+ * if its constant pool is rejected by the given filter.
+ */
+private IBinaryType getBinaryInfo(ClassFile classFile, IResource resource, ConstantPoolFilter filter) throws CoreException {
 	BinaryType binaryType = (BinaryType) classFile.getType();
 	if (classFile.isOpen())
 		return binaryType.getElementInfo(); // reuse the info from the java model cache
@@ -897,13 +927,28 @@ protected IBinaryType getBinaryInfo(ClassFile classFile, IResource resource) thr
 			ZipFile zipFile = null;
 			try {
 				zipFile = ((JarPackageFragmentRoot) root).getJar();
-				info = ClassFileReader.read(zipFile, classFilePath);
+				if (filter == null) {
+					info = ClassFileReader.read(zipFile, classFilePath);
+				} else {
+					ZipEntry entry = zipFile.getEntry(classFilePath);
+					if (entry == null) {
+						info = null;
+					} else {
+						byte[] bytes = org.eclipse.jdt.internal.compiler.util.Util.getZipEntryByteContent(entry, zipFile);
+						if (!filter.mayMatch(bytes)) return null;
+						info = ClassFileReader.read(bytes, classFilePath);
+					}
+				}
 			} finally {
 				JavaModelManager.getJavaModelManager().closeZipFile(zipFile);
 			}
-		} else {
+		} else if (filter == null) {
 			// class file in a directory
 			info = Util.newClassFileReader(resource);
+		} else {
+			byte[] bytes = ((IFile) resource).readAllBytes();
+			if (!filter.mayMatch(bytes)) return null;
+			info = ClassFileReader.read(bytes, resource.getFullPath().toString());
 		}
 		if (info == null) throw binaryType.newNotPresentException();
 		return info;
@@ -1294,6 +1339,7 @@ protected void locateMatchesDefaultImpl(JavaProject javaProject, PossibleMatch[]
 	boolean bindingsWereCreated = mustResolve;
 	try {
 		for (int i = start, maxUnits = start + length; i < maxUnits; i++) {
+			if (isLimitReached()) return; // no further match would be reported
 			PossibleMatch possibleMatch = possibleMatches[i];
 			if (skipMatch(javaProject, possibleMatch)) continue;
 			try {
@@ -1358,6 +1404,7 @@ protected void locateMatchesDefaultImpl(JavaProject javaProject, PossibleMatch[]
 	for (int i = 0; i < this.numberOfMatches; i++) {
 		if (this.progressMonitor != null && this.progressMonitor.isCanceled())
 			throw new OperationCanceledException();
+		if (isLimitReached()) break; // no further match would be reported
 		PossibleMatch possibleMatch = this.matchesToProcess[i];
 		this.matchesToProcess[i] = null; // release reference to processed possible match
 		try {
@@ -1396,18 +1443,34 @@ protected void locateMatches(JavaProject javaProject, PossibleMatchSet matchSet,
 		this.progressMonitor.worked( expected-length);
 	}
 	// locate matches (processed matches are limited to avoid problem while using VM default memory heap size)
-	for (int index = 0; index < length;) {
+	for (int index = 0; index < length && !isLimitReached();) {
 		int max = Math.min(MAX_AT_ONCE, length - index);
 		locateMatches(javaProject, possibleMatches, index, max);
 		index += max;
 	}
 	this.patternLocator.clear();
 }
+private PossibleMatch newPossibleMatch(IResource resource, Openable openable, SearchDocument searchDocument) throws CoreException {
+	PossibleMatch possibleMatch = new PossibleMatch(this, resource, openable, searchDocument, this.pattern.mustResolve);
+	String pathString = searchDocument.getPath();
+	if (pathString.endsWith(TypeConstants.AUTOMATIC_MODULE_NAME)) {
+		IPath path = resource.getFullPath();
+		String s = (pathString.contains(path.lastSegment())) ?
+				JavaModelManager.getLocalFile(path).toPath().toAbsolutePath().toString() :
+				pathString.split(Pattern.quote("|"))[0]; //$NON-NLS-1$
+		possibleMatch.autoModuleName = new String(AutomaticModuleNaming.determineAutomaticModuleName(s));
+	}
+	return possibleMatch;
+}
 /**
  * Locate the matches in the given files and report them using the search requestor.
  */
 public void locateMatches(SearchDocument[] searchDocuments) throws CoreException {
 	if (this.patternLocator == null) return;
+	if (MATCHING_WORKERS > 1 && getClass() == MatchLocator.class && IS_MATCHING_WORKER.get() == null) {
+		locateMatchesConcurrently(searchDocuments);
+		return;
+	}
 	int docsLength = searchDocuments.length;
 	int progressLength = docsLength;
 	if (BasicSearchEngine.VERBOSE) {
@@ -1473,6 +1536,10 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 			if (this.progressMonitor != null && this.progressMonitor.isCanceled()) {
 				throw new OperationCanceledException();
 			}
+			if (isLimitReached()) {
+				previousJavaProject = null; // no further match would be reported
+				break;
+			}
 
 			// skip duplicate paths
 			SearchDocument searchDocument = searchDocuments[i];
@@ -1528,15 +1595,7 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 				}
 				previousJavaProject = javaProject;
 			}
-			PossibleMatch possibleMatch = new PossibleMatch(this, resource, openable, searchDocument,this.pattern.mustResolve);
-			matchSet.add(possibleMatch);
-			if (pathString.endsWith(TypeConstants.AUTOMATIC_MODULE_NAME)) {
-				IPath path = resource.getFullPath();
-				String s = (pathString.contains(path.lastSegment())) ?
-						JavaModelManager.getLocalFile(path).toPath().toAbsolutePath().toString() :
-						pathString.split(Pattern.quote("|"))[0]; //$NON-NLS-1$
-				possibleMatch.autoModuleName = new String(AutomaticModuleNaming.determineAutomaticModuleName(s));
-			}
+			matchSet.add(newPossibleMatch(resource, openable, searchDocument));
 		}
 
 		// last project
@@ -1548,7 +1607,7 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 			}
 		}
 
-		if (this.searchPackageDeclaration) {
+		if (this.searchPackageDeclaration && !isLimitReached()) {
 			locatePackageDeclarations(searchParticipant, javaModelProjects);
 		}
 
@@ -1563,6 +1622,247 @@ public void locateMatches(SearchDocument[] searchDocuments) throws CoreException
 		this.bindingsByName = null;
 	}
 }
+/*
+ * The documents of one project, whose matches are located by a matching worker.
+ */
+private static final class ProjectMatches {
+	final JavaProject javaProject;
+	final List<SearchDocument> documents = new ArrayList<>();
+	final List<Openable> openables = new ArrayList<>();
+	final List<IResource> resources = new ArrayList<>();
+	final List<SearchMatch> matches = new ArrayList<>();
+	final CompletableFuture<List<SearchMatch>> result = new CompletableFuture<>();
+
+	ProjectMatches(JavaProject javaProject) {
+		this.javaProject = javaProject;
+	}
+}
+private static synchronized ExecutorService getMatchingWorkers() {
+	if (matchingWorkers == null || matchingWorkers.getMaximumPoolSize() != MATCHING_WORKERS) {
+		if (matchingWorkers != null)
+			matchingWorkers.shutdown();
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(MATCHING_WORKERS, MATCHING_WORKERS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+			Thread t = new Thread(r, "Java Search Match Locator"); //$NON-NLS-1$
+			t.setDaemon(true);
+			return t;
+		});
+		pool.allowCoreThreadTimeOut(true);
+		matchingWorkers = pool;
+	}
+	return matchingWorkers;
+}
+/**
+ * Locate the matches in the given files like {@link #locateMatches(SearchDocument[])}, but using
+ * {@link #MATCHING_WORKERS} threads.
+ * <p>
+ * The documents are partitioned by project on the calling thread. Each worker has its own match locator, hence its
+ * own lookup environment, and locates the matches of one project after the other. The matches of each project are
+ * buffered, then reported to the search requestor on the calling thread, project after project in the same order
+ * as a sequential search would report them.
+ * </p>
+ */
+private void locateMatchesConcurrently(SearchDocument[] searchDocuments) throws CoreException {
+	int docsLength = searchDocuments.length;
+	int progressLength = docsLength;
+	IJavaProject[] javaModelProjects = null;
+	if (this.searchPackageDeclaration) {
+		javaModelProjects = JavaModelManager.getJavaModelManager().getJavaModel().getJavaProjects();
+		progressLength += javaModelProjects.length;
+	}
+	int n = progressLength<1000 ? Math.min(Math.max(progressLength/200+1, 2),4) : 5 *(progressLength/1000);
+	this.progressStep = progressLength < n ? 1 : progressLength / n; // step should not be 0
+	this.progressWorked = 0;
+
+	ArrayList<org.eclipse.jdt.core.ICompilationUnit> copies = new ArrayList<>();
+	for (SearchDocument document : searchDocuments) {
+		if (document instanceof WorkingCopyDocument)
+			copies.add(((WorkingCopyDocument) document).workingCopy);
+	}
+	this.workingCopies = copies.toArray(new org.eclipse.jdt.core.ICompilationUnit[copies.size()]);
+
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	this.bindingsByPattern = new HashMap<>();
+	this.bindingsByName = new HashMap<>();
+	List<Future<?>> workers = new ArrayList<>();
+	List<NullProgressMonitor> workerMonitors = new ArrayList<>();
+	try {
+		manager.cacheZipFiles(this);
+		if (this.handleFactory == null)
+			this.handleFactory = new HandleFactory();
+		if (this.progressMonitor != null)
+			this.progressMonitor.beginTask("", searchDocuments.length); //$NON-NLS-1$
+
+		// partition the documents by project, the same way the sequential search groups them
+		Util.sort(searchDocuments, new Util.Comparer() {
+			@Override
+			public int compare(Object a, Object b) {
+				return ((SearchDocument)a).getPath().compareTo(((SearchDocument)b).getPath());
+			}
+		});
+		List<ProjectMatches> partitions = new ArrayList<>();
+		ProjectMatches partition = null;
+		String previousPath = null;
+		SearchParticipant searchParticipant = null;
+		for (int i = 0; i < docsLength; i++) {
+			if (this.progressMonitor != null && this.progressMonitor.isCanceled())
+				throw new OperationCanceledException();
+			SearchDocument searchDocument = searchDocuments[i];
+			if (searchParticipant == null)
+				searchParticipant = searchDocument.getParticipant();
+			searchDocuments[i] = null; // free current document
+			String pathString = searchDocument.getPath();
+			if (i > 0 && pathString.equals(previousPath)) {
+				worked(1); // skip duplicate paths
+				continue;
+			}
+			previousPath = pathString;
+
+			Openable openable;
+			org.eclipse.jdt.core.ICompilationUnit workingCopy = null;
+			if (searchDocument instanceof WorkingCopyDocument) {
+				workingCopy = ((WorkingCopyDocument)searchDocument).workingCopy;
+				openable = (Openable) workingCopy;
+			} else {
+				openable = this.handleFactory.createOpenable(pathString, this.scope);
+			}
+			if (openable == null) {
+				worked(1);
+				continue; // match is outside classpath
+			}
+			openable = getCloserOpenable(openable, pathString);
+			JavaProject javaProject = openable.getJavaProject();
+			IResource resource = workingCopy != null ? workingCopy.getResource() : openable.getResource();
+			if (resource == null)
+				resource = javaProject.getProject(); // case of a file in an external jar or external folder
+			if (partition == null || !javaProject.equals(partition.javaProject))
+				partitions.add(partition = new ProjectMatches(javaProject));
+			partition.documents.add(searchDocument);
+			partition.openables.add(openable);
+			partition.resources.add(resource);
+		}
+
+		ExecutorService executor = getMatchingWorkers();
+		AtomicInteger nextPartition = new AtomicInteger();
+		for (int i = 0, max = Math.min(MATCHING_WORKERS, partitions.size()); i < max; i++) {
+			NullProgressMonitor workerMonitor = new NullProgressMonitor();
+			workerMonitors.add(workerMonitor);
+			workers.add(executor.submit(() -> locateMatches(partitions, nextPartition, workerMonitor)));
+		}
+		for (ProjectMatches projectMatches : partitions) {
+			if (isLimitReached()) break; // the workers are stopped below
+			for (SearchMatch match : awaitMatches(projectMatches, workers))
+				this.requestor.acceptSearchMatch(match);
+			worked(projectMatches.documents.size());
+		}
+
+		if (this.searchPackageDeclaration && !isLimitReached()) {
+			locatePackageDeclarations(searchParticipant, javaModelProjects);
+		}
+	} finally {
+		for (NullProgressMonitor workerMonitor : workerMonitors)
+			workerMonitor.setCanceled(true); // stop the workers if the search was cancelled or failed
+		if (this.progressMonitor != null)
+			this.progressMonitor.done();
+		if (this.nameEnvironment != null)
+			this.nameEnvironment.cleanup();
+		this.unitScope = null;
+		manager.flushZipFiles(this);
+		this.bindingsByPattern = null;
+		this.bindingsByName = null;
+	}
+}
+/*
+ * Locate the matches of the partitions not taken by another worker yet, using a new match locator.
+ */
+private Void locateMatches(List<ProjectMatches> partitions, AtomicInteger nextPartition, IProgressMonitor monitor) throws CoreException {
+	IS_MATCHING_WORKER.set(Boolean.TRUE); // searches started by this search run sequentially
+	MatchLocator locator = new MatchLocator(this.pattern, null, this.scope, monitor);
+	locator.workingCopies = this.workingCopies;
+	locator.handleFactory = new HandleFactory();
+	locator.progressStep = 1; // progress is reported by the calling thread
+	locator.bindingsByPattern = new HashMap<>();
+	locator.bindingsByName = new HashMap<>();
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	try {
+		manager.cacheZipFiles(locator);
+		locator.patternLocator.initializePolymorphicSearch(locator);
+		int index;
+		while (!isLimitReached() && (index = nextPartition.getAndIncrement()) < partitions.size()) {
+			ProjectMatches projectMatches = partitions.get(index);
+			try {
+				locator.requestor = new SearchRequestor() {
+					@Override
+					public void acceptSearchMatch(SearchMatch match) {
+						projectMatches.matches.add(match);
+					}
+				};
+				PossibleMatchSet matchSet = new PossibleMatchSet();
+				for (int i = 0, l = projectMatches.documents.size(); i < l; i++)
+					matchSet.add(locator.newPossibleMatch(projectMatches.resources.get(i), projectMatches.openables.get(i), projectMatches.documents.get(i)));
+				try {
+					locator.locateMatches(projectMatches.javaProject, matchSet, projectMatches.documents.size());
+				} catch (JavaModelException e) {
+					// problem with classpath in this project -> skip it
+				}
+				projectMatches.result.complete(projectMatches.matches);
+			} catch (Throwable e) {
+				projectMatches.result.completeExceptionally(e);
+			}
+		}
+	} finally {
+		if (locator.nameEnvironment != null)
+			locator.nameEnvironment.cleanup();
+		locator.unitScope = null;
+		manager.flushZipFiles(locator);
+		IS_MATCHING_WORKER.remove();
+	}
+	return null;
+}
+/*
+ * Wait until the matches of the given project are located, answer them.
+ */
+private List<SearchMatch> awaitMatches(ProjectMatches projectMatches, List<Future<?>> workers) throws CoreException {
+	try {
+		while (true) {
+			if (this.progressMonitor != null && this.progressMonitor.isCanceled())
+				throw new OperationCanceledException();
+			try {
+				return projectMatches.result.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (workers.stream().allMatch(Future::isDone) && !projectMatches.result.isDone()) {
+					for (Future<?> worker : workers)
+						worker.get(); // rethrows the failure which stopped the workers
+					throw new IllegalStateException("No worker located the matches in " + projectMatches.javaProject); //$NON-NLS-1$
+				}
+			}
+		}
+	} catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new OperationCanceledException();
+	} catch (ExecutionException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof CoreException coreException)
+			throw coreException;
+		if (cause instanceof RuntimeException runtimeException)
+			throw runtimeException;
+		if (cause instanceof Error error)
+			throw error;
+		throw new IllegalStateException(cause);
+	}
+}
+/*
+ * Answers whether the requestor does not accept any further match, see SearchEngine#search(..., int maxMatches, ...).
+ */
+private boolean isLimitReached() {
+	return SearchLimit.isReached(this.requestor);
+}
+private void worked(int work) {
+	if (this.progressMonitor == null) return;
+	for (int i = 0; i < work; i++) {
+		this.progressWorked++;
+		if ((this.progressWorked%this.progressStep)==0) this.progressMonitor.worked(this.progressStep);
+	}
+}
 private IJavaSearchScope getSubScope(String optionString, long value, boolean ref) {
 	if (this.subScope != null)
 		return this.subScope;
@@ -2003,7 +2303,8 @@ protected void process(PossibleMatch possibleMatch, boolean bindingsWereCreated)
 				ClassFile classFile = (ClassFile) this.currentPossibleMatch.openable;
 				IBinaryType info = null;
 				try {
-					info = getBinaryInfo(classFile, classFile.resource());
+					// no source is attached, so no match is possible if the constant pool does not contain the name
+					info = getBinaryInfo(classFile, classFile.resource(), this.constantPoolFilter);
 				}
 				catch (CoreException ce) {
 					// Do nothing
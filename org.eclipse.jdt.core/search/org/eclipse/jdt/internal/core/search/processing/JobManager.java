@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,23 @@ package org.eclipse.jdt.internal.core.search.processing;
 
 import static org.eclipse.jdt.internal.core.JavaModelManager.trace;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -51,6 +64,26 @@ public abstract class JobManager {
 
 	private volatile Job progressJob;
 
+	/**
+	 * jobs of the queue which are being executed concurrently with the current job, at most one per worker
+	 * <br>
+	 * synchronized by JobManager.this
+	 */
+	private final Set<IJob> concurrentJobs = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	/* the maximum number of jobs executed by a worker before the next jobs are scheduled */
+	private static final int CONCURRENT_GROUP_SIZE = 100;
+
+	/* the maximum number of jobs of the queue looked at when scheduling jobs concurrently */
+	private static final int CONCURRENT_JOBS_WINDOW = 10000;
+
+	/**
+	 * workers executing the concurrent jobs, created on demand
+	 * <br>
+	 * synchronized by JobManager.this
+	 */
+	private ExecutorService workers;
+
 	/**
 	 * counter indicating whether job execution is enabled or not, disabled if <= 0
 	 * it cannot go beyond 1
@@ -142,16 +175,27 @@ public abstract class JobManager {
 
 		try {
 			IJob currentJob;
+			List<IJob> runningJobs;
 			// cancel current job if it belongs to the given family
 			synchronized(this){
 				currentJob = currentJob();
+				runningJobs = new ArrayList<>(this.concurrentJobs);
 				disable();
 			}
+			boolean waitForRunningJobs = false;
+			for (IJob runningJob : runningJobs) {
+				if (runningJob != currentJob && (jobFamily == null || runningJob.belongsTo(jobFamily))) {
+					runningJob.cancel();
+					waitForRunningJobs = true;
+				}
+			}
 			if (currentJob != null && (jobFamily == null || currentJob.belongsTo(jobFamily))) {
 				currentJob.cancel();
-
+				waitForRunningJobs = true;
+			}
+			if (waitForRunningJobs) {
 				synchronized (this) {
-					// wait until current active job has finished
+					// wait until current active jobs have finished
 					while (getProcessingThread() != null && this.executing){
 						try {
 							if (VERBOSE) {
@@ -215,9 +259,13 @@ public abstract class JobManager {
 		while (iterator.hasPrevious()) {
 			IJob job = iterator.previous();
 			// don't check first job, as it may have already started
-			if(job == first) {
+			if(job == first && this.concurrentJobs.isEmpty()) {
 				break;
 			}
+			// neither the jobs running concurrently, the jobs executed concurrently which did not start yet are pending
+			if (this.concurrentJobs.contains(job)) {
+				continue;
+			}
 			if (request.test(job)) {
 				return true;
 			}
@@ -241,6 +289,163 @@ public abstract class JobManager {
 			}
 		}
 	}
+	/**
+	 * Answer the maximum number of jobs executed at the same time by the background processing.
+	 * Only jobs for which {@link #canRunConcurrently(IJob)} answers true are ever executed concurrently.
+	 */
+	protected int getMaxConcurrentJobs() {
+		return 1;
+	}
+
+	/**
+	 * Answer whether the given job is independent of the jobs of the queue with another concurrency key, so that it
+	 * may be executed concurrently with them.
+	 */
+	protected boolean canRunConcurrently(IJob job) {
+		return false;
+	}
+
+	/**
+	 * Answer the key of the given job which can run concurrently. The jobs with the same key are executed in the
+	 * order of the queue, one after the other.
+	 */
+	protected Object getConcurrencyKey(IJob job) {
+		return job;
+	}
+
+	/**
+	 * Answer the groups of jobs to execute concurrently, each group being executed in order by one worker. The
+	 * first group starts with the given current job. The jobs are taken from the queue up to the first job which
+	 * cannot run concurrently, a job is only taken if no earlier job with the same key was left in the queue, so the
+	 * order of the queue is preserved for the jobs with the same key and with respect to any other job.
+	 * Answer a single group made of the current job if no other job can be executed concurrently with it.
+	 */
+	private synchronized List<List<IJob>> startConcurrentJobs(IJob currentJob) {
+		int max = getMaxConcurrentJobs();
+		if (max <= 1 || !canRunConcurrently(currentJob) || this.awaitingJobs.isEmpty() || this.awaitingJobs.get(0) != currentJob)
+			return List.of(List.of(currentJob));
+		Map<Object, List<IJob>> groups = new LinkedHashMap<>();
+		Set<Object> leftKeys = new HashSet<>();
+		int scanned = 0;
+		for (IJob job : this.awaitingJobs) {
+			if (!canRunConcurrently(job) || ++scanned > CONCURRENT_JOBS_WINDOW)
+				break; // the following jobs must not be executed before it
+			Object key = getConcurrencyKey(job);
+			if (leftKeys.contains(key))
+				continue;
+			List<IJob> group = groups.get(key);
+			if (group == null && groups.size() < max)
+				groups.put(key, group = new ArrayList<>());
+			if (group == null || group.size() == CONCURRENT_GROUP_SIZE) {
+				leftKeys.add(key); // its jobs are executed by a later batch
+				continue;
+			}
+			group.add(job);
+		}
+		if (groups.size() <= 1)
+			return List.of(List.of(currentJob));
+		return new ArrayList<>(groups.values());
+	}
+
+	/**
+	 * Execute the given groups of jobs concurrently, answer once they all completed.
+	 */
+	private void executeConcurrently(List<List<IJob>> groups) throws InterruptedException {
+		ExecutorService executor;
+		synchronized (this) {
+			if (this.workers == null) {
+				int count = getMaxConcurrentJobs() - 1;
+				ThreadPoolExecutor pool = new ThreadPoolExecutor(count, count, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+					Thread t = new Thread(r, processName());
+					t.setDaemon(true);
+					t.setPriority(Thread.NORM_PRIORITY-1);
+					t.setContextClassLoader(this.getClass().getClassLoader());
+					return t;
+				});
+				pool.allowCoreThreadTimeOut(true);
+				this.workers = pool;
+			}
+			executor = this.workers;
+		}
+		List<Future<?>> futures = new ArrayList<>(groups.size() - 1);
+		for (List<IJob> group : groups.subList(1, groups.size())) {
+			futures.add(executor.submit(() -> {
+				// like the processing thread, keep the zip files open while executing the jobs
+				JavaModelManager manager = JavaModelManager.getJavaModelManager();
+				manager.cacheZipFiles(group);
+				try {
+					executeGroup(group);
+				} finally {
+					manager.flushZipFiles(group);
+				}
+			}));
+		}
+		RuntimeException failure = null;
+		try {
+			executeGroup(groups.get(0)); // the processing thread executes the group of the current job itself
+		} catch (RuntimeException e) {
+			failure = e;
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					if (failure == null) failure = runtimeException;
+				} else {
+					Util.log(e.getCause(), "Background Indexer Failure"); //$NON-NLS-1$
+				}
+			}
+		}
+		if (failure != null)
+			throw failure;
+	}
+
+	/**
+	 * Execute the given jobs in order, each job is removed from the queue once completed. The remaining jobs are left
+	 * in the queue if the job manager gets disabled.
+	 */
+	private void executeGroup(List<IJob> group) {
+		for (IJob job : group) {
+			synchronized (this) {
+				if (this.enableCount <= 0)
+					return;
+				this.concurrentJobs.add(job);
+			}
+			if (VERBOSE) {
+				trace("STARTING concurrent background job - " + job); //$NON-NLS-1$
+			}
+			try {
+				job.execute(null); // may enqueue new jobs
+			} finally {
+				finishConcurrentJob(job);
+				if (VERBOSE) {
+					trace("FINISHED concurrent background job - " + job); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove the given job from the queue, once it has been executed concurrently.
+	 */
+	private synchronized void finishConcurrentJob(IJob job) {
+		this.concurrentJobs.remove(job);
+		if (!this.awaitingJobs.isEmpty() && this.awaitingJobs.get(0) == job) {
+			moveToNextJob();
+			return;
+		}
+		// the job is not at the head of the queue, or it was discarded meanwhile
+		for (Iterator<IJob> iterator = this.awaitingJobs.iterator(); iterator.hasNext();) {
+			if (iterator.next() == job) {
+				iterator.remove();
+				if (this.awaitingJobs.isEmpty())
+					notifyAll(); // notify waiters for awaitingJobsCount()
+				break;
+			}
+		}
+	}
+
 	/**
 	 * When idle, give chance to do something
 	 */
@@ -521,9 +726,13 @@ public abstract class JobManager {
 						continue;
 					}
 					idlingStart = null;
+					List<List<IJob>> groups = startConcurrentJobs(job);
 					if (VERBOSE) {
 						trace(awaitingJobsCount() + " awaiting jobs"); //$NON-NLS-1$
-						trace("STARTING background job - " + job); //$NON-NLS-1$
+						if (groups.size() > 1)
+							trace("STARTING " + groups.size() + " groups of concurrent background jobs"); //$NON-NLS-1$ //$NON-NLS-2$
+						else
+							trace("STARTING background job - " + job); //$NON-NLS-1$
 					}
 					try {
 						this.executing = true;
@@ -538,13 +747,22 @@ public abstract class JobManager {
 							JavaModelManager.getJavaModelManager().cacheZipFiles(this);
 							cacheZipFiles = true;
 						}
-						job.execute(null); // may enqueue a new job
+						if (groups.size() > 1)
+							executeConcurrently(groups); // may enqueue new jobs
+						else
+							job.execute(null); // may enqueue a new job
 					} finally {
 						this.executing = false;
-						if (VERBOSE) {
-							trace("FINISHED background job - " + job); //$NON-NLS-1$
+						if (groups.size() > 1) {
+							if (VERBOSE) {
+								trace("FINISHED " + groups.size() + " groups of concurrent background jobs"); //$NON-NLS-1$ //$NON-NLS-2$
+							}
+						} else {
+							if (VERBOSE) {
+								trace("FINISHED background job - " + job); //$NON-NLS-1$
+							}
+							moveToNextJob();
 						}
-						moveToNextJob();
 						if (this.awaitingClients.get() == 0 && job.waitNeeded()) {
 							if (VERBOSE) {
 								trace("WAITING after job - " + job); //$NON-NLS-1$
@@ -606,6 +824,13 @@ public abstract class JobManager {
 				job.cancel();
 				job.join();
 			}
+			ExecutorService executor;
+			synchronized (this) {
+				executor = this.workers;
+				this.workers = null;
+			}
+			if (executor != null)
+				executor.shutdown();
 		} catch (InterruptedException e) {
 			// ignore
 		}